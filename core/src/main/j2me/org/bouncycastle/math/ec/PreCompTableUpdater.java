@@ -0,0 +1,24 @@
+package org.bouncycastle.math.ec;
+
+import java.util.Hashtable;
+
+/**
+ * Atomic replacement of the precomputation table of an ECPoint.
+ */
+class PreCompTableUpdater
+{
+    static boolean compareAndSet(ECPoint point, Hashtable expect, Hashtable update)
+    {
+        synchronized (point)
+        {
+            if (point.preCompTable != expect)
+            {
+                return false;
+            }
+
+            point.preCompTable = update;
+
+            return true;
+        }
+    }
+}
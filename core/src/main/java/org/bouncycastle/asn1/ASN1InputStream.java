@@ -23,6 +23,10 @@
 
     private final byte[][] tmpBuffers;
 
+    // set when lazily reading from an array, so constructed objects can refer back to it.
+    private final byte[] source;
+    private final int sourceEnd;
+
     public ASN1InputStream(
         InputStream is)
     {
@@ -52,7 +56,21 @@ public ASN1InputStream(
         byte[] input,
         boolean lazyEvaluate)
     {
-        this(new ByteArrayInputStream(input), input.length, lazyEvaluate);
+        this(input, 0, input.length, lazyEvaluate);
+    }
+
+    /**
+     * Create an ASN1InputStream based on a section of the input byte array. If lazyEvaluate is true
+     * the sequences returned refer to the array rather than a copy of it, so it must not be changed
+     * while they are in use.
+     */
+    ASN1InputStream(
+        byte[] input,
+        int off,
+        int len,
+        boolean lazyEvaluate)
+    {
+        this(new ByteArrayInputStream(input, off, len), len, lazyEvaluate, lazyEvaluate ? input : null, off + len);
     }
     
     /**
@@ -94,11 +112,23 @@ public ASN1InputStream(
         InputStream input,
         int         limit,
         boolean     lazyEvaluate)
+    {
+        this(input, limit, lazyEvaluate, null, 0);
+    }
+
+    private ASN1InputStream(
+        InputStream input,
+        int         limit,
+        boolean     lazyEvaluate,
+        byte[]      source,
+        int         sourceEnd)
     {
         super(input);
         this.limit = limit;
         this.lazyEvaluate = lazyEvaluate;
         this.tmpBuffers = new byte[11][];
+        this.source = source;
+        this.sourceEnd = sourceEnd;
     }
 
     int getLimit()
@@ -148,6 +178,15 @@ protected ASN1Primitive buildObject(
 
         if ((tag & TAGGED) != 0)
         {
+            if (isConstructed && source != null)
+            {
+                ASN1EncodableVector v = new ASN1InputStream(source, skipSource(length), length, true).buildEncodableVector();
+
+                return v.size() == 1
+                    ?   new DERTaggedObject(true, tagNo, v.get(0))
+                    :   new DERTaggedObject(false, tagNo, DERFactory.createSequence(v));
+            }
+
             return new ASN1StreamParser(defIn).readTaggedObject(isConstructed, tagNo);
         }
 
@@ -170,7 +209,11 @@ protected ASN1Primitive buildObject(
 
                     return new BEROctetString(strings);
                 case SEQUENCE:
-                    if (lazyEvaluate)
+                    if (source != null)
+                    {
+                        return new LazyEncodedSequence(source, skipSource(length), length);
+                    }
+                    else if (lazyEvaluate)
                     {
                         return new LazyEncodedSequence(defIn.toByteArray());
                     }
@@ -190,6 +233,24 @@ protected ASN1Primitive buildObject(
         return createPrimitiveDERObject(tagNo, defIn, tmpBuffers);
     }
 
+    /**
+     * Step over the next length bytes of the source array, returning the offset they start at.
+     */
+    private int skipSource(int length)
+        throws IOException
+    {
+        int available = in.available();
+
+        if (length > available)
+        {
+            throw new EOFException("DEF length " + length + " object truncated by " + (length - available));
+        }
+
+        in.skip(length);
+
+        return sourceEnd - available;
+    }
+
     ASN1EncodableVector buildEncodableVector()
         throws IOException
     {
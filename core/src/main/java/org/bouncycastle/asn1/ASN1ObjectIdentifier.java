@@ -3,6 +3,8 @@
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.bouncycastle.util.Arrays;
 
@@ -12,9 +14,9 @@
 public class ASN1ObjectIdentifier
     extends ASN1Primitive
 {
-    String identifier;
+    private final String identifier;
 
-    private byte[] body;
+    private volatile byte[] body;
 
     /**
      * return an OID from the passed in object
@@ -292,18 +294,22 @@ private void doOutput(ByteArrayOutputStream aOut)
         }
     }
 
-    protected synchronized byte[] getBody()
+    protected byte[] getBody()
     {
-        if (body == null)
+        byte[] enc = body;
+
+        // racing threads will calculate the same value, so there is no need to lock.
+        if (enc == null)
         {
             ByteArrayOutputStream bOut = new ByteArrayOutputStream();
 
             doOutput(bOut);
 
-            body = bOut.toByteArray();
+            enc = bOut.toByteArray();
+            body = enc;
         }
 
-        return body;
+        return enc;
     }
 
     boolean isConstructed()
@@ -402,71 +408,83 @@ private static boolean isValidIdentifier(
         return isValidBranchID(identifier, 2);
     }
 
-    private static ASN1ObjectIdentifier[][] cache = new ASN1ObjectIdentifier[256][];
-
-    static ASN1ObjectIdentifier fromOctetString(byte[] enc)
+    /**
+     * Return an equivalent OID from a shared pool, adding this one to the pool if there isn't
+     * one there already. Pooled OIDs are also returned when a matching encoding is parsed.
+     *
+     * @return a reference to the OID in the pool.
+     */
+    public ASN1ObjectIdentifier intern()
     {
-        if (enc.length < 3)
+        OidHandle hdl = new OidHandle(getBody());
+        ASN1ObjectIdentifier oid = (ASN1ObjectIdentifier)pool.get(hdl);
+
+        if (oid == null)
         {
-            return new ASN1ObjectIdentifier(enc);
+            oid = (ASN1ObjectIdentifier)pool.putIfAbsent(hdl, this);
+            if (oid == null)
+            {
+                oid = this;
+            }
         }
 
-        int idx1 = enc[enc.length - 2] & 0xff;
-        // in this case top bit is always zero
-        int idx2 = enc[enc.length - 1] & 0x7f;
+        return oid;
+    }
 
-        ASN1ObjectIdentifier possibleMatch;
+    /*
+     * Parsed OIDs are added to the pool until it reaches this size, so a stream of
+     * unusual OIDs cannot make it grow without bound.
+     */
+    private static final int MAX_PARSED_POOL_SIZE = 4096;
 
-        synchronized (cache)
-        {
-            ASN1ObjectIdentifier[] first = cache[idx1];
-            if (first == null)
-            {
-                first = cache[idx1] = new ASN1ObjectIdentifier[128];
-            }
+    private static final ConcurrentMap pool = new ConcurrentHashMap();
 
-            possibleMatch = first[idx2];
-            if (possibleMatch == null)
-            {
-                return first[idx2] = new ASN1ObjectIdentifier(enc);
-            }
+    static ASN1ObjectIdentifier fromOctetString(byte[] enc)
+    {
+        ASN1ObjectIdentifier oid = (ASN1ObjectIdentifier)pool.get(new OidHandle(enc));
 
-            if (Arrays.areEqual(enc, possibleMatch.getBody()))
-            {
-                return possibleMatch;
-            }
+        if (oid == null)
+        {
+            oid = new ASN1ObjectIdentifier(enc);
 
-            idx1 = (idx1 + 1) & 0xff;
-            first = cache[idx1];
-            if (first == null)
+            if (pool.size() < MAX_PARSED_POOL_SIZE)
             {
-                first = cache[idx1] = new ASN1ObjectIdentifier[128];
+                // enc may be a reused buffer, the key must be our own copy.
+                ASN1ObjectIdentifier existing = (ASN1ObjectIdentifier)pool.putIfAbsent(new OidHandle(oid.getBody()), oid);
+                if (existing != null)
+                {
+                    oid = existing;
+                }
             }
+        }
 
-            possibleMatch = first[idx2];
-            if (possibleMatch == null)
-            {
-                return first[idx2] = new ASN1ObjectIdentifier(enc);
-            }
+        return oid;
+    }
 
-            if (Arrays.areEqual(enc, possibleMatch.getBody()))
-            {
-                return possibleMatch;
-            }
+    private static class OidHandle
+    {
+        private final int key;
+        private final byte[] enc;
 
-            idx2 = (idx2 + 1) & 0x7f;
-            possibleMatch = first[idx2];
-            if (possibleMatch == null)
-            {
-                return first[idx2] = new ASN1ObjectIdentifier(enc);
-            }
+        OidHandle(byte[] enc)
+        {
+            this.key = Arrays.hashCode(enc);
+            this.enc = enc;
         }
 
-        if (Arrays.areEqual(enc, possibleMatch.getBody()))
+        public int hashCode()
         {
-            return possibleMatch;
+            return key;
         }
 
-        return new ASN1ObjectIdentifier(enc);
+        public boolean equals(Object o)
+        {
+            if (o instanceof OidHandle)
+            {
+                return Arrays.areEqual(enc, ((OidHandle)o).enc);
+            }
+
+            return false;
+        }
     }
 }
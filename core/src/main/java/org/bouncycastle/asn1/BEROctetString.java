@@ -124,9 +124,23 @@ int encodedLength()
         throws IOException
     {
         int length = 0;
-        for (Enumeration e = getObjects(); e.hasMoreElements();)
+
+        if (octs == null)
         {
-            length += ((ASN1Encodable)e.nextElement()).toASN1Primitive().encodedLength();
+            // chunks are worked out from the string, rather than generated.
+            for (int i = 0; i < string.length; i += MAX_LENGTH)
+            {
+                int chunkLength = Math.min(string.length - i, MAX_LENGTH);
+
+                length += 1 + StreamUtil.calculateBodyLength(chunkLength) + chunkLength;
+            }
+        }
+        else
+        {
+            for (Enumeration e = getObjects(); e.hasMoreElements();)
+            {
+                length += ((ASN1Encodable)e.nextElement()).toASN1Primitive().encodedLength();
+            }
         }
 
         return 2 + length + 2;
@@ -143,9 +157,24 @@ public void encode(
         //
         // write out the octet array
         //
-        for (Enumeration e = getObjects(); e.hasMoreElements();)
+        if (octs == null)
+        {
+            // written straight from the string, so large contents are not copied.
+            for (int i = 0; i < string.length; i += MAX_LENGTH)
+            {
+                int chunkLength = Math.min(string.length - i, MAX_LENGTH);
+
+                out.write(BERTags.OCTET_STRING);
+                out.writeLength(chunkLength);
+                out.write(string, i, chunkLength);
+            }
+        }
+        else
         {
-            out.writeObject((ASN1Encodable)e.nextElement());
+            for (Enumeration e = getObjects(); e.hasMoreElements();)
+            {
+                out.writeObject((ASN1Encodable)e.nextElement());
+            }
         }
 
         out.write(0x00);
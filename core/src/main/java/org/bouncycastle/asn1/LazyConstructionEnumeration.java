@@ -11,7 +11,12 @@
 
     public LazyConstructionEnumeration(byte[] encoded)
     {
-        aIn = new ASN1InputStream(encoded, true);
+        this(encoded, 0, encoded.length);
+    }
+
+    LazyConstructionEnumeration(byte[] encoded, int off, int len)
+    {
+        aIn = new ASN1InputStream(encoded, off, len, true);
         nextObj = readObject();
     }
 
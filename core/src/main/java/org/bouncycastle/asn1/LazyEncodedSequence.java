@@ -5,105 +5,140 @@
 
 /**
  * Note: this class is for processing DER/DL encoded sequences only.
+ * <p>
+ * The sequence holds a reference to the section of the encoding it was read from and only
+ * parses its elements when one of them is asked for. The parsed elements are published through
+ * a volatile field rather than under a lock - threads racing to parse the sequence will produce
+ * equivalent results, so it doesn't matter which one is kept.
+ * </p>
  */
 class LazyEncodedSequence
     extends ASN1Sequence
 {
-    private byte[] encoded;
+    private final byte[] encoded;
+    private final int off;
+    private final int len;
+
+    private volatile ASN1Encodable[] elements;
 
     LazyEncodedSequence(
         byte[] encoded)
         throws IOException
+    {
+        this(encoded, 0, encoded.length);
+    }
+
+    LazyEncodedSequence(
+        byte[] encoded,
+        int    off,
+        int    len)
     {
         this.encoded = encoded;
+        this.off = off;
+        this.len = len;
     }
 
-    private void parse()
+    private ASN1Encodable[] getElements()
     {
-        Enumeration en = new LazyConstructionEnumeration(encoded);
+        ASN1Encodable[] elements = this.elements;
 
-        while (en.hasMoreElements())
+        if (elements == null)
         {
-            seq.addElement(en.nextElement());
+            ASN1EncodableVector v = new ASN1EncodableVector();
+            Enumeration en = new LazyConstructionEnumeration(encoded, off, len);
+
+            while (en.hasMoreElements())
+            {
+                v.add((ASN1Encodable)en.nextElement());
+            }
+
+            elements = new ASN1Encodable[v.size()];
+            for (int i = 0; i != elements.length; i++)
+            {
+                elements[i] = v.get(i);
+            }
+
+            this.elements = elements;
         }
 
-        encoded = null;
+        return elements;
     }
 
-    public synchronized ASN1Encodable getObjectAt(int index)
+    public ASN1Encodable getObjectAt(int index)
     {
-        if (encoded != null)
-        {
-            parse();
-        }
-
-        return super.getObjectAt(index);
+        return getElements()[index];
     }
 
-    public synchronized Enumeration getObjects()
+    public Enumeration getObjects()
     {
-        if (encoded == null)
+        final ASN1Encodable[] elements = this.elements;
+
+        if (elements == null)
         {
-            return super.getObjects();
+            return new LazyConstructionEnumeration(encoded, off, len);
         }
 
-        return new LazyConstructionEnumeration(encoded);
+        return new Enumeration()
+        {
+            private int index;
+
+            public boolean hasMoreElements()
+            {
+                return index < elements.length;
+            }
+
+            public Object nextElement()
+            {
+                return elements[index++];
+            }
+        };
     }
 
-    public synchronized int size()
+    public int size()
     {
-        if (encoded != null)
-        {
-            parse();
-        }
-
-        return super.size();
+        return getElements().length;
     }
 
     ASN1Primitive toDERObject()
     {
-        if (encoded != null)
-        {
-            parse();
-        }
-
-        return super.toDERObject();
+        return new DERSequence(getElements());
     }
 
     ASN1Primitive toDLObject()
     {
-        if (encoded != null)
-        {
-            parse();
-        }
-
-        return super.toDLObject();
+        return new DLSequence(getElements());
     }
 
     int encodedLength()
         throws IOException
     {
-        if (encoded != null)
-        {
-            return 1 + StreamUtil.calculateBodyLength(encoded.length) + encoded.length;
-        }
-        else
-        {
-            return super.toDLObject().encodedLength();
-        }
+        return 1 + StreamUtil.calculateBodyLength(len) + len;
     }
 
     void encode(
         ASN1OutputStream out)
         throws IOException
     {
-        if (encoded != null)
-        {
-            out.writeEncoded(BERTags.SEQUENCE | BERTags.CONSTRUCTED, encoded);
-        }
-        else
+        // the original encoding, the elements are only ever read from it.
+        out.write(BERTags.SEQUENCE | BERTags.CONSTRUCTED);
+        out.writeLength(len);
+        out.write(encoded, off, len);
+    }
+
+    public String toString()
+    {
+        StringBuffer sb = new StringBuffer("[");
+        ASN1Encodable[] elements = getElements();
+
+        for (int i = 0; i != elements.length; i++)
         {
-            super.toDLObject().encode(out);
+            if (i != 0)
+            {
+                sb.append(", ");
+            }
+            sb.append(elements[i]);
         }
+
+        return sb.append(']').toString();
     }
 }
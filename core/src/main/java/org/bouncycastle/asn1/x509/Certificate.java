@@ -1,7 +1,11 @@
 package org.bouncycastle.asn1.x509;
 
+import java.io.IOException;
+
+import org.bouncycastle.asn1.ASN1InputStream;
 import org.bouncycastle.asn1.ASN1Integer;
 import org.bouncycastle.asn1.ASN1Object;
+import org.bouncycastle.asn1.ASN1ParsingException;
 import org.bouncycastle.asn1.ASN1Primitive;
 import org.bouncycastle.asn1.ASN1Sequence;
 import org.bouncycastle.asn1.ASN1TaggedObject;
@@ -42,14 +46,50 @@ public static Certificate getInstance(
         }
         else if (obj != null)
         {
-            return new Certificate(ASN1Sequence.getInstance(obj));
+            return new Certificate(ASN1Sequence.getInstance(obj), false);
         }
 
         return null;
     }
 
+    /**
+     * Return a Certificate which refers to the passed in encoding rather than decoding it up front.
+     * Each part of the certificate is parsed the first time it is used, and getEncoded() returns the
+     * original bytes. The encoding must not be changed while the certificate is in use, and errors
+     * in the parts of the certificate that are read later will show up as exceptions from the
+     * accessors rather than from this method.
+     *
+     * @param encoding the BER/DER encoding of a certificate.
+     * @return a Certificate backed by encoding.
+     * @throws IllegalArgumentException if the outer structure of the certificate cannot be parsed.
+     */
+    public static Certificate getLazyInstance(
+        byte[]  encoding)
+    {
+        try
+        {
+            ASN1Primitive obj = new ASN1InputStream(encoding, true).readObject();
+
+            if (obj == null)
+            {
+                throw new IllegalArgumentException("no certificate found in encoding");
+            }
+
+            return new Certificate(ASN1Sequence.getInstance(obj), true);
+        }
+        catch (IOException e)
+        {
+            throw new IllegalArgumentException("failed to construct certificate from byte[]: " + e.getMessage());
+        }
+        catch (ASN1ParsingException e)
+        {
+            throw new IllegalArgumentException("failed to construct certificate from byte[]: " + e.getMessage());
+        }
+    }
+
     private Certificate(
-        ASN1Sequence seq)
+        ASN1Sequence seq,
+        boolean      lazy)
     {
         this.seq = seq;
 
@@ -58,7 +98,7 @@ private Certificate(
         //
         if (seq.size() == 3)
         {
-            tbsCert = TBSCertificate.getInstance(seq.getObjectAt(0));
+            tbsCert = lazy ? TBSCertificate.getLazyInstance(seq.getObjectAt(0)) : TBSCertificate.getInstance(seq.getObjectAt(0));
             sigAlgId = AlgorithmIdentifier.getInstance(seq.getObjectAt(1));
 
             sig = DERBitString.getInstance(seq.getObjectAt(2));
@@ -36,15 +36,18 @@
 
     ASN1Integer             version;
     ASN1Integer             serialNumber;
-    AlgorithmIdentifier     signature;
-    X500Name                issuer;
-    Time                    startDate, endDate;
-    X500Name                subject;
-    SubjectPublicKeyInfo    subjectPublicKeyInfo;
+    volatile AlgorithmIdentifier     signature;
+    volatile X500Name                issuer;
+    volatile Time                    startDate, endDate;
+    volatile X500Name                subject;
+    volatile SubjectPublicKeyInfo    subjectPublicKeyInfo;
     DERBitString            issuerUniqueId;
     DERBitString            subjectUniqueId;
     Extensions              extensions;
 
+    private final int       seqStart;
+    private volatile boolean extrasDecoded;
+
     public static TBSCertificate getInstance(
         ASN1TaggedObject obj,
         boolean          explicit)
@@ -61,17 +64,35 @@ public static TBSCertificate getInstance(
         }
         else if (obj != null)
         {
-            return new TBSCertificate(ASN1Sequence.getInstance(obj));
+            return new TBSCertificate(ASN1Sequence.getInstance(obj), false);
         }
 
         return null;
     }
 
-    private TBSCertificate(
-        ASN1Sequence seq)
+    /**
+     * Return a TBSCertificate which only decodes the fields after the serial number when they are
+     * first asked for. Errors in those fields will show up as exceptions from the accessors.
+     */
+    static TBSCertificate getLazyInstance(
+        Object  obj)
     {
-        int         seqStart = 0;
+        if (obj instanceof TBSCertificate)
+        {
+            return (TBSCertificate)obj;
+        }
+        else if (obj != null)
+        {
+            return new TBSCertificate(ASN1Sequence.getInstance(obj), true);
+        }
 
+        return null;
+    }
+
+    private TBSCertificate(
+        ASN1Sequence seq,
+        boolean      lazy)
+    {
         this.seq = seq;
 
         //
@@ -79,6 +100,7 @@ private TBSCertificate(
         //
         if (seq.getObjectAt(0) instanceof DERTaggedObject)
         {
+            seqStart = 0;
             version = ASN1Integer.getInstance((ASN1TaggedObject)seq.getObjectAt(0), true);
         }
         else
@@ -89,24 +111,35 @@ private TBSCertificate(
 
         serialNumber = ASN1Integer.getInstance(seq.getObjectAt(seqStart + 1));
 
-        signature = AlgorithmIdentifier.getInstance(seq.getObjectAt(seqStart + 2));
-        issuer = X500Name.getInstance(seq.getObjectAt(seqStart + 3));
+        if (!lazy)
+        {
+            getSignature();
+            getIssuer();
+            getStartDate();
+            getSubject();
+            getSubjectPublicKeyInfo();
+            getExtensions();
+        }
+    }
+
+    //
+    // The fields below are decoded on first use. Threads racing to decode one will produce
+    // equivalent objects so there is no locking, the volatile fields give safe publication.
+    //
 
+    private void decodeValidity()
+    {
         //
         // before and after dates
         //
         ASN1Sequence  dates = (ASN1Sequence)seq.getObjectAt(seqStart + 4);
 
-        startDate = Time.getInstance(dates.getObjectAt(0));
         endDate = Time.getInstance(dates.getObjectAt(1));
+        startDate = Time.getInstance(dates.getObjectAt(0));     // written last, read first
+    }
 
-        subject = X500Name.getInstance(seq.getObjectAt(seqStart + 5));
-
-        //
-        // public key info.
-        //
-        subjectPublicKeyInfo = SubjectPublicKeyInfo.getInstance(seq.getObjectAt(seqStart + 6));
-
+    private void decodeExtras()
+    {
         for (int extras = seq.size() - (seqStart + 6) - 1; extras > 0; extras--)
         {
             DERTaggedObject extra = (DERTaggedObject)seq.getObjectAt(seqStart + 6 + extras);
@@ -123,6 +156,8 @@ private TBSCertificate(
                 extensions = Extensions.getInstance(ASN1Sequence.getInstance(extra, true));
             }
         }
+
+        extrasDecoded = true;
     }
 
     public int getVersionNumber()
@@ -142,46 +177,106 @@ public ASN1Integer getSerialNumber()
 
     public AlgorithmIdentifier getSignature()
     {
+        AlgorithmIdentifier signature = this.signature;
+
+        if (signature == null)
+        {
+            signature = AlgorithmIdentifier.getInstance(seq.getObjectAt(seqStart + 2));
+            this.signature = signature;
+        }
+
         return signature;
     }
 
     public X500Name getIssuer()
     {
+        X500Name issuer = this.issuer;
+
+        if (issuer == null)
+        {
+            issuer = X500Name.getInstance(seq.getObjectAt(seqStart + 3));
+            this.issuer = issuer;
+        }
+
         return issuer;
     }
 
     public Time getStartDate()
     {
+        if (startDate == null)
+        {
+            decodeValidity();
+        }
+
         return startDate;
     }
 
     public Time getEndDate()
     {
+        if (startDate == null)
+        {
+            decodeValidity();
+        }
+
         return endDate;
     }
 
     public X500Name getSubject()
     {
+        X500Name subject = this.subject;
+
+        if (subject == null)
+        {
+            subject = X500Name.getInstance(seq.getObjectAt(seqStart + 5));
+            this.subject = subject;
+        }
+
         return subject;
     }
 
     public SubjectPublicKeyInfo getSubjectPublicKeyInfo()
     {
+        SubjectPublicKeyInfo subjectPublicKeyInfo = this.subjectPublicKeyInfo;
+
+        if (subjectPublicKeyInfo == null)
+        {
+            //
+            // public key info.
+            //
+            subjectPublicKeyInfo = SubjectPublicKeyInfo.getInstance(seq.getObjectAt(seqStart + 6));
+            this.subjectPublicKeyInfo = subjectPublicKeyInfo;
+        }
+
         return subjectPublicKeyInfo;
     }
 
     public DERBitString getIssuerUniqueId()
     {
+        if (!extrasDecoded)
+        {
+            decodeExtras();
+        }
+
         return issuerUniqueId;
     }
 
     public DERBitString getSubjectUniqueId()
     {
+        if (!extrasDecoded)
+        {
+            decodeExtras();
+        }
+
         return subjectUniqueId;
     }
 
     public Extensions getExtensions()
     {
+        if (!extrasDecoded)
+        {
+            decodeExtras();
+        }
+
         return extensions;
     }
 
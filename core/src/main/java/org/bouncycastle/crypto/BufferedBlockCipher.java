@@ -218,6 +218,16 @@ public int processBytes(
             len -= gapLen;
             inOff += gapLen;
 
+            if (cipher instanceof MultiBlockCipher && len > buf.length)
+            {
+                int blockCount = (len - 1) / blockSize;
+                int blocksLen = ((MultiBlockCipher)cipher).processBlocks(in, inOff, blockCount, out, outOff + resultLen);
+
+                resultLen += blocksLen;
+                len -= blocksLen;
+                inOff += blocksLen;
+            }
+
             while (len > buf.length)
             {
                 resultLen += cipher.processBlock(in, inOff, out, outOff + resultLen);
@@ -0,0 +1,34 @@
+package org.bouncycastle.crypto;
+
+/**
+ * Block ciphers and modes which can process several consecutive blocks in one call implement this.
+ * The parallelizable modes (CTR, CBC decryption, ECB and GCM) hand their runs of independent blocks
+ * to the underlying cipher in batches of getMultiBlockSize() blocks when it implements this.
+ */
+public interface MultiBlockCipher
+    extends BlockCipher
+{
+    /**
+     * Return the number of blocks this cipher would prefer to be given in each call to processBlocks().
+     *
+     * @return the preferred number of blocks per call.
+     */
+    int getMultiBlockSize();
+
+    /**
+     * Process blockCount blocks of input from the array in and write them to the out array.
+     * The result is the same as calling processBlock() blockCount times on consecutive blocks.
+     *
+     * @param in the array containing the input data.
+     * @param inOff offset into the in array the data starts at.
+     * @param blockCount the number of blocks to process.
+     * @param out the array the output data will be copied into.
+     * @param outOff the offset into the out array the output will start at.
+     * @exception DataLengthException if there isn't enough data in in, or
+     * space in out.
+     * @exception IllegalStateException if the cipher isn't initialised.
+     * @return the number of bytes processed and produced.
+     */
+    int processBlocks(byte[] in, int inOff, int blockCount, byte[] out, int outOff)
+        throws DataLengthException, IllegalStateException;
+}
@@ -3,6 +3,7 @@
 import org.bouncycastle.crypto.BlockCipher;
 import org.bouncycastle.crypto.CipherParameters;
 import org.bouncycastle.crypto.DataLengthException;
+import org.bouncycastle.crypto.MultiBlockCipher;
 import org.bouncycastle.crypto.OutputLengthException;
 import org.bouncycastle.crypto.params.KeyParameter;
 import org.bouncycastle.util.Pack;
@@ -31,7 +32,7 @@
  *
  */
 public class AESFastEngine
-    implements BlockCipher
+    implements MultiBlockCipher
 {
     // The S box
     private static final byte[] S = {
@@ -660,10 +661,10 @@ else if ((KC > 6) && ((i % KC) == 4))
 
     private int         ROUNDS;
     private int[][]     WorkingKey = null;
-    private int         C0, C1, C2, C3;
     private boolean     forEncryption;
 
     private static final int BLOCK_SIZE = 16;
+    private static final int MULTI_BLOCK_SIZE = 16;
 
     /**
      * default constructor - 128 bit block size.
@@ -709,76 +710,114 @@ public int processBlock(
         int inOff,
         byte[] out,
         int outOff)
+    {
+        return processBlocks(in, inOff, 1, out, outOff);
+    }
+
+    public int getMultiBlockSize()
+    {
+        return MULTI_BLOCK_SIZE;
+    }
+
+    public int processBlocks(
+        byte[] in,
+        int inOff,
+        int blockCount,
+        byte[] out,
+        int outOff)
     {
         if (WorkingKey == null)
         {
             throw new IllegalStateException("AES engine not initialised");
         }
 
-        if ((inOff + (32 / 2)) > in.length)
+        int len = blockCount * BLOCK_SIZE;
+
+        if (blockCount < 0 || (inOff + len) > in.length)
         {
             throw new DataLengthException("input buffer too short");
         }
 
-        if ((outOff + (32 / 2)) > out.length)
+        if ((outOff + len) > out.length)
         {
             throw new OutputLengthException("output buffer too short");
         }
 
-        unpackBlock(in, inOff);
-
         if (forEncryption)
         {
-            encryptBlock(WorkingKey);
+            encryptBlocks(WorkingKey, in, inOff, blockCount, out, outOff);
         }
         else
         {
-            decryptBlock(WorkingKey);
+            decryptBlocks(WorkingKey, in, inOff, blockCount, out, outOff);
         }
 
-        packBlock(out, outOff);
-
-        return BLOCK_SIZE;
+        return len;
     }
 
     public void reset()
     {
     }
 
-    private void unpackBlock(byte[] bytes, int off)
+    private void encryptBlocks(int[][] KW, byte[] in, int inOff, int blockCount, byte[] out, int outOff)
     {
-        this.C0 = Pack.littleEndianToInt(bytes, off);
-        this.C1 = Pack.littleEndianToInt(bytes, off + 4);
-        this.C2 = Pack.littleEndianToInt(bytes, off + 8);
-        this.C3 = Pack.littleEndianToInt(bytes, off + 12);
-    }
+        // the round keys, round count and tables are held in locals across the blocks
+        int rounds = ROUNDS;
+        int[] KW0 = KW[0], KWn = KW[rounds];
+        int[] T = AESFastEngine.T;
+        byte[] S = AESFastEngine.S;
 
-    private void packBlock(byte[] bytes, int off)
-    {
-        Pack.intToLittleEndian(this.C0, bytes, off);
-        Pack.intToLittleEndian(this.C1, bytes, off + 4);
-        Pack.intToLittleEndian(this.C2, bytes, off + 8);
-        Pack.intToLittleEndian(this.C3, bytes, off + 12);
-    }
-
-    private void encryptBlock(int[][] KW)
-    {
-        int t0 = this.C0 ^ KW[0][0];
-        int t1 = this.C1 ^ KW[0][1];
-        int t2 = this.C2 ^ KW[0][2];
-
-        /*
-         * Fast engine has precomputed rotr(T0, 8/16/24) tables T1/T2/T3.
-         *
-         * Placing all precomputes in one array requires offsets additions for 8/16/24 rotations but
-         * avoids additional array range checks on 3 more arrays (which on HotSpot are more
-         * expensive than the offset additions).
-         */
-        int r = 1, r0, r1, r2, r3 = this.C3 ^ KW[0][3];
-        int i0, i1, i2, i3;
-
-        while (r < ROUNDS - 1)
+        for (int i = 0; i != blockCount; i++, inOff += BLOCK_SIZE, outOff += BLOCK_SIZE)
         {
+            int t0 = Pack.littleEndianToInt(in, inOff) ^ KW0[0];
+            int t1 = Pack.littleEndianToInt(in, inOff + 4) ^ KW0[1];
+            int t2 = Pack.littleEndianToInt(in, inOff + 8) ^ KW0[2];
+
+            /*
+             * Fast engine has precomputed rotr(T0, 8/16/24) tables T1/T2/T3.
+             *
+             * Placing all precomputes in one array requires offsets additions for 8/16/24 rotations but
+             * avoids additional array range checks on 3 more arrays (which on HotSpot are more
+             * expensive than the offset additions).
+             */
+            int r = 1, r0, r1, r2, r3 = Pack.littleEndianToInt(in, inOff + 12) ^ KW0[3];
+            int i0, i1, i2, i3;
+
+            while (r < rounds - 1)
+            {
+                i0 = t0; i1 = t1 >>> 8; i2 = t2 >>> 16; i3 = r3 >>> 24;
+                i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
+                r0 = T[i0] ^ T[256 + i1] ^ T[512 + i2] ^ T[768 + i3] ^ KW[r][0];
+
+                i0 = t1; i1 = t2 >>> 8; i2 = r3 >>> 16; i3 = t0 >>> 24;
+                i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
+                r1 = T[i0] ^ T[256 + i1] ^ T[512 + i2] ^ T[768 + i3] ^ KW[r][1];
+
+                i0 = t2; i1 = r3 >>> 8; i2 = t0 >>> 16; i3 = t1 >>> 24;
+                i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
+                r2 = T[i0] ^ T[256 + i1] ^ T[512 + i2] ^ T[768 + i3] ^ KW[r][2];
+
+                i0 = r3; i1 = t0 >>> 8; i2 = t1 >>> 16; i3 = t2 >>> 24;
+                i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
+                r3 = T[i0] ^ T[256 + i1] ^ T[512 + i2] ^ T[768 + i3] ^ KW[r++][3];
+
+                i0 = r0; i1 = r1 >>> 8; i2 = r2 >>> 16; i3 = r3 >>> 24;
+                i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
+                t0 = T[i0] ^ T[256 + i1] ^ T[512 + i2] ^ T[768 + i3] ^ KW[r][0];
+
+                i0 = r1; i1 = r2 >>> 8; i2 = r3 >>> 16; i3 = r0 >>> 24;
+                i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
+                t1 = T[i0] ^ T[256 + i1] ^ T[512 + i2] ^ T[768 + i3] ^ KW[r][1];
+
+                i0 = r2; i1 = r3 >>> 8; i2 = r0 >>> 16; i3 = r1 >>> 24;
+                i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
+                t2 = T[i0] ^ T[256 + i1] ^ T[512 + i2] ^ T[768 + i3] ^ KW[r][2];
+
+                i0 = r3; i1 = r0 >>> 8; i2 = r1 >>> 16; i3 = r2 >>> 24;
+                i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
+                r3 = T[i0] ^ T[256 + i1] ^ T[512 + i2] ^ T[768 + i3] ^ KW[r++][3];
+            }
+
             i0 = t0; i1 = t1 >>> 8; i2 = t2 >>> 16; i3 = r3 >>> 24;
             i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
             r0 = T[i0] ^ T[256 + i1] ^ T[512 + i2] ^ T[768 + i3] ^ KW[r][0];
@@ -795,134 +834,111 @@ private void encryptBlock(int[][] KW)
             i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
             r3 = T[i0] ^ T[256 + i1] ^ T[512 + i2] ^ T[768 + i3] ^ KW[r++][3];
 
+            // the final round's table is a simple function of S so we don't use a whole other four tables for it
+
             i0 = r0; i1 = r1 >>> 8; i2 = r2 >>> 16; i3 = r3 >>> 24;
-            i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
-            t0 = T[i0] ^ T[256 + i1] ^ T[512 + i2] ^ T[768 + i3] ^ KW[r][0];
+            i0 = S[i0 & 255] & 255; i1 = S[i1 & 255] & 255; i2 = S[i2 & 255] & 255; i3 = S[i3 & 255] & 255;
+            Pack.intToLittleEndian(i0 ^ i1 << 8 ^ i2 << 16 ^ i3 << 24 ^ KWn[0], out, outOff);
 
             i0 = r1; i1 = r2 >>> 8; i2 = r3 >>> 16; i3 = r0 >>> 24;
-            i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
-            t1 = T[i0] ^ T[256 + i1] ^ T[512 + i2] ^ T[768 + i3] ^ KW[r][1];
+            i0 = S[i0 & 255] & 255; i1 = S[i1 & 255] & 255; i2 = S[i2 & 255] & 255; i3 = S[i3 & 255] & 255;
+            Pack.intToLittleEndian(i0 ^ i1 << 8 ^ i2 << 16 ^ i3 << 24 ^ KWn[1], out, outOff + 4);
 
             i0 = r2; i1 = r3 >>> 8; i2 = r0 >>> 16; i3 = r1 >>> 24;
-            i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
-            t2 = T[i0] ^ T[256 + i1] ^ T[512 + i2] ^ T[768 + i3] ^ KW[r][2];
+            i0 = S[i0 & 255] & 255; i1 = S[i1 & 255] & 255; i2 = S[i2 & 255] & 255; i3 = S[i3 & 255] & 255;
+            Pack.intToLittleEndian(i0 ^ i1 << 8 ^ i2 << 16 ^ i3 << 24 ^ KWn[2], out, outOff + 8);
 
             i0 = r3; i1 = r0 >>> 8; i2 = r1 >>> 16; i3 = r2 >>> 24;
-            i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
-            r3 = T[i0] ^ T[256 + i1] ^ T[512 + i2] ^ T[768 + i3] ^ KW[r++][3];
+            i0 = S[i0 & 255] & 255; i1 = S[i1 & 255] & 255; i2 = S[i2 & 255] & 255; i3 = S[i3 & 255] & 255;
+            Pack.intToLittleEndian(i0 ^ i1 << 8 ^ i2 << 16 ^ i3 << 24 ^ KWn[3], out, outOff + 12);
         }
+    }
 
-        i0 = t0; i1 = t1 >>> 8; i2 = t2 >>> 16; i3 = r3 >>> 24;
-        i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
-        r0 = T[i0] ^ T[256 + i1] ^ T[512 + i2] ^ T[768 + i3] ^ KW[r][0];
+    private void decryptBlocks(int[][] KW, byte[] in, int inOff, int blockCount, byte[] out, int outOff)
+    {
+        // the round keys, round count and tables are held in locals across the blocks
+        int rounds = ROUNDS;
+        int[] KW0 = KW[0], KWn = KW[rounds];
+        int[] Tinv = AESFastEngine.Tinv;
+        byte[] Si = AESFastEngine.Si;
 
-        i0 = t1; i1 = t2 >>> 8; i2 = r3 >>> 16; i3 = t0 >>> 24;
-        i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
-        r1 = T[i0] ^ T[256 + i1] ^ T[512 + i2] ^ T[768 + i3] ^ KW[r][1];
+        for (int i = 0; i != blockCount; i++, inOff += BLOCK_SIZE, outOff += BLOCK_SIZE)
+        {
+            int t0 = Pack.littleEndianToInt(in, inOff) ^ KWn[0];
+            int t1 = Pack.littleEndianToInt(in, inOff + 4) ^ KWn[1];
+            int t2 = Pack.littleEndianToInt(in, inOff + 8) ^ KWn[2];
 
-        i0 = t2; i1 = r3 >>> 8; i2 = t0 >>> 16; i3 = t1 >>> 24;
-        i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
-        r2 = T[i0] ^ T[256 + i1] ^ T[512 + i2] ^ T[768 + i3] ^ KW[r][2];
+            int r = rounds - 1, r0, r1, r2, r3 = Pack.littleEndianToInt(in, inOff + 12) ^ KWn[3];
+            int i0, i1, i2, i3;
 
-        i0 = r3; i1 = t0 >>> 8; i2 = t1 >>> 16; i3 = t2 >>> 24;
-        i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
-        r3 = T[i0] ^ T[256 + i1] ^ T[512 + i2] ^ T[768 + i3] ^ KW[r++][3];
+            while (r > 1)
+            {
+                i0 = t0; i1 = r3 >>> 8; i2 = t2 >>> 16; i3 = t1 >>> 24;
+                i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
+                r0 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[r][0];
 
-        // the final round's table is a simple function of S so we don't use a whole other four tables for it
+                i0 = t1; i1 = t0 >>> 8; i2 = r3 >>> 16; i3 = t2 >>> 24;
+                i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
+                r1 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[r][1];
 
-        i0 = r0; i1 = r1 >>> 8; i2 = r2 >>> 16; i3 = r3 >>> 24;
-        i0 = S[i0 & 255] & 255; i1 = S[i1 & 255] & 255; i2 = S[i2 & 255] & 255; i3 = S[i3 & 255] & 255;
-        this.C0 = i0 ^ i1 << 8 ^ i2 << 16 ^ i3 << 24 ^ KW[r][0];
+                i0 = t2; i1 = t1 >>> 8; i2 = t0 >>> 16; i3 = r3 >>> 24;
+                i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
+                r2 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[r][2];
 
-        i0 = r1; i1 = r2 >>> 8; i2 = r3 >>> 16; i3 = r0 >>> 24;
-        i0 = S[i0 & 255] & 255; i1 = S[i1 & 255] & 255; i2 = S[i2 & 255] & 255; i3 = S[i3 & 255] & 255;
-        this.C1 = i0 ^ i1 << 8 ^ i2 << 16 ^ i3 << 24 ^ KW[r][1];
+                i0 = r3; i1 = t2 >>> 8; i2 = t1 >>> 16; i3 = t0 >>> 24;
+                i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
+                r3 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[r--][3];
 
-        i0 = r2; i1 = r3 >>> 8; i2 = r0 >>> 16; i3 = r1 >>> 24;
-        i0 = S[i0 & 255] & 255; i1 = S[i1 & 255] & 255; i2 = S[i2 & 255] & 255; i3 = S[i3 & 255] & 255;
-        this.C2 = i0 ^ i1 << 8 ^ i2 << 16 ^ i3 << 24 ^ KW[r][2];
+                i0 = r0; i1 = r3 >>> 8; i2 = r2 >>> 16; i3 = r1 >>> 24;
+                i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
+                t0 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[r][0];
 
-        i0 = r3; i1 = r0 >>> 8; i2 = r1 >>> 16; i3 = r2 >>> 24;
-        i0 = S[i0 & 255] & 255; i1 = S[i1 & 255] & 255; i2 = S[i2 & 255] & 255; i3 = S[i3 & 255] & 255;
-        this.C3 = i0 ^ i1 << 8 ^ i2 << 16 ^ i3 << 24 ^ KW[r][3];
-    }
+                i0 = r1; i1 = r0 >>> 8; i2 = r3 >>> 16; i3 = r2 >>> 24;
+                i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
+                t1 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[r][1];
 
-    private void decryptBlock(int[][] KW)
-    {
-        int t0 = this.C0 ^ KW[ROUNDS][0];
-        int t1 = this.C1 ^ KW[ROUNDS][1];
-        int t2 = this.C2 ^ KW[ROUNDS][2];
+                i0 = r2; i1 = r1 >>> 8; i2 = r0 >>> 16; i3 = r3 >>> 24;
+                i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
+                t2 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[r][2];
 
-        int r = ROUNDS - 1, r0, r1, r2, r3 = this.C3 ^ KW[ROUNDS][3];
-        int i0, i1, i2, i3;
+                i0 = r3; i1 = r2 >>> 8; i2 = r1 >>> 16; i3 = r0 >>> 24;
+                i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
+                r3 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[r--][3];
+            }
 
-        while (r > 1)
-        {
             i0 = t0; i1 = r3 >>> 8; i2 = t2 >>> 16; i3 = t1 >>> 24;
             i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
-            r0 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[r][0];
+            r0 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[1][0];
 
             i0 = t1; i1 = t0 >>> 8; i2 = r3 >>> 16; i3 = t2 >>> 24;
             i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
-            r1 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[r][1];
+            r1 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[1][1];
 
             i0 = t2; i1 = t1 >>> 8; i2 = t0 >>> 16; i3 = r3 >>> 24;
             i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
-            r2 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[r][2];
+            r2 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[1][2];
 
             i0 = r3; i1 = t2 >>> 8; i2 = t1 >>> 16; i3 = t0 >>> 24;
             i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
-            r3 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[r--][3];
+            r3 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[1][3];
+
+            // the final round's table is a simple function of Si so we don't use a whole other four tables for it
 
             i0 = r0; i1 = r3 >>> 8; i2 = r2 >>> 16; i3 = r1 >>> 24;
-            i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
-            t0 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[r][0];
+            i0 = Si[i0 & 255] & 255; i1 = Si[i1 & 255] & 255; i2 = Si[i2 & 255] & 255; i3 = Si[i3 & 255] & 255;
+            Pack.intToLittleEndian(i0 ^ i1 << 8 ^ i2 << 16 ^ i3 << 24 ^ KW0[0], out, outOff);
 
             i0 = r1; i1 = r0 >>> 8; i2 = r3 >>> 16; i3 = r2 >>> 24;
-            i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
-            t1 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[r][1];
+            i0 = Si[i0 & 255] & 255; i1 = Si[i1 & 255] & 255; i2 = Si[i2 & 255] & 255; i3 = Si[i3 & 255] & 255;
+            Pack.intToLittleEndian(i0 ^ i1 << 8 ^ i2 << 16 ^ i3 << 24 ^ KW0[1], out, outOff + 4);
 
             i0 = r2; i1 = r1 >>> 8; i2 = r0 >>> 16; i3 = r3 >>> 24;
-            i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
-            t2 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[r][2];
+            i0 = Si[i0 & 255] & 255; i1 = Si[i1 & 255] & 255; i2 = Si[i2 & 255] & 255; i3 = Si[i3 & 255] & 255;
+            Pack.intToLittleEndian(i0 ^ i1 << 8 ^ i2 << 16 ^ i3 << 24 ^ KW0[2], out, outOff + 8);
 
             i0 = r3; i1 = r2 >>> 8; i2 = r1 >>> 16; i3 = r0 >>> 24;
-            i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
-            r3 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[r--][3];
+            i0 = Si[i0 & 255] & 255; i1 = Si[i1 & 255] & 255; i2 = Si[i2 & 255] & 255; i3 = Si[i3 & 255] & 255;
+            Pack.intToLittleEndian(i0 ^ i1 << 8 ^ i2 << 16 ^ i3 << 24 ^ KW0[3], out, outOff + 12);
         }
-
-        i0 = t0; i1 = r3 >>> 8; i2 = t2 >>> 16; i3 = t1 >>> 24;
-        i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
-        r0 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[1][0];
-
-        i0 = t1; i1 = t0 >>> 8; i2 = r3 >>> 16; i3 = t2 >>> 24;
-        i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
-        r1 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[1][1];
-
-        i0 = t2; i1 = t1 >>> 8; i2 = t0 >>> 16; i3 = r3 >>> 24;
-        i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
-        r2 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[1][2];
-
-        i0 = r3; i1 = t2 >>> 8; i2 = t1 >>> 16; i3 = t0 >>> 24;
-        i0 &= 255; i1 &= 255; i2 &= 255; i3 &= 255;
-        r3 = Tinv[i0] ^ Tinv[256 + i1] ^ Tinv[512 + i2] ^ Tinv[768 + i3] ^ KW[1][3];
-
-        // the final round's table is a simple function of Si so we don't use a whole other four tables for it
-
-        i0 = r0; i1 = r3 >>> 8; i2 = r2 >>> 16; i3 = r1 >>> 24;
-        i0 = Si[i0 & 255] & 255; i1 = Si[i1 & 255] & 255; i2 = Si[i2 & 255] & 255; i3 = Si[i3 & 255] & 255;
-        this.C0 = i0 ^ i1 << 8 ^ i2 << 16 ^ i3 << 24 ^ KW[0][0];
-
-        i0 = r1; i1 = r0 >>> 8; i2 = r3 >>> 16; i3 = r2 >>> 24;
-        i0 = Si[i0 & 255] & 255; i1 = Si[i1 & 255] & 255; i2 = Si[i2 & 255] & 255; i3 = Si[i3 & 255] & 255;
-        this.C1 = i0 ^ i1 << 8 ^ i2 << 16 ^ i3 << 24 ^ KW[0][1];
-
-        i0 = r2; i1 = r1 >>> 8; i2 = r0 >>> 16; i3 = r3 >>> 24;
-        i0 = Si[i0 & 255] & 255; i1 = Si[i1 & 255] & 255; i2 = Si[i2 & 255] & 255; i3 = Si[i3 & 255] & 255;
-        this.C2 = i0 ^ i1 << 8 ^ i2 << 16 ^ i3 << 24 ^ KW[0][2];
-
-        i0 = r3; i1 = r2 >>> 8; i2 = r1 >>> 16; i3 = r0 >>> 24;
-        i0 = Si[i0 & 255] & 255; i1 = Si[i1 & 255] & 255; i2 = Si[i2 & 255] & 255; i3 = Si[i3 & 255] & 255;
-        this.C3 = i0 ^ i1 << 8 ^ i2 << 16 ^ i3 << 24 ^ KW[0][3];
     }
 }
@@ -12,17 +12,32 @@
 import org.bouncycastle.util.BigIntegers;
 
 /**
- * this does your basic RSA algorithm with blinding
+ * this does your basic RSA algorithm with blinding.
+ * <p>
+ * The blinding factors are kept between private key operations with the same key and moved
+ * on by squaring (r becomes r^2, so r^e and r^-1 are squared too) rather than recalculated,
+ * with a fresh random r every BLINDING_REFRESH_COUNT operations. Like the engine itself the
+ * blinding state belongs to one thread at a time.
+ * </p>
  */
 public class RSABlindedEngine
     implements AsymmetricBlockCipher
 {
     private static final BigInteger ONE = BigInteger.valueOf(1);
 
+    private static final int BLINDING_REFRESH_COUNT = 32;
+
     private RSACoreEngine    core = new RSACoreEngine();
     private RSAKeyParameters key;
     private SecureRandom     random;
 
+    // blinding state for the last private key used: r^e mod m and r^-1 mod m
+    private BigInteger       blindModulus;
+    private BigInteger       blindExponent;
+    private BigInteger       blind;
+    private BigInteger       unblind;
+    private int              blindCount;
+
     /**
      * initialise the RSA engine.
      *
@@ -103,13 +118,13 @@ public byte[] processBlock(
             if (e != null)   // can't do blinding without a public exponent
             {
                 BigInteger m = k.getModulus();
-                BigInteger r = BigIntegers.createRandomInRange(ONE, m.subtract(ONE), random);
 
-                BigInteger blindedInput = r.modPow(e, m).multiply(input).mod(m);
+                nextBlindingFactors(m, e);
+
+                BigInteger blindedInput = blind.multiply(input).mod(m);
                 BigInteger blindedResult = core.processBlock(blindedInput);
 
-                BigInteger rInv = r.modInverse(m);
-                result = blindedResult.multiply(rInv).mod(m);
+                result = blindedResult.multiply(unblind).mod(m);
             }
             else
             {
@@ -123,4 +138,26 @@ public byte[] processBlock(
 
         return core.convertOutput(result);
     }
+
+    private void nextBlindingFactors(BigInteger m, BigInteger e)
+    {
+        if (blind == null || blindCount >= BLINDING_REFRESH_COUNT
+            || !m.equals(blindModulus) || !e.equals(blindExponent))
+        {
+            BigInteger r = BigIntegers.createRandomInRange(ONE, m.subtract(ONE), random);
+
+            blindModulus = m;
+            blindExponent = e;
+            blind = r.modPow(e, m);
+            unblind = r.modInverse(m);
+            blindCount = 0;
+        }
+        else
+        {
+            blind = blind.multiply(blind).mod(m);
+            unblind = unblind.multiply(unblind).mod(m);
+        }
+
+        blindCount++;
+    }
 }
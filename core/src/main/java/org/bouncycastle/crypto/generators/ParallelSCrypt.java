@@ -0,0 +1,175 @@
+package org.bouncycastle.crypto.generators;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bouncycastle.util.Pack;
+
+/**
+ * Implementation of the scrypt password-based key derivation function that runs the
+ * <code>p</code> independent mixing lanes on an {@link Executor}.
+ * <p>
+ * The result is identical to {@link SCrypt#generate(byte[], byte[], int, int, int, int)}.
+ * </p>
+ */
+public class ParallelSCrypt
+{
+    /**
+     * Generate a key using the scrypt key derivation function, running the mixing lanes on an executor.
+     * <p>
+     * Each lane in progress holds <code>128 * r * N</code> bytes of working memory, so at most
+     * <code>maxThreads</code> lanes are processed at a time. The calling thread takes part in the
+     * work and only waits for lanes other threads have actually started, so this is safe to call
+     * from a thread of the executor itself.
+     * </p>
+     * @param P the bytes of the pass phrase.
+     * @param S the salt to use for this invocation.
+     * @param N CPU/Memory cost parameter. Must be larger than 1, a power of 2 and less than
+     *            <code>2^(128 * r / 8)</code>.
+     * @param r the block size, must be >= 1.
+     * @param p Parallelization parameter. Must be a positive integer less than or equal to
+     *            <code>Integer.MAX_VALUE / (128 * r * 8)</code>.
+     * @param dkLen the length of the key to generate.
+     * @param executor the executor to run additional lanes on.
+     * @param maxThreads the maximum number of lanes to process concurrently, including the calling thread.
+     * @return the generated key.
+     */
+    public static byte[] generate(byte[] P, byte[] S, int N, int r, int p, int dkLen, Executor executor, int maxThreads)
+    {
+        SCrypt.checkParameters(P, S, N, r, p, dkLen);
+
+        if (executor == null)
+        {
+            throw new IllegalArgumentException("Executor must be provided.");
+        }
+        if (maxThreads < 1)
+        {
+            throw new IllegalArgumentException("Thread count maxThreads must be >= 1.");
+        }
+
+        int MFLenBytes = r * 128;
+        byte[] bytes = SCrypt.SingleIterationPBKDF2(P, S, p * MFLenBytes);
+
+        int[] B = null;
+
+        try
+        {
+            int BLen = bytes.length >>> 2;
+            B = new int[BLen];
+
+            Pack.littleEndianToInt(bytes, 0, B);
+
+            new ParallelSMix(B, MFLenBytes >>> 2, N, r, p).run(executor, Math.min(maxThreads, p));
+
+            Pack.intToLittleEndian(B, bytes, 0);
+
+            return SCrypt.SingleIterationPBKDF2(P, bytes, dkLen);
+        }
+        finally
+        {
+            SCrypt.Clear(bytes);
+            SCrypt.Clear(B);
+        }
+    }
+
+    /**
+     * Runs the SMix lanes of B concurrently. Each worker claims the next unprocessed lane until
+     * none are left, so lanes are only ever waited on once a thread is working on them.
+     */
+    private static class ParallelSMix
+        implements Runnable
+    {
+        private final int[] B;
+        private final int laneWords;
+        private final int N;
+        private final int r;
+        private final int p;
+
+        private final AtomicInteger nextLane = new AtomicInteger(0);
+        private final CountDownLatch lanesDone;
+        private volatile Throwable failure = null;
+
+        ParallelSMix(int[] B, int laneWords, int N, int r, int p)
+        {
+            this.B = B;
+            this.laneWords = laneWords;
+            this.N = N;
+            this.r = r;
+            this.p = p;
+            this.lanesDone = new CountDownLatch(p);
+        }
+
+        void run(Executor executor, int threads)
+        {
+            for (int i = 1; i < threads; ++i)
+            {
+                try
+                {
+                    executor.execute(this);
+                }
+                catch (RejectedExecutionException e)
+                {
+                    // the calling thread will pick up the remaining lanes
+                    break;
+                }
+            }
+
+            run();
+
+            boolean interrupted = false;
+            for (;;)
+            {
+                try
+                {
+                    lanesDone.await();
+                    break;
+                }
+                catch (InterruptedException e)
+                {
+                    interrupted = true;
+                }
+            }
+            if (interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            if (failure instanceof RuntimeException)
+            {
+                throw (RuntimeException)failure;
+            }
+            if (failure instanceof Error)
+            {
+                throw (Error)failure;
+            }
+        }
+
+        public void run()
+        {
+            int lane;
+            while (failure == null && (lane = nextLane.getAndIncrement()) < p)
+            {
+                try
+                {
+                    SCrypt.SMix(B, lane * laneWords, N, r);
+                }
+                catch (Throwable t)
+                {
+                    failure = t;
+
+                    // release the waiting caller, no further lanes will be started
+                    for (int i = nextLane.getAndSet(p); i < p; ++i)
+                    {
+                        lanesDone.countDown();
+                    }
+                }
+                finally
+                {
+                    lanesDone.countDown();
+                }
+            }
+        }
+    }
+}
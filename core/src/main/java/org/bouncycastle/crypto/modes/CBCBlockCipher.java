@@ -3,6 +3,7 @@
 import org.bouncycastle.crypto.BlockCipher;
 import org.bouncycastle.crypto.CipherParameters;
 import org.bouncycastle.crypto.DataLengthException;
+import org.bouncycastle.crypto.MultiBlockCipher;
 import org.bouncycastle.crypto.params.ParametersWithIV;
 import org.bouncycastle.util.Arrays;
 
@@ -10,7 +11,7 @@
  * implements Cipher-Block-Chaining (CBC) mode on top of a simple cipher.
  */
 public class CBCBlockCipher
-    implements BlockCipher
+    implements MultiBlockCipher
 {
     private byte[]          IV;
     private byte[]          cbcV;
@@ -20,6 +21,8 @@
     private BlockCipher     cipher = null;
     private boolean         encrypting;
 
+    private byte[]          cbcBlocks;
+
     /**
      * Basic constructor.
      *
@@ -148,6 +151,44 @@ public int processBlock(
         return (encrypting) ? encryptBlock(in, inOff, out, outOff) : decryptBlock(in, inOff, out, outOff);
     }
 
+    public int getMultiBlockSize()
+    {
+        if (cipher instanceof MultiBlockCipher)
+        {
+            return ((MultiBlockCipher)cipher).getMultiBlockSize();
+        }
+
+        return 1;
+    }
+
+    /**
+     * Process blockCount blocks. Encryption is inherently serial, but when decrypting
+     * and the underlying cipher supports it, each batch of blocks is decrypted in one
+     * call before the chaining is applied.
+     */
+    public int processBlocks(
+        byte[]      in,
+        int         inOff,
+        int         blockCount,
+        byte[]      out,
+        int         outOff)
+        throws DataLengthException, IllegalStateException
+    {
+        if (encrypting || !(cipher instanceof MultiBlockCipher))
+        {
+            int resultLen = 0;
+
+            for (int i = 0; i != blockCount; i++)
+            {
+                resultLen += processBlock(in, inOff + resultLen, out, outOff + resultLen);
+            }
+
+            return resultLen;
+        }
+
+        return decryptBlocks(in, inOff, blockCount, out, outOff);
+    }
+
     /**
      * reset the chaining vector back to the IV and reset the underlying
      * cipher.
@@ -250,4 +291,80 @@ private int decryptBlock(
 
         return length;
     }
+
+    /**
+     * Do the CBC mode decryption of several blocks, decrypting a batch of
+     * blocks at a time with the underlying cipher.
+     */
+    private int decryptBlocks(
+        byte[]      in,
+        int         inOff,
+        int         blockCount,
+        byte[]      out,
+        int         outOff)
+        throws DataLengthException, IllegalStateException
+    {
+        int len = blockCount * blockSize;
+
+        if ((inOff + len) > in.length)
+        {
+            throw new DataLengthException("input buffer too short");
+        }
+
+        MultiBlockCipher multiBlockCipher = (MultiBlockCipher)cipher;
+
+        if (in != out && len > 0)
+        {
+            // the cipher text stays available in in, so it can be chained from directly
+            int resultLen = multiBlockCipher.processBlocks(in, inOff, blockCount, out, outOff);
+
+            for (int i = 0; i < blockSize; i++)
+            {
+                out[outOff + i] ^= cbcV[i];
+            }
+
+            for (int i = blockSize; i < len; i++)
+            {
+                out[outOff + i] ^= in[inOff + i - blockSize];
+            }
+
+            System.arraycopy(in, inOff + len - blockSize, cbcV, 0, blockSize);
+
+            return resultLen;
+        }
+
+        if (cbcBlocks == null)
+        {
+            cbcBlocks = new byte[blockSize * multiBlockCipher.getMultiBlockSize()];
+        }
+
+        int resultLen = 0;
+
+        while (resultLen < len)
+        {
+            int count = Math.min((len - resultLen) / blockSize, cbcBlocks.length / blockSize);
+            int countLen = count * blockSize;
+
+            // decrypting in place overwrites the cipher text, keep it as it is the chaining value
+            System.arraycopy(in, inOff + resultLen, cbcBlocks, 0, countLen);
+
+            multiBlockCipher.processBlocks(cbcBlocks, 0, count, out, outOff + resultLen);
+
+            for (int i = 0; i < blockSize; i++)
+            {
+                out[outOff + resultLen + i] ^= cbcV[i];
+            }
+
+            for (int i = blockSize; i < countLen; i++)
+            {
+                out[outOff + resultLen + i] ^= cbcBlocks[i - blockSize];
+            }
+
+            System.arraycopy(cbcBlocks, countLen - blockSize, cbcV, 0, blockSize);
+
+            resultLen += countLen;
+        }
+
+        return resultLen;
+    }
 }
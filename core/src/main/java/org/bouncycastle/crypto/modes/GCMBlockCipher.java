@@ -4,8 +4,10 @@
 import org.bouncycastle.crypto.CipherParameters;
 import org.bouncycastle.crypto.DataLengthException;
 import org.bouncycastle.crypto.InvalidCipherTextException;
+import org.bouncycastle.crypto.MultiBlockCipher;
 import org.bouncycastle.crypto.OutputLengthException;
 import org.bouncycastle.crypto.modes.gcm.GCMExponentiator;
+import org.bouncycastle.crypto.modes.gcm.GCMMultiBlockMultiplier;
 import org.bouncycastle.crypto.modes.gcm.GCMMultiplier;
 import org.bouncycastle.crypto.modes.gcm.Tables1kGCMExponentiator;
 import org.bouncycastle.crypto.modes.gcm.Tables8kGCMMultiplier;
@@ -18,6 +20,11 @@
 /**
  * Implements the Galois/Counter mode (GCM) detailed in
  * NIST Special Publication 800-38D.
+ * <p>
+ * For bulk data pass a GCMMultiBlockMultiplier (e.g. Tables32kGCMMultiplier) and a
+ * MultiBlockCipher engine: whole blocks are then encrypted a batch of counters at a time
+ * and hashed several blocks per step, interleaved with the key stream XOR.
+ * </p>
  */
 public class GCMBlockCipher
     implements AEADBlockCipher
@@ -26,7 +33,10 @@
 
     // not final due to a compiler bug
     private BlockCipher   cipher;
+    private MultiBlockCipher multiBlockCipher;
     private GCMMultiplier multiplier;
+    private GCMMultiBlockMultiplier multiBlockMultiplier;
+    private int hashBlocksLen;
     private GCMExponentiator exp;
 
     // These fields are set by init and not modified by processing
@@ -42,6 +52,7 @@
     private byte[]      macBlock;
     private byte[]      S, S_at, S_atPre;
     private byte[]      counter;
+    private byte[]      counterBlocks;
     private int         bufOff;
     private long        totalLength;
     private byte[]      atBlock;
@@ -70,6 +81,25 @@ public GCMBlockCipher(BlockCipher c, GCMMultiplier m)
 
         this.cipher = c;
         this.multiplier = m;
+
+        int cipherBlocks = 1;
+        int hashBlocks = 1;
+
+        if (c instanceof MultiBlockCipher)
+        {
+            this.multiBlockCipher = (MultiBlockCipher)c;
+            cipherBlocks = multiBlockCipher.getMultiBlockSize();
+        }
+
+        if (m instanceof GCMMultiBlockMultiplier)
+        {
+            this.multiBlockMultiplier = (GCMMultiBlockMultiplier)m;
+            hashBlocks = multiBlockMultiplier.getMultiBlockSize();
+        }
+
+        // a batch of counter blocks is a whole number of hash steps
+        this.hashBlocksLen = BLOCK_SIZE * hashBlocks;
+        this.counterBlocks = new byte[hashBlocksLen * ((cipherBlocks + hashBlocks - 1) / hashBlocks)];
     }
 
     public BlockCipher getUnderlyingCipher()
@@ -284,9 +314,11 @@ public int processBytes(byte[] in, int inOff, int len, byte[] out, int outOff)
         }
         int resultLen = 0;
 
-        for (int i = 0; i < len; ++i)
+        // when decrypting the buffer may hold more than a block until the first output
+        while (bufOff > BLOCK_SIZE && len > 0)
         {
-            bufBlock[bufOff] = in[inOff + i];
+            bufBlock[bufOff] = in[inOff++];
+            --len;
             if (++bufOff == bufBlock.length)
             {
                 outputBlock(out, outOff + resultLen);
@@ -294,20 +326,43 @@ public int processBytes(byte[] in, int inOff, int len, byte[] out, int outOff)
             }
         }
 
+        if (bufOff + len >= bufBlock.length)
+        {
+            // complete the buffered block, then process whole blocks straight from the input
+            int gapLen = BLOCK_SIZE - bufOff;
+
+            System.arraycopy(in, inOff, bufBlock, bufOff, gapLen);
+            gCTRBlocks(bufBlock, 0, 1, out, outOff + resultLen);
+
+            bufOff = 0;
+            len -= gapLen;
+            inOff += gapLen;
+            resultLen += BLOCK_SIZE;
+
+            // when decrypting the last macSize bytes seen may be the tag, so they are held back
+            int blockCount = (len - (bufBlock.length - BLOCK_SIZE)) / BLOCK_SIZE;
+
+            if (blockCount > 0)
+            {
+                int blocksLen = blockCount * BLOCK_SIZE;
+
+                gCTRBlocks(in, inOff, blockCount, out, outOff + resultLen);
+
+                len -= blocksLen;
+                inOff += blocksLen;
+                resultLen += blocksLen;
+            }
+        }
+
+        System.arraycopy(in, inOff, bufBlock, bufOff, len);
+        bufOff += len;
+
         return resultLen;
     }
 
     private void outputBlock(byte[] output, int offset)
     {
-        if (output.length < (offset + BLOCK_SIZE))
-        {
-            throw new OutputLengthException("Output buffer too short");
-        }
-        if (totalLength == 0)
-        {
-            initCipher();
-        }
-        gCTRBlock(bufBlock, output, offset);
+        gCTRBlocks(bufBlock, 0, 1, output, offset);
         if (forEncryption)
         {
             bufOff = 0;
@@ -469,16 +524,71 @@ private void reset(
         }
     }
 
-    private void gCTRBlock(byte[] block, byte[] out, int outOff)
+    private void gCTRBlocks(byte[] in, int inOff, int blockCount, byte[] out, int outOff)
     {
-        byte[] tmp = getNextCounterBlock();
+        if (out.length < (outOff + blockCount * BLOCK_SIZE))
+        {
+            throw new OutputLengthException("Output buffer too short");
+        }
+        if (totalLength == 0)
+        {
+            initCipher();
+        }
 
-        xor(tmp, block);
-        System.arraycopy(tmp, 0, out, outOff, BLOCK_SIZE);
+        while (blockCount > 0)
+        {
+            int count = Math.min(blockCount, counterBlocks.length / BLOCK_SIZE);
+            int countLen = count * BLOCK_SIZE;
 
-        gHASHBlock(S, forEncryption ? tmp : block);
+            getNextCounterBlocks(count);
 
-        totalLength += BLOCK_SIZE;
+            int pos = 0;
+
+            if (multiBlockMultiplier != null)
+            {
+                // hash several cipher text blocks per step, next to the XOR that produces or consumes them
+                for (; countLen - pos >= hashBlocksLen; pos += hashBlocksLen)
+                {
+                    if (!forEncryption)
+                    {
+                        multiBlockMultiplier.multiplyHBlocks(S, in, inOff + pos);
+                    }
+
+                    for (int i = 0; i != hashBlocksLen; i++)
+                    {
+                        out[outOff + pos + i] = (byte)(counterBlocks[pos + i] ^ in[inOff + pos + i]);
+                    }
+
+                    if (forEncryption)
+                    {
+                        multiBlockMultiplier.multiplyHBlocks(S, out, outOff + pos);
+                    }
+                }
+            }
+
+            for (; pos != countLen; pos += BLOCK_SIZE)
+            {
+                if (!forEncryption)
+                {
+                    gHASHPartial(S, in, inOff + pos, BLOCK_SIZE);
+                }
+
+                for (int i = 0; i != BLOCK_SIZE; i++)
+                {
+                    out[outOff + pos + i] = (byte)(counterBlocks[pos + i] ^ in[inOff + pos + i]);
+                }
+
+                if (forEncryption)
+                {
+                    gHASHPartial(S, out, outOff + pos, BLOCK_SIZE);
+                }
+            }
+
+            blockCount -= count;
+            inOff += countLen;
+            outOff += countLen;
+            totalLength += countLen;
+        }
     }
 
     private void gCTRPartial(byte[] buf, int off, int len, byte[] out, int outOff)
@@ -514,7 +624,7 @@ private void gHASHPartial(byte[] Y, byte[] b, int off, int len)
         multiplier.multiplyH(Y);
     }
 
-    private byte[] getNextCounterBlock()
+    private void incrementCounter()
     {
         for (int i = 15; i >= 12; --i)
         {
@@ -526,6 +636,34 @@ private byte[] getNextCounterBlock()
                 break;
             }
         }
+    }
+
+    private void getNextCounterBlocks(int count)
+    {
+        int countLen = count * BLOCK_SIZE;
+
+        for (int pos = 0; pos != countLen; pos += BLOCK_SIZE)
+        {
+            incrementCounter();
+            System.arraycopy(counter, 0, counterBlocks, pos, BLOCK_SIZE);
+        }
+
+        if (multiBlockCipher != null)
+        {
+            multiBlockCipher.processBlocks(counterBlocks, 0, count, counterBlocks, 0);
+        }
+        else
+        {
+            for (int pos = 0; pos != countLen; pos += BLOCK_SIZE)
+            {
+                cipher.processBlock(counterBlocks, pos, counterBlocks, pos);
+            }
+        }
+    }
+
+    private byte[] getNextCounterBlock()
+    {
+        incrementCounter();
 
         byte[] tmp = new byte[BLOCK_SIZE];
         // TODO Sure would be nice if ciphers could operate on int[]
@@ -3,6 +3,7 @@
 import org.bouncycastle.crypto.BlockCipher;
 import org.bouncycastle.crypto.CipherParameters;
 import org.bouncycastle.crypto.DataLengthException;
+import org.bouncycastle.crypto.MultiBlockCipher;
 import org.bouncycastle.crypto.SkippingStreamCipher;
 import org.bouncycastle.crypto.StreamBlockCipher;
 import org.bouncycastle.crypto.params.ParametersWithIV;
@@ -14,14 +15,16 @@
  */
 public class SICBlockCipher
     extends StreamBlockCipher
-    implements SkippingStreamCipher
+    implements SkippingStreamCipher, MultiBlockCipher
 {
     private final BlockCipher     cipher;
     private final int             blockSize;
+    private final int             multiBlockSize;
     
     private byte[]          IV;
     private byte[]          counter;
     private byte[]          counterOut;
+    private byte[]          counterBlocks;
     private int             byteCount;
 
     /**
@@ -39,6 +42,17 @@ public SICBlockCipher(BlockCipher c)
         this.counter = new byte[blockSize];
         this.counterOut = new byte[blockSize];
         this.byteCount = 0;
+
+        if (cipher instanceof MultiBlockCipher)
+        {
+            this.multiBlockSize = ((MultiBlockCipher)cipher).getMultiBlockSize();
+        }
+        else
+        {
+            this.multiBlockSize = 1;
+        }
+
+        this.counterBlocks = new byte[blockSize * multiBlockSize];
     }
 
     public void init(
@@ -84,6 +98,75 @@ public int processBlock(byte[] in, int inOff, byte[] out, int outOff)
         return blockSize;
     }
 
+    public int getMultiBlockSize()
+    {
+        return multiBlockSize;
+    }
+
+    public int processBlocks(byte[] in, int inOff, int blockCount, byte[] out, int outOff)
+        throws DataLengthException, IllegalStateException
+    {
+        return processBytes(in, inOff, blockCount * blockSize, out, outOff);
+    }
+
+    public int processBytes(byte[] in, int inOff, int len, byte[] out, int outOff)
+        throws DataLengthException
+    {
+        if (outOff + len > out.length)
+        {
+            throw new DataLengthException("output buffer too short");
+        }
+
+        if (inOff + len > in.length)
+        {
+            throw new DataLengthException("input buffer too small");
+        }
+
+        int inStart = inOff;
+        int inEnd = inOff + len;
+        int outStart = outOff;
+
+        // use up the rest of the current key stream block
+        while (byteCount != 0 && inStart < inEnd)
+        {
+            out[outStart++] = calculateByte(in[inStart++]);
+        }
+
+        // whole blocks are done a batch of counter blocks at a time
+        while (inEnd - inStart >= blockSize)
+        {
+            int count = Math.min((inEnd - inStart) / blockSize, multiBlockSize);
+            int countLen = count * blockSize;
+
+            for (int pos = 0; pos != countLen; pos += blockSize)
+            {
+                System.arraycopy(counter, 0, counterBlocks, pos, blockSize);
+                incrementCounter();
+            }
+
+            if (multiBlockSize > 1)
+            {
+                ((MultiBlockCipher)cipher).processBlocks(counterBlocks, 0, count, counterBlocks, 0);
+            }
+            else
+            {
+                cipher.processBlock(counterBlocks, 0, counterBlocks, 0);
+            }
+
+            for (int i = 0; i != countLen; i++)
+            {
+                out[outStart++] = (byte)(counterBlocks[i] ^ in[inStart++]);
+            }
+        }
+
+        while (inStart < inEnd)
+        {
+            out[outStart++] = calculateByte(in[inStart++]);
+        }
+
+        return len;
+    }
+
     protected byte calculateByte(byte in)
           throws DataLengthException, IllegalStateException
     {
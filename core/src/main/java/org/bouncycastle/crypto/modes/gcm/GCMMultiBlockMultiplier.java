@@ -0,0 +1,26 @@
+package org.bouncycastle.crypto.modes.gcm;
+
+/**
+ * A GCMMultiplier which can also fold several blocks into the hash in one step, using the
+ * aggregated form Y' = (Y ^ B1).H^n ^ B2.H^(n-1) ^ ... ^ Bn.H so the per-block multiplications
+ * are independent of each other.
+ */
+public interface GCMMultiBlockMultiplier
+    extends GCMMultiplier
+{
+    /**
+     * Return the number of blocks folded in by each call to multiplyHBlocks().
+     *
+     * @return the number of blocks per call.
+     */
+    int getMultiBlockSize();
+
+    /**
+     * Fold getMultiBlockSize() consecutive 16 byte blocks from buf into the hash value x.
+     *
+     * @param x the current hash value, replaced by the result.
+     * @param buf the array containing the blocks.
+     * @param off offset into buf the blocks start at.
+     */
+    void multiplyHBlocks(byte[] x, byte[] buf, int off);
+}
@@ -0,0 +1,110 @@
+package org.bouncycastle.crypto.modes.gcm;
+
+import org.bouncycastle.util.Arrays;
+import org.bouncycastle.util.Pack;
+
+/**
+ * A GCMMultiplier with 8K tables for each of H, H^2, H^3 and H^4, so GCMBlockCipher can hash
+ * four blocks per step with an aggregated reduction.
+ */
+public class Tables32kGCMMultiplier
+    implements GCMMultiBlockMultiplier
+{
+    private static final int BLOCK_COUNT = 4;
+
+    private byte[] H;
+    private int[][][][] M;
+
+    public void init(byte[] H)
+    {
+        if (M == null)
+        {
+            M = new int[BLOCK_COUNT][32][16][4];
+        }
+        else if (Arrays.areEqual(this.H, H))
+        {
+            return;
+        }
+
+        this.H = Arrays.clone(H);
+
+        // M[i] holds the tables for H^(i + 1)
+        byte[] powH = Arrays.clone(H);
+        for (int i = 0; i < BLOCK_COUNT; ++i)
+        {
+            if (i > 0)
+            {
+                GCMUtil.multiply(powH, H);
+            }
+
+            Tables8kGCMMultiplier.generateTables(powH, M[i]);
+        }
+    }
+
+    public int getMultiBlockSize()
+    {
+        return BLOCK_COUNT;
+    }
+
+    public void multiplyH(byte[] x)
+    {
+        int[][] T;
+        int[] m;
+        int z0 = 0, z1 = 0, z2 = 0, z3 = 0;
+        int[][][] M0 = M[0];
+
+        for (int i = 15; i >= 0; --i)
+        {
+            int b = x[i];
+
+            T = M0[i + i];
+            m = T[b & 0x0f];
+            z0 ^= m[0]; z1 ^= m[1]; z2 ^= m[2]; z3 ^= m[3];
+
+            T = M0[i + i + 1];
+            m = T[(b & 0xf0) >>> 4];
+            z0 ^= m[0]; z1 ^= m[1]; z2 ^= m[2]; z3 ^= m[3];
+        }
+
+        Pack.intToBigEndian(z0, x, 0);
+        Pack.intToBigEndian(z1, x, 4);
+        Pack.intToBigEndian(z2, x, 8);
+        Pack.intToBigEndian(z3, x, 12);
+    }
+
+    public void multiplyHBlocks(byte[] x, byte[] buf, int off)
+    {
+        int[][] T;
+        int[] m;
+        int z0 = 0, z1 = 0, z2 = 0, z3 = 0;
+
+        // the first block (with the running hash) is multiplied by H^4, the last by H
+        for (int j = 0; j < BLOCK_COUNT; ++j)
+        {
+            int[][][] Mj = M[BLOCK_COUNT - 1 - j];
+            int bOff = off + j * 16;
+
+            for (int i = 15; i >= 0; --i)
+            {
+                int b = buf[bOff + i];
+                if (j == 0)
+                {
+                    b ^= x[i];
+                }
+
+                T = Mj[i + i];
+                m = T[b & 0x0f];
+                z0 ^= m[0]; z1 ^= m[1]; z2 ^= m[2]; z3 ^= m[3];
+
+                T = Mj[i + i + 1];
+                m = T[(b & 0xf0) >>> 4];
+                z0 ^= m[0]; z1 ^= m[1]; z2 ^= m[2]; z3 ^= m[3];
+            }
+        }
+
+        Pack.intToBigEndian(z0, x, 0);
+        Pack.intToBigEndian(z1, x, 4);
+        Pack.intToBigEndian(z2, x, 8);
+        Pack.intToBigEndian(z3, x, 12);
+    }
+}
@@ -21,6 +21,11 @@ else if (Arrays.areEqual(this.H, H))
 
         this.H = Arrays.clone(H);
 
+        generateTables(H, M);
+    }
+
+    static void generateTables(byte[] H, int[][][] M)
+    {
         // M[0][0] is ZEROES;
         // M[1][0] is ZEROES;
         GCMUtil.asInts(H, M[1][8]);
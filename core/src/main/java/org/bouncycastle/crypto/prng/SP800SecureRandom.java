@@ -12,6 +12,8 @@
     private final SecureRandom randomSource;
     private final EntropySource entropySource;
 
+    private final ThreadLocal threadDRBGs;
+
     private SP80090DRBG drbg;
 
     SP800SecureRandom(SecureRandom randomSource, EntropySource entropySource, DRBGProvider drbgProvider, boolean predictionResistant)
@@ -20,6 +22,26 @@
         this.entropySource = entropySource;
         this.drbgProvider = drbgProvider;
         this.predictionResistant = predictionResistant;
+        this.threadDRBGs = null;
+    }
+
+    /**
+     * Create a SecureRandom where each thread has its own DRBG, seeded from its own entropy source taken from
+     * entropySourceProvider, so calls to nextBytes() from different threads do not contend with each other.
+     */
+    SP800SecureRandom(SecureRandom randomSource, final EntropySourceProvider entropySourceProvider, final int entropyBitsRequired, final DRBGProvider drbgProvider, boolean predictionResistant)
+    {
+        this.randomSource = randomSource;
+        this.entropySource = null;
+        this.drbgProvider = drbgProvider;
+        this.predictionResistant = predictionResistant;
+        this.threadDRBGs = new ThreadLocal()
+        {
+            protected Object initialValue()
+            {
+                return new ThreadDRBG(entropySourceProvider.get(entropyBitsRequired), drbgProvider);
+            }
+        };
     }
 
     public void setSeed(byte[] seed)
@@ -47,6 +69,12 @@ public void setSeed(long seed)
 
     public void nextBytes(byte[] bytes)
     {
+        if (threadDRBGs != null)
+        {
+            ((ThreadDRBG)threadDRBGs.get()).nextBytes(bytes, predictionResistant);
+            return;
+        }
+
         synchronized (this)
         {
             if (drbg == null)
@@ -71,4 +99,26 @@ public byte[] generateSeed(int numBytes)
 
         return bytes;
     }
+
+    private static class ThreadDRBG
+    {
+        private final EntropySource entropySource;
+        private final SP80090DRBG drbg;
+
+        ThreadDRBG(EntropySource entropySource, DRBGProvider drbgProvider)
+        {
+            this.entropySource = entropySource;
+            this.drbg = drbgProvider.get(entropySource);
+        }
+
+        void nextBytes(byte[] bytes, boolean predictionResistant)
+        {
+            // check if a reseed is required...
+            if (drbg.generate(bytes, null, predictionResistant) < 0)
+            {
+                drbg.reseed(entropySource.getEntropy());
+                drbg.generate(bytes, null, predictionResistant);
+            }
+        }
+    }
 }
@@ -5,12 +5,16 @@
 import org.bouncycastle.crypto.BlockCipher;
 import org.bouncycastle.crypto.Digest;
 import org.bouncycastle.crypto.Mac;
+import org.bouncycastle.crypto.macs.HMac;
 import org.bouncycastle.crypto.prng.drbg.CTRSP800DRBG;
 import org.bouncycastle.crypto.prng.drbg.DualECPoints;
 import org.bouncycastle.crypto.prng.drbg.DualECSP800DRBG;
 import org.bouncycastle.crypto.prng.drbg.HMacSP800DRBG;
 import org.bouncycastle.crypto.prng.drbg.HashSP800DRBG;
 import org.bouncycastle.crypto.prng.drbg.SP80090DRBG;
+import org.bouncycastle.crypto.util.Pack;
+import org.bouncycastle.util.Arrays;
+import org.bouncycastle.util.Memoable;
 
 /**
  * Builder class for making SecureRandom objects based on SP 800-90A Deterministic Random Bit Generators (DRBG).
@@ -144,6 +148,51 @@ public SP800SecureRandom buildHMAC(Mac hMac, byte[] nonce, boolean predictionRes
         return new SP800SecureRandom(random, entropySourceProvider.get(entropyBitsRequired), new HMacDRBGProvider(hMac, nonce, personalizationString, securityStrength), predictionResistant);
     }
 
+    /**
+     * Build a SecureRandom based on SP 800-90A Hash DRBGs, one per calling thread, so that threads sharing the
+     * SecureRandom do not contend on a single DRBG. Each thread's DRBG is seeded from its own EntropySource taken
+     * from the builder's EntropySourceProvider, and has its own copy of digest and its own reseed counter.
+     * The nonce of each DRBG is the passed in nonce followed by an 8 byte count of the DRBGs created so far,
+     * so no two DRBGs from the resulting SecureRandom are instantiated with the same nonce.
+     *
+     * @param digest digest algorithm to use in the DRBGs, must implement Memoable so a copy can be made for each thread.
+     * @param nonce  nonce value to use in DRBG construction.
+     * @param predictionResistant specify whether the underlying DRBGs in the resulting SecureRandom should reseed on each request for bytes.
+     * @return a SecureRandom supported by per thread Hash DRBGs.
+     */
+    public SP800SecureRandom buildThreadLocalHash(Digest digest, byte[] nonce, boolean predictionResistant)
+    {
+        checkMemoable(digest);
+
+        return new SP800SecureRandom(random, entropySourceProvider, entropyBitsRequired, new MemoableHashDRBGProvider(digest, nonce, personalizationString, securityStrength), predictionResistant);
+    }
+
+    /**
+     * Build a SecureRandom based on SP 800-90A HMAC DRBGs, one per calling thread, so that threads sharing the
+     * SecureRandom do not contend on a single DRBG. Each thread's DRBG is seeded from its own EntropySource taken
+     * from the builder's EntropySourceProvider, and has its own HMAC and its own reseed counter.
+     * The nonce of each DRBG is the passed in nonce followed by an 8 byte count of the DRBGs created so far,
+     * so no two DRBGs from the resulting SecureRandom are instantiated with the same nonce.
+     *
+     * @param hMac HMAC algorithm to use in the DRBGs, must be an HMac with a Memoable digest so a copy can be made for each thread.
+     * @param nonce  nonce value to use in DRBG construction.
+     * @param predictionResistant specify whether the underlying DRBGs in the resulting SecureRandom should reseed on each request for bytes.
+     * @return a SecureRandom supported by per thread HMAC DRBGs.
+     */
+    public SP800SecureRandom buildThreadLocalHMAC(Mac hMac, byte[] nonce, boolean predictionResistant)
+    {
+        if (!(hMac instanceof HMac))
+        {
+            throw new IllegalArgumentException("thread local HMAC DRBG requires an HMac");
+        }
+
+        Digest digest = ((HMac)hMac).getUnderlyingDigest();
+
+        checkMemoable(digest);
+
+        return new SP800SecureRandom(random, entropySourceProvider, entropyBitsRequired, new MemoableHMacDRBGProvider(digest, nonce, personalizationString, securityStrength), predictionResistant);
+    }
+
     /**
      * Build a SecureRandom based on a SP 800-90A Dual EC DRBG using the NIST point set.
      *
@@ -171,6 +220,22 @@ public SP800SecureRandom buildDualEC(DualECPoints[] pointSet, Digest digest, byt
         return new SP800SecureRandom(random, entropySourceProvider.get(entropyBitsRequired), new ConfigurableDualECDRBGProvider(pointSet, digest, nonce, personalizationString, securityStrength), predictionResistant);
     }
 
+    private static void checkMemoable(Digest digest)
+    {
+        if (!(digest instanceof Memoable))
+        {
+            throw new IllegalArgumentException("digest must implement Memoable to be used with thread local DRBGs");
+        }
+    }
+
+    private static Digest copy(Digest digest)
+    {
+        Digest copy = (Digest)((Memoable)digest).copy();
+
+        copy.reset();
+
+        return copy;
+    }
 
     private static class HashDRBGProvider
         implements DRBGProvider
@@ -287,4 +352,66 @@ public SP80090DRBG get(EntropySource entropySource)
             return new CTRSP800DRBG(blockCipher, keySizeInBits, securityStrength, entropySource, personalizationString, nonce);
         }
     }
+
+    /**
+     * Base for the per thread DRBG providers: each DRBG gets its own copy of the digest, and a nonce
+     * made unique by appending a count of the DRBGs created so far.
+     */
+    private static abstract class ThreadLocalDRBGProvider
+        implements DRBGProvider
+    {
+        private final Digest digest;
+        private final byte[] nonce;
+
+        protected final byte[] personalizationString;
+        protected final int securityStrength;
+
+        private long instanceCount;
+
+        ThreadLocalDRBGProvider(Digest digest, byte[] nonce, byte[] personalizationString, int securityStrength)
+        {
+            this.digest = copy(digest);
+            this.nonce = nonce;
+            this.personalizationString = personalizationString;
+            this.securityStrength = securityStrength;
+        }
+
+        protected Digest nextDigest()
+        {
+            return copy(digest);
+        }
+
+        protected synchronized byte[] nextNonce()
+        {
+            return Arrays.concatenate(nonce, Pack.longToBigEndian(++instanceCount));
+        }
+    }
+
+    private static class MemoableHashDRBGProvider
+        extends ThreadLocalDRBGProvider
+    {
+        public MemoableHashDRBGProvider(Digest digest, byte[] nonce, byte[] personalizationString, int securityStrength)
+        {
+            super(digest, nonce, personalizationString, securityStrength);
+        }
+
+        public SP80090DRBG get(EntropySource entropySource)
+        {
+            return new HashSP800DRBG(nextDigest(), securityStrength, entropySource, personalizationString, nextNonce());
+        }
+    }
+
+    private static class MemoableHMacDRBGProvider
+        extends ThreadLocalDRBGProvider
+    {
+        public MemoableHMacDRBGProvider(Digest digest, byte[] nonce, byte[] personalizationString, int securityStrength)
+        {
+            super(digest, nonce, personalizationString, securityStrength);
+        }
+
+        public SP80090DRBG get(EntropySource entropySource)
+        {
+            return new HMacSP800DRBG(new HMac(nextDigest()), securityStrength, entropySource, personalizationString, nextNonce());
+        }
+    }
 }
@@ -0,0 +1,241 @@
+package org.bouncycastle.crypto.signers;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bouncycastle.crypto.params.ECDomainParameters;
+import org.bouncycastle.crypto.params.ECPublicKeyParameters;
+import org.bouncycastle.math.ec.ECAlgorithms;
+import org.bouncycastle.math.ec.ECConstants;
+import org.bouncycastle.math.ec.ECCurve;
+import org.bouncycastle.math.ec.ECPoint;
+
+/**
+ * Verifier for a batch of EC-DSA signatures as described in X9.62. The result for each signature is
+ * exactly that of ECDSASigner.verifySignature(), but the work that can be shared across signatures
+ * on the same domain parameters is: the inversion of s is done for the whole batch with a single
+ * modular inversion, the generator's precomputation is reused by every multiplication, and the
+ * candidate points are normalized together so only one field inversion is needed for the batch.
+ */
+public class ECDSABatchVerifier
+    implements ECConstants
+{
+    private final List items = new ArrayList();
+
+    /**
+     * Add a signature to the batch.
+     *
+     * @param key the public key the signature should verify with.
+     * @param message the message hash the signature is on.
+     * @param r the r value of the signature.
+     * @param s the s value of the signature.
+     */
+    public void addSignature(ECPublicKeyParameters key, byte[] message, BigInteger r, BigInteger s)
+    {
+        if (key == null || message == null || r == null || s == null)
+        {
+            throw new IllegalArgumentException("batch entries cannot contain null values");
+        }
+
+        items.add(new Item(key, message, r, s));
+    }
+
+    /**
+     * Return the number of signatures in the current batch.
+     *
+     * @return the batch size.
+     */
+    public int size()
+    {
+        return items.size();
+    }
+
+    /**
+     * Remove all signatures from the batch.
+     */
+    public void reset()
+    {
+        items.clear();
+    }
+
+    /**
+     * Verify every signature in the batch.
+     *
+     * @return true if all the signatures in the batch are valid, false otherwise.
+     */
+    public boolean verifyAll()
+    {
+        boolean[] results = verify();
+
+        for (int i = 0; i != results.length; i++)
+        {
+            if (!results[i])
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Verify the signatures in the batch, reporting the validity of each one.
+     *
+     * @return an array with an entry for each signature, in the order added, true if it is valid.
+     */
+    public boolean[] verify()
+    {
+        int count = items.size();
+        boolean[] results = new boolean[count];
+        boolean[] done = new boolean[count];
+        int[] group = new int[count];
+
+        for (int i = 0; i < count; ++i)
+        {
+            if (done[i])
+            {
+                continue;
+            }
+
+            ECDomainParameters ec = ((Item)items.get(i)).key.getParameters();
+            int len = 0;
+
+            for (int j = i; j < count; ++j)
+            {
+                if (!done[j] && isSameDomain(ec, ((Item)items.get(j)).key.getParameters()))
+                {
+                    group[len++] = j;
+                    done[j] = true;
+                }
+            }
+
+            verifyGroup(ec, group, len, results);
+        }
+
+        return results;
+    }
+
+    private void verifyGroup(ECDomainParameters ec, int[] group, int len, boolean[] results)
+    {
+        BigInteger n = ec.getN();
+        ECPoint G = ec.getG();
+        ECCurve curve = G.getCurve();
+
+        /*
+         * Batch inversion of the s values (Montgomery's trick), with out of range entries left out.
+         */
+        BigInteger[] partials = new BigInteger[len];
+        BigInteger acc = ONE;
+
+        for (int k = 0; k < len; ++k)
+        {
+            Item item = (Item)items.get(group[k]);
+
+            // r and s in the range [1,n-1]
+            if (item.r.compareTo(ONE) < 0 || item.r.compareTo(n) >= 0
+                || item.s.compareTo(ONE) < 0 || item.s.compareTo(n) >= 0)
+            {
+                continue;
+            }
+
+            partials[k] = acc;
+            acc = acc.multiply(item.s).mod(n);
+        }
+
+        BigInteger inv = acc.modInverse(n);
+        BigInteger[] cs = new BigInteger[len];
+
+        for (int k = len - 1; k >= 0; --k)
+        {
+            if (partials[k] != null)
+            {
+                BigInteger s = ((Item)items.get(group[k])).s;
+
+                cs[k] = inv.multiply(partials[k]).mod(n);
+                inv = inv.multiply(s).mod(n);
+            }
+        }
+
+        /*
+         * Candidate points, left in projective form for a single batch normalization.
+         */
+        ECPoint[] points = new ECPoint[len];
+
+        for (int k = 0; k < len; ++k)
+        {
+            if (cs[k] == null)
+            {
+                continue;
+            }
+
+            Item item = (Item)items.get(group[k]);
+            BigInteger e = calculateE(n, item.message);
+
+            BigInteger u1 = e.multiply(cs[k]).mod(n);
+            BigInteger u2 = item.r.multiply(cs[k]).mod(n);
+
+            try
+            {
+                points[k] = ECAlgorithms.sumOfTwoMultiplies(G, u1, item.key.getQ(), u2);
+            }
+            catch (IllegalArgumentException ex)
+            {
+                // key not usable with these domain parameters - only this entry fails.
+                points[k] = null;
+            }
+        }
+
+        curve.normalizeAll(points);
+
+        for (int k = 0; k < len; ++k)
+        {
+            ECPoint point = points[k];
+
+            // components must be bogus.
+            if (point == null || point.isInfinity())
+            {
+                continue;
+            }
+
+            BigInteger v = point.getAffineXCoord().toBigInteger().mod(n);
+
+            results[group[k]] = v.equals(((Item)items.get(group[k])).r);
+        }
+    }
+
+    private static boolean isSameDomain(ECDomainParameters a, ECDomainParameters b)
+    {
+        return a == b
+            || (a.getCurve().equals(b.getCurve()) && a.getG().equals(b.getG()) && a.getN().equals(b.getN()));
+    }
+
+    private static BigInteger calculateE(BigInteger n, byte[] message)
+    {
+        int log2n = n.bitLength();
+        int messageBitLength = message.length * 8;
+
+        BigInteger e = new BigInteger(1, message);
+        if (log2n < messageBitLength)
+        {
+            e = e.shiftRight(messageBitLength - log2n);
+        }
+        return e;
+    }
+
+    private static class Item
+    {
+        final ECPublicKeyParameters key;
+        final byte[] message;
+        final BigInteger r;
+        final BigInteger s;
+
+        Item(ECPublicKeyParameters key, byte[] message, BigInteger r, BigInteger s)
+        {
+            this.key = key;
+            this.message = message;
+            this.r = r;
+            this.s = s;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.bouncycastle.crypto.tls;
+
+import java.io.InputStream;
+
+/**
+ * An InputStream reading from a {@link ByteQueue}, used to feed the record layer in non-blocking
+ * mode.
+ */
+class ByteQueueInputStream
+    extends InputStream
+{
+    private ByteQueue buffer;
+
+    ByteQueueInputStream()
+    {
+        buffer = new ByteQueue();
+    }
+
+    void addBytes(byte[] buf, int off, int len)
+    {
+        buffer.addData(buf, off, len);
+    }
+
+    /**
+     * Copy bytes from the front of the queue without removing them.
+     *
+     * @param buf the buffer to copy into.
+     * @return the number of bytes copied.
+     */
+    int peek(byte[] buf)
+    {
+        int bytesToRead = Math.min(buffer.available(), buf.length);
+        buffer.read(buf, 0, bytesToRead, 0);
+        return bytesToRead;
+    }
+
+    public int read()
+    {
+        if (buffer.available() == 0)
+        {
+            return -1;
+        }
+        return buffer.removeData(1, 0)[0] & 0xFF;
+    }
+
+    public int read(byte[] b)
+    {
+        return read(b, 0, b.length);
+    }
+
+    public int read(byte[] b, int off, int len)
+    {
+        int bytesToRead = Math.min(buffer.available(), len);
+        buffer.removeData(b, off, bytesToRead, 0);
+        return bytesToRead;
+    }
+
+    public long skip(long n)
+    {
+        int bytesToRemove = (int)Math.min(n, buffer.available());
+        buffer.removeData(bytesToRemove);
+        return bytesToRemove;
+    }
+
+    public int available()
+    {
+        return buffer.available();
+    }
+
+    public void close()
+    {
+    }
+}
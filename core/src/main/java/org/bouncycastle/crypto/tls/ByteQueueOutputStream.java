@@ -0,0 +1,33 @@
+package org.bouncycastle.crypto.tls;
+
+import java.io.OutputStream;
+
+/**
+ * An OutputStream writing to a {@link ByteQueue}, used to collect records from the record layer in
+ * non-blocking mode.
+ */
+class ByteQueueOutputStream
+    extends OutputStream
+{
+    private ByteQueue buffer;
+
+    ByteQueueOutputStream()
+    {
+        buffer = new ByteQueue();
+    }
+
+    ByteQueue getBuffer()
+    {
+        return buffer;
+    }
+
+    public void write(int b)
+    {
+        buffer.addData(new byte[]{ (byte)b }, 0, 1);
+    }
+
+    public void write(byte[] b, int off, int len)
+    {
+        buffer.addData(b, off, len);
+    }
+}
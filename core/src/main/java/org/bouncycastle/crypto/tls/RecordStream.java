@@ -1,10 +1,13 @@
 package org.bouncycastle.crypto.tls;
 
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
+import org.bouncycastle.util.io.Streams;
+
 /**
  * An implementation of the TLS 1.0/1.1/1.2 record layer, allowing downgrade to SSLv3.
  */
@@ -12,6 +15,11 @@
 {
     private static int DEFAULT_PLAINTEXT_LIMIT = (1 << 14);
 
+    static final int TLS_HEADER_SIZE = 5;
+    static final int TLS_HEADER_TYPE_OFFSET = 0;
+    static final int TLS_HEADER_VERSION_OFFSET = 1;
+    static final int TLS_HEADER_LENGTH_OFFSET = 3;
+
     private TlsProtocol handler;
     private InputStream input;
     private OutputStream output;
@@ -20,6 +28,12 @@
     private long readSeqNo = 0, writeSeqNo = 0;
     private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
 
+    /*
+     * Record buffers reused between records when the cipher supports TlsBufferCipher.
+     */
+    private byte[] recordHeader = new byte[TLS_HEADER_SIZE];
+    private byte[] readBuffer = null, writeBuffer = null;
+
     private TlsHandshakeHash handshakeHash = null;
 
     private ProtocolVersion readVersion = null, writeVersion = null;
@@ -130,13 +144,17 @@ void finaliseHandshake()
     boolean readRecord()
         throws IOException
     {
-        byte[] recordHeader = TlsUtils.readAllOrNothing(5, input);
-        if (recordHeader == null)
+        int headerLength = Streams.readFully(input, recordHeader);
+        if (headerLength == 0)
         {
             return false;
         }
+        if (headerLength != TLS_HEADER_SIZE)
+        {
+            throw new EOFException();
+        }
 
-        short type = TlsUtils.readUint8(recordHeader, 0);
+        short type = TlsUtils.readUint8(recordHeader, TLS_HEADER_TYPE_OFFSET);
 
         /*
          * RFC 5246 6. If a TLS implementation receives an unexpected record type, it MUST send an
@@ -146,7 +164,7 @@ boolean readRecord()
 
         if (!restrictReadVersion)
         {
-            int version = TlsUtils.readVersionRaw(recordHeader, 1);
+            int version = TlsUtils.readVersionRaw(recordHeader, TLS_HEADER_VERSION_OFFSET);
             if ((version & 0xffffff00) != 0x0300)
             {
                 throw new TlsFatalAlert(AlertDescription.illegal_parameter);
@@ -154,7 +172,7 @@ boolean readRecord()
         }
         else
         {
-            ProtocolVersion version = TlsUtils.readVersion(recordHeader, 1);
+            ProtocolVersion version = TlsUtils.readVersion(recordHeader, TLS_HEADER_VERSION_OFFSET);
             if (readVersion == null)
             {
                 readVersion = version;
@@ -165,12 +183,55 @@ else if (!version.equals(readVersion))
             }
         }
 
-        int length = TlsUtils.readUint16(recordHeader, 3);
-        byte[] plaintext = decodeAndVerify(type, input, length);
-        handler.processRecord(type, plaintext, 0, plaintext.length);
+        int length = TlsUtils.readUint16(recordHeader, TLS_HEADER_LENGTH_OFFSET);
+
+        if (readCipher instanceof TlsBufferCipher && readCompression instanceof TlsNullCompression)
+        {
+            int plaintextLength = decodeAndVerifyInPlace(type, input, length);
+            handler.processRecord(type, readBuffer, 0, plaintextLength);
+        }
+        else
+        {
+            byte[] plaintext = decodeAndVerify(type, input, length);
+            handler.processRecord(type, plaintext, 0, plaintext.length);
+        }
         return true;
     }
 
+    /**
+     * Read and decode a record fragment into the reusable read buffer.
+     *
+     * @return the length of the plaintext, which starts at offset 0 of the read buffer.
+     */
+    private int decodeAndVerifyInPlace(short type, InputStream input, int len)
+        throws IOException
+    {
+        checkLength(len, ciphertextLimit, AlertDescription.record_overflow);
+
+        if (readBuffer == null || readBuffer.length < ciphertextLimit)
+        {
+            readBuffer = new byte[ciphertextLimit];
+        }
+
+        if (len != Streams.readFully(input, readBuffer, 0, len))
+        {
+            throw new EOFException();
+        }
+
+        int decodedLength = ((TlsBufferCipher)readCipher).decodeCiphertext(readSeqNo++, type, readBuffer, 0, len,
+            readBuffer, 0);
+
+        checkLength(decodedLength, compressedLimit, AlertDescription.record_overflow);
+        checkLength(decodedLength, plaintextLimit, AlertDescription.decompression_failure);
+
+        if (decodedLength < 1 && type != ContentType.application_data)
+        {
+            throw new TlsFatalAlert(AlertDescription.illegal_parameter);
+        }
+
+        return decodedLength;
+    }
+
     byte[] decodeAndVerify(short type, InputStream input, int len)
         throws IOException
     {
@@ -246,6 +307,12 @@ void writeRecord(short type, byte[] plaintext, int plaintextOffset, int plaintex
             updateHandshakeData(plaintext, plaintextOffset, plaintextLength);
         }
 
+        if (writeCipher instanceof TlsBufferCipher && writeCompression instanceof TlsNullCompression)
+        {
+            writeRecordInPlace(type, plaintext, plaintextOffset, plaintextLength);
+            return;
+        }
+
         OutputStream cOut = writeCompression.compress(buffer);
 
         byte[] ciphertext;
@@ -273,15 +340,44 @@ void writeRecord(short type, byte[] plaintext, int plaintextOffset, int plaintex
          */
         checkLength(ciphertext.length, ciphertextLimit, AlertDescription.internal_error);
 
-        byte[] record = new byte[ciphertext.length + 5];
-        TlsUtils.writeUint8(type, record, 0);
-        TlsUtils.writeVersion(writeVersion, record, 1);
-        TlsUtils.writeUint16(ciphertext.length, record, 3);
-        System.arraycopy(ciphertext, 0, record, 5, ciphertext.length);
+        byte[] record = new byte[ciphertext.length + TLS_HEADER_SIZE];
+        TlsUtils.writeUint8(type, record, TLS_HEADER_TYPE_OFFSET);
+        TlsUtils.writeVersion(writeVersion, record, TLS_HEADER_VERSION_OFFSET);
+        TlsUtils.writeUint16(ciphertext.length, record, TLS_HEADER_LENGTH_OFFSET);
+        System.arraycopy(ciphertext, 0, record, TLS_HEADER_SIZE, ciphertext.length);
         output.write(record);
         output.flush();
     }
 
+    /**
+     * Encode a record directly behind its header in the reusable write buffer.
+     */
+    private void writeRecordInPlace(short type, byte[] plaintext, int plaintextOffset, int plaintextLength)
+        throws IOException
+    {
+        TlsBufferCipher cipher = (TlsBufferCipher)writeCipher;
+
+        int recordLimit = TLS_HEADER_SIZE + cipher.getCiphertextLimit(plaintextLimit);
+        if (writeBuffer == null || writeBuffer.length < recordLimit)
+        {
+            writeBuffer = new byte[recordLimit];
+        }
+
+        int ciphertextLength = cipher.encodePlaintext(writeSeqNo++, type, plaintext, plaintextOffset,
+            plaintextLength, writeBuffer, TLS_HEADER_SIZE);
+
+        /*
+         * RFC 5264 6.2.3. The length may not exceed 2^14 + 2048.
+         */
+        checkLength(ciphertextLength, ciphertextLimit, AlertDescription.internal_error);
+
+        TlsUtils.writeUint8(type, writeBuffer, TLS_HEADER_TYPE_OFFSET);
+        TlsUtils.writeVersion(writeVersion, writeBuffer, TLS_HEADER_VERSION_OFFSET);
+        TlsUtils.writeUint16(ciphertextLength, writeBuffer, TLS_HEADER_LENGTH_OFFSET);
+        output.write(writeBuffer, 0, TLS_HEADER_SIZE + ciphertextLength);
+        output.flush();
+    }
+
     void notifyHelloComplete()
     {
         this.handshakeHash = handshakeHash.notifyPRFDetermined();
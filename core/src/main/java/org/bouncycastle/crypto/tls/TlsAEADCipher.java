@@ -8,7 +8,7 @@
 import org.bouncycastle.util.Arrays;
 
 public class TlsAEADCipher
-    implements TlsCipher
+    implements TlsBufferCipher
 {
     protected TlsContext context;
     protected int macSize;
@@ -19,6 +19,14 @@
 
     protected byte[] encryptImplicitNonce, decryptImplicitNonce;
 
+    /*
+     * Per-record state, reused between records. The AEAD parameters refer to the nonce and
+     * additional data arrays, which are refilled before each record.
+     */
+    protected byte[] encryptNonce, decryptNonce;
+    protected byte[] encryptAdditionalData, decryptAdditionalData;
+    protected AEADParameters encryptParameters, decryptParameters;
+
     public TlsAEADCipher(TlsContext context, AEADBlockCipher clientWriteCipher, AEADBlockCipher serverWriteCipher,
         int cipherKeySize, int macSize) throws IOException
     {
@@ -80,6 +88,17 @@ public TlsAEADCipher(TlsContext context, AEADBlockCipher clientWriteCipher, AEAD
 
         this.encryptCipher.init(true, new AEADParameters(encryptKey, 8 * macSize, dummyNonce));
         this.decryptCipher.init(false, new AEADParameters(decryptKey, 8 * macSize, dummyNonce));
+
+        this.encryptNonce = new byte[fixed_iv_length + nonce_explicit_length];
+        System.arraycopy(encryptImplicitNonce, 0, encryptNonce, 0, fixed_iv_length);
+        this.decryptNonce = new byte[fixed_iv_length + nonce_explicit_length];
+        System.arraycopy(decryptImplicitNonce, 0, decryptNonce, 0, fixed_iv_length);
+
+        this.encryptAdditionalData = new byte[13];
+        this.decryptAdditionalData = new byte[13];
+
+        this.encryptParameters = new AEADParameters(null, 8 * macSize, encryptNonce, encryptAdditionalData);
+        this.decryptParameters = new AEADParameters(null, 8 * macSize, decryptNonce, decryptAdditionalData);
     }
 
     public int getPlaintextLimit(int ciphertextLimit)
@@ -88,33 +107,52 @@ public int getPlaintextLimit(int ciphertextLimit)
         return ciphertextLimit - macSize - nonce_explicit_length;
     }
 
+    public int getCiphertextLimit(int plaintextLimit)
+    {
+        return plaintextLimit + macSize + nonce_explicit_length;
+    }
+
     public byte[] encodePlaintext(long seqNo, short type, byte[] plaintext, int offset, int len)
         throws IOException
     {
-        byte[] nonce = new byte[this.encryptImplicitNonce.length + nonce_explicit_length];
-        System.arraycopy(encryptImplicitNonce, 0, nonce, 0, encryptImplicitNonce.length);
+        byte[] output = new byte[getCiphertextLimit(len)];
+
+        int outputLen = encodePlaintext(seqNo, type, plaintext, offset, len, output, 0);
+        if (outputLen != output.length)
+        {
+            // NOTE: Existing AEAD cipher implementations all give exact output lengths
+            throw new TlsFatalAlert(AlertDescription.internal_error);
+        }
 
+        return output;
+    }
+
+    public int encodePlaintext(long seqNo, short type, byte[] plaintext, int offset, int len, byte[] output,
+        int outOff) throws IOException
+    {
         /*
          * RFC 5288/6655 The nonce_explicit MAY be the 64-bit sequence number.
          * 
          * (May need review for other AEAD ciphers).
          */
-        TlsUtils.writeUint64(seqNo, nonce, encryptImplicitNonce.length);
+        TlsUtils.writeUint64(seqNo, encryptNonce, encryptImplicitNonce.length);
 
         int plaintextOffset = offset;
         int plaintextLength = len;
-        int ciphertextLength = encryptCipher.getOutputSize(plaintextLength);
+        /*
+         * The lengths don't come from the cipher's getOutputSize(), as before init() that still
+         * reflects whatever was left from the previous record, e.g. one that failed authentication.
+         */
+        int ciphertextLength = plaintextLength + macSize;
 
-        byte[] output = new byte[nonce_explicit_length + ciphertextLength];
-        System.arraycopy(nonce, encryptImplicitNonce.length, output, 0, nonce_explicit_length);
-        int outputPos = nonce_explicit_length;
+        System.arraycopy(encryptNonce, encryptImplicitNonce.length, output, outOff, nonce_explicit_length);
+        int outputPos = outOff + nonce_explicit_length;
 
-        byte[] additionalData = getAdditionalData(seqNo, type, plaintextLength);
-        AEADParameters parameters = new AEADParameters(null, 8 * macSize, nonce, additionalData);
+        writeAdditionalData(seqNo, type, plaintextLength, encryptAdditionalData);
 
         try
         {
-            encryptCipher.init(true, parameters);
+            encryptCipher.init(true, encryptParameters);
             outputPos += encryptCipher.processBytes(plaintext, plaintextOffset, plaintextLength, output, outputPos);
             outputPos += encryptCipher.doFinal(output, outputPos);
         }
@@ -123,13 +161,13 @@ public byte[] encodePlaintext(long seqNo, short type, byte[] plaintext, int offs
             throw new TlsFatalAlert(AlertDescription.internal_error, e);
         }
 
-        if (outputPos != output.length)
+        if (outputPos != outOff + nonce_explicit_length + ciphertextLength)
         {
             // NOTE: Existing AEAD cipher implementations all give exact output lengths
             throw new TlsFatalAlert(AlertDescription.internal_error);
         }
 
-        return output;
+        return outputPos - outOff;
     }
 
     public byte[] decodeCiphertext(long seqNo, short type, byte[] ciphertext, int offset, int len)
@@ -140,23 +178,39 @@ public byte[] decodeCiphertext(long seqNo, short type, byte[] ciphertext, int of
             throw new TlsFatalAlert(AlertDescription.decode_error);
         }
 
-        byte[] nonce = new byte[this.decryptImplicitNonce.length + nonce_explicit_length];
-        System.arraycopy(decryptImplicitNonce, 0, nonce, 0, decryptImplicitNonce.length);
-        System.arraycopy(ciphertext, offset, nonce, decryptImplicitNonce.length, nonce_explicit_length);
+        byte[] output = new byte[getPlaintextLimit(len)];
+
+        int outputLen = decodeCiphertext(seqNo, type, ciphertext, offset, len, output, 0);
+        if (outputLen != output.length)
+        {
+            // NOTE: Existing AEAD cipher implementations all give exact output lengths
+            throw new TlsFatalAlert(AlertDescription.internal_error);
+        }
+
+        return output;
+    }
+
+    public int decodeCiphertext(long seqNo, short type, byte[] ciphertext, int offset, int len, byte[] output,
+        int outOff) throws IOException
+    {
+        if (getPlaintextLimit(len) < 0)
+        {
+            throw new TlsFatalAlert(AlertDescription.decode_error);
+        }
+
+        System.arraycopy(ciphertext, offset, decryptNonce, decryptImplicitNonce.length, nonce_explicit_length);
 
         int ciphertextOffset = offset + nonce_explicit_length;
         int ciphertextLength = len - nonce_explicit_length;
-        int plaintextLength = decryptCipher.getOutputSize(ciphertextLength);
+        int plaintextLength = ciphertextLength - macSize;
 
-        byte[] output = new byte[plaintextLength];
-        int outputPos = 0;
+        int outputPos = outOff;
 
-        byte[] additionalData = getAdditionalData(seqNo, type, plaintextLength);
-        AEADParameters parameters = new AEADParameters(null, 8 * macSize, nonce, additionalData);
+        writeAdditionalData(seqNo, type, plaintextLength, decryptAdditionalData);
 
         try
         {
-            decryptCipher.init(false, parameters);
+            decryptCipher.init(false, decryptParameters);
             outputPos += decryptCipher.processBytes(ciphertext, ciphertextOffset, ciphertextLength, output, outputPos);
             outputPos += decryptCipher.doFinal(output, outputPos);
         }
@@ -165,13 +219,13 @@ public byte[] decodeCiphertext(long seqNo, short type, byte[] ciphertext, int of
             throw new TlsFatalAlert(AlertDescription.bad_record_mac, e);
         }
 
-        if (outputPos != output.length)
+        if (outputPos != outOff + plaintextLength)
         {
             // NOTE: Existing AEAD cipher implementations all give exact output lengths
             throw new TlsFatalAlert(AlertDescription.internal_error);
         }
 
-        return output;
+        return plaintextLength;
     }
 
     protected byte[] getAdditionalData(long seqNo, short type, int len)
@@ -183,11 +237,20 @@ protected byte[] getAdditionalData(long seqNo, short type, int len)
          */
 
         byte[] additional_data = new byte[13];
+        writeAdditionalData(seqNo, type, len, additional_data);
+        return additional_data;
+    }
+
+    protected void writeAdditionalData(long seqNo, short type, int len, byte[] additional_data)
+        throws IOException
+    {
+        /*
+         * additional_data = seq_num + TLSCompressed.type + TLSCompressed.version +
+         * TLSCompressed.length
+         */
         TlsUtils.writeUint64(seqNo, additional_data, 0);
         TlsUtils.writeUint8(type, additional_data, 8);
         TlsUtils.writeVersion(context.getServerVersion(), additional_data, 9);
         TlsUtils.writeUint16(len, additional_data, 11);
-
-        return additional_data;
     }
 }
@@ -14,7 +14,7 @@
  * A generic TLS 1.0-1.2 / SSLv3 block cipher. This can be used for AES or 3DES for example.
  */
 public class TlsBlockCipher
-    implements TlsCipher
+    implements TlsBufferCipher
 {
     protected TlsContext context;
     protected byte[] randomData;
@@ -27,6 +27,9 @@
     protected TlsMac writeMac;
     protected TlsMac readMac;
 
+    // Scratch space for the MAC calculated over a received record
+    protected byte[] calculatedMac;
+
     public TlsMac getWriteMac()
     {
         return writeMac;
@@ -114,6 +117,8 @@ public TlsBlockCipher(TlsContext context, BlockCipher clientWriteCipher, BlockCi
 
         this.encryptCipher.init(true, encryptParams);
         this.decryptCipher.init(false, decryptParams);
+
+        this.calculatedMac = new byte[readMac.getSize()];
     }
 
     public int getPlaintextLimit(int ciphertextLimit)
@@ -147,11 +152,48 @@ public int getPlaintextLimit(int ciphertextLimit)
         return plaintextLimit;
     }
 
+    public int getCiphertextLimit(int plaintextLimit)
+    {
+        // At most 256 bytes of padding, including the padding_length byte
+        int ciphertextLimit = plaintextLimit + writeMac.getSize() + 256;
+
+        if (useExplicitIV)
+        {
+            ciphertextLimit += encryptCipher.getBlockSize();
+        }
+
+        return ciphertextLimit;
+    }
+
     public byte[] encodePlaintext(long seqNo, short type, byte[] plaintext, int offset, int len)
     {
         int blockSize = encryptCipher.getBlockSize();
         int macSize = writeMac.getSize();
 
+        int padding_length = choosePaddingLength(len);
+
+        int totalSize = len + macSize + padding_length + 1;
+        if (useExplicitIV)
+        {
+            totalSize += blockSize;
+        }
+
+        byte[] outBuf = new byte[totalSize];
+        encodePlaintext(seqNo, type, plaintext, offset, len, outBuf, 0, padding_length);
+        return outBuf;
+    }
+
+    public int encodePlaintext(long seqNo, short type, byte[] plaintext, int offset, int len, byte[] output,
+        int outOff)
+    {
+        return encodePlaintext(seqNo, type, plaintext, offset, len, output, outOff, choosePaddingLength(len));
+    }
+
+    protected int choosePaddingLength(int len)
+    {
+        int blockSize = encryptCipher.getBlockSize();
+        int macSize = writeMac.getSize();
+
         ProtocolVersion version = context.getServerVersion();
 
         int enc_input_length = len;
@@ -171,62 +213,62 @@ public byte[] encodePlaintext(long seqNo, short type, byte[] plaintext, int offs
             padding_length += actualExtraPadBlocks * blockSize;
         }
 
-        int totalSize = len + macSize + padding_length + 1;
-        if (useExplicitIV)
-        {
-            totalSize += blockSize;
-        }
+        return padding_length;
+    }
 
-        byte[] outBuf = new byte[totalSize];
-        int outOff = 0;
+    protected int encodePlaintext(long seqNo, short type, byte[] plaintext, int offset, int len, byte[] output,
+        int outOff, int padding_length)
+    {
+        int blockSize = encryptCipher.getBlockSize();
+
+        int outPos = outOff;
 
         if (useExplicitIV)
         {
-            byte[] explicitIV = new byte[blockSize];
-            context.getNonceRandomGenerator().nextBytes(explicitIV);
-
-            encryptCipher.init(true, new ParametersWithIV(null, explicitIV));
-
-            System.arraycopy(explicitIV, 0, outBuf, outOff, blockSize);
-            outOff += blockSize;
+            /*
+             * RFC 4346 6.2.3.2 (2)(b) Prepend a random block to the plaintext and keep the CBC
+             * residue of the previous record as IV. The encrypted random block is then this
+             * record's explicit IV, and the cipher never has to be re-initialised.
+             */
+            context.getNonceRandomGenerator().nextBytes(output, outPos, blockSize);
+            outPos += blockSize;
         }
 
-        int blocks_start = outOff;
-
-        System.arraycopy(plaintext, offset, outBuf, outOff, len);
-        outOff += len;
+        System.arraycopy(plaintext, offset, output, outPos, len);
+        outPos += len;
 
         if (!encryptThenMAC)
         {
-            byte[] mac = writeMac.calculateMac(seqNo, type, plaintext, offset, len);
-            System.arraycopy(mac, 0, outBuf, outOff, mac.length);
-            outOff += mac.length;
+            outPos += writeMac.calculateMac(seqNo, type, plaintext, offset, len, output, outPos);
         }
 
         for (int i = 0; i <= padding_length; i++)
         {
-            outBuf[outOff++] = (byte)padding_length;
+            output[outPos++] = (byte)padding_length;
         }
 
-        for (int i = blocks_start; i < outOff; i += blockSize)
+        for (int i = outOff; i < outPos; i += blockSize)
         {
-            encryptCipher.processBlock(outBuf, i, outBuf, i);
+            encryptCipher.processBlock(output, i, output, i);
         }
 
         if (encryptThenMAC)
         {
-            byte[] mac = writeMac.calculateMac(seqNo, type, outBuf, 0, outOff);
-            System.arraycopy(mac, 0, outBuf, outOff, mac.length);
-            outOff += mac.length;
+            outPos += writeMac.calculateMac(seqNo, type, output, outOff, outPos - outOff, output, outPos);
         }
 
-//        assert outBuf.length == outOff;
-
-        return outBuf;
+        return outPos - outOff;
     }
 
     public byte[] decodeCiphertext(long seqNo, short type, byte[] ciphertext, int offset, int len)
         throws IOException
+    {
+        int outLen = decodeCiphertext(seqNo, type, ciphertext, offset, len, ciphertext, offset);
+        return Arrays.copyOfRange(ciphertext, offset, offset + outLen);
+    }
+
+    public int decodeCiphertext(long seqNo, short type, byte[] ciphertext, int offset, int len, byte[] output,
+        int outOff) throws IOException
     {
         int blockSize = decryptCipher.getBlockSize();
         int macSize = readMac.getSize();
@@ -265,10 +307,9 @@ public byte[] decodeCiphertext(long seqNo, short type, byte[] ciphertext, int of
         if (encryptThenMAC)
         {
             int end = offset + len;
-            byte[] receivedMac = Arrays.copyOfRange(ciphertext, end - macSize, end);
-            byte[] calculatedMac = readMac.calculateMac(seqNo, type, ciphertext, offset, len - macSize);
+            readMac.calculateMac(seqNo, type, ciphertext, offset, len - macSize, calculatedMac, 0);
 
-            boolean badMac = !Arrays.constantTimeAreEqual(calculatedMac, receivedMac);
+            boolean badMac = !Arrays.constantTimeAreEqual(macSize, calculatedMac, 0, ciphertext, end - macSize);
 
             if (badMac)
             {
@@ -276,17 +317,20 @@ public byte[] decodeCiphertext(long seqNo, short type, byte[] ciphertext, int of
             }
         }
 
-        if (useExplicitIV)
+        /*
+         * With an explicit IV, the IV is decrypted along with the rest of the record: CBC
+         * decryption of every later block only depends on the preceding ciphertext block, so the
+         * garbage first block is simply skipped and the cipher never has to be re-initialised.
+         */
+        for (int i = 0; i < blocks_length; i += blockSize)
         {
-            decryptCipher.init(false, new ParametersWithIV(null, ciphertext, offset, blockSize));
-
-            offset += blockSize;
-            blocks_length -= blockSize;
+            decryptCipher.processBlock(ciphertext, offset + i, ciphertext, offset + i);
         }
 
-        for (int i = 0; i < blocks_length; i += blockSize)
+        if (useExplicitIV)
         {
-            decryptCipher.processBlock(ciphertext, offset + i, ciphertext, offset + i);
+            offset += blockSize;
+            blocks_length -= blockSize;
         }
 
         // If there's anything wrong with the padding, this will return zero
@@ -299,11 +343,10 @@ public byte[] decodeCiphertext(long seqNo, short type, byte[] ciphertext, int of
             dec_output_length -= macSize;
             int macInputLen = dec_output_length;
             int macOff = offset + macInputLen;
-            byte[] receivedMac = Arrays.copyOfRange(ciphertext, macOff, macOff + macSize);
-            byte[] calculatedMac = readMac.calculateMacConstantTime(seqNo, type, ciphertext, offset, macInputLen,
-                blocks_length - macSize, randomData);
+            readMac.calculateMacConstantTime(seqNo, type, ciphertext, offset, macInputLen,
+                blocks_length - macSize, randomData, calculatedMac, 0);
 
-            boolean badMac = !Arrays.constantTimeAreEqual(calculatedMac, receivedMac);
+            boolean badMac = !Arrays.constantTimeAreEqual(macSize, calculatedMac, 0, ciphertext, macOff);
 
             if (badMac || totalPad == 0)
             {
@@ -311,7 +354,9 @@ public byte[] decodeCiphertext(long seqNo, short type, byte[] ciphertext, int of
             }
         }
 
-        return Arrays.copyOfRange(ciphertext, offset, offset + dec_output_length);
+        System.arraycopy(ciphertext, offset, output, outOff, dec_output_length);
+
+        return dec_output_length;
     }
 
     protected int checkPaddingConstantTime(byte[] buf, int off, int len, int blockSize, int macSize)
@@ -0,0 +1,53 @@
+package org.bouncycastle.crypto.tls;
+
+import java.io.IOException;
+
+/**
+ * A {@link TlsCipher} that can encode and decode records in caller-supplied buffers, allowing the
+ * record layer to process records without allocating per-record arrays.
+ */
+public interface TlsBufferCipher
+    extends TlsCipher
+{
+    /**
+     * Return the maximum size of the encoding of a plaintext of up to 'plaintextLimit' bytes.
+     *
+     * @param plaintextLimit the maximum plaintext length.
+     * @return the maximum length of the encoded record fragment.
+     */
+    int getCiphertextLimit(int plaintextLimit);
+
+    /**
+     * Encode a record fragment into the given output buffer.
+     *
+     * @param seqNo     the record sequence number.
+     * @param type      the record content type.
+     * @param plaintext the buffer containing the plaintext.
+     * @param offset    the offset of the plaintext.
+     * @param len       the length of the plaintext.
+     * @param output    the buffer the encoded fragment is written to. This must not overlap the
+     *                  plaintext.
+     * @param outOff    the offset at which the encoded fragment starts.
+     * @return the number of bytes written to output.
+     * @throws IOException if the fragment cannot be encoded.
+     */
+    int encodePlaintext(long seqNo, short type, byte[] plaintext, int offset, int len, byte[] output, int outOff)
+        throws IOException;
+
+    /**
+     * Decode a record fragment. The ciphertext buffer may be modified, and the output may be the
+     * same buffer as the ciphertext as long as 'outOff' is not greater than 'offset'.
+     *
+     * @param seqNo      the record sequence number.
+     * @param type       the record content type.
+     * @param ciphertext the buffer containing the encoded fragment.
+     * @param offset     the offset of the encoded fragment.
+     * @param len        the length of the encoded fragment.
+     * @param output     the buffer the plaintext is written to.
+     * @param outOff     the offset at which the plaintext starts.
+     * @return the length of the plaintext.
+     * @throws IOException if the fragment cannot be decoded or fails authentication.
+     */
+    int decodeCiphertext(long seqNo, short type, byte[] ciphertext, int offset, int len, byte[] output, int outOff)
+        throws IOException;
+}
@@ -25,16 +25,44 @@
     protected CertificateStatus certificateStatus = null;
     protected CertificateRequest certificateRequest = null;
 
+    /**
+     * Constructor for blocking mode.
+     * @param input The stream of data from the server
+     * @param output The stream of data to the server
+     * @param secureRandom Random number generator for various cryptographic functions
+     */
     public TlsClientProtocol(InputStream input, OutputStream output, SecureRandom secureRandom)
     {
         super(input, output, secureRandom);
     }
 
     /**
-     * Initiates a TLS handshake in the role of client
+     * Constructor for non-blocking mode.<br>
+     * <br>
+     * When data is received, use {@link #offerInput(byte[])} to provide the received ciphertext,
+     * then use {@link #readInput(byte[], int, int)} to read the corresponding cleartext.<br>
+     * <br>
+     * Similarly, when data needs to be sent, use {@link #offerOutput(byte[], int, int)} to provide
+     * the cleartext, then use {@link #readOutput(byte[], int, int)} to get the corresponding
+     * ciphertext.
+     *
+     * @param secureRandom
+     *            Random number generator for various cryptographic functions
+     */
+    public TlsClientProtocol(SecureRandom secureRandom)
+    {
+        super(secureRandom);
+    }
+
+    /**
+     * Initiates a TLS handshake in the role of client.<br>
+     * <br>
+     * In blocking mode, this will not return until the handshake is complete.
+     * In non-blocking mode, use {@link TlsPeer#notifyHandshakeComplete()} to
+     * receive a callback when the handshake is complete.
      *
      * @param tlsClient The {@link TlsClient} to use for the handshake.
-     * @throws IOException If handshake was not successful.
+     * @throws IOException If in blocking mode and handshake was not successful.
      */
     public void connect(TlsClient tlsClient) throws IOException
     {
@@ -74,7 +102,7 @@ public void connect(TlsClient tlsClient) throws IOException
         sendClientHelloMessage();
         this.connection_state = CS_CLIENT_HELLO;
 
-        completeHandshake();
+        blockForHandshake();
     }
 
     protected void cleanupHandshake()
@@ -122,6 +150,7 @@ protected void handleHandshakeMessage(short type, byte[] data)
             this.connection_state = CS_CLIENT_FINISHED;
             this.connection_state = CS_END;
 
+            completeHandshake();
             return;
         }
 
@@ -216,6 +245,8 @@ protected void handleHandshakeMessage(short type, byte[] data)
                 processFinishedMessage(buf);
                 this.connection_state = CS_SERVER_FINISHED;
                 this.connection_state = CS_END;
+
+                completeHandshake();
                 break;
             }
             default:
@@ -19,6 +19,10 @@
     protected int digestOverhead;
     protected int macLength;
 
+    // Scratch space reused between calls, so MACs can be calculated without allocation
+    protected byte[] macHeader = new byte[13];
+    protected byte[] macResult;
+
     /**
      * Generate a new instance of an TlsMac.
      *
@@ -71,6 +75,8 @@ public TlsMac(TlsContext context, Digest digest, byte[] key, int keyOff, int key
 
         this.mac.init(keyParameter);
 
+        this.macResult = new byte[mac.getMacSize()];
+
         this.macLength = mac.getMacSize();
         if (context.getSecurityParameters().truncatedHMac)
         {
@@ -104,34 +110,65 @@ public int getSize()
      * @return A new byte-buffer containing the MAC value.
      */
     public byte[] calculateMac(long seqNo, short type, byte[] message, int offset, int length)
+    {
+        byte[] result = new byte[macLength];
+        calculateMac(seqNo, type, message, offset, length, result, 0);
+        return result;
+    }
+
+    /**
+     * Calculate the MAC for some given data, writing the (possibly truncated) MAC to a buffer.
+     *
+     * @param type    The message type of the message.
+     * @param message A byte-buffer containing the message.
+     * @param offset  The number of bytes to skip, before the message starts.
+     * @param length  The length of the message.
+     * @param output  The buffer the MAC is written to.
+     * @param outOff  The offset in output at which the MAC is written.
+     * @return The number of bytes written, i.e. {@link #getSize()}.
+     */
+    public int calculateMac(long seqNo, short type, byte[] message, int offset, int length, byte[] output, int outOff)
     {
         ProtocolVersion serverVersion = context.getServerVersion();
         boolean isSSL = serverVersion.isSSL();
 
-        byte[] macHeader = new byte[isSSL ? 11 : 13];
+        int headerLength = isSSL ? 11 : 13;
         TlsUtils.writeUint64(seqNo, macHeader, 0);
         TlsUtils.writeUint8(type, macHeader, 8);
         if (!isSSL)
         {
             TlsUtils.writeVersion(serverVersion, macHeader, 9);
         }
-        TlsUtils.writeUint16(length, macHeader, macHeader.length - 2);
+        TlsUtils.writeUint16(length, macHeader, headerLength - 2);
 
-        mac.update(macHeader, 0, macHeader.length);
+        mac.update(macHeader, 0, headerLength);
         mac.update(message, offset, length);
 
-        byte[] result = new byte[mac.getMacSize()];
-        mac.doFinal(result, 0);
-        return truncate(result);
+        if (macResult.length == macLength)
+        {
+            return mac.doFinal(output, outOff);
+        }
+
+        mac.doFinal(macResult, 0);
+        System.arraycopy(macResult, 0, output, outOff, macLength);
+        return macLength;
     }
 
     public byte[] calculateMacConstantTime(long seqNo, short type, byte[] message, int offset, int length,
         int fullLength, byte[] dummyData)
+    {
+        byte[] result = new byte[macLength];
+        calculateMacConstantTime(seqNo, type, message, offset, length, fullLength, dummyData, result, 0);
+        return result;
+    }
+
+    public int calculateMacConstantTime(long seqNo, short type, byte[] message, int offset, int length,
+        int fullLength, byte[] dummyData, byte[] output, int outOff)
     {
         /*
          * Actual MAC only calculated on 'length' bytes...
          */
-        byte[] result = calculateMac(seqNo, type, message, offset, length);
+        int result = calculateMac(seqNo, type, message, offset, length, output, outOff);
 
         /*
          * ...but ensure a constant number of complete digest blocks are processed (as many as would
@@ -61,6 +61,13 @@
     private TlsInputStream tlsInputStream = null;
     private TlsOutputStream tlsOutputStream = null;
 
+    /*
+     * Buffers used in place of the network streams when running in non-blocking mode.
+     */
+    private ByteQueueInputStream inputBuffers = null;
+    private ByteQueueOutputStream outputBuffer = null;
+    private boolean blocking = true;
+
     private volatile boolean closed = false;
     private volatile boolean failedWithError = false;
     private volatile boolean appDataReady = false;
@@ -90,6 +97,23 @@ public TlsProtocol(InputStream input, OutputStream output, SecureRandom secureRa
         this.secureRandom = secureRandom;
     }
 
+    /**
+     * Constructor for non-blocking mode. Network data is passed in with {@link #offerInput(byte[])},
+     * records to be sent are collected with {@link #readOutput(byte[], int, int)}, and application
+     * data is exchanged with {@link #readInput(byte[], int, int)} and
+     * {@link #offerOutput(byte[], int, int)}.
+     *
+     * @param secureRandom random source to use.
+     */
+    public TlsProtocol(SecureRandom secureRandom)
+    {
+        this.blocking = false;
+        this.inputBuffers = new ByteQueueInputStream();
+        this.outputBuffer = new ByteQueueOutputStream();
+        this.recordStream = new RecordStream(this, inputBuffers, outputBuffer);
+        this.secureRandom = secureRandom;
+    }
+
     protected abstract TlsContext getContext();
 
     abstract AbstractTlsContext getContextAdmin();
@@ -131,10 +155,14 @@ protected void cleanupHandshake()
         this.expectSessionTicket = false;
     }
 
-    protected void completeHandshake()
+    /**
+     * In blocking mode, read records until the handshake is complete. In non-blocking mode the
+     * handshake is driven by {@link #offerInput(byte[])} instead, so this returns immediately.
+     */
+    protected void blockForHandshake()
         throws IOException
     {
-        try
+        if (blocking)
         {
             /*
              * We will now read data, until we have completed the handshake.
@@ -148,7 +176,17 @@ protected void completeHandshake()
 
                 safeReadRecord();
             }
+        }
+    }
 
+    /**
+     * Called by subclasses once the handshake state machine has reached CS_END.
+     */
+    protected void completeHandshake()
+        throws IOException
+    {
+        try
+        {
             this.recordStream.finaliseHandshake();
 
             this.splitApplicationDataRecords = !TlsUtils.isTLSv11(getContext());
@@ -160,8 +198,11 @@ protected void completeHandshake()
             {
                 this.appDataReady = true;
 
-                this.tlsInputStream = new TlsInputStream(this);
-                this.tlsOutputStream = new TlsOutputStream(this);
+                if (blocking)
+                {
+                    this.tlsInputStream = new TlsInputStream(this);
+                    this.tlsOutputStream = new TlsOutputStream(this);
+                }
             }
 
             if (this.tlsSession != null)
@@ -446,6 +487,14 @@ protected int readApplicationData(byte[] buf, int offset, int len)
                 return -1;
             }
 
+            if (!blocking)
+            {
+                /*
+                 * Nothing has been offered yet, the caller has to come back later.
+                 */
+                return 0;
+            }
+
             safeReadRecord();
         }
 
@@ -593,21 +642,208 @@ protected void writeHandshakeMessage(byte[] buf, int off, int len) throws IOExce
     }
 
     /**
-     * @return An OutputStream which can be used to send data.
+     * @return An OutputStream which can be used to send data. Only allowed in blocking mode.
      */
     public OutputStream getOutputStream()
     {
+        if (!blocking)
+        {
+            throw new IllegalStateException("Cannot use OutputStream in non-blocking mode! Use offerOutput() instead.");
+        }
         return this.tlsOutputStream;
     }
 
     /**
-     * @return An InputStream which can be used to read data.
+     * @return An InputStream which can be used to read data. Only allowed in blocking mode.
      */
     public InputStream getInputStream()
     {
+        if (!blocking)
+        {
+            throw new IllegalStateException("Cannot use InputStream in non-blocking mode! Use offerInput() instead.");
+        }
         return this.tlsInputStream;
     }
 
+    /**
+     * Offer input from an arbitrary source. Only allowed in non-blocking mode.<br>
+     * <br>
+     * After this method returns, the input buffer is "owned" by this object. Other code may not
+     * attempt write access to it while this object holds a reference.<br>
+     * <br>
+     * This method will decrypt and process all complete records that are currently buffered.
+     * Afterwards {@link #getAvailableInputBytes()} reports how much application data is ready and
+     * {@link #getAvailableOutputBytes()} how many bytes (e.g. handshake responses) should be sent
+     * to the peer.
+     *
+     * @param input The input buffer to offer
+     * @throws IOException If an error occurs while decrypting or processing a record
+     */
+    public void offerInput(byte[] input)
+        throws IOException
+    {
+        offerInput(input, 0, input.length);
+    }
+
+    /**
+     * Offer input from an arbitrary source. Only allowed in non-blocking mode.
+     *
+     * @param input The input buffer to offer
+     * @param inputOff The offset of the input data in the buffer
+     * @param inputLen The length of the input data
+     * @throws IOException If an error occurs while decrypting or processing a record
+     * @see #offerInput(byte[])
+     */
+    public void offerInput(byte[] input, int inputOff, int inputLen)
+        throws IOException
+    {
+        if (blocking)
+        {
+            throw new IllegalStateException("Cannot use offerInput() in blocking mode! Use getInputStream() instead.");
+        }
+
+        if (closed)
+        {
+            throw new IOException("Connection is closed, cannot accept any more input");
+        }
+
+        inputBuffers.addBytes(input, inputOff, inputLen);
+
+        /*
+         * RecordStream reads whole records, so only hand over once the full record has arrived.
+         */
+        byte[] header = new byte[RecordStream.TLS_HEADER_SIZE];
+        while (inputBuffers.available() >= RecordStream.TLS_HEADER_SIZE)
+        {
+            inputBuffers.peek(header);
+
+            int totalLength = TlsUtils.readUint16(header, RecordStream.TLS_HEADER_LENGTH_OFFSET)
+                + RecordStream.TLS_HEADER_SIZE;
+            if (inputBuffers.available() < totalLength)
+            {
+                break;
+            }
+
+            safeReadRecord();
+
+            if (closed)
+            {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Gets the amount of received application data. A call to {@link #readInput(byte[], int, int)}
+     * is guaranteed to be able to return at least this much data.<br>
+     * <br>
+     * Only allowed in non-blocking mode.
+     *
+     * @return The number of bytes of available application data
+     */
+    public int getAvailableInputBytes()
+    {
+        if (blocking)
+        {
+            throw new IllegalStateException("Cannot use getAvailableInputBytes() in blocking mode! Use getInputStream().available() instead.");
+        }
+        return applicationDataQueue.available();
+    }
+
+    /**
+     * Retrieves received application data. Use {@link #getAvailableInputBytes()} to check how much
+     * application data is currently available. This method functions similarly to
+     * {@link InputStream#read(byte[], int, int)}, except that it never blocks. If no data is
+     * available, nothing will be copied and zero will be returned.<br>
+     * <br>
+     * Only allowed in non-blocking mode.
+     *
+     * @param buffer The buffer to hold the application data
+     * @param offset The start offset in the buffer at which the data is written
+     * @param length The maximum number of bytes to read
+     * @return The total number of bytes copied to the buffer. May be less than the length
+     *         specified if the length was greater than the amount of available data. -1 if the
+     *         connection has been closed and there is no more data to read.
+     * @throws IOException If the connection failed with an error
+     */
+    public int readInput(byte[] buffer, int offset, int length)
+        throws IOException
+    {
+        if (blocking)
+        {
+            throw new IllegalStateException("Cannot use readInput() in blocking mode! Use getInputStream() instead.");
+        }
+        return readApplicationData(buffer, offset, length);
+    }
+
+    /**
+     * Offer application data to be sent to the peer. The resulting records are available from
+     * {@link #readOutput(byte[], int, int)}.<br>
+     * <br>
+     * Only allowed in non-blocking mode, and only once the handshake has completed.
+     *
+     * @param buffer The buffer containing the application data to send
+     * @param offset The offset at which the application data begins
+     * @param length The number of bytes of application data to send
+     * @throws IOException If the data could not be encrypted or the connection is closed
+     */
+    public void offerOutput(byte[] buffer, int offset, int length)
+        throws IOException
+    {
+        if (blocking)
+        {
+            throw new IllegalStateException("Cannot use offerOutput() in blocking mode! Use getOutputStream() instead.");
+        }
+        if (!appDataReady)
+        {
+            throw new IOException("Application data cannot be sent until the handshake is complete!");
+        }
+
+        writeData(buffer, offset, length);
+    }
+
+    /**
+     * Gets the amount of encrypted data available to be sent. A call to
+     * {@link #readOutput(byte[], int, int)} is guaranteed to be able to return at least this much
+     * data.<br>
+     * <br>
+     * Only allowed in non-blocking mode.
+     *
+     * @return The number of bytes of available encrypted data
+     */
+    public int getAvailableOutputBytes()
+    {
+        if (blocking)
+        {
+            throw new IllegalStateException("Cannot use getAvailableOutputBytes() in blocking mode! Use getOutputStream() instead.");
+        }
+        return outputBuffer.getBuffer().available();
+    }
+
+    /**
+     * Retrieves encrypted data to be sent to the peer. Use {@link #getAvailableOutputBytes()} to
+     * check how much encrypted data is currently available. If no data is available, nothing will
+     * be copied and zero will be returned.<br>
+     * <br>
+     * Only allowed in non-blocking mode.
+     *
+     * @param buffer The buffer to hold the encrypted data
+     * @param offset The start offset in the buffer at which the data is written
+     * @param length The maximum number of bytes to read
+     * @return The total number of bytes copied to the buffer. May be less than the length
+     *         specified if the length was greater than the amount of available data.
+     */
+    public int readOutput(byte[] buffer, int offset, int length)
+    {
+        if (blocking)
+        {
+            throw new IllegalStateException("Cannot use readOutput() in blocking mode! Use getOutputStream() instead.");
+        }
+        int bytesToRead = Math.min(getAvailableOutputBytes(), length);
+        outputBuffer.getBuffer().removeData(buffer, offset, bytesToRead, 0);
+        return bytesToRead;
+    }
+
     /**
      * Terminate this connection with an alert. Can be used for normal closure too.
      * 
@@ -804,7 +1040,7 @@ protected void flush()
         recordStream.flush();
     }
 
-    protected boolean isClosed()
+    public boolean isClosed()
     {
         return closed;
     }
@@ -25,16 +25,44 @@
     protected short clientCertificateType = -1;
     protected TlsHandshakeHash prepareFinishHash = null;
 
+    /**
+     * Constructor for blocking mode.
+     * @param input The stream of data from the client
+     * @param output The stream of data to the client
+     * @param secureRandom Random number generator for various cryptographic functions
+     */
     public TlsServerProtocol(InputStream input, OutputStream output, SecureRandom secureRandom)
     {
         super(input, output, secureRandom);
     }
 
     /**
-     * Receives a TLS handshake in the role of server
+     * Constructor for non-blocking mode.<br>
+     * <br>
+     * When data is received, use {@link #offerInput(byte[])} to provide the received ciphertext,
+     * then use {@link #readInput(byte[], int, int)} to read the corresponding cleartext.<br>
+     * <br>
+     * Similarly, when data needs to be sent, use {@link #offerOutput(byte[], int, int)} to provide
+     * the cleartext, then use {@link #readOutput(byte[], int, int)} to get the corresponding
+     * ciphertext.
+     *
+     * @param secureRandom
+     *            Random number generator for various cryptographic functions
+     */
+    public TlsServerProtocol(SecureRandom secureRandom)
+    {
+        super(secureRandom);
+    }
+
+    /**
+     * Receives a TLS handshake in the role of server.<br>
+     * <br>
+     * In blocking mode, this will not return until the handshake is complete.
+     * In non-blocking mode, use {@link TlsPeer#notifyHandshakeComplete()} to
+     * receive a callback when the handshake is complete.
      *
      * @param tlsServer
-     * @throws IOException If handshake was not successful.
+     * @throws IOException If in blocking mode and handshake was not successful.
      */
     public void accept(TlsServer tlsServer)
         throws IOException
@@ -63,7 +91,7 @@ public void accept(TlsServer tlsServer)
 
         this.recordStream.setRestrictReadVersion(false);
 
-        completeHandshake();
+        blockForHandshake();
     }
 
     protected void cleanupHandshake()
@@ -332,6 +360,8 @@ else if (TlsUtils.isSSL(getContext()))
                 sendFinishedMessage();
                 this.connection_state = CS_SERVER_FINISHED;
                 this.connection_state = CS_END;
+
+                completeHandshake();
                 break;
             }
             default:
@@ -21,6 +21,13 @@ public static boolean isFpCurve(ECCurve c)
         return c.getField().getDimension() == 1;
     }
 
+    /**
+     * The number of scalar multiplications (after any GLV decomposition) at which sumOfMultiplies()
+     * switches from interleaved window NAF to Pippenger's bucket method. See
+     * ECMultiScalarPerformanceTest for the crossover.
+     */
+    static final int PIPPENGER_THRESHOLD = 192;
+
     public static ECPoint sumOfMultiplies(ECPoint[] ps, BigInteger[] ks)
     {
         if (ps == null || ks == null || ps.length != ks.length || ps.length < 1)
@@ -52,9 +59,19 @@ public static ECPoint sumOfMultiplies(ECPoint[] ps, BigInteger[] ks)
         ECEndomorphism endomorphism = c.getEndomorphism();
         if (endomorphism instanceof GLVEndomorphism)
         {
+            if ((count << 1) >= PIPPENGER_THRESHOLD)
+            {
+                return validatePoint(implSumOfMultipliesPippengerGLV(imported, ks, (GLVEndomorphism)endomorphism));
+            }
+
             return validatePoint(implSumOfMultipliesGLV(imported, ks, (GLVEndomorphism)endomorphism));
         }
 
+        if (count >= PIPPENGER_THRESHOLD)
+        {
+            return validatePoint(implSumOfMultipliesPippenger(imported, ks));
+        }
+
         return validatePoint(implSumOfMultiplies(imported, ks));
     }
 
@@ -466,4 +483,170 @@ private static ECPoint implSumOfMultiplies(boolean[] negs, WNafPreCompInfo[] inf
 
         return R;
     }
+
+    static ECPoint implSumOfMultipliesPippengerGLV(ECPoint[] ps, BigInteger[] ks, GLVEndomorphism glvEndomorphism)
+    {
+        BigInteger n = ps[0].getCurve().getOrder();
+        ECPointMap pointMap = glvEndomorphism.getPointMap();
+
+        int len = ps.length;
+
+        ECPoint[] pqs = new ECPoint[len << 1];
+        BigInteger[] abs = new BigInteger[len << 1];
+        for (int i = 0, j = 0; i < len; ++i)
+        {
+            BigInteger[] ab = glvEndomorphism.decomposeScalar(ks[i].mod(n));
+            pqs[j] = ps[i];
+            abs[j++] = ab[0];
+            pqs[j] = pointMap.map(ps[i]);
+            abs[j++] = ab[1];
+        }
+
+        return implSumOfMultipliesPippenger(pqs, abs);
+    }
+
+    /**
+     * Pippenger's bucket method: the scalars are split into signed w-bit digits, and for each
+     * digit position every point is added into the bucket for its digit. The buckets are then
+     * combined with a running sum, so each window costs about (count + 2^w) additions however
+     * many points there are, against roughly count * (bits / (w + 1)) for interleaved window NAF.
+     */
+    static ECPoint implSumOfMultipliesPippenger(ECPoint[] ps, BigInteger[] ks)
+    {
+        int count = ps.length;
+        ECCurve c = ps[0].getCurve();
+
+        ECPoint[] points = new ECPoint[count];
+        BigInteger[] scalars = new BigInteger[count];
+        int bits = 0;
+
+        for (int i = 0; i < count; ++i)
+        {
+            ECPoint p = ps[i];
+            BigInteger k = ks[i];
+            if (k.signum() < 0)
+            {
+                p = p.negate();
+                k = k.negate();
+            }
+            points[i] = p;
+            scalars[i] = k;
+            bits = Math.max(bits, k.bitLength());
+        }
+
+        // affine inputs make every bucket addition a mixed addition
+        c.normalizeAll(points);
+
+        ECPoint infinity = c.getInfinity();
+        if (bits == 0)
+        {
+            return infinity;
+        }
+
+        int width = getPippengerWindowSize(count, bits);
+        int windows = (bits + width - 1) / width + 1;
+        int[][] digits = new int[count][];
+
+        for (int i = 0; i < count; ++i)
+        {
+            digits[i] = generateSignedDigits(scalars[i], width, windows);
+        }
+
+        ECPoint[] buckets = new ECPoint[1 << (width - 1)];
+        ECPoint R = infinity;
+
+        for (int win = windows - 1; win >= 0; --win)
+        {
+            R = R.timesPow2(width);
+
+            for (int j = 0; j < buckets.length; ++j)
+            {
+                buckets[j] = infinity;
+            }
+
+            for (int i = 0; i < count; ++i)
+            {
+                int d = digits[i][win];
+                if (d > 0)
+                {
+                    buckets[d - 1] = buckets[d - 1].add(points[i]);
+                }
+                else if (d < 0)
+                {
+                    buckets[-d - 1] = buckets[-d - 1].subtract(points[i]);
+                }
+            }
+
+            /*
+             * sum(j * buckets[j - 1]) as a running sum from the top bucket down
+             */
+            ECPoint running = infinity, sum = infinity;
+            for (int j = buckets.length - 1; j >= 0; --j)
+            {
+                running = running.add(buckets[j]);
+                sum = sum.add(running);
+            }
+
+            R = R.add(sum);
+        }
+
+        return R;
+    }
+
+    private static int getPippengerWindowSize(int count, int bits)
+    {
+        // minimise the number of additions: per window, one per point plus two per bucket
+        int best = 2;
+        long bestCost = Long.MAX_VALUE;
+
+        for (int w = 2; w <= 20; ++w)
+        {
+            long windows = (bits + w - 1) / w + 1;
+            long cost = windows * (count + (1L << w));
+            if (cost < bestCost)
+            {
+                bestCost = cost;
+                best = w;
+            }
+        }
+
+        return best;
+    }
+
+    /*
+     * Digits in [-2^(width-1), 2^(width-1) - 1], least significant first.
+     */
+    private static int[] generateSignedDigits(BigInteger k, int width, int windows)
+    {
+        int[] digits = new int[windows];
+        int half = 1 << (width - 1), full = 1 << width;
+        int carry = 0;
+
+        for (int win = 0; win < windows; ++win)
+        {
+            int pos = win * width, chunk = carry;
+
+            for (int b = width - 1; b >= 0; --b)
+            {
+                if (k.testBit(pos + b))
+                {
+                    chunk += 1 << b;
+                }
+            }
+
+            if (chunk >= half)
+            {
+                chunk -= full;
+                carry = 1;
+            }
+            else
+            {
+                carry = 0;
+            }
+
+            digits[win] = chunk;
+        }
+
+        return digits;
+    }
 }
@@ -1,6 +1,7 @@
 package org.bouncycastle.math.ec;
 
 import java.math.BigInteger;
+import java.util.Enumeration;
 import java.util.Hashtable;
 import java.util.Random;
 
@@ -89,7 +90,7 @@ public ECCurve create()
 
     protected int coord = COORD_AFFINE;
     protected ECEndomorphism endomorphism = null;
-    protected ECMultiplier multiplier = null;
+    protected volatile ECMultiplier multiplier = null;
 
     protected ECCurve(FiniteField field)
     {
@@ -164,14 +165,25 @@ public boolean supportsCoordinateSystem(int coord)
         return coord == COORD_AFFINE;
     }
 
+    /**
+     * Return a fixed-point comb lookup table for a point that is built into the curve implementation,
+     * usually for the standard base point, so that it does not need to be computed at run time.
+     *
+     * @param point a normalized point on this curve.
+     * @param minWidth the minimum width of comb required.
+     * @return a table of 2^w entries, for some w >= minWidth, or null if there is none for the point.
+     */
+    protected ECPoint[] getFixedPointLookupTable(ECPoint point, int minWidth)
+    {
+        return null;
+    }
+
     public PreCompInfo getPreCompInfo(ECPoint point, String name)
     {
         checkPoint(point);
-        synchronized (point)
-        {
-            Hashtable table = point.preCompTable;
-            return table == null ? null : (PreCompInfo)table.get(name);
-        }
+
+        Hashtable table = point.preCompTable;
+        return table == null ? null : (PreCompInfo)table.get(name);
     }
 
     /**
@@ -189,17 +201,75 @@ public PreCompInfo getPreCompInfo(ECPoint point, String name)
     public void setPreCompInfo(ECPoint point, String name, PreCompInfo preCompInfo)
     {
         checkPoint(point);
-        synchronized (point)
+
+        Hashtable table;
+        do
         {
-            Hashtable table = point.preCompTable;
-            if (null == table)
+            table = point.preCompTable;
+        }
+        while (!PreCompTableUpdater.compareAndSet(point, table, withPreCompInfo(table, name, preCompInfo)));
+    }
+
+    /**
+     * Compute, or extend, the <code>PreCompInfo</code> stored for a point on this curve under a given
+     * name. The callback is passed the current value and the result, if different, is installed
+     * atomically without locking - if another thread installs a value for the same name first the
+     * callback is run again against that value.
+     * 
+     * @param point
+     *            The <code>ECPoint</code> to store precomputations for.
+     * @param name
+     *            A <code>String</code> used to index precomputations of different types.
+     * @param callback
+     *            Calculates the precomputation, treating any existing value as immutable.
+     * @return the <code>PreCompInfo</code> now stored for the point.
+     */
+    public PreCompInfo precompute(ECPoint point, String name, PreCompCallback callback)
+    {
+        checkPoint(point);
+
+        Hashtable table = point.preCompTable;
+        PreCompInfo existing = table == null ? null : (PreCompInfo)table.get(name);
+        PreCompInfo result = callback.precompute(existing);
+
+        for (;;)
+        {
+            if (result == existing)
+            {
+                return result;
+            }
+
+            if (PreCompTableUpdater.compareAndSet(point, table, withPreCompInfo(table, name, result)))
             {
-                point.preCompTable = table = new Hashtable(4);
+                return result;
+            }
+
+            table = point.preCompTable;
+
+            PreCompInfo current = table == null ? null : (PreCompInfo)table.get(name);
+            if (current != existing)
+            {
+                existing = current;
+                result = callback.precompute(existing);
             }
-            table.put(name, preCompInfo);
         }
     }
 
+    private static Hashtable withPreCompInfo(Hashtable table, String name, PreCompInfo preCompInfo)
+    {
+        Hashtable newTable = new Hashtable(4);
+        if (table != null)
+        {
+            for (Enumeration e = table.keys(); e.hasMoreElements();)
+            {
+                Object key = e.nextElement();
+                newTable.put(key, table.get(key));
+            }
+        }
+        newTable.put(name, preCompInfo);
+        return newTable;
+    }
+
     public ECPoint importPoint(ECPoint p)
     {
         if (this == p.getCurve())
@@ -308,13 +378,15 @@ public ECEndomorphism getEndomorphism()
     /**
      * Sets the default <code>ECMultiplier</code>, unless already set. 
      */
-    public synchronized ECMultiplier getMultiplier()
+    public ECMultiplier getMultiplier()
     {
-        if (this.multiplier == null)
+        // multipliers hold no state, so a racing initialisation is harmless
+        ECMultiplier m = this.multiplier;
+        if (m == null)
         {
-            this.multiplier = createDefaultMultiplier();
+            this.multiplier = m = createDefaultMultiplier();
         }
-        return this.multiplier;
+        return m;
     }
 
     /**
@@ -696,7 +768,7 @@ public static class F2m extends AbstractF2m
          * <code>s<sub>1</sub></code> used for partial modular reduction for
          * Koblitz curves.
          */
-        private BigInteger[] si = null;
+        private volatile BigInteger[] si = null;
 
         /**
          * Constructor for Trinomial Polynomial Basis (TPB).
@@ -945,13 +1017,15 @@ public boolean isKoblitz()
          * @throws IllegalArgumentException if the given ECCurve is not a
          * Koblitz curve.
          */
-        synchronized byte getMu()
+        byte getMu()
         {
-            if (mu == 0)
+            // single byte, always calculated to the same value - no locking needed
+            byte m = mu;
+            if (m == 0)
             {
-                mu = Tnaf.getMu(this);
+                mu = m = Tnaf.getMu(this);
             }
-            return mu;
+            return m;
         }
 
         /**
@@ -959,13 +1033,14 @@ synchronized byte getMu()
          * <code>s<sub>1</sub></code> used for partial modular reduction for
          * Koblitz curves.
          */
-        synchronized BigInteger[] getSi()
+        BigInteger[] getSi()
         {
-            if (si == null)
+            BigInteger[] s = si;
+            if (s == null)
             {
-                si = Tnaf.getSi(this);
+                si = s = Tnaf.getSi(this);
             }
-            return si;
+            return s;
         }
 
         /**
@@ -48,8 +48,8 @@ protected static ECFieldElement[] getInitialZCoords(ECCurve curve)
 
     protected boolean withCompression;
 
-    // Hashtable is (String -> PreCompInfo)
-    protected Hashtable preCompTable = null;
+    // Hashtable is (String -> PreCompInfo), replaced rather than modified so it can be read without locking
+    protected volatile Hashtable preCompTable = null;
 
     protected ECPoint(ECCurve curve, ECFieldElement x, ECFieldElement y)
     {
@@ -2,6 +2,8 @@
 
 import java.math.BigInteger;
 
+import org.bouncycastle.util.Integers;
+
 public class FixedPointUtil
 {
     public static final String PRECOMP_NAME = "bc_fixed_point";
@@ -22,50 +24,68 @@ public static FixedPointPreCompInfo getFixedPointPreCompInfo(PreCompInfo preComp
         return new FixedPointPreCompInfo();
     }
 
-    public static FixedPointPreCompInfo precompute(ECPoint p, int minWidth)
+    public static FixedPointPreCompInfo precompute(final ECPoint p, final int minWidth)
     {
-        ECCurve c = p.getCurve();
-
-        int n = 1 << minWidth;
-        FixedPointPreCompInfo info = getFixedPointPreCompInfo(c.getPreCompInfo(p, PRECOMP_NAME));
-        ECPoint[] lookupTable = info.getPreComp();
+        final ECCurve c = p.getCurve();
 
-        if (lookupTable == null || lookupTable.length < n)
+        return (FixedPointPreCompInfo)c.precompute(p, PRECOMP_NAME, new PreCompCallback()
         {
-            int bits = getCombSize(c);
-            int d = (bits + minWidth - 1) / minWidth;
-
-            ECPoint[] pow2Table = new ECPoint[minWidth];
-            pow2Table[0] = p;
-            for (int i = 1; i < minWidth; ++i)
-            {
-                pow2Table[i] = pow2Table[i - 1].timesPow2(d);
-            }
-    
-            c.normalizeAll(pow2Table);
-    
-            lookupTable = new ECPoint[n];
-            lookupTable[0] = c.getInfinity();
-    
-            for (int bit = minWidth - 1; bit >= 0; --bit)
+            public PreCompInfo precompute(PreCompInfo existing)
             {
-                ECPoint pow2 = pow2Table[bit];
+                int n = 1 << minWidth;
 
-                int step = 1 << bit;
-                for (int i = step; i < n; i += (step << 1))
+                if ((existing instanceof FixedPointPreCompInfo))
                 {
-                    lookupTable[i] = lookupTable[i - step].add(pow2);
+                    ECPoint[] lookupTable = ((FixedPointPreCompInfo)existing).getPreComp();
+                    if (lookupTable != null && lookupTable.length >= n)
+                    {
+                        return existing;
+                    }
                 }
-            }
 
-            c.normalizeAll(lookupTable);
+                ECPoint[] builtIn = c.getFixedPointLookupTable(p.normalize(), minWidth);
+                if (builtIn != null)
+                {
+                    FixedPointPreCompInfo result = new FixedPointPreCompInfo();
+                    result.setPreComp(builtIn);
+                    result.setWidth(Integers.numberOfTrailingZeros(builtIn.length));
+                    return result;
+                }
 
-            info.setPreComp(lookupTable);
-            info.setWidth(minWidth);
+                int bits = getCombSize(c);
+                int d = (bits + minWidth - 1) / minWidth;
 
-            c.setPreCompInfo(p, PRECOMP_NAME, info);
-        }
+                ECPoint[] pow2Table = new ECPoint[minWidth];
+                pow2Table[0] = p;
+                for (int i = 1; i < minWidth; ++i)
+                {
+                    pow2Table[i] = pow2Table[i - 1].timesPow2(d);
+                }
+
+                c.normalizeAll(pow2Table);
+
+                ECPoint[] lookupTable = new ECPoint[n];
+                lookupTable[0] = c.getInfinity();
+
+                for (int bit = minWidth - 1; bit >= 0; --bit)
+                {
+                    ECPoint pow2 = pow2Table[bit];
 
-        return info;
+                    int step = 1 << bit;
+                    for (int i = step; i < n; i += (step << 1))
+                    {
+                        lookupTable[i] = lookupTable[i - step].add(pow2);
+                    }
+                }
+
+                c.normalizeAll(lookupTable);
+
+                // a new info rather than updating the existing one, which other threads may be using
+                FixedPointPreCompInfo result = new FixedPointPreCompInfo();
+                result.setPreComp(lookupTable);
+                result.setWidth(minWidth);
+                return result;
+            }
+        });
     }
 }
@@ -0,0 +1,19 @@
+package org.bouncycastle.math.ec;
+
+/**
+ * Interface for the calculation of precomputation data for a point, used with
+ * {@link ECCurve#precompute(ECPoint, String, PreCompCallback)}.
+ */
+public interface PreCompCallback
+{
+    /**
+     * Return precomputation data suitable for the caller, based on any existing data.
+     * <p>
+     * Existing data may be in use by other threads so must not be modified - either
+     * return it unchanged if it is sufficient, or return a new <code>PreCompInfo</code>.
+     * </p>
+     * @param existing the current precomputation data for the point, null if there is none.
+     * @return the precomputation data to use (and store, if it is not existing).
+     */
+    PreCompInfo precompute(PreCompInfo existing);
+}
@@ -0,0 +1,18 @@
+package org.bouncycastle.math.ec;
+
+import java.util.Hashtable;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Atomic replacement of the precomputation table of an ECPoint.
+ */
+class PreCompTableUpdater
+{
+    private static final AtomicReferenceFieldUpdater updater =
+        AtomicReferenceFieldUpdater.newUpdater(ECPoint.class, Hashtable.class, "preCompTable");
+
+    static boolean compareAndSet(ECPoint point, Hashtable expect, Hashtable update)
+    {
+        return updater.compareAndSet(point, expect, update);
+    }
+}
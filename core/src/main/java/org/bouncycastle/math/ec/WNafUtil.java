@@ -349,7 +349,7 @@ public static ECPoint mapPointWithPrecomp(ECPoint p, int width, boolean includeN
         WNafPreCompInfo wnafPreCompP = precompute(p, width, includeNegated);
 
         ECPoint q = pointMap.map(p);
-        WNafPreCompInfo wnafPreCompQ = getWNafPreCompInfo(c.getPreCompInfo(q, PRECOMP_NAME));
+        WNafPreCompInfo wnafPreCompQ = new WNafPreCompInfo();
 
         ECPoint twiceP = wnafPreCompP.getTwice();
         if (twiceP != null)
@@ -381,85 +381,117 @@ public static ECPoint mapPointWithPrecomp(ECPoint p, int width, boolean includeN
         return q;
     }
 
-    public static WNafPreCompInfo precompute(ECPoint p, int width, boolean includeNegated)
+    public static WNafPreCompInfo precompute(final ECPoint p, final int width, final boolean includeNegated)
     {
-        ECCurve c = p.getCurve();
-        WNafPreCompInfo wnafPreCompInfo = getWNafPreCompInfo(c.getPreCompInfo(p, PRECOMP_NAME));
+        final ECCurve c = p.getCurve();
 
-        ECPoint[] preComp = wnafPreCompInfo.getPreComp();
-        if (preComp == null)
+        return (WNafPreCompInfo)c.precompute(p, PRECOMP_NAME, new PreCompCallback()
         {
-            preComp = new ECPoint[]{ p };
-        }
+            public PreCompInfo precompute(PreCompInfo existing)
+            {
+                WNafPreCompInfo existingWNaf = (existing instanceof WNafPreCompInfo) ? (WNafPreCompInfo)existing : null;
 
-        int preCompLen = preComp.length;
-        int reqPreCompLen = 1 << Math.max(0, width - 2);
+                int reqPreCompLen = 1 << Math.max(0, width - 2);
 
-        if (preCompLen < reqPreCompLen)
-        {
-            preComp = resizeTable(preComp, reqPreCompLen);
-            if (reqPreCompLen == 2)
-            {
-                preComp[1] = preComp[0].threeTimes();
-            }
-            else
-            {
-                ECPoint twiceP = wnafPreCompInfo.getTwice();
-                if (twiceP == null)
+                if (checkExisting(existingWNaf, reqPreCompLen, includeNegated))
                 {
-                    twiceP = preComp[0].twice();
-                    wnafPreCompInfo.setTwice(twiceP);
+                    return existingWNaf;
                 }
 
-                for (int i = preCompLen; i < reqPreCompLen; i++)
+                /*
+                 * The existing info may be in use by other threads, so anything extended is
+                 * copied into a new WNafPreCompInfo, which is only published once complete.
+                 */
+                ECPoint[] preComp = null, preCompNeg = null;
+                ECPoint twiceP = null;
+
+                if (existingWNaf != null)
                 {
-                    /*
-                     * Compute the new ECPoints for the precomputation array. The values 1, 3, 5, ...,
-                     * 2^(width-1)-1 times p are computed
-                     */
-                    preComp[i] = twiceP.add(preComp[i - 1]);
+                    preComp = existingWNaf.getPreComp();
+                    preCompNeg = existingWNaf.getPreCompNeg();
+                    twiceP = existingWNaf.getTwice();
                 }
-            }
 
-            /*
-             * Having oft-used operands in affine form makes operations faster.
-             */
-            c.normalizeAll(preComp);
-        }
+                if (preComp == null)
+                {
+                    preComp = new ECPoint[]{ p };
+                }
 
-        wnafPreCompInfo.setPreComp(preComp);
+                int preCompLen = preComp.length;
 
-        if (includeNegated)
-        {
-            ECPoint[] preCompNeg = wnafPreCompInfo.getPreCompNeg();
-            
-            int pos;
-            if (preCompNeg == null)
-            {
-                pos = 0;
-                preCompNeg = new ECPoint[reqPreCompLen]; 
-            }
-            else
-            {
-                pos = preCompNeg.length;
-                if (pos < reqPreCompLen)
+                if (preCompLen < reqPreCompLen)
                 {
-                    preCompNeg = resizeTable(preCompNeg, reqPreCompLen);
+                    preComp = resizeTable(preComp, reqPreCompLen);
+                    if (reqPreCompLen == 2)
+                    {
+                        preComp[1] = preComp[0].threeTimes();
+                    }
+                    else
+                    {
+                        if (twiceP == null)
+                        {
+                            twiceP = preComp[0].twice();
+                        }
+
+                        for (int i = preCompLen; i < reqPreCompLen; i++)
+                        {
+                            /*
+                             * Compute the new ECPoints for the precomputation array. The values 1, 3, 5, ...,
+                             * 2^(width-1)-1 times p are computed
+                             */
+                            preComp[i] = twiceP.add(preComp[i - 1]);
+                        }
+                    }
+
+                    /*
+                     * Having oft-used operands in affine form makes operations faster.
+                     */
+                    c.normalizeAll(preComp);
                 }
-            }
 
-            while (pos < reqPreCompLen)
-            {
-                preCompNeg[pos] = preComp[pos].negate();
-                ++pos;
-            }
+                if (includeNegated)
+                {
+                    int pos;
+                    if (preCompNeg == null)
+                    {
+                        pos = 0;
+                        preCompNeg = new ECPoint[reqPreCompLen]; 
+                    }
+                    else
+                    {
+                        pos = preCompNeg.length;
+                        if (pos < reqPreCompLen)
+                        {
+                            preCompNeg = resizeTable(preCompNeg, reqPreCompLen);
+                        }
+                    }
+
+                    while (pos < reqPreCompLen)
+                    {
+                        preCompNeg[pos] = preComp[pos].negate();
+                        ++pos;
+                    }
+                }
 
-            wnafPreCompInfo.setPreCompNeg(preCompNeg);
-        }
+                WNafPreCompInfo result = new WNafPreCompInfo();
+                result.setPreComp(preComp);
+                result.setPreCompNeg(preCompNeg);
+                result.setTwice(twiceP);
+                return result;
+            }
+        });
+    }
 
-        c.setPreCompInfo(p, PRECOMP_NAME, wnafPreCompInfo);
+    private static boolean checkExisting(WNafPreCompInfo existingWNaf, int reqPreCompLen, boolean includeNegated)
+    {
+        return existingWNaf != null
+            && checkTable(existingWNaf.getPreComp(), reqPreCompLen)
+            && (!includeNegated || checkTable(existingWNaf.getPreCompNeg(), reqPreCompLen));
+    }
 
-        return wnafPreCompInfo;
+    private static boolean checkTable(ECPoint[] table, int reqLen)
+    {
+        return table != null && table.length >= reqLen;
     }
 
     private static byte[] trim(byte[] a, int length)
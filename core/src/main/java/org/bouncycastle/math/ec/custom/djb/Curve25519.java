@@ -77,4 +77,32 @@ public ECPoint getInfinity()
     {
         return infinity;
     }
+
+    protected ECPoint[] getFixedPointLookupTable(ECPoint point, int minWidth)
+    {
+        if (minWidth > Curve25519FixedPointTable.WIDTH)
+        {
+            return null;
+        }
+
+        int[] points = Curve25519FixedPointTable.POINTS;
+        ECPoint[] table = new ECPoint[1 << Curve25519FixedPointTable.WIDTH];
+        table[0] = infinity;
+
+        for (int i = 1, off = 0; i < table.length; ++i, off += 16)
+        {
+            int[] x = Nat256.create(), y = Nat256.create();
+            System.arraycopy(points, off, x, 0, 8);
+            System.arraycopy(points, off + 8, y, 0, 8);
+            table[i] = createRawPoint(new Curve25519FieldElement(x), new Curve25519FieldElement(y), false);
+
+            // the first entry is the base point itself, the table is no use for any other point
+            if (i == 1 && !table[1].equals(point))
+            {
+                return null;
+            }
+        }
+
+        return table;
+    }
 }
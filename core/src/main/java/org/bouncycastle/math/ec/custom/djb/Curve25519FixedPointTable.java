@@ -0,0 +1,79 @@
+package org.bouncycastle.math.ec.custom.djb;
+
+/**
+ * Fixed-point comb lookup table for the curve25519 base point, as computed by
+ * FixedPointUtil.precompute() at the width FixedPointCombMultiplier uses for this curve. Built into
+ * the library so the first multiplication by the base point costs no more than any other.
+ */
+class Curve25519FixedPointTable
+{
+    static final int WIDTH = 5;
+
+    /*
+     * The affine x and y coordinates of entries 1 to (2^WIDTH - 1) of the table, as little-endian
+     * 32-bit words.
+     */
+    static final int[] POINTS = new int[]{
+        0xAAAD245A, 0xAAAAAAAA, 0xAAAAAAAA, 0xAAAAAAAA, 0xAAAAAAAA, 0xAAAAAAAA, 0xAAAAAAAA, 0x2AAAAAAA,
+        0x7ECED3D9, 0x29E9C5A2, 0x6D7C61B2, 0x923D4D7E, 0x7748D14C, 0xE01EDD2C, 0xB8A086B4, 0x20AE19A1,
+        0xF232E38C, 0xC878D0FB, 0x3BBE07D1, 0x9228DA59, 0xD2193724, 0x0C832DC3, 0xD8BF388C, 0x51AB7037,
+        0x694E2E61, 0x241C248F, 0x81F5D64E, 0x33A33D9C, 0x3076088A, 0x22B7618F, 0x9EF7A7E1, 0x5F95C83A,
+        0xD6C852F1, 0xAA52EB23, 0x6D23B022, 0xF246591E, 0xE590D0B6, 0x501E2A19, 0x110580A3, 0x6E3D2DDC,
+        0xD176C4F0, 0x7C142E91, 0xD1A34CCE, 0xF82D871D, 0xD0ADB4F2, 0x30C303D4, 0x8E8FF111, 0x02DD42B9,
+        0xD4B06A8D, 0x3A85FF22, 0x0F622E3D, 0x3CCD30B7, 0x3F7C29C0, 0x07CA6AFD, 0x2C5DCE92, 0x0EEE1C9E,
+        0x4DCE9CB3, 0xBF913858, 0x24EF980B, 0x07536E37, 0xAFA009A4, 0x44EBDA64, 0xF50327EB, 0x26B0161C,
+        0x1D7E4082, 0x1545AEB9, 0xEEB1B1C7, 0x17B8F159, 0xF5E517E5, 0x48BCD42A, 0x2DCEDD62, 0x3E18BE6E,
+        0x67ABF6C0, 0x8BD68134, 0x16296EA1, 0xF95517F1, 0x92C5F47B, 0x1B2FB2BC, 0x55EC7D45, 0x7C56C517,
+        0xB6A32620, 0xF8A4FD52, 0x812C797D, 0x9EBA88D4, 0x1B828E04, 0x28419A27, 0x7E9B2B16, 0x3EE8DC50,
+        0x83893BF7, 0xFD83F399, 0x75B59791, 0x1544C397, 0x1F0F16E1, 0x695911FD, 0xF8762B17, 0x5CCBFB99,
+        0x97EB3034, 0x7FC2F27B, 0xFB02259C, 0xFA951FF4, 0x70E48880, 0x83CAB627, 0xB24D3EC7, 0x2C3E06AF,
+        0x3D676873, 0xD5F7C86B, 0xF1BD57FE, 0xD3C855D0, 0xB5CC309A, 0x837EA815, 0xFC39D9CB, 0x256FE935,
+        0x18C3D5FB, 0x00B24489, 0x9196C677, 0x478A8C00, 0x5A594009, 0xFB933294, 0xEC00050E, 0x107E3E59,
+        0xC13E3CDE, 0x4794AE63, 0x018735AE, 0xD88CC856, 0x06759417, 0xA8FEC0B8, 0x31ED1A84, 0x6D5BC79E,
+        0x7FC9E6D8, 0x9F072288, 0xCD217FB2, 0x45A18327, 0x7A4434F1, 0x6F9522E0, 0x30ABC2F2, 0x0EC35183,
+        0xBED2D0E8, 0xD6BC192A, 0x90590127, 0x5AA276B5, 0x09F5B41C, 0x1FB960AD, 0xC6848593, 0x2F674F5D,
+        0x445CED82, 0x405C9E82, 0xABF6C889, 0x11C16D10, 0x7206697B, 0xD5D59399, 0x3D8B12A3, 0x0332CBD6,
+        0xFB8E6087, 0x40EA6A20, 0x102B8DE8, 0x7305DADD, 0x4AA769F6, 0x960262E6, 0xB569EB0A, 0x73EB8739,
+        0x65967F22, 0xD500367B, 0xB330A182, 0x128D1ABF, 0xC1B0A6A6, 0x6D14FEF7, 0x0CF8F43C, 0x0372705B,
+        0x300B7D46, 0x1F172C9B, 0x97C096CA, 0xE47F1D95, 0xB94935AE, 0x5F028D14, 0xDFF2B2A8, 0x5761DA9F,
+        0x521D5D7F, 0x01862FC3, 0xC0C74613, 0x0105FFE3, 0xD18BAC46, 0x4B3A9AF3, 0x1E5E3FBB, 0x02BB8283,
+        0x65E684B6, 0x516CAB53, 0x117006E9, 0xB097E125, 0xDE728FEE, 0x36048299, 0x99C7AAF1, 0x42956315,
+        0xDF330098, 0x21B4A416, 0x01E885B5, 0xE6949621, 0x6C3F276C, 0x0B1E8DA0, 0x6BB32B07, 0x30A7BB7D,
+        0x28B94AD1, 0xE944FF20, 0x7D47EC15, 0xBAD05E6F, 0xAE818136, 0x3C64B912, 0x04CB55D5, 0x37765E29,
+        0x5C4ECC09, 0x1E9F0706, 0x713E4598, 0x22A71721, 0xAEF95D90, 0x91552736, 0x633D68AE, 0x43951AD3,
+        0x53B0DB21, 0x6E15B732, 0xD1A9CC25, 0x52BAE408, 0xC814DEE9, 0x8BF99580, 0x8A234DCE, 0x2806EA30,
+        0x10D54D73, 0x36AEC27E, 0x1C169271, 0xCF2B2B6A, 0x213C38A3, 0xCFDCD905, 0xC3185D27, 0x22C77794,
+        0xC9D733AB, 0xA5C45C27, 0x5FC5F2F4, 0x391BB61E, 0xE189F490, 0x4C2F10B9, 0xE8E3A1C1, 0x6F2CE450,
+        0x58A1ED76, 0xE667FBB1, 0x848F1BEA, 0xB3BD32D3, 0x47FA11E4, 0x526374A7, 0x9F56C95F, 0x1EF267D0,
+        0x06E37B50, 0xD30691E4, 0x1748103D, 0x48EA12D2, 0x377E609F, 0xAC5DE27E, 0x43047B27, 0x13854DAD,
+        0xB2005121, 0x8BBEB106, 0x1BDC071A, 0xA30B4F09, 0x17386F21, 0x496A1645, 0xC138B1ED, 0x1989626C,
+        0xEFF63E79, 0xFF59DD51, 0xDB5CC365, 0x6718DFF1, 0xBB6F2215, 0x2B4B114D, 0x6A176C4D, 0x46C09142,
+        0x1E4127F9, 0x4F3ED6DC, 0xDFB5A2EB, 0xBABD9762, 0xD937BE45, 0xF7117A0E, 0x910111F6, 0x38E623B9,
+        0xE6ABA49D, 0x5A9C9841, 0xF29AD886, 0x0FBF8967, 0x97D91C4F, 0x15B74186, 0x2C7F8437, 0x43E863F7,
+        0x05A6E683, 0x123D0ECE, 0x5B47FD4E, 0xDA00C9C1, 0x16667BDC, 0x005030BE, 0xE5D10540, 0x466F6388,
+        0xFA562C87, 0xF370AE0E, 0xBF3BCA2C, 0x20C11B5E, 0x056A223A, 0x38717272, 0x53CA805A, 0x47F03891,
+        0xAA647605, 0x7D97D017, 0x7475481A, 0xE0A43E43, 0xBD80A7B5, 0x723B9981, 0x5867B981, 0x39A9BBEC,
+        0x3273C470, 0xF55C03E0, 0x9560FC28, 0x078FCC8E, 0xF981FAAD, 0xD15A806C, 0xE5D57290, 0x2B8BD6FA,
+        0x13656841, 0x51C8549B, 0xF6B21DE5, 0xBE3ED0AE, 0x2EEE5D88, 0x885DFA13, 0xA69129A2, 0x3DD0C6CD,
+        0x34FA5158, 0x6E671BF3, 0x77DB81AB, 0x654629EF, 0x2365BD9E, 0x77DCE654, 0xB09F1004, 0x13AB050D,
+        0x2A5C746B, 0xDE13056B, 0xE65CD4EB, 0x732A963D, 0xD0BEAB83, 0x3D142DF3, 0xA6A5CDF5, 0x1D67BD5D,
+        0x837AF790, 0x525BECCF, 0xA4D46623, 0xCED4FC78, 0x9DDF659A, 0x323468AD, 0xEC5A30BD, 0x40BFCF68,
+        0x68B2C68E, 0x1E2912E3, 0xA202AE90, 0x4F2E95B2, 0x43C42CCA, 0xB9F2E502, 0xE4F996DC, 0x76C3724B,
+        0x25EDA78F, 0x0F367003, 0xB67639A9, 0x4780FC5A, 0xD245E9E0, 0x1B59297C, 0x9A20E8CF, 0x4F111AAD,
+        0x505A6F9A, 0x24CAA23F, 0xF1DE2AA2, 0x5802FCCB, 0x89AE30C9, 0xB20D05D6, 0xA57722E8, 0x112B11AF,
+        0x4ECD8339, 0xD59A7942, 0xAC87B9DC, 0x606518A5, 0x577775BB, 0x37B38FF7, 0xD659BF25, 0x72E14A0D,
+        0xC399C127, 0x1FFF5AB6, 0x5F6CEE12, 0xD66A7F8D, 0x482FDEEC, 0x296D8F80, 0xA991BFBD, 0x760B4FA1,
+        0xF6224EB3, 0xC6728B54, 0x9F957141, 0xB65C61DF, 0xBA9786D2, 0x9F93170E, 0x9202867C, 0x1F9B7782,
+        0x78FA031B, 0xC57B5C6F, 0x656EF113, 0x1802AD1E, 0x44B265CF, 0xC5A51333, 0x8517F49D, 0x2E707FA1,
+        0x27CD822D, 0x4064F244, 0x426A1996, 0xB9CE4539, 0xA15FEFD1, 0xB2FAEF2C, 0x28BC0E85, 0x64A2B822,
+        0x4FB86F53, 0x6E0F8406, 0xE6F5A28B, 0x121AEFAD, 0x20C3B1E1, 0xB1719030, 0xB73D7F22, 0x0D418607,
+        0x88482D01, 0xB315E75B, 0xCD8532F2, 0x684B024D, 0xF66DA8AD, 0xE5FF66D9, 0x7CA42947, 0x01DE6DD9,
+        0xB0CFD024, 0x838F1743, 0x742791EF, 0xA811A1F4, 0x10506CC7, 0x4332AF8A, 0xA8211F66, 0x2B3C4C6D,
+        0xF9E9073B, 0x33A06415, 0x4614F966, 0x8C9EB6A5, 0x7A8D6FFF, 0x49EF43F4, 0x746BA525, 0x0D9DCD89,
+        0x224BA2F0, 0x5B284440, 0xAB868F66, 0x924E9E7F, 0x04096B19, 0xEA8DC3C6, 0x036D1F2D, 0x1A4E2BB5,
+        0x88F0C064, 0xE2A682D7, 0xBC87AC1C, 0x6F0B425C, 0x572D6B0A, 0xD8AD5790, 0x0A4291F7, 0x50534B43,
+        0xE3FD4972, 0x30D75C1A, 0x7B4079F4, 0xB199103D, 0x4D5BEECD, 0x3A011833, 0x0445C263, 0x0DC4ED51,
+        0x7144FC41, 0x14852C66, 0x6AF698E4, 0x31A169EB, 0xFEAE1922, 0x2428E0D4, 0xABAACE9E, 0x39F1312D,
+        0x802009F4, 0x35B46CDA, 0x59A32D9C, 0x059EA49B, 0xE9EDE3B0, 0xF28326D9, 0x08C12690, 0x259CB9F9,
+        0xB3A8A763, 0x409BF7C7, 0x2FE93C62, 0x0808CE7F, 0xBB259E97, 0x1AE6C78F, 0x0AB4B82C, 0x358B97A8 };
+}
@@ -0,0 +1,79 @@
+package org.bouncycastle.math.ec.custom.sec;
+
+/**
+ * Fixed-point comb lookup table for the secp256k1 base point, as computed by
+ * FixedPointUtil.precompute() at the width FixedPointCombMultiplier uses for this curve. Built into
+ * the library so the first multiplication by the base point costs no more than any other.
+ */
+class SecP256K1FixedPointTable
+{
+    static final int WIDTH = 5;
+
+    /*
+     * The affine x and y coordinates of entries 1 to (2^WIDTH - 1) of the table, as little-endian
+     * 32-bit words.
+     */
+    static final int[] POINTS = new int[]{
+        0x16F81798, 0x59F2815B, 0x2DCE28D9, 0x029BFCDB, 0xCE870B07, 0x55A06295, 0xF9DCBBAC, 0x79BE667E,
+        0xFB10D4B8, 0x9C47D08F, 0xA6855419, 0xFD17B448, 0x0E1108A8, 0x5DA4FBFC, 0x26A3C465, 0x483ADA77,
+        0x3AD86047, 0xEFF959F4, 0x3A9B8BCA, 0x79B53A04, 0x64CA9067, 0x719CCA77, 0xD35983A7, 0x8E7BCD0B,
+        0x8460372A, 0xEA10047E, 0x47FD68B3, 0x79E88E2E, 0x0CA95145, 0x94031042, 0x2A3DA4B3, 0x10B7770B,
+        0x1ED7EEE7, 0x74328667, 0xA9B17323, 0x7827CCD5, 0x01110E1F, 0x7392FE71, 0x6D6328C6, 0xC0A60972,
+        0xDC69E1CE, 0xC3752C3E, 0x303FB7E5, 0x8EDF3C26, 0x5DB9BE3D, 0x145EE80E, 0xD605C301, 0xFC24D5B7,
+        0x2BCBB891, 0x3AB15024, 0xDF26CBEE, 0x8F7CC643, 0x743F8F9A, 0xE8281BAA, 0x03B2ABE1, 0xC738C56B,
+        0x699A84C3, 0x17E735D9, 0x7880CFE9, 0x82314EEF, 0xACBFBBBB, 0x7F718F2E, 0x951AD253, 0x893FB578,
+        0xDC7BCF13, 0x9D39C3CD, 0xE5B9DA42, 0x9147A764, 0x61A84676, 0x58EB23F6, 0xE4FFC15C, 0xBFC2D555,
+        0x59B9BEC9, 0x2A4A1324, 0xDE124564, 0x56EF4FBA, 0xC1BF08BE, 0xBC0AAA66, 0x5530FE36, 0xB4A78631,
+        0x9E41F197, 0x3D67D146, 0xD73EE44A, 0xB20A8FF6, 0x4A910719, 0x86D7AF29, 0x33E599E0, 0x9BC21301,
+        0xEFBDE3D6, 0x10A2660D, 0x19C01401, 0x0E8FDE54, 0x7AA49BEC, 0x6A7B5537, 0x7508C0E7, 0x9F33812E,
+        0x8118BF1D, 0xBD422767, 0xA4830508, 0x50D357DD, 0xE4AB6320, 0x7CD07090, 0xA0FD5D71, 0x541CCFEF,
+        0xF6E48013, 0x9057BC09, 0x886E9F21, 0xF2516E54, 0xFB855FF5, 0xAA4A3E84, 0x55F519A8, 0xCED807C9,
+        0xFD054C96, 0x8E8BD373, 0xA8D1CA88, 0xEEC4143B, 0xE5FEE5DC, 0x6D51DFDB, 0x19CDE61F, 0x4DF9C149,
+        0xCAD10D5D, 0x92EBAC06, 0xC2884901, 0xB5D506CD, 0x3A1D85D4, 0x050974C2, 0x092D8728, 0x0035EC51,
+        0xD9C3B41A, 0x90D4A05C, 0x59AF300D, 0x8504F89B, 0x66FDA64D, 0x8539C37B, 0xC2F0BFE0, 0x9EA471E9,
+        0x88B92D14, 0x78BEF128, 0x0E1AF314, 0x346601B9, 0xF4A4A777, 0x53AAD005, 0x471E3900, 0xC0C868E5,
+        0xA972062F, 0x0A41F308, 0xB39C65C3, 0x8AC28FC0, 0x31A0C1B2, 0x373FDDF5, 0x479312A4, 0x3BB654B0,
+        0xEE38DC58, 0x8B7E7A84, 0x17B92CFF, 0x16D86529, 0xB4D59215, 0x084AC6ED, 0x895148A6, 0x6C348EA7,
+        0xE0FCB9DD, 0x967D8A33, 0x53A5934F, 0x6EB41655, 0x9BEA5FE9, 0xDA715229, 0xB824F0B2, 0x9BA0B77D,
+        0xB22700C2, 0xE0A273DF, 0x7C4D2E1D, 0x32237ADE, 0xC76065AC, 0x22A41E97, 0x775B13CD, 0xE136CB59,
+        0xDE38F5A1, 0x5CCAD733, 0x61F3C3C3, 0x852F8C5D, 0x0769092A, 0x7A360FA2, 0x88B5339F, 0x7A7959ED,
+        0xE83E937C, 0xE56B35BE, 0x312C851D, 0x95A97C26, 0xF178B17B, 0x7E1538C1, 0xEEC9EE05, 0x0D6A910E,
+        0x9E9FBC99, 0xA82A532D, 0x9F645F87, 0x77E6191A, 0xD2397B9E, 0xD58485DB, 0x580DC783, 0x15523F6E,
+        0x0B196821, 0xFB1EC968, 0x49214ED2, 0x25CC553D, 0x4525F9F5, 0x0FB14554, 0xCDF7B3A9, 0x0504A480,
+        0x26B32BF1, 0x543492FB, 0x4C5CC067, 0x585365E2, 0xB53AB969, 0xDCF2A1A9, 0xCEB7AE1E, 0x993995F4,
+        0x2CA07632, 0xDAD4CD08, 0x043A9B4D, 0xC8320C9A, 0xB4DC6DB5, 0x78B40E14, 0x80EBFE8C, 0xCDD3A299,
+        0xC4881ED4, 0x457E18AA, 0xB2D9AC4B, 0x5D71C0A1, 0x15F1A2A9, 0x866C5FA6, 0xBC055B4F, 0x724EC6B7,
+        0x5CF8801D, 0xE2E12A20, 0x682E487C, 0x5FEB7F82, 0xDB253BA2, 0x42884D32, 0xB6A66EEE, 0x2278626D,
+        0x3180EEF9, 0x6D76A879, 0x9A28B977, 0x8D001220, 0x1AA07B12, 0x7E3ACEBB, 0x1D22E5F0, 0xFA50C0F6,
+        0x3F4F2811, 0x38CD8D7D, 0xA57A213B, 0x5E683293, 0x2281A68A, 0xB72CD287, 0x2397EBA9, 0x6B84C692,
+        0x863E4D1F, 0xBAEBC358, 0x1833891A, 0xE79B1D21, 0xC3FF9D0B, 0xF888C179, 0x5348D428, 0x1621ADE8,
+        0xCBDE7BF5, 0x7C1739D8, 0xF203F3D3, 0x8AC8BC5C, 0xB04CAE27, 0x8693A416, 0xDC6B8B71, 0x7E3E9AD7,
+        0x958D7470, 0xC396FAB3, 0xBA3F73C6, 0x2115D12A, 0x3CE86EA7, 0x1960303E, 0x87AC3F60, 0xBE82A87F,
+        0xE504673B, 0x57114695, 0x33A7BE96, 0x6D0925A6, 0x44FA3E96, 0x80504F4B, 0xD552F9A3, 0xA623715D,
+        0xD27A2DD6, 0x82A20559, 0x32095657, 0x72E3E8F1, 0x2EE5CA03, 0x1918FBF0, 0x23A985BA, 0x0E1F3115,
+        0x86B1E576, 0xD38D6EB9, 0xC9FC776C, 0xD2893FA3, 0x25DC6ADB, 0x5441C7B0, 0xA66B1102, 0x2DD46211,
+        0xEA47F3EB, 0x9B836C6E, 0xBFFF1840, 0xB2C40446, 0x7E4A5106, 0xAA376A68, 0xC8BC0888, 0xFE1CA893,
+        0x9F7CBDF6, 0x350171A0, 0x3E03619E, 0x8605A84F, 0x43DB48A5, 0x82458D07, 0xACABD83E, 0x2595E886,
+        0xB3347D19, 0xAA377F20, 0xE845D4BD, 0xEAC5E9C2, 0x253B325A, 0xE7AF797E, 0x7154E43F, 0xD04E35BE,
+        0x8FDD94B0, 0x75DDC2B5, 0x1CE94907, 0xC649082F, 0x8803B677, 0x6715B86F, 0xF31CD3A4, 0x0179EBA5,
+        0x2E8FDB15, 0x46F63234, 0x3AB6DC53, 0x46F098D2, 0x4D15B80B, 0x07B57D9F, 0x929C91EB, 0x4C963DF9,
+        0x945DD325, 0xE79BE64D, 0xEB47BCDB, 0x523E3FE2, 0xD9269AA2, 0xEA7931DC, 0xA3130D78, 0x9BE4C88C,
+        0x8843F925, 0xEA060D89, 0x98F52D02, 0x05B1F632, 0x2B8F7323, 0xE70A2750, 0x16BDE3A7, 0x1293C805,
+        0xE3F76A0A, 0x2F5FDE3D, 0x229CA347, 0x5D36333C, 0x694C2420, 0xAE147845, 0xBFD4F859, 0x25A1C0B8,
+        0xF523F145, 0xA41CA8FC, 0xDE5A5710, 0x5EC3B1AB, 0x5D14DE5E, 0xFB15F740, 0x1CED5C38, 0xB9B00384,
+        0x6C3394C8, 0x85B84547, 0x33D05CA3, 0x980A386A, 0xE48C40FE, 0x47CF9EE4, 0xE8D7B34E, 0xFE6F7DB6,
+        0x91E1887E, 0x2BB3EB03, 0xEFA1115C, 0x7DC40D14, 0x1D0DD4FE, 0x195C3396, 0x1A2A4570, 0x9B0457E6,
+        0x80A7B570, 0x8D9793E9, 0xA07CB95D, 0x432657C9, 0xDA56EF9E, 0x9A1BF666, 0x916B891F, 0x2B65A9E0,
+        0x0FEDD437, 0x47AB7715, 0xBC968ECC, 0xFA46E33A, 0x937945F7, 0x7C8DB828, 0xE1B2571C, 0x374642A9,
+        0x8BCFB8DB, 0xDF83151C, 0x86E3D903, 0x5FB1702F, 0x84F65C3A, 0x9ADAF518, 0x81C7AEE9, 0xEAE7C348,
+        0x9B969891, 0x5A5E7D06, 0x5FC1FA0A, 0x9D943719, 0x1A6BBECF, 0x9FBFE405, 0x355DCD84, 0x64F751B4,
+        0xDB96EF6C, 0x596361F2, 0xC98804CB, 0xB9941B9F, 0x7E7930DB, 0xB85FE724, 0xB790B83F, 0x0FBB2594,
+        0x2E2F7365, 0xEB62CD0A, 0xB4EC24A2, 0x6B84E815, 0xA17C7DD1, 0x0C958D61, 0xCAE10452, 0x2CB6ECE5,
+        0xC16DF050, 0x5FBD20BE, 0xB06C74DD, 0x6C776E20, 0x0DE237E7, 0xF35F7665, 0xAE607168, 0x0D041A6C,
+        0xADEA7962, 0x57186DC0, 0x2A58A4E9, 0xE6B3958D, 0x12C2C4C8, 0x2BE2790D, 0x97BE6F02, 0x0720A44D,
+        0xC67131CA, 0x1FEB91A6, 0x4AA89BB4, 0xAAE177E7, 0x3DD306A9, 0x8CEF3094, 0xFACADFE7, 0xC9F828F5,
+        0xD48A3E80, 0x0D3C7550, 0x5461AEB3, 0xD7D73BF6, 0x5193C24B, 0xDF88F481, 0x86AFA641, 0x561745CF,
+        0x32D71193, 0x5F058BE2, 0xF0E52906, 0x84142782, 0x34092867, 0xBCD76F67, 0xAB15B33F, 0x574823CC,
+        0xFD32E1CC, 0x11F8813E, 0x1D4BF2CD, 0xCC0FC919, 0x228AB159, 0x566B058B, 0x30EF2135, 0x892A09EC,
+        0x464A8415, 0x4C3C6C07, 0xF43A18DD, 0xF2B2F5CC, 0x0ACD8F4F, 0x95BDF49C, 0x8A7F8937, 0xAB3A52B1 };
+}
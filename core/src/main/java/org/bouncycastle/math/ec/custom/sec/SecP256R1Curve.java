@@ -5,6 +5,7 @@
 import org.bouncycastle.math.ec.ECCurve;
 import org.bouncycastle.math.ec.ECFieldElement;
 import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.raw.Nat256;
 import org.bouncycastle.util.encoders.Hex;
 
 public class SecP256R1Curve extends ECCurve.AbstractFp
@@ -77,4 +78,32 @@ public ECPoint getInfinity()
     {
         return infinity;
     }
+
+    protected ECPoint[] getFixedPointLookupTable(ECPoint point, int minWidth)
+    {
+        if (minWidth > SecP256R1FixedPointTable.WIDTH)
+        {
+            return null;
+        }
+
+        int[] points = SecP256R1FixedPointTable.POINTS;
+        ECPoint[] table = new ECPoint[1 << SecP256R1FixedPointTable.WIDTH];
+        table[0] = infinity;
+
+        for (int i = 1, off = 0; i < table.length; ++i, off += 16)
+        {
+            int[] x = Nat256.create(), y = Nat256.create();
+            System.arraycopy(points, off, x, 0, 8);
+            System.arraycopy(points, off + 8, y, 0, 8);
+            table[i] = createRawPoint(new SecP256R1FieldElement(x), new SecP256R1FieldElement(y), false);
+
+            // the first entry is the base point itself, the table is no use for any other point
+            if (i == 1 && !table[1].equals(point))
+            {
+                return null;
+            }
+        }
+
+        return table;
+    }
 }
@@ -5,6 +5,7 @@
 import org.bouncycastle.math.ec.ECCurve;
 import org.bouncycastle.math.ec.ECFieldElement;
 import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.raw.Nat;
 import org.bouncycastle.util.encoders.Hex;
 
 public class SecP384R1Curve extends ECCurve.AbstractFp
@@ -77,4 +78,32 @@ public ECPoint getInfinity()
     {
         return infinity;
     }
+
+    protected ECPoint[] getFixedPointLookupTable(ECPoint point, int minWidth)
+    {
+        if (minWidth > SecP384R1FixedPointTable.WIDTH)
+        {
+            return null;
+        }
+
+        int[] points = SecP384R1FixedPointTable.POINTS;
+        ECPoint[] table = new ECPoint[1 << SecP384R1FixedPointTable.WIDTH];
+        table[0] = infinity;
+
+        for (int i = 1, off = 0; i < table.length; ++i, off += 24)
+        {
+            int[] x = Nat.create(12), y = Nat.create(12);
+            System.arraycopy(points, off, x, 0, 12);
+            System.arraycopy(points, off + 12, y, 0, 12);
+            table[i] = createRawPoint(new SecP384R1FieldElement(x), new SecP384R1FieldElement(y), false);
+
+            // the first entry is the base point itself, the table is no use for any other point
+            if (i == 1 && !table[1].equals(point))
+            {
+                return null;
+            }
+        }
+
+        return table;
+    }
 }
@@ -0,0 +1,206 @@
+package org.bouncycastle.math.ec.custom.sec;
+
+/**
+ * Fixed-point comb lookup table for the secp384r1 base point, as computed by
+ * FixedPointUtil.precompute() at the width FixedPointCombMultiplier uses for this curve. Built into
+ * the library so the first multiplication by the base point costs no more than any other.
+ */
+class SecP384R1FixedPointTable
+{
+    static final int WIDTH = 6;
+
+    /*
+     * The affine x and y coordinates of entries 1 to (2^WIDTH - 1) of the table, as little-endian
+     * 32-bit words.
+     */
+    static final int[] POINTS = new int[]{
+        0x72760AB7, 0x3A545E38, 0xBF55296C, 0x5502F25D, 0x82542A38, 0x59F741E0, 0x8BA79B98, 0x6E1D3B62,
+        0xF320AD74, 0x8EB1C71E, 0xBE8B0537, 0xAA87CA22, 0x90EA0E5F, 0x7A431D7C, 0x1D7E819D, 0x0A60B1CE,
+        0xB5F0B8C0, 0xE9DA3113, 0x289A147C, 0xF8F41DBD, 0x9292DC29, 0x5D9E98BF, 0x96262C6F, 0x3617DE4A,
+        0xD74D9642, 0x06BA5918, 0xDFA0F56D, 0x92DD9CDE, 0x8CBAE3EF, 0x74C1AC3D, 0x5F6F39BF, 0x2FCE93BF,
+        0xE2CFE67C, 0xFF348797, 0x510CC718, 0x079DC566, 0xC16BB523, 0xA0ECD5D0, 0xCC51C42F, 0x29F49D50,
+        0x892459A9, 0x36275538, 0x8484B5F1, 0x62637770, 0x5C806F88, 0x89A8437E, 0x5D9087BC, 0xA64DA09A,
+        0x2C009246, 0x371FDB78, 0xB7EBF317, 0xBCB6F706, 0xCF2CBC3D, 0xE753EDD8, 0xA37B7552, 0x852CC3AB,
+        0x41789DE5, 0xAC8476F6, 0x52E85654, 0xBDA8CBB3, 0xA4AEF26D, 0xDA1B89B6, 0x1CCE0F01, 0x4C50F67C,
+        0xE690EB4C, 0x7AD4C74D, 0x8A2D49D1, 0x94609901, 0x9B9B805F, 0xD907B06A, 0x59EEA2C2, 0x23BC95BE,
+        0x0020362E, 0x84A2AE35, 0x19BF5F49, 0xEA2B1DF4, 0x287C9B53, 0x2BB64E18, 0x2B7B03E9, 0x11C2DF65,
+        0x85D5A524, 0x23A42EA4, 0x11CD506E, 0xE10CB36D, 0x2ADAEFC2, 0xE5F50BFE, 0x36ADB53E, 0x64666B55,
+        0xE90ED2A4, 0x7768FB7F, 0x06CC84C0, 0x425D7817, 0x31D6AB0B, 0x52EC806A, 0x4697D363, 0xD7E67972,
+        0xAE569DE6, 0x981FFB59, 0x8091ACCF, 0x586EA887, 0x08A70830, 0x67FC3294, 0x849E299F, 0x7E6EE5F4,
+        0x50B92155, 0xC79CF824, 0xC2010434, 0xDE3E77FB, 0xE3EE3800, 0xA6EC9DC7, 0x43CF88B6, 0x8E5E92FA,
+        0xF843CAE9, 0x757E493B, 0x17EBE71C, 0xE1C28645, 0x32576992, 0x00D19CE0, 0x4DB810D9, 0xE30DF4B8,
+        0x780E56F3, 0xF6DA53E1, 0xAF4D2766, 0xFD5F2FB0, 0xE383BF0D, 0x52922DE8, 0x58EE4DDC, 0x1C92ABA0,
+        0x238E7643, 0x3B2384C0, 0x0D6AC898, 0x2D350FA2, 0xFB35AA8B, 0x2929929E, 0xA6E54797, 0xA8743694,
+        0xC525C526, 0x67F4174C, 0xE0E2F34D, 0x8CF8B3C9, 0x0B8F32EE, 0x80CCBCE7, 0x689DE2FA, 0xF15779E6,
+        0xB29ADC60, 0x16273979, 0x3BE4714F, 0xA30C604D, 0x4019BD55, 0x5A2A19FA, 0x431EF84D, 0xEF8D50A1,
+        0x417C18A3, 0x581B7CFA, 0xC4245900, 0xADD3B7E9, 0x633D01BB, 0xB76F4554, 0xA319B27B, 0x34421D86,
+        0x18870284, 0x711A5292, 0x5DB1186C, 0xFE371B18, 0xBA6174F4, 0x3040AF18, 0x523C7DDA, 0x6FB0070F,
+        0xAA03BD53, 0xA628B09A, 0xA4F52D78, 0xBA065458, 0x4D10DDEA, 0xDB298789, 0x8A3E297D, 0xB42A31AF,
+        0x06421279, 0x40F7F9E7, 0x800119C4, 0xC19E0B4C, 0xE6C88C41, 0x822D0FC5, 0xE639D858, 0xAF68AA6D,
+        0x35F6EBF2, 0xC1C7CAD1, 0xE3567AF9, 0x577A30EA, 0x1F5B77F6, 0xE5A0191D, 0x0356B301, 0x16F3FDBF,
+        0xAA133909, 0x30991560, 0xC6CB0017, 0x9097DBB1, 0xB860FAE6, 0xD37DE424, 0x70B375DD, 0x9BB183B2,
+        0xCD6CE3A3, 0x567A6233, 0x0FDC3088, 0xAAB8BB9F, 0x600AD5A6, 0x16C5B981, 0xD62FAA44, 0xEBDF73F2,
+        0xC9747BF3, 0x6D955BB3, 0x15EB04AC, 0xF6005FC8, 0x282050B5, 0xF0AF01D1, 0x314F6D28, 0x48942F81,
+        0x4AB018D9, 0xF5B4350F, 0x4F890F56, 0x03D42BFA, 0x472ABCBE, 0xA59802AB, 0xAB00B039, 0xC49DC552,
+        0x4905EDEB, 0x5BDBFA1B, 0xAADAF829, 0x8B714479, 0x10903577, 0xB69F6121, 0xCAA17043, 0xFFCF3103,
+        0x12B7D6F0, 0x194BEFCC, 0x44FA539F, 0xC2315CA2, 0x27D7AA39, 0x330A336C, 0x5E7E1A8E, 0xD67B4141,
+        0xB6D82F46, 0x50E97C63, 0x14B98CD9, 0xDE6337D9, 0x46B80210, 0x387BCEAD, 0x662D4782, 0x2333E9A7,
+        0x9493F992, 0x4FB348A8, 0x51AC4AE9, 0x1A2F7208, 0xF9A0ADDA, 0x9778E181, 0xD8639A3A, 0x171A79BA,
+        0x7A7B3134, 0x2D7D5D5A, 0x4B129683, 0xB7E00919, 0xEE578A55, 0xEC7E6E4E, 0xDC699D11, 0x08D8DAB3,
+        0x09331EE2, 0x50938B9B, 0x01C84DEA, 0xB5EA6C18, 0xD5A6BD1F, 0xBE617A0F, 0x8F79292B, 0x78BB665F,
+        0x58E00408, 0xB942F765, 0x866F2B6E, 0xF8B838B2, 0x3780EDA2, 0x2A518D48, 0x5F9FCB09, 0x2A58627F,
+        0x8EB96EB4, 0x48F510FA, 0x15802F8F, 0x97DDED6D, 0xAAABA84B, 0xE75CD28D, 0x7EDE1244, 0xACD28AFA,
+        0x03034968, 0x4A286F33, 0x05A7DB5D, 0xFB4DF38C, 0xA8B1928E, 0x3B640DEC, 0xD0FDFC4E, 0x5D1B884B,
+        0x69519C83, 0xF57371CE, 0x23145AB8, 0x5F63461A, 0x44704CBC, 0xEDEFCD18, 0x64DD49C2, 0x924D7E7E,
+        0x097C32A2, 0x2CD63FD0, 0x654FE06D, 0x3E547A0C, 0x4AFBFA16, 0x8C5A79B4, 0x2B1B5D04, 0x749ABCDA,
+        0x4FEE705E, 0x06F6CFF7, 0x4B772C5B, 0x315FC16F, 0x68592FF1, 0x4B2FDF35, 0xE9BCBEBB, 0x0AD35E83,
+        0x690B01A1, 0x1BBCC1E0, 0x0774EA13, 0x69F7B65F, 0x68FBC242, 0xEAA68FC8, 0x4C78BCF9, 0x749FA469,
+        0xCBBDFC33, 0xCF3AF279, 0x020525CC, 0x50F52CDE, 0x64CBEDC0, 0xCEBE1959, 0x3DF78387, 0x1D8D9C44,
+        0xF756AC51, 0x0B68515F, 0xBC1DE0C6, 0x03AC4E13, 0xE6C5F5B7, 0xCBBA88D2, 0x23280EFA, 0xEEFA6758,
+        0xD84B809E, 0xE415DFC4, 0xE6580EF1, 0x03C2592C, 0x9927269B, 0x0B222B16, 0xC38FF3BA, 0x38FC9B2A,
+        0x3D832EFC, 0x1B3C9EFE, 0x2DCD5708, 0xB53849C1, 0x338B4295, 0x01EA1F89, 0xD7131DAA, 0xEB3EBB50,
+        0x1A9BB0AA, 0x31EFC132, 0xBB0F6CA7, 0xDA74BDF2, 0xCD3D0497, 0x1AF000F8, 0x2AAA3451, 0x39ACB8F2,
+        0xEDFB898D, 0x23EAF4CD, 0xCAD3D109, 0xE7B3F42D, 0x5E695394, 0x98CA61B5, 0x0E70A633, 0x6F591102,
+        0x216B71D5, 0x80A93EC7, 0xC463E3B8, 0xBBB25C8F, 0x8615E7A5, 0xB18E3FBA, 0xFC212920, 0x5A5D5C5F,
+        0xD2529AD2, 0xF2977C54, 0xED6E33E0, 0xC55087D9, 0x167E355A, 0xB8831540, 0xABA42B33, 0xFEEA9103,
+        0xEF3947C1, 0x90D05905, 0x760D24BF, 0xAF085311, 0xBDDD2F1F, 0xE5B14850, 0x55841C80, 0xF6EB1478,
+        0xA63E5ED9, 0x04C7F6AF, 0x65E211E7, 0x3B9541CA, 0xE6D883AE, 0x2D06224D, 0x2A257FFA, 0x974628AA,
+        0x45F5B090, 0x1D12EE6D, 0x485B3A1F, 0x4B71091F, 0xF5B0B2A7, 0x86D41F81, 0x2613A770, 0x0B230B2A,
+        0xD7C428DB, 0x57D0106C, 0x9DF04A3C, 0xF277B4BC, 0x0A32A7E5, 0xFC506E66, 0xD317047C, 0x846CE285,
+        0xCC394C36, 0xCEB4D115, 0x97182DB4, 0xEF860BEC, 0x2F49ED16, 0x772D38D7, 0x27E042EA, 0x0CC65D74,
+        0x5615DB79, 0x56C0CB84, 0x080EDB56, 0x9ED4F5C9, 0x1AD062E6, 0x07D5137C, 0xE053AD7D, 0xC0A02132,
+        0x218138C5, 0xBBD20E23, 0xD005511C, 0x71A9821E, 0xBF27C3A7, 0xB9B7AAC6, 0xDF4565CB, 0x461746B9,
+        0xB23F38F5, 0x1CCA5DB1, 0x636C2988, 0xB848D7E9, 0x99D7F1BC, 0x9905C28C, 0x825EE66D, 0xD57EE56D,
+        0xABE86F94, 0xCD8127FD, 0xC4AA703D, 0x1D082A02, 0x856805E7, 0xE4C033A6, 0x4CFFCBDF, 0x7F9803EA,
+        0x456F325C, 0x08F01BE4, 0x56899A2C, 0x14E4E4D0, 0x68450D6A, 0xC220C4E3, 0x348C7C8A, 0x7100595D,
+        0x260EB12A, 0x42734E23, 0x5C2DB9E8, 0x6D1B51F8, 0xDA5A3AB7, 0x983E3BAF, 0x8E12B7E4, 0x997C7DAA,
+        0x7DFA617B, 0x63B6DB01, 0x3958C611, 0x2382C6F4, 0x807A5A47, 0xD8AACD08, 0x3FC68CDA, 0xF468A53C,
+        0x17D5F5BB, 0x8AD836AE, 0xC592ADC7, 0x91DA6C57, 0xC01767E8, 0x848C7840, 0xAAF49F7E, 0xB27E5CDA,
+        0x3E42DB96, 0x67A06472, 0x1741F927, 0xA8E8E343, 0x43CCDD66, 0x0305167E, 0x48CF4B36, 0xE590418F,
+        0x87667E11, 0xBB31F603, 0x7E745458, 0xFD4F93F5, 0x309A7D39, 0xBF08A73C, 0x23AD2F18, 0xE7E2EEF3,
+        0x40360944, 0x0CAD3305, 0x48664803, 0xA2B3ACA7, 0xBA1FCE75, 0x87675CE3, 0x4D64D1CD, 0xBB409FF6,
+        0xDE117C49, 0x0F13E3E4, 0x7414266B, 0x31D85EBC, 0x271AB0FE, 0x8CA52DD3, 0x964295DF, 0xC22174F5,
+        0x9D6B0C98, 0x5CBC0422, 0x2F796386, 0xDE8A0E6A, 0x023F6729, 0x747F91B8, 0xA06414FC, 0x506BF433,
+        0x8771441C, 0x453F88B8, 0x05852B1B, 0x155344C5, 0xD1FE2B3E, 0x2EE3731C, 0xD3A13366, 0xD29D1C69,
+        0xB6BA5AE0, 0x04941BAE, 0x5C9074AF, 0x453AB057, 0x20932FDD, 0x8D1D5424, 0x719D78FA, 0x98495D67,
+        0x9E3303A4, 0xAD7F8AEC, 0xFB283BA5, 0xADCBCA0F, 0x03FD29C7, 0x7BA99251, 0x735503EF, 0x2E31CF2A,
+        0x5DAD58FC, 0x60D66A8A, 0x72F7FC70, 0x9C050815, 0xC76BFE85, 0x35F5C4F6, 0x4CAFB0E7, 0xBB04BA18,
+        0x828C22D7, 0x8D19A621, 0xFDEF9916, 0x50E7BD15, 0x8B0C751C, 0x2185491F, 0xDB05F5AA, 0x1CF397CD,
+        0x110EC812, 0x698FE08D, 0x6C797F59, 0xB1BCB75F, 0x3C83E188, 0x96EEBB12, 0x1BC4C22A, 0x17B97141,
+        0x1DBBEEB0, 0xF2885089, 0x74551CFC, 0x3F92DEEB, 0x0692389C, 0xB2B3D019, 0xA326992A, 0x81C1E25F,
+        0xC3FDFC75, 0x8F2426B6, 0x49E7ADAF, 0x964B64B7, 0xAD954E6C, 0x30B6FE07, 0x2DE7154F, 0x1008A919,
+        0xFFDCDECE, 0xB5406AEB, 0x1AC67153, 0x505D7D43, 0x0433839B, 0xD4CD4991, 0x54540A3F, 0x3D981F00,
+        0x036E1CF2, 0x055F14E6, 0xC33A23E5, 0xFC45ACB0, 0x1D129997, 0x04B8D16B, 0xBB8B42C8, 0x086062F1,
+        0x40AECCEE, 0xAEBCF8A0, 0xB96D5265, 0x139CCDBF, 0x0134A1D2, 0xBA482874, 0x5F0E60E7, 0xCE949A4C,
+        0x0AACBDBE, 0xFAFF6B3F, 0x1474E4E0, 0x711D70D9, 0xBB71B0F2, 0x2B9618D8, 0x9019B8DA, 0x01EEB580,
+        0xA6202191, 0x6F034817, 0x6DBB1DE3, 0xF1342094, 0x4B678259, 0xE2BE4E8E, 0xF877DABE, 0x2D2B5523,
+        0x25DE025C, 0x51742D35, 0x0BB80CD0, 0x04ADBA39, 0x4D280EA6, 0x1BE43DE1, 0xD40AEC5D, 0xB08DC4B8,
+        0x9C8E4278, 0xD165CD21, 0xBE3074CF, 0xD464F8BA, 0x596C7E37, 0xE880163D, 0x3B71CDBF, 0xFF21CF57,
+        0xABB38EAC, 0x104C1028, 0x092EE0C5, 0x86D1BDCF, 0xCD619224, 0x48F6C554, 0xC9B564E6, 0xCBDDA09F,
+        0x40245EE6, 0xD0160020, 0x386AAE10, 0x058DF586, 0x8FCF7688, 0x8052FB31, 0xEA5B86C3, 0xF957DAEB,
+        0xC2CE683E, 0x6D0C4D55, 0x3293209B, 0x47AED690, 0x43AB78DD, 0xAE73EB9E, 0x83C397ED, 0xBFF13CA6,
+        0x6625250F, 0x4BFA2608, 0x5D44FB41, 0xAC3BEC82, 0xB5EA9058, 0x69D09904, 0xA022F24A, 0x8745FDEB,
+        0x3281A45D, 0x5BEEFAFC, 0x6AA4BB27, 0x1D5C4177, 0x4FAA1EA1, 0x50B310F0, 0x14137409, 0xE6D7909E,
+        0xB002667C, 0x9857F321, 0x5F935341, 0x9FC75306, 0x7469ADF5, 0xFF0B96FA, 0xFAAB0698, 0xB409FF5B,
+        0x6D15C913, 0x39E82032, 0xEB2CFB46, 0x86DC3FA0, 0x3E1E3FD2, 0x69BEE69D, 0x66C61037, 0x2CDBF99D,
+        0xC1B13717, 0x223FA09F, 0x73840224, 0x1D4E2D20, 0x18B74223, 0xF8D1807F, 0x1190C01C, 0x107A3BD9,
+        0x4F70BDDB, 0x2C06D1A8, 0x682E4E19, 0x50FA35FC, 0xED755360, 0xEBC25FF2, 0x9F6B8739, 0x9322E205,
+        0xB7A81A4F, 0x7C6D9E03, 0x8869D0CB, 0x3A9E39A8, 0xFE68EFF8, 0x150824EC, 0x924B06A1, 0x7434B70D,
+        0x1ADDF43E, 0x45E44AA0, 0x4F4F63C3, 0xD3D6BBCE, 0xDF8DEECD, 0xACB7733F, 0x80B606DF, 0x53D9814D,
+        0x968B4A5F, 0x110162F2, 0xBA0F8B3D, 0x1323FEFF, 0xB1666EAA, 0x89ACC4C0, 0x3007A482, 0x85DFB383,
+        0x5C7A9BA1, 0x5F5449E7, 0x6BFCF21E, 0x38174A00, 0x4F0474FC, 0x9F7DC254, 0x40CB718B, 0x13F390D7,
+        0x3A45AD17, 0xE6091C18, 0x1605976D, 0x9B795D80, 0x2055EE90, 0xE0BCD7AF, 0x92EE7C2E, 0xD637FBF6,
+        0xDF13F515, 0x94971913, 0x33B3F908, 0xFE218266, 0x1639FCF5, 0x0E764323, 0xA1254809, 0x2F1C9564,
+        0x5715AC43, 0x28A0DED9, 0x3DB85F16, 0xCC249148, 0x54C8F22D, 0xC4BD32D1, 0xAAF03B8A, 0x20F4D89D,
+        0x6CBBC34F, 0x2D25AC66, 0xB210256F, 0x1DDE41E1, 0xB830E83C, 0x982ABC37, 0x4A0157BA, 0x859F781E,
+        0xDAF70CC5, 0x3741A3D0, 0x1949DCA9, 0x4F89C256, 0x4209B8BB, 0x84D76E8E, 0x61AA033D, 0x89D03A28,
+        0x62EB53A5, 0x2BB8225A, 0xDD131005, 0xF16CAEC4, 0xB3F85850, 0xFB3DA605, 0x9705C612, 0xA894E851,
+        0xB6E52255, 0xD3C477F5, 0x609DE217, 0x275B8DC4, 0x17CCD6D8, 0x836E2886, 0x7626B688, 0xBEFEB474,
+        0x12CD19BD, 0x564F510B, 0x243D4B30, 0x055916A4, 0x59D3EBAC, 0x017C752E, 0xA5B4B98C, 0x4C292ED9,
+        0x75051686, 0xEE06B302, 0x799F7CAB, 0x234FF191, 0x847C9865, 0x7730FFE1, 0x5FC2E271, 0xCDBD4055,
+        0x3F876569, 0x5724C2C4, 0x600A300E, 0x4824D115, 0xB6D99957, 0x1DAFB1AE, 0xA2EE809B, 0xF3B9740F,
+        0xAE3C5C76, 0x0A289321, 0xA1A23A44, 0xD35FBDC6, 0x27340D10, 0x72BD5E91, 0xFCA6AA42, 0x38DF4F70,
+        0x50546B32, 0xD9F2612F, 0x5C98FDF6, 0xC3819702, 0x7476A566, 0x6A2544DF, 0x9A396E7F, 0x5DF6ECFF,
+        0xEAD8F18C, 0x4522F408, 0x3A8C0E3E, 0xCBF8CDA2, 0x51C4A7D1, 0x3BE9ABF2, 0xAD0790EA, 0x634CD141,
+        0x370FE603, 0x1E9910C1, 0x5D9DAD61, 0xFEA60180, 0x2A100FB0, 0xEB38209D, 0xCECB606C, 0x32A7A05A,
+        0xDF14CFBA, 0x2D74E5BF, 0xDD1A12B5, 0xC65D0259, 0xF5F8C9C8, 0x7B4D13B6, 0x93B145ED, 0xDC79A2B3,
+        0xF7CFF674, 0xCC9C29E6, 0x80655087, 0x590A59BC, 0x3524F00E, 0x0CF046A2, 0x9DC026BD, 0x67625661,
+        0x535B9874, 0x217AFFC5, 0xD7396B2B, 0xD0F3DA4A, 0x5189F1D9, 0xC2F3120A, 0x13BE9D9D, 0x640D40A5,
+        0x7EA25C0B, 0xC65AEEC0, 0xAC1B42F6, 0x148AC3C9, 0x7C4C23E0, 0x949C94D4, 0x75B629E8, 0x4C25D7A6,
+        0xFA279B86, 0xBAA85BFC, 0x2A18AAFD, 0x3E066E81, 0x51BBAEAD, 0x9F3AB93D, 0x095C11E2, 0x1665215E,
+        0x24C2BB10, 0x54372E43, 0x35CEF78A, 0x3FF377FC, 0xD5963475, 0x6B9D764A, 0xEA0F3BB8, 0x220B12A8,
+        0x2D5D3F66, 0xFB9ED41C, 0xC7DD2E7D, 0xDCAFAB6E, 0x0C7BB28C, 0x598E839A, 0x92905130, 0xC3193279,
+        0xD0F989EE, 0x8FA52CCF, 0xDE21507B, 0x819D4150, 0x9E2B7DE0, 0xE3A8959D, 0x8720A5D8, 0xAA5F9788,
+        0xF2185961, 0x69FE6DE0, 0xCAB2F970, 0xAC246678, 0xD1FA56CB, 0xEAA8FDC7, 0x95E4CA40, 0xF46115F6,
+        0x884B0B69, 0x408B8231, 0x861CC448, 0x740A16F9, 0xE63B89DD, 0x7C2024CD, 0x15B8BC28, 0x43399555,
+        0xE993CCAD, 0x3A25EFB9, 0x35DBB862, 0x0E01859A, 0x3521322C, 0x916982EA, 0x19F5F297, 0xD25B20D6,
+        0x66B45964, 0x605AE87E, 0xB27E5CA5, 0xDAC9D9AD, 0xA3499782, 0x2E078313, 0x13C7265A, 0x6BB00D35,
+        0xFAAB601E, 0x2C18934B, 0x311C2D54, 0xAE61E44C, 0x511E4DDE, 0xC5916E59, 0x514D5438, 0x60CC36ED,
+        0xC756A818, 0xC5332778, 0xC995B742, 0xBC6AC88B, 0x9613E95E, 0xEEF9E1B3, 0x5EB046F5, 0x050394C3,
+        0x292DB8D6, 0xA7336B4C, 0xFB3F71A7, 0x0D03E76F, 0xB272DEDF, 0xCFF0E362, 0x46E3FE2C, 0xBA4575E3,
+        0xE7055F43, 0xB38ACD7A, 0x612DB2A9, 0x8510FD43, 0x9BC4AAD3, 0x189C8DCD, 0xCBFB868A, 0xDB5D782B,
+        0x37EF7C9A, 0x5B915B8E, 0x702C0828, 0x05698EBC, 0x62D4BF9F, 0x687BEAB1, 0x66F63C3E, 0x3F00C98A,
+        0x30295B6D, 0xB69E1A41, 0x3183CA76, 0x42CBA75B, 0x44504121, 0x8931644D, 0x5DC284CF, 0x183CA597,
+        0xFDA50FF0, 0x2C475A8E, 0x2D02587C, 0xBA0BB140, 0x678C33DA, 0x994323CE, 0x72475384, 0x2A5B1F44,
+        0xA4D9C1AE, 0x18638850, 0x6975F27C, 0x31C40073, 0xDF1D904B, 0x69D8001A, 0x4889B105, 0xEF6270A8,
+        0x1D808BF2, 0x9CB26205, 0x7FA50C45, 0x82DFBF8D, 0xFE6665B4, 0xF7615A8B, 0xB0CEB476, 0xFD616CC2,
+        0x0B9AF731, 0xD1BBF01D, 0x322C4CC3, 0x2D429B8F, 0x943B6FFB, 0x8B877CC0, 0x26857E49, 0x931B0790,
+        0x7DB914FC, 0x61613D73, 0x325E0B06, 0xE7C95092, 0x91C5A80C, 0x4236049C, 0xED476D14, 0x8A6C523C,
+        0x50558A7E, 0x3C8AEF7B, 0x48231BFE, 0xB6916323, 0x3C54040D, 0x9AC79B24, 0x84C33825, 0x499FFFFB,
+        0x6DE02A66, 0xCB5C8A68, 0x855393C4, 0x63AF0DA1, 0x4C95881B, 0x5106D00B, 0x498DAF92, 0xE0B4C8A2,
+        0x09537675, 0xCA874388, 0x3F77A490, 0x0AB4215E, 0x64869E35, 0x77C191CC, 0xCB5617C1, 0xB15B7DC3,
+        0xEF74F723, 0x94DC664C, 0xCBBAFF21, 0x7BC91861, 0x1AE6DFC8, 0x2690C784, 0xDF65AE68, 0x4DF56FBC,
+        0xA3730712, 0xDCB40A65, 0xB51D6A88, 0x2827BF67, 0x83DFAC3C, 0xD7ACB374, 0xC9C0488C, 0x45B47C9C,
+        0x0913903C, 0x5C9BAC55, 0x669F2BC7, 0xBA001680, 0x187805AE, 0xED4E6D4E, 0x98EABBC9, 0xCA2E18BD,
+        0xB59F7464, 0x1CB12191, 0x11E1ED1E, 0xC1AF45EF, 0xB2BE31E0, 0x1F6572BC, 0x778C4BB1, 0xB5421ECE,
+        0xB9AAC9FF, 0x559986D9, 0xC6802365, 0x6D0B354E, 0x0AA2D847, 0x231D3239, 0xF186C861, 0x054A9A12,
+        0xAA7CF18D, 0x01BC8E70, 0x8F470162, 0xC8A58BDD, 0xF42108DB, 0x96F5C7AB, 0x95A5760A, 0x1D880FC4,
+        0x9DE8A87C, 0x2FDCB313, 0x5A427D95, 0x5B930738, 0x5B8CD3F8, 0xA2B8E9AA, 0xC983DFC7, 0xEB1C24AB,
+        0x88113586, 0xFB9FD3CE, 0x85121157, 0x66C8E652, 0x84A0210F, 0xD83BE656, 0x9535D285, 0x59034061,
+        0x84061F0E, 0x18CAF847, 0x60314751, 0xBAB7A9A8, 0xE22CD7BE, 0x93A603C9, 0x52B5E890, 0x1EEA6997,
+        0x522A423F, 0x495175CD, 0x04E53690, 0xEFC6442B, 0x1316EE5C, 0x30B58307, 0xA2C65976, 0xC6D30519,
+        0x16A88BB6, 0xD6EAB709, 0xAF14EE70, 0xEFD0FDB5, 0x71CA7C18, 0x75666E3E, 0x3F0E31BE, 0x7FC491E5,
+        0x3EC23D8E, 0x2B583795, 0x03021F01, 0x66EEEFF3, 0xFC1A5B28, 0x24E8CD38, 0x85425712, 0x716821C6,
+        0x7852A8B0, 0xE5B1A0D5, 0xD0FF8140, 0xD2E22EC0, 0x75476490, 0x0DA6B7A8, 0xDA4A513C, 0x53120134,
+        0xAFF54C16, 0x78FBB953, 0xE2A40FAA, 0x3BD530A3, 0x087F83D8, 0xA46D2742, 0x7CE1BC46, 0xC47F329C,
+        0xCA917D28, 0x68C4944F, 0xEE1C8C08, 0xE0D8B028, 0x20DBF9BE, 0xED86ABE0, 0x7AAE428A, 0xD8B9040A,
+        0x664AA28D, 0xC0E60AB1, 0x9D940C86, 0xCEB2995E, 0xCA4003AD, 0x5530B3B2, 0x27487874, 0x42E21E34,
+        0xAC5B72AE, 0x82E36DC1, 0xCB46AB57, 0x0B4B5EEA, 0x4EAD08FC, 0x522A9F51, 0x4C7D5C68, 0x02DDCFD6,
+        0xE02676D8, 0x7CD9108B, 0x4E23A730, 0x1742D25F, 0xECA4E5D1, 0x28342177, 0xEA65145C, 0x2FC3854A,
+        0x193F489A, 0x253E8C05, 0x188E2307, 0x24BDF941, 0xD2A64C9B, 0xA6CCFB9B, 0x1A71A7E6, 0x26E0868D,
+        0x1D99DFE4, 0x89A2A4FD, 0x12095CF4, 0xA012E8CB, 0x1BD5EE20, 0x425A5C1B, 0x212C5B5B, 0x429411F5,
+        0x7D1A996E, 0x100FB60F, 0xED4E5B27, 0xD429D128, 0xCDA181A2, 0x1261F141, 0x94C8B1BB, 0x763ABFC4,
+        0x2740D819, 0x657E1573, 0x7E53BBF6, 0xD4C8400F, 0x731937EA, 0x045E5AEF, 0x492B739C, 0x5C97AC7E,
+        0x1EC3B215, 0x21D2E70E, 0xDDD6088A, 0x3ED621AC, 0x6DBE26A9, 0x3F38F26D, 0xA7316C08, 0x893A5049,
+        0xF5C699C3, 0x5A30C2D2, 0x8BF6E42A, 0xB2E9978B, 0x0DB721DD, 0x0B5415FC, 0xA41C8365, 0xF29D6BCD,
+        0x21228AB2, 0xFAF24E1D, 0xE1452DF2, 0x78DEBE84, 0x9E7F135A, 0xBEF7D924, 0xE7F8D0E0, 0x149F1F4A,
+        0x2762544E, 0x128B813D, 0x9C390A58, 0xEBDA14BF, 0x2D14FE1B, 0xF4C4561F, 0xB3F24F5E, 0xAE8CFC1C,
+        0x9B76389A, 0x68E81B1E, 0x5E63E131, 0x8F9DDD40, 0x734115CD, 0x3FDF4533, 0x2D23CAFE, 0xF2B4AF6D,
+        0x484CE8D6, 0x9369AAE4, 0xFC277A27, 0x7B1A9637, 0xA530E76F, 0x5C4613CF, 0x74AFD88C, 0x84564D23,
+        0x14443D32, 0xF083971B, 0x5FD747FA, 0xF73898FD, 0x366473A3, 0x15C17BFD, 0xD2325DEA, 0x2D899447,
+        0xAC30E951, 0x0465C806, 0x1BB96CFA, 0x534961F7, 0x4332FFD7, 0xB1A6DA80, 0x0104F8AC, 0x21CE3595,
+        0x241F665B, 0x81A55FA1, 0x64634B7E, 0xA0EA6092, 0xEB475504, 0xD0C389C4, 0x8D1E0203, 0x2CD1C98F,
+        0x84A47688, 0xF359AFAB, 0x7A41C64C, 0x59BCD346, 0xE64BC28E, 0x3AA100E8, 0xD156E143, 0x6E9EEA3F,
+        0xC8C5471F, 0x9C5A311D, 0xE8940BF8, 0xF0E607EB, 0xC47A8F0B, 0x4CDD06D1, 0xCD527795, 0x5106CAA8,
+        0x0D46066D, 0xACD8E251, 0x6F1D5714, 0xA6CDA079, 0xCA36FBDF, 0x419EF5AD, 0x9E1D7A6F, 0xDC48951D,
+        0xB7A52681, 0xC6C22C15, 0xAA724286, 0xB6C9DC11, 0xA7646C3F, 0xD4AB3C62, 0xD8446A48, 0x80A8C060,
+        0x12587682, 0x46893C57, 0xCE834F82, 0x2CD0B8CB, 0xB004849A, 0xDFFAEBAD, 0x41C3A434, 0x3E654E44,
+        0xB0E01600, 0x7765EBE9, 0x25C62AFC, 0x1492AC19, 0x16DB2DB3, 0xF914062A, 0xF9417106, 0x2C552735,
+        0x945F1DCA, 0x675B4089, 0x9590219D, 0x1CB8DFE5, 0x41FAB175, 0xCEF9BDCA, 0xE236B88D, 0x349AA2D4,
+        0x466B69D0, 0x07AAEAB6, 0xC27DD5D2, 0xB899491C, 0x5099C372, 0x81F42547, 0x510EF1A2, 0x5D60F35E,
+        0x1CA916B6, 0xC12065E7, 0xF8325358, 0x2CBDA6C0, 0x57E6F0B7, 0x6F26CC31, 0x1C54E327, 0xBC17D334,
+        0xFBEDAEF5, 0x9F1EE7CD, 0x341C165A, 0xB61F0040, 0xC200326A, 0x091A3BD4, 0x8F99E034, 0x44164A0C,
+        0x1B187383, 0x622994D4, 0xB12DA429, 0x6732749D, 0x0CB1F4BF, 0x668B6237, 0xE2DAFFC9, 0x42B6A335,
+        0x4BFB949B, 0x34C95B84, 0x2F8BAC59, 0x4A1156C0, 0x95F2A511, 0xBFB266EB, 0x528F0A1D, 0x333C1450,
+        0x361D12B2, 0xC23DC688, 0x3BC7FA44, 0x6575994A, 0xC2CCE9ED, 0xC45D8DB0, 0xDED49C21, 0x14D197FE,
+        0xB2C46C12, 0x56C11EB8, 0x8ADD12FC, 0x6B7F9371, 0x3B5BD8E4, 0xC3C27C16, 0x40D43DF2, 0xAD81EE03,
+        0x65994991, 0xEF16EDC5, 0xF39A4279, 0x2B6F4EA7, 0xC07E0A7B, 0x55074ED7, 0x69317AD6, 0x3415B9A6,
+        0xA472E0A8, 0x0CF8B93F, 0x8532752B, 0x1237DEA2, 0xCF0DC0BC, 0xF4A44125, 0x48B2FC9B, 0x4B8385C3,
+        0x580BBE2B, 0x629A7A2D, 0x1881F3C5, 0x2C4F741B, 0x0AA343E2, 0x1EA38B16, 0x7B81184A, 0x7735A28D,
+        0xEBC7A05A, 0xEDFA66B6, 0xD005432C, 0xE12F0B82, 0x9051E2A6, 0xEFBC796E, 0x1A964862, 0xC6658E67,
+        0x2D6041D1, 0xC2B42159, 0x557CCA45, 0xC0F39509, 0x9509F4CE, 0x42486F73, 0xD60FB23C, 0xFA10BA0D,
+        0x22D97E5C, 0xF55A55A9, 0x8D750955, 0x8EF47B07, 0x3F540AA1, 0x1E61B410, 0xC56B7257, 0xFA6F0EB0,
+        0x2C3FC486, 0x03995FE7, 0xB6B72BF0, 0xFF565AAD, 0x48A40004, 0xBFBAE8C8, 0x13B5A1E8, 0x9C99CD5A,
+        0xFCAD95B0, 0xFEE77EE2, 0x34D16B96, 0x0B635399, 0x5D778A19, 0x2801AB2B, 0xD5D0854E, 0x604D8349,
+        0x3091C681, 0x7AAF003B, 0x0761AE3A, 0xC9E2B6E1, 0xFE414395, 0xA5F0B69B, 0xADAE97B4, 0x419E8889 };
+}
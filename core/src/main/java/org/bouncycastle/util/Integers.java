@@ -2,6 +2,11 @@
 
 public class Integers
 {
+    public static int numberOfTrailingZeros(int i)
+    {
+        return Integer.numberOfTrailingZeros(i);
+    }
+
     public static int rotateLeft(int i, int distance)
     {
         return Integer.rotateLeft(i, distance);
@@ -2,6 +2,20 @@
 
 public class Integers
 {
+    private static final int[] DEBRUIJN_TZ = {
+        0x00, 0x01, 0x1C, 0x02, 0x1D, 0x0E, 0x18, 0x03, 0x1E, 0x16, 0x14, 0x0F, 0x19, 0x11, 0x04, 0x08,
+        0x1F, 0x1B, 0x0D, 0x17, 0x15, 0x13, 0x10, 0x07, 0x1A, 0x0C, 0x12, 0x06, 0x0B, 0x05, 0x0A, 0x09 };
+
+    public static int numberOfTrailingZeros(int i)
+    {
+        if (i == 0)
+        {
+            return 32;
+        }
+
+        return DEBRUIJN_TZ[((i & -i) * 0x077CB531) >>> 27];
+    }
+
     public static int rotateLeft(int i, int distance)
     {
         return (i << distance) ^ (i >>> -distance);
@@ -3,6 +3,7 @@
 import java.io.ByteArrayInputStream;
 import java.util.Enumeration;
 
+import org.bouncycastle.asn1.ASN1Encoding;
 import org.bouncycastle.asn1.ASN1InputStream;
 import org.bouncycastle.asn1.ASN1Integer;
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
@@ -30,6 +31,7 @@
 import org.bouncycastle.asn1.x509.PolicyInformation;
 import org.bouncycastle.asn1.x509.SubjectKeyIdentifier;
 import org.bouncycastle.asn1.x509.TBSCertificate;
+import org.bouncycastle.util.Arrays;
 import org.bouncycastle.util.encoders.Base64;
 import org.bouncycastle.util.test.SimpleTest;
 
@@ -579,9 +581,79 @@ private void checkDudCertificate()
         }
     }
 
+    private void checkLazyCertificate(
+        int     id,
+        byte[]  cert)
+        throws Exception
+    {
+        Certificate eager = Certificate.getInstance(cert);
+        Certificate lazy = Certificate.getLazyInstance(cert);
+
+        if (!Arrays.areEqual(cert, lazy.getEncoded()))
+        {
+            fail("lazy encoding changed for certificate id " + id);
+        }
+
+        TBSCertificate eagerTbs = eager.getTBSCertificate();
+        TBSCertificate lazyTbs = lazy.getTBSCertificate();
+
+        if (!eagerTbs.getSubject().equals(lazyTbs.getSubject())
+            || !eagerTbs.getIssuer().equals(lazyTbs.getIssuer())
+            || !eagerTbs.getSerialNumber().equals(lazyTbs.getSerialNumber())
+            || !eagerTbs.getSignature().equals(lazyTbs.getSignature())
+            || !eagerTbs.getEndDate().equals(lazyTbs.getEndDate())
+            || !eagerTbs.getStartDate().equals(lazyTbs.getStartDate())
+            || !eagerTbs.getSubjectPublicKeyInfo().equals(lazyTbs.getSubjectPublicKeyInfo())
+            || !eager.getSignature().equals(lazy.getSignature()))
+        {
+            fail("lazy fields differ for certificate id " + id);
+        }
+
+        if (eagerTbs.getExtensions() == null)
+        {
+            if (lazyTbs.getExtensions() != null)
+            {
+                fail("lazy extensions found for certificate id " + id);
+            }
+        }
+        else if (!eagerTbs.getExtensions().equivalent(lazyTbs.getExtensions()))
+        {
+            fail("lazy extensions differ for certificate id " + id);
+        }
+
+        if (!eager.equals(lazy) || eager.hashCode() != lazy.hashCode())
+        {
+            fail("lazy certificate not equal for certificate id " + id);
+        }
+
+        if (!Arrays.areEqual(eager.getEncoded(ASN1Encoding.DER), lazy.getEncoded(ASN1Encoding.DER)))
+        {
+            fail("lazy DER encoding differs for certificate id " + id);
+        }
+
+        // truncated outer structure
+        try
+        {
+            Certificate.getLazyInstance(Arrays.copyOfRange(cert, 0, cert.length - 1));
+            fail("truncated certificate not detected");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // expected
+        }
+    }
+
     public void performTest()
         throws Exception
     {
+        checkLazyCertificate(1, cert1);
+        checkLazyCertificate(2, cert2);
+        checkLazyCertificate(3, cert3);
+        checkLazyCertificate(4, cert4);
+        checkLazyCertificate(5, cert5);
+        checkLazyCertificate(6, cert6);
+        checkLazyCertificate(7, cert7);
+
         checkCertificate(1, cert1);
         checkCertificate(2, cert2);
         checkCertificate(3, cert3);
@@ -7,8 +7,10 @@
 import org.bouncycastle.asn1.ASN1InputStream;
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.bouncycastle.asn1.ASN1OutputStream;
+import org.bouncycastle.asn1.ASN1Primitive;
 import org.bouncycastle.asn1.DEROutputStream;
 import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
+import org.bouncycastle.util.Arrays;
 import org.bouncycastle.util.encoders.Hex;
 import org.bouncycastle.util.test.SimpleTest;
 
@@ -118,6 +120,55 @@ private void onCheck(String stem, String test, boolean expected)
         }
     }
 
+    private void internCheck()
+        throws IOException
+    {
+        byte[] enc = Hex.decode("06092A864886F70D010907");      // pkcs-9 challengePassword
+        ASN1ObjectIdentifier o1 = (ASN1ObjectIdentifier)ASN1Primitive.fromByteArray(enc);
+        ASN1ObjectIdentifier o2 = (ASN1ObjectIdentifier)ASN1Primitive.fromByteArray(Arrays.clone(enc));
+
+        if (o1 != o2)
+        {
+            fail("parsed oid not interned");
+        }
+
+        if (new ASN1ObjectIdentifier(o1.getId()).intern() != o1)
+        {
+            fail("intern() did not return pooled oid");
+        }
+
+        // OIDs outside the old two byte cache scheme
+        enc = Hex.decode("06020603");
+        if (ASN1Primitive.fromByteArray(enc) != ASN1Primitive.fromByteArray(Arrays.clone(enc)))
+        {
+            fail("short oid not interned");
+        }
+
+        ASN1ObjectIdentifier o3 = new ASN1ObjectIdentifier("1.2.840.113549.1.9.99.1234");
+        if (o3.intern() != o3)
+        {
+            fail("new oid not added to pool");
+        }
+
+        if (ASN1Primitive.fromByteArray(o3.getEncoded()) != o3)
+        {
+            fail("parsed oid did not come from pool");
+        }
+
+        // the pool must not share the parser's buffer
+        enc = Hex.decode("06082A36FFFFFFDD6312");
+        ASN1ObjectIdentifier o4 = (ASN1ObjectIdentifier)new ASN1InputStream(enc).readObject();
+
+        enc[enc.length - 1] = 0x13;
+
+        if (!o4.getId().equals("1.2.54.34359733987.18")
+            || !Arrays.areEqual(Hex.decode("06082A36FFFFFFDD6312"), o4.getEncoded())
+            || !ASN1Primitive.fromByteArray(Hex.decode("06082A36FFFFFFDD6312")).equals(o4))
+        {
+            fail("pooled oid changed with buffer");
+        }
+    }
+
     public void performTest()
         throws IOException
     {
@@ -155,6 +206,8 @@ public void performTest()
         onCheck("1.12", "1.1.2", false);
         onCheck("1.1", "1.1.1", true);
         onCheck("1.1", "1.1.2", true);
+
+        internCheck();
     }
 
     public static void main(
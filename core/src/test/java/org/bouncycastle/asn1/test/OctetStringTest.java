@@ -7,18 +7,26 @@
 import junit.framework.Test;
 import junit.framework.TestCase;
 import junit.framework.TestSuite;
+import org.bouncycastle.asn1.ASN1Encodable;
 import org.bouncycastle.asn1.ASN1Integer;
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.ASN1OctetString;
 import org.bouncycastle.asn1.ASN1OctetStringParser;
+import org.bouncycastle.asn1.ASN1Sequence;
 import org.bouncycastle.asn1.ASN1SequenceParser;
 import org.bouncycastle.asn1.ASN1StreamParser;
+import org.bouncycastle.asn1.BEROctetString;
 import org.bouncycastle.asn1.BEROctetStringGenerator;
+import org.bouncycastle.asn1.BERSequence;
 import org.bouncycastle.asn1.BERSequenceGenerator;
 import org.bouncycastle.asn1.BERTags;
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.DERSequence;
 import org.bouncycastle.asn1.DERSequenceGenerator;
 import org.bouncycastle.asn1.cms.CMSObjectIdentifiers;
 import org.bouncycastle.asn1.cms.CompressedDataParser;
 import org.bouncycastle.asn1.cms.ContentInfoParser;
+import org.bouncycastle.util.Arrays;
 
 public class OctetStringTest 
     extends TestCase 
@@ -128,6 +136,35 @@ public void testReadingWritingNested()
        assertEquals(14, count);
     }
     
+    public void testBEROctetStringEncoding()
+        throws Exception
+    {
+        byte[] data = new byte[2500];
+
+        for (int i = 0; i != data.length; i++)
+        {
+            data[i] = (byte)i;
+        }
+
+        // chunked encoding generated from the string must match the one built from explicit chunks
+        BEROctetString direct = new BEROctetString(data);
+        BEROctetString chunked = new BEROctetString(new ASN1OctetString[] {
+            new DEROctetString(Arrays.copyOfRange(data, 0, 1000)),
+            new DEROctetString(Arrays.copyOfRange(data, 1000, 2000)),
+            new DEROctetString(Arrays.copyOfRange(data, 2000, 2500)) });
+
+        byte[] encoding = direct.getEncoded();
+
+        assertTrue(Arrays.areEqual(chunked.getEncoded(), encoding));
+        assertTrue(Arrays.areEqual(data, ASN1OctetString.getInstance(encoding).getOctets()));
+
+        // and it must still work when nested
+        BERSequence seq = new BERSequence(new ASN1Encodable[] { direct, new ASN1Integer(1) });
+
+        assertEquals(new DERSequence(new ASN1Encodable[] { new DEROctetString(data), new ASN1Integer(1) }), ASN1Sequence.getInstance(seq.getEncoded()));
+        assertTrue(Arrays.areEqual(new byte[] { 0x24, (byte)0x80, 0, 0 }, new BEROctetString(new byte[0]).getEncoded()));
+    }
+
     public void testNestedStructure()
         throws Exception
     {
@@ -0,0 +1,157 @@
+package org.bouncycastle.asn1.test.speedy;
+
+import java.io.InputStreamReader;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.bouncycastle.asn1.x509.Certificate;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.util.io.pem.PemReader;
+
+/**
+ * Measures certificate parsing throughput as the number of parsing threads goes up. Each parse
+ * decodes a certificate and re-encodes its extension OIDs, so the ASN1ObjectIdentifier intern pool
+ * and encoding are exercised from every thread. The cost of reading the subject, issuer and one
+ * extension from a certificate parsed up front and from one parsed lazily is also compared.
+ * <p>
+ * Usage: ASN1ParsingPerformanceTest [max threads, default 8] [seconds per run, default 2]
+ * </p>
+ */
+public class ASN1ParsingPerformanceTest
+{
+    public static void main(String[] args)
+        throws Exception
+    {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        long millis = (args.length > 1 ? Long.parseLong(args[1]) : 2) * 1000;
+
+        byte[][] certs = new byte[][] { loadCertificate("x509-ca.pem"), loadCertificate("x509-client.pem"),
+            loadCertificate("x509-server.pem") };
+
+        // warm up
+        run(certs, 1, millis);
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2)
+        {
+            long count = run(certs, threads, millis);
+
+            System.out.println(threads + " thread(s): " + (count * 1000 / millis) + " certificates/s");
+        }
+
+        for (int i = 0; i != 2; i++)
+        {
+            System.out.println("eager, subject/issuer/extension: " + (readFields(certs, false, millis) * 1000 / millis) + " certificates/s");
+            System.out.println("lazy, subject/issuer/extension: " + (readFields(certs, true, millis) * 1000 / millis) + " certificates/s");
+        }
+    }
+
+    private static byte[] loadCertificate(String name)
+        throws Exception
+    {
+        PemReader pemReader = new PemReader(new InputStreamReader(
+            ASN1ParsingPerformanceTest.class.getResourceAsStream("/org/bouncycastle/crypto/tls/test/" + name)));
+
+        try
+        {
+            return pemReader.readPemObject().getContent();
+        }
+        finally
+        {
+            pemReader.close();
+        }
+    }
+
+    private static long readFields(byte[][] certs, boolean lazy, long millis)
+    {
+        long end = System.currentTimeMillis() + millis;
+        long count = 0;
+
+        while (System.currentTimeMillis() < end)
+        {
+            for (int i = 0; i != certs.length; i++)
+            {
+                Certificate cert = lazy ? Certificate.getLazyInstance(certs[i]) : Certificate.getInstance(certs[i]);
+                Extensions exts = cert.getTBSCertificate().getExtensions();
+
+                cert.getSubject();
+                cert.getIssuer();
+
+                if (exts != null)
+                {
+                    exts.getExtension(Extension.basicConstraints);
+                }
+            }
+            count += certs.length;
+        }
+
+        return count;
+    }
+
+    private static long run(final byte[][] certs, int threads, final long millis)
+        throws InterruptedException
+    {
+        final AtomicLong count = new AtomicLong();
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t != threads; t++)
+        {
+            new Thread()
+            {
+                public void run()
+                {
+                    try
+                    {
+                        start.await();
+
+                        long end = System.currentTimeMillis() + millis;
+                        long parsed = 0;
+
+                        while (System.currentTimeMillis() < end)
+                        {
+                            for (int i = 0; i != certs.length; i++)
+                            {
+                                parse(certs[i]);
+                            }
+                            parsed += certs.length;
+                        }
+
+                        count.addAndGet(parsed);
+                    }
+                    catch (Exception e)
+                    {
+                        e.printStackTrace();
+                    }
+                    finally
+                    {
+                        done.countDown();
+                    }
+                }
+            }.start();
+        }
+
+        start.countDown();
+        done.await();
+
+        return count.get();
+    }
+
+    private static void parse(byte[] enc)
+        throws Exception
+    {
+        Certificate cert = Certificate.getInstance(ASN1Primitive.fromByteArray(enc));
+        Extensions exts = cert.getTBSCertificate().getExtensions();
+
+        cert.getSignatureAlgorithm().getAlgorithm().getEncoded();
+
+        if (exts != null)
+        {
+            for (int i = 0; i != exts.getExtensionOIDs().length; i++)
+            {
+                exts.getExtensionOIDs()[i].getEncoded();
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@
 import org.bouncycastle.crypto.digests.SHA1Digest;
 import org.bouncycastle.crypto.digests.SHA256Digest;
 import org.bouncycastle.crypto.engines.DESedeEngine;
+import org.bouncycastle.crypto.macs.CMac;
 import org.bouncycastle.crypto.macs.HMac;
 import org.bouncycastle.crypto.prng.SP800SecureRandomBuilder;
 import org.bouncycastle.util.Arrays;
@@ -264,6 +265,97 @@ private void doCTRTest(DRBGTestVector tv)
         }
     }
 
+    private void testThreadLocalRandom()
+        throws Exception
+    {
+        byte[] nonce = Hex.decode("2021222324");
+        byte[] personalizationString = Hex.decode("404142434445464748494A4B4C4D4E4F505152535455565758595A5B5C5D5E5F606162636465666768696A6B6C6D6E6F70717273747576");
+
+        // the first DRBG created should use the nonce followed by a count of 1
+        byte[] firstNonce = Arrays.concatenate(nonce, Hex.decode("0000000000000001"));
+
+        doThreadLocalTest("Hash",
+            threadLocalBuilder(personalizationString).buildThreadLocalHash(new SHA1Digest(), nonce, true),
+            threadLocalBuilder(personalizationString).buildHash(new SHA1Digest(), firstNonce, true));
+
+        doThreadLocalTest("HMAC",
+            threadLocalBuilder(personalizationString).buildThreadLocalHMAC(new HMac(new SHA1Digest()), nonce, true),
+            threadLocalBuilder(personalizationString).buildHMAC(new HMac(new SHA1Digest()), firstNonce, true));
+
+        try
+        {
+            threadLocalBuilder(personalizationString).buildThreadLocalHMAC(new CMac(new DESedeEngine()), nonce, true);
+
+            fail("no exception for non-HMAC thread local DRBG");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // expected
+        }
+    }
+
+    private SP800SecureRandomBuilder threadLocalBuilder(byte[] personalizationString)
+    {
+        SP800SecureRandomBuilder rBuild = new SP800SecureRandomBuilder(new SHA1EntropyProvider());
+
+        rBuild.setPersonalizationString(personalizationString);
+        rBuild.setSecurityStrength(80);
+        rBuild.setEntropyBitsRequired(440);
+
+        return rBuild;
+    }
+
+    private void doThreadLocalTest(String name, final SecureRandom random, SecureRandom reference)
+        throws Exception
+    {
+        Thread[] threads = new Thread[4];
+        final byte[][] results = new byte[threads.length + 1][];
+
+        // the calling thread creates the first DRBG.
+        results[threads.length] = new byte[80];
+        random.nextBytes(results[threads.length]);
+
+        byte[] expected = new byte[80];
+        reference.nextBytes(expected);
+
+        if (!Arrays.areEqual(expected, results[threads.length]))
+        {
+            fail("SP800 thread local " + name + " SecureRandom produced incorrect result");
+        }
+
+        for (int i = 0; i != threads.length; i++)
+        {
+            final int index = i;
+
+            threads[i] = new Thread()
+            {
+                public void run()
+                {
+                    results[index] = new byte[80];
+                    random.nextBytes(results[index]);
+                }
+            };
+            threads[i].start();
+        }
+
+        for (int i = 0; i != threads.length; i++)
+        {
+            threads[i].join();
+        }
+
+        // every thread's DRBG sees the same test entropy, so only the nonce keeps them apart.
+        for (int i = 0; i != results.length; i++)
+        {
+            for (int j = i + 1; j != results.length; j++)
+            {
+                if (Arrays.areEqual(results[i], results[j]))
+                {
+                    fail("SP800 thread local " + name + " SecureRandom repeated output in threads " + i + " and " + j);
+                }
+            }
+        }
+    }
+
     public void performTest()
         throws Exception
     {
@@ -271,6 +363,7 @@ public void performTest()
         testHMACRandom();
         testCTRRandom();
         testDualECRandom();
+        testThreadLocalRandom();
     }
 
     public static void main(String[] args)
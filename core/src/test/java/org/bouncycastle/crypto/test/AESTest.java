@@ -5,14 +5,19 @@
 import org.bouncycastle.crypto.BlockCipher;
 import org.bouncycastle.crypto.BufferedBlockCipher;
 import org.bouncycastle.crypto.CipherParameters;
+import org.bouncycastle.crypto.DataLengthException;
 import org.bouncycastle.crypto.InvalidCipherTextException;
 import org.bouncycastle.crypto.engines.AESEngine;
+import org.bouncycastle.crypto.engines.AESFastEngine;
+import org.bouncycastle.crypto.engines.AESLightEngine;
 import org.bouncycastle.crypto.modes.CBCBlockCipher;
 import org.bouncycastle.crypto.modes.CFBBlockCipher;
 import org.bouncycastle.crypto.modes.OFBBlockCipher;
 import org.bouncycastle.crypto.modes.SICBlockCipher;
+import org.bouncycastle.crypto.paddings.PaddedBufferedBlockCipher;
 import org.bouncycastle.crypto.params.KeyParameter;
 import org.bouncycastle.crypto.params.ParametersWithIV;
+import org.bouncycastle.util.Arrays;
 import org.bouncycastle.util.encoders.Hex;
 import org.bouncycastle.util.test.SimpleTest;
 
@@ -388,6 +393,103 @@ private void skipTest()
         }
     }
 
+    private void multiBlockTest()
+        throws InvalidCipherTextException
+    {
+        SecureRandom rand = new SecureRandom();
+        BlockCipher[] engines = { new AESEngine(), new AESFastEngine(), new AESLightEngine() };
+
+        for (int i = 0; i != engines.length; i++)
+        {
+            BlockCipher engine = engines[i];
+            BlockCipher single = new SingleBlockCipher(engine);
+
+            for (int j = 0; j != 20; j++)
+            {
+                byte[] key = new byte[16 + 8 * (j % 3)];
+                byte[] iv = new byte[16];
+
+                rand.nextBytes(key);
+                rand.nextBytes(iv);
+
+                // start the counter just below a carry into the upper bytes
+                for (int k = 12; k != 16; k++)
+                {
+                    iv[k] = (byte)0xff;
+                }
+
+                CipherParameters keyParam = new KeyParameter(key);
+                CipherParameters ivParam = new ParametersWithIV(keyParam, iv);
+                byte[] data = new byte[rand.nextInt(1500)];
+
+                rand.nextBytes(data);
+
+                multiBlockCheck("ECB", rand, new BufferedBlockCipher(engine), new BufferedBlockCipher(single), keyParam, data.length - data.length % 16, data);
+                multiBlockCheck("CBC", rand, new PaddedBufferedBlockCipher(new CBCBlockCipher(engine)), new PaddedBufferedBlockCipher(new CBCBlockCipher(single)), ivParam, data.length, data);
+                multiBlockCheck("SIC", rand, new BufferedBlockCipher(new SICBlockCipher(engine)), new BufferedBlockCipher(new SICBlockCipher(single)), ivParam, data.length, data);
+                inPlaceCheck(new CBCBlockCipher(engine), new CBCBlockCipher(single), ivParam, data.length / 16, data);
+            }
+        }
+    }
+
+    private void multiBlockCheck(String mode, SecureRandom rand, BufferedBlockCipher multi, BufferedBlockCipher single, CipherParameters params, int len, byte[] data)
+        throws InvalidCipherTextException
+    {
+        byte[] expected = process(single, true, params, data, len, len);
+
+        if (!areEqual(expected, process(multi, true, params, data, len, 1 + rand.nextInt(len + 1))))
+        {
+            fail(multi.getUnderlyingCipher().getAlgorithmName() + " multi-block " + mode + " encryption failed");
+        }
+
+        byte[] plain = process(multi, false, params, expected, expected.length, 1 + rand.nextInt(expected.length + 1));
+
+        if (!areEqual(Arrays.copyOfRange(data, 0, len), plain))
+        {
+            fail(multi.getUnderlyingCipher().getAlgorithmName() + " multi-block " + mode + " decryption failed");
+        }
+    }
+
+    private void inPlaceCheck(CBCBlockCipher multi, CBCBlockCipher single, CipherParameters params, int blockCount, byte[] data)
+    {
+        byte[] expected = new byte[blockCount * 16];
+        byte[] buf = Arrays.copyOfRange(data, 0, expected.length);
+
+        single.init(false, params);
+
+        for (int i = 0; i != expected.length; i += 16)
+        {
+            single.processBlock(buf, i, expected, i);
+        }
+
+        multi.init(false, params);
+
+        multi.processBlocks(buf, 0, blockCount, buf, 0);
+
+        if (!areEqual(expected, buf))
+        {
+            fail(multi.getAlgorithmName() + " multi-block in place decryption failed");
+        }
+    }
+
+    private byte[] process(BufferedBlockCipher cipher, boolean forEncryption, CipherParameters params, byte[] data, int len, int chunk)
+        throws InvalidCipherTextException
+    {
+        cipher.init(forEncryption, params);
+
+        byte[] out = new byte[cipher.getOutputSize(len)];
+        int outLen = 0;
+
+        for (int off = 0; off < len; off += chunk)
+        {
+            outLen += cipher.processBytes(data, off, Math.min(chunk, len - off), out, outLen);
+        }
+
+        outLen += cipher.doFinal(out, outLen);
+
+        return Arrays.copyOfRange(out, 0, outLen);
+    }
+
     public void performTest()
         throws Exception
     {
@@ -432,6 +534,48 @@ public void performTest()
         testNullCFB();
 
         skipTest();
+        multiBlockTest();
+    }
+
+    /**
+     * Hides any multi-block support in the wrapped cipher, so modes fall back to processing one block at a time.
+     */
+    static class SingleBlockCipher
+        implements BlockCipher
+    {
+        private final BlockCipher cipher;
+
+        SingleBlockCipher(BlockCipher cipher)
+        {
+            this.cipher = cipher;
+        }
+
+        public void init(boolean forEncryption, CipherParameters params)
+            throws IllegalArgumentException
+        {
+            cipher.init(forEncryption, params);
+        }
+
+        public String getAlgorithmName()
+        {
+            return cipher.getAlgorithmName();
+        }
+
+        public int getBlockSize()
+        {
+            return cipher.getBlockSize();
+        }
+
+        public int processBlock(byte[] in, int inOff, byte[] out, int outOff)
+            throws DataLengthException, IllegalStateException
+        {
+            return cipher.processBlock(in, inOff, out, outOff);
+        }
+
+        public void reset()
+        {
+            cipher.reset();
+        }
     }
 
     public static void main(
@@ -19,6 +19,7 @@
 import org.bouncycastle.crypto.params.MQVPrivateParameters;
 import org.bouncycastle.crypto.params.MQVPublicParameters;
 import org.bouncycastle.crypto.params.ParametersWithRandom;
+import org.bouncycastle.crypto.signers.ECDSABatchVerifier;
 import org.bouncycastle.crypto.signers.ECDSASigner;
 import org.bouncycastle.math.ec.ECConstants;
 import org.bouncycastle.math.ec.ECCurve;
@@ -894,6 +895,82 @@ public String getName()
         return "EC";
     }
 
+    private void testECDSABatchVerify()
+    {
+        SecureRandom random = new SecureRandom();
+        String[] curves = { "P-256", "P-224" };
+        ECDSABatchVerifier batch = new ECDSABatchVerifier();
+        ECDSASigner dsa = new ECDSASigner();
+
+        int count = 24;
+        ECPublicKeyParameters[] keys = new ECPublicKeyParameters[count];
+        byte[][] messages = new byte[count][];
+        BigInteger[][] sigs = new BigInteger[count][];
+
+        for (int i = 0; i < count; i++)
+        {
+            X9ECParameters x9 = NISTNamedCurves.getByName(curves[(i / 3) % curves.length]);
+            ECDomainParameters params = new ECDomainParameters(x9.getCurve(), x9.getG(), x9.getN(), x9.getH());
+            ECKeyPairGenerator pGen = new ECKeyPairGenerator();
+
+            pGen.init(new ECKeyGenerationParameters(params, random));
+
+            AsymmetricCipherKeyPair pair = pGen.generateKeyPair();
+
+            messages[i] = new byte[32];
+            random.nextBytes(messages[i]);
+
+            dsa.init(true, new ParametersWithRandom(pair.getPrivate(), random));
+
+            keys[i] = (ECPublicKeyParameters)pair.getPublic();
+            sigs[i] = dsa.generateSignature(messages[i]);
+        }
+
+        // corrupt some of the entries
+        messages[2][0] ^= 1;
+        sigs[7][1] = sigs[7][1].add(ECConstants.ONE);
+        sigs[11][0] = ECConstants.ZERO;
+        sigs[13][1] = keys[13].getParameters().getN();
+        keys[17] = keys[16];
+
+        for (int i = 0; i < count; i++)
+        {
+            batch.addSignature(keys[i], messages[i], sigs[i][0], sigs[i][1]);
+        }
+
+        boolean[] results = batch.verify();
+
+        for (int i = 0; i < count; i++)
+        {
+            dsa.init(false, keys[i]);
+
+            if (results[i] != dsa.verifySignature(messages[i], sigs[i][0], sigs[i][1]))
+            {
+                fail("batch result " + i + " does not match ECDSASigner");
+            }
+        }
+
+        if (results[0] != true || results[2] != false || results[7] != false || results[11] != false
+            || results[13] != false || results[17] != false)
+        {
+            fail("batch verification results incorrect");
+        }
+
+        if (batch.verifyAll())
+        {
+            fail("batch with bad signatures verified");
+        }
+
+        batch.reset();
+        batch.addSignature(keys[0], messages[0], sigs[0][0], sigs[0][1]);
+        batch.addSignature(keys[3], messages[3], sigs[3][0], sigs[3][1]);
+
+        if (!batch.verifyAll())
+        {
+            fail("good batch failed to verify");
+        }
+    }
+
     public void performTest()
     {
         decodeTest();
@@ -910,6 +987,7 @@ public void performTest()
         testECDSAP521sha512();
         testECDSASecP224k1sha256();
         testECDSA239bitBinaryAndLargeDigest();
+        testECDSABatchVerify();
         
         testECMQVTestVector1();
         testECMQVTestVector2();
@@ -9,10 +9,12 @@
 import org.bouncycastle.crypto.modes.GCMBlockCipher;
 import org.bouncycastle.crypto.modes.gcm.BasicGCMMultiplier;
 import org.bouncycastle.crypto.modes.gcm.GCMMultiplier;
+import org.bouncycastle.crypto.modes.gcm.Tables32kGCMMultiplier;
 import org.bouncycastle.crypto.modes.gcm.Tables64kGCMMultiplier;
 import org.bouncycastle.crypto.modes.gcm.Tables8kGCMMultiplier;
 import org.bouncycastle.crypto.params.AEADParameters;
 import org.bouncycastle.crypto.params.KeyParameter;
+import org.bouncycastle.util.Arrays;
 import org.bouncycastle.util.Times;
 import org.bouncycastle.util.encoders.Hex;
 import org.bouncycastle.util.test.SimpleTest;
@@ -303,6 +305,7 @@ public void performTest() throws Exception
         }
 
         randomTests();
+        multiBlockTests();
         outputSizeTests();
         testExceptions();
     }
@@ -377,6 +380,7 @@ private void runTestCase(String[] testVector, int macLength)
         runTestCase(new BasicGCMMultiplier(), new BasicGCMMultiplier(), testName, K, IV, A, P, C, T);
         runTestCase(new Tables8kGCMMultiplier(), new Tables8kGCMMultiplier(), testName, K, IV, A, P, C, T);
         runTestCase(new Tables64kGCMMultiplier(), new Tables64kGCMMultiplier(), testName, K, IV, A, P, C, T);
+        runTestCase(new Tables32kGCMMultiplier(), new Tables32kGCMMultiplier(), testName, K, IV, A, P, C, T);
     }
 
     private void runTestCase(
@@ -507,6 +511,7 @@ private void randomTests()
         randomTests(srng, new BasicGCMMultiplier());
         randomTests(srng, new Tables8kGCMMultiplier());
         randomTests(srng, new Tables64kGCMMultiplier());
+        randomTests(srng, new Tables32kGCMMultiplier());
     }
 
     private void randomTests(SecureRandom srng, GCMMultiplier m)
@@ -624,6 +629,76 @@ private void randomTest(SecureRandom srng, GCMMultiplier m)
         }
     }
 
+    private void multiBlockTests()
+        throws InvalidCipherTextException
+    {
+        SecureRandom srng = new SecureRandom();
+
+        for (int i = 0; i < 20; ++i)
+        {
+            byte[] K = new byte[16];
+            srng.nextBytes(K);
+
+            byte[] P = new byte[nextInt(srng, 1500)];
+            srng.nextBytes(P);
+
+            byte[] IV = new byte[12];
+            srng.nextBytes(IV);
+
+            AEADParameters parameters = new AEADParameters(new KeyParameter(K), 32 + 8 * nextInt(srng, 13), IV, null);
+
+            GCMBlockCipher single = new GCMBlockCipher(new AESTest.SingleBlockCipher(createAESEngine()));
+            single.init(true, parameters);
+
+            byte[] expected = new byte[single.getOutputSize(P.length)];
+            int len = single.processBytes(P, 0, P.length, expected, 0);
+            single.doFinal(expected, len);
+
+            GCMBlockCipher multi = initCipher((i & 1) == 0 ? null : new Tables32kGCMMultiplier(), true, parameters);
+            byte[] C = processChunked(srng, multi, P);
+
+            if (!areEqual(expected, C))
+            {
+                fail("multi-block encryption differs from single block encryption");
+            }
+
+            multi.init(false, parameters);
+
+            if (!areEqual(P, processChunked(srng, multi, C)))
+            {
+                fail("incorrect multi-block decrypt");
+            }
+        }
+    }
+
+    private byte[] processChunked(SecureRandom srng, GCMBlockCipher cipher, byte[] in)
+        throws InvalidCipherTextException
+    {
+        byte[] out = new byte[cipher.getOutputSize(in.length)];
+        int outLen = 0;
+        int inOff = 0;
+
+        while (inOff < in.length)
+        {
+            int chunk = Math.min(in.length - inOff, 1 + nextInt(srng, 80));
+
+            if (nextInt(srng, 4) == 0)
+            {
+                outLen += cipher.processByte(in[inOff], out, outLen);
+                chunk = 1;
+            }
+            else
+            {
+                outLen += cipher.processBytes(in, inOff, chunk, out, outLen);
+            }
+            inOff += chunk;
+        }
+
+        outLen += cipher.doFinal(out, outLen);
+
+        return Arrays.copyOfRange(out, 0, outLen);
+    }
+
     private void outputSizeTests()
     {
         byte[] K = new byte[16];
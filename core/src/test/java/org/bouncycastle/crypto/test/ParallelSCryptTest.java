@@ -0,0 +1,73 @@
+package org.bouncycastle.crypto.test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.bouncycastle.crypto.generators.ParallelSCrypt;
+import org.bouncycastle.crypto.generators.SCrypt;
+import org.bouncycastle.util.Strings;
+import org.bouncycastle.util.test.SimpleTest;
+
+/*
+ * check scrypt with its lanes run on an executor against the sequential implementation.
+ */
+public class ParallelSCryptTest extends SimpleTest
+{
+    public String getName()
+    {
+        return "ParallelSCrypt";
+    }
+
+    public void performTest()
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try
+        {
+            byte[] P = Strings.toByteArray("password");
+            byte[] S = Strings.toByteArray("NaCl");
+
+            for (int p = 1; p <= 9; p += 4)
+            {
+                byte[] expected = SCrypt.generate(P, S, 1024, 2, p, 64);
+
+                for (int threads = 1; threads <= 4; ++threads)
+                {
+                    byte[] result = ParallelSCrypt.generate(P, S, 1024, 2, p, 64, executor, threads);
+                    if (!areEqual(expected, result))
+                    {
+                        fail("Parallel result does not match for p = " + p + ", threads = " + threads);
+                    }
+                }
+            }
+
+            try
+            {
+                ParallelSCrypt.generate(P, S, 1024, 2, 2, 64, executor, 0);
+                fail("Thread count must be >= 1");
+            }
+            catch (IllegalArgumentException e)
+            {
+                // expected
+            }
+
+            try
+            {
+                ParallelSCrypt.generate(P, S, 1024, 2, 2, 64, null, 2);
+                fail("Executor must be provided");
+            }
+            catch (IllegalArgumentException e)
+            {
+                // expected
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    public static void main(String[] args)
+    {
+        runTest(new ParallelSCryptTest());
+    }
+}
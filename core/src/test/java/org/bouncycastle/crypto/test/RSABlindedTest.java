@@ -6,6 +6,7 @@
 import org.bouncycastle.crypto.encodings.OAEPEncoding;
 import org.bouncycastle.crypto.encodings.PKCS1Encoding;
 import org.bouncycastle.crypto.engines.RSABlindedEngine;
+import org.bouncycastle.crypto.engines.RSAEngine;
 import org.bouncycastle.crypto.generators.RSAKeyPairGenerator;
 import org.bouncycastle.crypto.params.RSAKeyGenerationParameters;
 import org.bouncycastle.crypto.params.RSAKeyParameters;
@@ -192,6 +193,38 @@ private void testOAEP(RSAKeyParameters pubParameters, RSAKeyParameters privParam
         }
     }
 
+    private void testBlindingUpdate(RSAKeyParameters privParameters, RSAKeyParameters otherPrivParameters)
+    {
+        AsymmetricBlockCipher blinded = new RSABlindedEngine();
+        AsymmetricBlockCipher plain = new RSAEngine();
+        SecureRandom random = new SecureRandom();
+
+        // run past several refreshes of the blinding factors, changing keys part way
+        for (int i = 0; i != 100; i++)
+        {
+            RSAKeyParameters key = (i / 40 == 1) ? otherPrivParameters : privParameters;
+
+            blinded.init(false, key);
+            plain.init(false, key);
+
+            byte[] data = new byte[plain.getInputBlockSize() - 1];
+
+            random.nextBytes(data);
+
+            try
+            {
+                if (!areEqual(plain.processBlock(data, 0, data.length), blinded.processBlock(data, 0, data.length)))
+                {
+                    fail("blinded result differs from unblinded on operation " + i);
+                }
+            }
+            catch (InvalidCipherTextException e)
+            {
+                fail("failed - exception " + e.toString(), e);
+            }
+        }
+    }
+
     public void performTest()
     {
         RSAKeyParameters    pubParameters = new RSAKeyParameters(false, mod, pubExp);
@@ -411,6 +444,7 @@ public void performTest()
         }
 
         testOAEP(pubParameters, privParameters);
+        testBlindingUpdate(privParameters, (RSAKeyParameters)pair.getPrivate());
         testStrictPKCS1Length(pubParameters, privParameters);
         testDudPKCS1Block(pubParameters, privParameters);
         testMissingDataPKCS1Block(pubParameters, privParameters);
@@ -118,6 +118,7 @@
         //new NaccacheSternTest(),
         new SRP6Test(),
         new SCryptTest(),
+        new ParallelSCryptTest(),
         new ResetTest(),
         new NullTest(),
         new DSTU4145Test(),
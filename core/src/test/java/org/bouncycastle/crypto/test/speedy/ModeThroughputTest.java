@@ -0,0 +1,162 @@
+package org.bouncycastle.crypto.test.speedy;
+
+import java.security.SecureRandom;
+
+import org.bouncycastle.crypto.BlockCipher;
+import org.bouncycastle.crypto.BufferedBlockCipher;
+import org.bouncycastle.crypto.CipherParameters;
+import org.bouncycastle.crypto.DataLengthException;
+import org.bouncycastle.crypto.InvalidCipherTextException;
+import org.bouncycastle.crypto.engines.AESFastEngine;
+import org.bouncycastle.crypto.modes.CBCBlockCipher;
+import org.bouncycastle.crypto.modes.GCMBlockCipher;
+import org.bouncycastle.crypto.modes.SICBlockCipher;
+import org.bouncycastle.crypto.modes.gcm.Tables32kGCMMultiplier;
+import org.bouncycastle.crypto.params.AEADParameters;
+import org.bouncycastle.crypto.params.KeyParameter;
+import org.bouncycastle.crypto.params.ParametersWithIV;
+
+/**
+ * Microbenchmark of the AES modes of operation, comparing the multi-block paths with one block at a time
+ * processing (the same engine with its MultiBlockCipher support hidden).
+ */
+public class ModeThroughputTest
+{
+    private static final long CLOCK_SPEED = 2400000000L;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final byte[] MESSAGE = new byte[16 * 1024];
+    private static final int MESSAGE_COUNT = 20000;
+
+    static
+    {
+        RANDOM.nextBytes(MESSAGE);
+    }
+
+    public static void main(String[] args)
+        throws InvalidCipherTextException
+    {
+        KeyParameter key = new KeyParameter(generateNonce(16));
+        ParametersWithIV ivParams = new ParametersWithIV(key, generateNonce(16));
+        AEADParameters aeadParams = new AEADParameters(key, 128, generateNonce(12));
+
+        for (int i = 0; i != 2; i++)
+        {
+            boolean multi = (i == 1);
+
+            testMode("ECB", new BufferedBlockCipher(engine(multi)), true, key, multi);
+            testMode("CBC", new BufferedBlockCipher(new CBCBlockCipher(engine(multi))), true, ivParams, multi);
+            testMode("CBC", new BufferedBlockCipher(new CBCBlockCipher(engine(multi))), false, ivParams, multi);
+            testMode("CTR", new BufferedBlockCipher(new SICBlockCipher(engine(multi))), true, ivParams, multi);
+            testGCM("GCM", new GCMBlockCipher(engine(multi)), aeadParams, multi);
+        }
+
+        testGCM("GCM/32k", new GCMBlockCipher(engine(true), new Tables32kGCMMultiplier()), aeadParams, true);
+    }
+
+    private static BlockCipher engine(boolean multi)
+    {
+        if (multi)
+        {
+            return new AESFastEngine();
+        }
+
+        final BlockCipher engine = new AESFastEngine();
+
+        return new BlockCipher()
+        {
+            public void init(boolean forEncryption, CipherParameters params)
+            {
+                engine.init(forEncryption, params);
+            }
+
+            public String getAlgorithmName()
+            {
+                return engine.getAlgorithmName();
+            }
+
+            public int getBlockSize()
+            {
+                return engine.getBlockSize();
+            }
+
+            public int processBlock(byte[] in, int inOff, byte[] out, int outOff)
+                throws DataLengthException, IllegalStateException
+            {
+                return engine.processBlock(in, inOff, out, outOff);
+            }
+
+            public void reset()
+            {
+                engine.reset();
+            }
+        };
+    }
+
+    private static byte[] generateNonce(int sizeBytes)
+    {
+        byte[] nonce = new byte[sizeBytes];
+        RANDOM.nextBytes(nonce);
+        return nonce;
+    }
+
+    private static void testMode(String mode, BufferedBlockCipher cipher, boolean forEncryption, CipherParameters params, boolean multi)
+        throws InvalidCipherTextException
+    {
+        byte[] out = new byte[MESSAGE.length];
+
+        cipher.init(forEncryption, params);
+
+        // warm up
+        for (int i = 0; i < MESSAGE_COUNT / 4; i++)
+        {
+            cipher.processBytes(MESSAGE, 0, MESSAGE.length, out, 0);
+            cipher.doFinal(out, 0);
+        }
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < MESSAGE_COUNT; i++)
+        {
+            cipher.processBytes(MESSAGE, 0, MESSAGE.length, out, 0);
+            cipher.doFinal(out, 0);
+        }
+
+        report(mode + (forEncryption ? " encrypt" : " decrypt"), multi, System.nanoTime() - start);
+    }
+
+    private static void testGCM(String mode, GCMBlockCipher cipher, AEADParameters params, boolean multi)
+        throws InvalidCipherTextException
+    {
+        byte[] out = new byte[MESSAGE.length + 16];
+
+        cipher.init(true, params);
+
+        // warm up
+        for (int i = 0; i < MESSAGE_COUNT / 4; i++)
+        {
+            int len = cipher.processBytes(MESSAGE, 0, MESSAGE.length, out, 0);
+            cipher.doFinal(out, len);
+        }
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < MESSAGE_COUNT; i++)
+        {
+            int len = cipher.processBytes(MESSAGE, 0, MESSAGE.length, out, 0);
+            cipher.doFinal(out, len);
+        }
+
+        report(mode + " encrypt", multi, System.nanoTime() - start);
+    }
+
+    private static void report(String name, boolean multi, long total)
+    {
+        long averageRuntime = total / MESSAGE_COUNT;
+        long mbPerSecond = (long)((double)MESSAGE.length / averageRuntime * 1000000000 / (1024 * 1024));
+
+        System.out.printf("AES %-12s %-12s Average speed: %,d MB/s (%,.1f c/b)\n", name, multi ? "multi-block" : "single block",
+            mbPerSecond, CLOCK_SPEED / (double)(mbPerSecond * (1024 * 1024)));
+    }
+}
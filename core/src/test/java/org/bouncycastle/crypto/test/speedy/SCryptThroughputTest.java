@@ -0,0 +1,70 @@
+package org.bouncycastle.crypto.test.speedy;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.bouncycastle.crypto.generators.ParallelSCrypt;
+import org.bouncycastle.crypto.generators.SCrypt;
+import org.bouncycastle.util.Arrays;
+import org.bouncycastle.util.Strings;
+
+/**
+ * Compares sequential scrypt against scrypt with its lanes run on a thread pool, for increasing
+ * values of the parallelisation parameter p.
+ */
+public class SCryptThroughputTest
+{
+    private static final byte[] PASSWORD = Strings.toByteArray("password");
+    private static final byte[] SALT = Strings.toByteArray("NaCl");
+
+    private static final int N = 16384;
+    private static final int R = 8;
+    private static final int DK_LEN = 64;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args)
+    {
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try
+        {
+            System.out.println("N = " + N + ", r = " + R + ", threads = " + threads);
+
+            // warm up
+            SCrypt.generate(PASSWORD, SALT, N, R, 4, DK_LEN);
+            ParallelSCrypt.generate(PASSWORD, SALT, N, R, 4, DK_LEN, executor, threads);
+
+            for (int p = 1; p <= 16; p <<= 1)
+            {
+                byte[] sequential = null, parallel = null;
+
+                long start = System.nanoTime();
+                for (int i = 0; i < ROUNDS; ++i)
+                {
+                    sequential = SCrypt.generate(PASSWORD, SALT, N, R, p, DK_LEN);
+                }
+                long sequentialTime = (System.nanoTime() - start) / ROUNDS;
+
+                start = System.nanoTime();
+                for (int i = 0; i < ROUNDS; ++i)
+                {
+                    parallel = ParallelSCrypt.generate(PASSWORD, SALT, N, R, p, DK_LEN, executor, threads);
+                }
+                long parallelTime = (System.nanoTime() - start) / ROUNDS;
+
+                if (!Arrays.areEqual(sequential, parallel))
+                {
+                    throw new IllegalStateException("parallel result differs for p = " + p);
+                }
+
+                System.out.println("p = " + p + ": sequential " + (sequentialTime / 1000000) + "ms, parallel "
+                    + (parallelTime / 1000000) + "ms, speedup " + ((double)sequentialTime / parallelTime));
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+}
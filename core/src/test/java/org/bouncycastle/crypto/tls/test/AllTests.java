@@ -17,6 +17,9 @@ public static Test suite()
         TestSuite suite = new TestSuite("TLS tests");
 
         suite.addTest(BasicTlsTest.suite());
+        suite.addTestSuite(TlsProtocolTest.class);
+        suite.addTestSuite(TlsProtocolNonBlockingTest.class);
+        suite.addTestSuite(TlsRecordCipherTest.class);
 
         return suite;
     }
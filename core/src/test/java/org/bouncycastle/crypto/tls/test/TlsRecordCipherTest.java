@@ -0,0 +1,555 @@
+package org.bouncycastle.crypto.tls.test;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.Hashtable;
+
+import junit.framework.TestCase;
+
+import org.bouncycastle.crypto.Digest;
+import org.bouncycastle.crypto.digests.SHA1Digest;
+import org.bouncycastle.crypto.engines.AESEngine;
+import org.bouncycastle.crypto.modes.AEADBlockCipher;
+import org.bouncycastle.crypto.modes.CBCBlockCipher;
+import org.bouncycastle.crypto.modes.GCMBlockCipher;
+import org.bouncycastle.crypto.params.AEADParameters;
+import org.bouncycastle.crypto.tls.AlertDescription;
+import org.bouncycastle.crypto.tls.CipherSuite;
+import org.bouncycastle.crypto.tls.ContentType;
+import org.bouncycastle.crypto.tls.ProtocolVersion;
+import org.bouncycastle.crypto.tls.TlsAEADCipher;
+import org.bouncycastle.crypto.tls.TlsBlockCipher;
+import org.bouncycastle.crypto.tls.TlsBufferCipher;
+import org.bouncycastle.crypto.tls.TlsCipher;
+import org.bouncycastle.crypto.tls.TlsClientProtocol;
+import org.bouncycastle.crypto.tls.TlsContext;
+import org.bouncycastle.crypto.tls.TlsExtensionsUtils;
+import org.bouncycastle.crypto.tls.TlsFatalAlert;
+import org.bouncycastle.crypto.tls.TlsProtocol;
+import org.bouncycastle.crypto.tls.TlsServerProtocol;
+import org.bouncycastle.crypto.tls.TlsUtils;
+import org.bouncycastle.util.Arrays;
+
+/**
+ * Record layer tests for the block and AEAD ciphers. Each test runs a handshake for the chosen
+ * version and cipher suite, during which the client and server each create some extra ciphers
+ * from the negotiated keys, and then exchanges records directly between those.
+ */
+public class TlsRecordCipherTest
+    extends TestCase
+{
+    private static final int CIPHER_COUNT = 4;
+
+    private static final int[] LENGTHS = { 0, 1, 15, 16, 17, 100, 1000 };
+
+    private static final short[] TYPES = { ContentType.application_data, ContentType.handshake,
+        ContentType.alert };
+
+    private final SecureRandom random = new SecureRandom();
+
+    public void testBlockCipherTLSv10()
+        throws IOException
+    {
+        checkBlockCipher(ProtocolVersion.TLSv10, false);
+    }
+
+    public void testBlockCipherTLSv11()
+        throws IOException
+    {
+        checkBlockCipher(ProtocolVersion.TLSv11, false);
+    }
+
+    public void testBlockCipherTLSv12()
+        throws IOException
+    {
+        checkBlockCipher(ProtocolVersion.TLSv12, false);
+    }
+
+    public void testBlockCipherEncryptThenMACTLSv10()
+        throws IOException
+    {
+        checkBlockCipher(ProtocolVersion.TLSv10, true);
+    }
+
+    public void testBlockCipherEncryptThenMACTLSv11()
+        throws IOException
+    {
+        checkBlockCipher(ProtocolVersion.TLSv11, true);
+    }
+
+    public void testBlockCipherEncryptThenMACTLSv12()
+        throws IOException
+    {
+        checkBlockCipher(ProtocolVersion.TLSv12, true);
+    }
+
+    public void testAEADCipher()
+        throws IOException
+    {
+        Peers peers = handshake(ProtocolVersion.TLSv12, CipherSuite.TLS_ECDHE_RSA_WITH_AES_128_GCM_SHA256, false);
+
+        TlsBufferCipher[] client = peers.client.ciphers;
+        TlsBufferCipher[] server = peers.server.ciphers;
+
+        // the nonce and additional data buffers are refilled for every record.
+        checkRoundTrip(client[0], server[0]);
+        checkRoundTrip(server[0], client[0]);
+
+        checkAEADOutput((ReferenceAEADCipher)client[1], client[2], client[3]);
+        checkAEADOutput((ReferenceAEADCipher)server[1], server[2], server[3]);
+
+        // the sequence number, content type and length are all covered by the tag.
+        byte[] data = randomData(100);
+        byte[] record = client[1].encodePlaintext(7, ContentType.application_data, data, 0, data.length);
+
+        checkRejected(server[1], 8, ContentType.application_data, Arrays.clone(record), AlertDescription.bad_record_mac);
+        checkRejected(server[1], 7, ContentType.handshake, Arrays.clone(record), AlertDescription.bad_record_mac);
+        checkRejected(server[1], 7, ContentType.application_data, flip(record, record.length - 1), AlertDescription.bad_record_mac);
+        checkRejected(server[1], 7, ContentType.application_data, flip(record, 0), AlertDescription.bad_record_mac);
+        checkRejected(server[1], 7, ContentType.application_data, Arrays.copyOf(record, 20), AlertDescription.decode_error);
+
+        // a failed record leaves nothing behind for the next one.
+        assertTrue(Arrays.areEqual(data, server[1].decodeCiphertext(7, ContentType.application_data, record, 0, record.length)));
+    }
+
+    private void checkBlockCipher(ProtocolVersion version, boolean encryptThenMAC)
+        throws IOException
+    {
+        Peers peers = handshake(version, CipherSuite.TLS_ECDHE_RSA_WITH_AES_128_CBC_SHA, encryptThenMAC);
+
+        assertEquals(encryptThenMAC, peers.server.encryptThenMAC);
+
+        TlsBufferCipher[] client = peers.client.ciphers;
+        TlsBufferCipher[] server = peers.server.ciphers;
+
+        checkRoundTrip(client[0], server[0]);
+        checkRoundTrip(server[0], client[0]);
+
+        checkBlockOutput(client[1], client[2], server[1], server[2]);
+
+        if (!version.isEqualOrEarlierVersionOf(ProtocolVersion.TLSv10))
+        {
+            checkExplicitIV(client[3], server[3]);
+        }
+
+        byte[] data = randomData(100);
+        int blockSize = 16;
+
+        // a bit flipped in the first block of the fragment corrupts the data, not the padding.
+        byte[] record = client[3].encodePlaintext(0, ContentType.application_data, data, 0, data.length);
+        checkRejected(server[3], 0, ContentType.application_data, flip(record, 0), AlertDescription.bad_record_mac);
+
+        record = client[3].encodePlaintext(1, ContentType.application_data, data, 0, data.length);
+        int macSize = peers.server.macSize;
+        if (encryptThenMAC)
+        {
+            checkRejected(server[3], 1, ContentType.application_data, flip(record, record.length - 1), AlertDescription.bad_record_mac);
+        }
+        else
+        {
+            // flipping the last byte of the second last block flips the padding length byte.
+            checkRejected(server[3], 1, ContentType.application_data, flip(record, record.length - blockSize - 1), AlertDescription.bad_record_mac);
+        }
+
+        // the length has to be a whole number of blocks, and at least one block plus the MAC.
+        record = client[3].encodePlaintext(2, ContentType.application_data, data, 0, data.length);
+        int blocksEnd = encryptThenMAC ? record.length - macSize : record.length;
+        byte[] unaligned = Arrays.concatenate(Arrays.copyOfRange(record, 0, blocksEnd - 1),
+            Arrays.copyOfRange(record, blocksEnd, record.length));
+        checkRejected(server[3], 2, ContentType.application_data, unaligned, AlertDescription.decryption_failed);
+        checkRejected(server[3], 2, ContentType.application_data, Arrays.copyOf(record, 1), AlertDescription.decode_error);
+    }
+
+    /*
+     * Send records of different lengths and types through the ciphers, alternating between the
+     * buffer and byte[] methods, so state left over from one record would show up in the next.
+     */
+    private void checkRoundTrip(TlsBufferCipher writer, TlsBufferCipher reader)
+        throws IOException
+    {
+        int seqNo = 0;
+        for (int i = 0; i != LENGTHS.length; i++)
+        {
+            for (int j = 0; j != TYPES.length; j++)
+            {
+                byte[] data = randomData(LENGTHS[i]);
+                short type = TYPES[j];
+                byte[] decoded;
+
+                if ((seqNo & 1) == 0)
+                {
+                    // encode behind a record header, then decode in place.
+                    byte[] buf = new byte[5 + writer.getCiphertextLimit(data.length)];
+                    int len = writer.encodePlaintext(seqNo, type, data, 0, data.length, buf, 5);
+
+                    assertTrue(len <= writer.getCiphertextLimit(data.length));
+
+                    int plaintextLen = reader.decodeCiphertext(seqNo, type, buf, 5, len, buf, 5);
+                    decoded = Arrays.copyOfRange(buf, 5, 5 + plaintextLen);
+                }
+                else
+                {
+                    byte[] record = writer.encodePlaintext(seqNo, type, data, 0, data.length);
+
+                    assertTrue(record.length <= writer.getCiphertextLimit(data.length));
+
+                    decoded = reader.decodeCiphertext(seqNo, type, record, 0, record.length);
+                }
+
+                assertTrue(Arrays.areEqual(data, decoded));
+                seqNo++;
+            }
+        }
+    }
+
+    /*
+     * The padding length of a FixedPaddingBlockCipher only depends on the plaintext length, so
+     * with TLS 1.0 twin ciphers must produce the same records whichever method is used. With an
+     * explicit IV the records differ, so check each method's records decode with the other.
+     */
+    private void checkBlockOutput(TlsBufferCipher writer1, TlsBufferCipher writer2, TlsBufferCipher reader1,
+        TlsBufferCipher reader2)
+        throws IOException
+    {
+        boolean explicitIV = ((FixedPaddingBlockCipher)writer1).hasExplicitIV();
+
+        for (int i = 0; i != LENGTHS.length; i++)
+        {
+            byte[] data = randomData(LENGTHS[i]);
+
+            byte[] record1 = writer1.encodePlaintext(i, ContentType.application_data, data, 0, data.length);
+            byte[] buf = new byte[writer2.getCiphertextLimit(data.length) + 3];
+            int len = writer2.encodePlaintext(i, ContentType.application_data, data, 0, data.length, buf, 3);
+            byte[] record2 = Arrays.copyOfRange(buf, 3, 3 + len);
+
+            assertEquals(record1.length, record2.length);
+            if (!explicitIV)
+            {
+                assertTrue(Arrays.areEqual(record1, record2));
+            }
+
+            byte[] out = new byte[record1.length];
+            int outLen = reader1.decodeCiphertext(i, ContentType.application_data, Arrays.clone(record1), 0, record1.length, out, 0);
+            assertTrue(Arrays.areEqual(data, Arrays.copyOf(out, outLen)));
+
+            byte[] decoded = reader2.decodeCiphertext(i, ContentType.application_data, record2, 0, record2.length);
+            assertTrue(Arrays.areEqual(data, decoded));
+        }
+    }
+
+    /*
+     * With an explicit IV every record carries its own IV, so a record can be decoded even if
+     * the one before it never arrived.
+     */
+    private void checkExplicitIV(TlsBufferCipher writer, TlsBufferCipher reader)
+        throws IOException
+    {
+        byte[] data = randomData(40);
+
+        byte[] record0 = writer.encodePlaintext(0, ContentType.application_data, data, 0, data.length);
+        byte[] record1 = writer.encodePlaintext(1, ContentType.application_data, data, 0, data.length);
+        byte[] record2 = writer.encodePlaintext(2, ContentType.application_data, data, 0, data.length);
+
+        assertFalse(Arrays.areEqual(Arrays.copyOf(record0, 16), Arrays.copyOf(record1, 16)));
+
+        assertTrue(Arrays.areEqual(data, reader.decodeCiphertext(0, ContentType.application_data, record0, 0, record0.length)));
+        assertTrue(Arrays.areEqual(data, reader.decodeCiphertext(2, ContentType.application_data, record2, 0, record2.length)));
+    }
+
+    /*
+     * Compare the byte[] and buffer methods against the encoding used before the cipher kept its
+     * per-record state, which allocated a new nonce and additional_data for each record.
+     */
+    private void checkAEADOutput(ReferenceAEADCipher reference, TlsBufferCipher cipher1, TlsBufferCipher cipher2)
+        throws IOException
+    {
+        for (int i = 0; i != LENGTHS.length; i++)
+        {
+            byte[] data = randomData(LENGTHS[i]);
+            short type = TYPES[i % TYPES.length];
+
+            byte[] expected = reference.encodePlaintextPerRecord(i, type, data, 0, data.length);
+
+            assertTrue(Arrays.areEqual(expected, cipher1.encodePlaintext(i, type, data, 0, data.length)));
+
+            byte[] buf = new byte[cipher2.getCiphertextLimit(data.length) + 7];
+            int len = cipher2.encodePlaintext(i, type, data, 0, data.length, buf, 7);
+
+            assertTrue(Arrays.areEqual(expected, Arrays.copyOfRange(buf, 7, 7 + len)));
+        }
+    }
+
+    private void checkRejected(TlsCipher reader, long seqNo, short type, byte[] record, short alertDescription)
+    {
+        try
+        {
+            reader.decodeCiphertext(seqNo, type, record, 0, record.length);
+            fail("corrupted record accepted");
+        }
+        catch (TlsFatalAlert e)
+        {
+            assertEquals(AlertDescription.getText(alertDescription), AlertDescription.getText(e.getAlertDescription()));
+        }
+        catch (IOException e)
+        {
+            fail("unexpected exception: " + e);
+        }
+    }
+
+    private byte[] randomData(int length)
+    {
+        byte[] data = new byte[length];
+        random.nextBytes(data);
+        return data;
+    }
+
+    private static byte[] flip(byte[] record, int pos)
+    {
+        byte[] flipped = Arrays.clone(record);
+        flipped[pos] ^= 0x01;
+        return flipped;
+    }
+
+    private Peers handshake(ProtocolVersion version, int cipherSuite, boolean encryptThenMAC)
+        throws IOException
+    {
+        TlsClientProtocol clientProtocol = new TlsClientProtocol(random);
+        TlsServerProtocol serverProtocol = new TlsServerProtocol(random);
+
+        Peers peers = new Peers();
+        peers.client = new RecordTestClient(version, cipherSuite, encryptThenMAC);
+        peers.server = new RecordTestServer(version);
+
+        clientProtocol.connect(peers.client);
+        serverProtocol.accept(peers.server);
+
+        boolean hadDataFromServer = true;
+        boolean hadDataFromClient = true;
+        while (hadDataFromServer || hadDataFromClient)
+        {
+            hadDataFromServer = pumpData(serverProtocol, clientProtocol);
+            hadDataFromClient = pumpData(clientProtocol, serverProtocol);
+        }
+
+        assertNotNull(peers.client.ciphers[0]);
+        assertNotNull(peers.server.ciphers[0]);
+
+        return peers;
+    }
+
+    private static boolean pumpData(TlsProtocol from, TlsProtocol to)
+        throws IOException
+    {
+        int byteCount = from.getAvailableOutputBytes();
+        if (byteCount == 0)
+        {
+            return false;
+        }
+
+        byte[] buffer = new byte[byteCount];
+        from.readOutput(buffer, 0, buffer.length);
+        to.offerInput(buffer);
+
+        return true;
+    }
+
+    private static TlsBufferCipher createCipher(TlsContext context, int cipherSuite, boolean reference)
+        throws IOException
+    {
+        switch (cipherSuite)
+        {
+        case CipherSuite.TLS_ECDHE_RSA_WITH_AES_128_CBC_SHA:
+            return new FixedPaddingBlockCipher(context, new CBCBlockCipher(new AESEngine()),
+                new CBCBlockCipher(new AESEngine()), new SHA1Digest(), new SHA1Digest(), 16);
+        case CipherSuite.TLS_ECDHE_RSA_WITH_AES_128_GCM_SHA256:
+            if (reference)
+            {
+                return new ReferenceAEADCipher(context, new GCMBlockCipher(new AESEngine()),
+                    new GCMBlockCipher(new AESEngine()), 16, 16);
+            }
+            return new TlsAEADCipher(context, new GCMBlockCipher(new AESEngine()),
+                new GCMBlockCipher(new AESEngine()), 16, 16);
+        default:
+            throw new IllegalArgumentException("unexpected cipher suite");
+        }
+    }
+
+    private static class Peers
+    {
+        RecordTestClient client;
+        RecordTestServer server;
+    }
+
+    /**
+     * A block cipher that never adds extra blocks of padding, so its records only vary with the
+     * explicit IV.
+     */
+    private static class FixedPaddingBlockCipher
+        extends TlsBlockCipher
+    {
+        FixedPaddingBlockCipher(TlsContext context, CBCBlockCipher clientWriteCipher, CBCBlockCipher serverWriteCipher,
+            Digest clientWriteDigest, Digest serverWriteDigest, int cipherKeySize)
+            throws IOException
+        {
+            super(context, clientWriteCipher, serverWriteCipher, clientWriteDigest, serverWriteDigest, cipherKeySize);
+        }
+
+        boolean hasExplicitIV()
+        {
+            return useExplicitIV;
+        }
+
+        protected int chooseExtraPadBlocks(SecureRandom r, int max)
+        {
+            return 0;
+        }
+    }
+
+    /**
+     * An AEAD cipher that can also encode a record the way it was done before the nonce and
+     * additional data buffers were kept between records.
+     */
+    private static class ReferenceAEADCipher
+        extends TlsAEADCipher
+    {
+        ReferenceAEADCipher(TlsContext context, AEADBlockCipher clientWriteCipher, AEADBlockCipher serverWriteCipher,
+            int cipherKeySize, int macSize)
+            throws IOException
+        {
+            super(context, clientWriteCipher, serverWriteCipher, cipherKeySize, macSize);
+        }
+
+        byte[] encodePlaintextPerRecord(long seqNo, short type, byte[] plaintext, int offset, int len)
+            throws IOException
+        {
+            byte[] nonce = new byte[encryptImplicitNonce.length + nonce_explicit_length];
+            System.arraycopy(encryptImplicitNonce, 0, nonce, 0, encryptImplicitNonce.length);
+            TlsUtils.writeUint64(seqNo, nonce, encryptImplicitNonce.length);
+
+            byte[] output = new byte[nonce_explicit_length + encryptCipher.getOutputSize(len)];
+            System.arraycopy(nonce, encryptImplicitNonce.length, output, 0, nonce_explicit_length);
+            int outputPos = nonce_explicit_length;
+
+            byte[] additionalData = getAdditionalData(seqNo, type, len);
+            AEADParameters parameters = new AEADParameters(null, 8 * macSize, nonce, additionalData);
+
+            try
+            {
+                encryptCipher.init(true, parameters);
+                outputPos += encryptCipher.processBytes(plaintext, offset, len, output, outputPos);
+                outputPos += encryptCipher.doFinal(output, outputPos);
+            }
+            catch (Exception e)
+            {
+                throw new TlsFatalAlert(AlertDescription.internal_error, e);
+            }
+
+            assertEquals(output.length, outputPos);
+
+            return output;
+        }
+    }
+
+    private static class RecordTestClient
+        extends MockTlsClient
+    {
+        private final ProtocolVersion version;
+        private final int cipherSuite;
+        private final boolean encryptThenMAC;
+
+        TlsBufferCipher[] ciphers = new TlsBufferCipher[CIPHER_COUNT];
+
+        RecordTestClient(ProtocolVersion version, int cipherSuite, boolean encryptThenMAC)
+        {
+            super(null);
+
+            this.version = version;
+            this.cipherSuite = cipherSuite;
+            this.encryptThenMAC = encryptThenMAC;
+        }
+
+        public ProtocolVersion getClientVersion()
+        {
+            return version;
+        }
+
+        public ProtocolVersion getMinimumVersion()
+        {
+            return version;
+        }
+
+        public int[] getCipherSuites()
+        {
+            return new int[]{ cipherSuite };
+        }
+
+        public Hashtable getClientExtensions()
+            throws IOException
+        {
+            Hashtable clientExtensions = super.getClientExtensions();
+            if (!encryptThenMAC)
+            {
+                clientExtensions.remove(TlsExtensionsUtils.EXT_encrypt_then_mac);
+            }
+            return clientExtensions;
+        }
+
+        public TlsCipher getCipher()
+            throws IOException
+        {
+            // the master secret is only available while the handshake is in progress.
+            for (int i = 0; i != ciphers.length; i++)
+            {
+                ciphers[i] = createCipher(context, selectedCipherSuite, i == 1);
+            }
+            return super.getCipher();
+        }
+    }
+
+    private static class RecordTestServer
+        extends MockTlsServer
+    {
+        private final ProtocolVersion version;
+
+        TlsBufferCipher[] ciphers = new TlsBufferCipher[CIPHER_COUNT];
+        boolean encryptThenMAC;
+        int macSize;
+
+        RecordTestServer(ProtocolVersion version)
+        {
+            this.version = version;
+        }
+
+        protected ProtocolVersion getMaximumVersion()
+        {
+            return version;
+        }
+
+        protected ProtocolVersion getMinimumVersion()
+        {
+            return version;
+        }
+
+        public Hashtable getServerExtensions()
+            throws IOException
+        {
+            Hashtable serverExtensions = super.getServerExtensions();
+            encryptThenMAC = serverExtensions != null && TlsExtensionsUtils.hasEncryptThenMACExtension(serverExtensions);
+            return serverExtensions;
+        }
+
+        public TlsCipher getCipher()
+            throws IOException
+        {
+            for (int i = 0; i != ciphers.length; i++)
+            {
+                ciphers[i] = createCipher(context, selectedCipherSuite, i == 1);
+            }
+            if (ciphers[0] instanceof TlsBlockCipher)
+            {
+                macSize = ((TlsBlockCipher)ciphers[0]).getReadMac().getSize();
+            }
+            return super.getCipher();
+        }
+    }
+}
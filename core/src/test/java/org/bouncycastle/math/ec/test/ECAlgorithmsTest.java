@@ -53,6 +53,61 @@ public void testSumOfMultiplies()
         }
     }
 
+    public void testSumOfManyMultiplies()
+    {
+        // enough points for sumOfMultiplies to use the bucket method, on each of the curve types
+        String[] names = new String[]{ "secp256r1", "secp256k1", "sect233k1", "sect283r1" };
+        int count = 200;
+
+        for (int n = 0; n < names.length; ++n)
+        {
+            X9ECParameters[] x9s = new X9ECParameters[]{ ECNamedCurveTable.getByName(names[n]),
+                CustomNamedCurves.getByName(names[n]) };
+
+            for (int j = 0; j < x9s.length; ++j)
+            {
+                X9ECParameters x9 = x9s[j];
+                if (x9 == null)
+                {
+                    continue;
+                }
+
+                ECPoint[] points = new ECPoint[count];
+                BigInteger[] scalars = new BigInteger[count];
+                ECPoint u = x9.getCurve().getInfinity();
+
+                for (int i = 0; i < count; ++i)
+                {
+                    points[i] = getRandomPoint(x9);
+                    scalars[i] = getRandomScalar(x9);
+
+                    // include some negative and zero scalars, and a repeated point
+                    if (i % 7 == 3)
+                    {
+                        scalars[i] = scalars[i].negate();
+                    }
+                    else if (i % 31 == 5)
+                    {
+                        scalars[i] = BigInteger.valueOf(0);
+                    }
+                    else if (i % 17 == 16)
+                    {
+                        points[i] = points[i - 1];
+                    }
+
+                    u = u.add(points[i].multiply(scalars[i]));
+                }
+
+                ECPoint v = ECAlgorithms.sumOfMultiplies(points, scalars);
+
+                ECPoint[] results = new ECPoint[]{ u, v };
+                x9.getCurve().normalizeAll(results);
+
+                assertPointsEqual("ECAlgorithms.sumOfMultiplies is incorrect for " + names[n], results[0], results[1]);
+            }
+        }
+    }
+
     public void testSumOfTwoMultiplies()
     {
         ArrayList x9s = getTestCurves();
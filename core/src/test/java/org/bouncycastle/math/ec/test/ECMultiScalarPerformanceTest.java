@@ -0,0 +1,118 @@
+package org.bouncycastle.math.ec.test;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+
+import junit.framework.TestCase;
+import org.bouncycastle.asn1.x9.ECNamedCurveTable;
+import org.bouncycastle.asn1.x9.X9ECParameters;
+import org.bouncycastle.crypto.ec.CustomNamedCurves;
+import org.bouncycastle.math.ec.ECAlgorithms;
+import org.bouncycastle.math.ec.ECPoint;
+
+/**
+ * Compares ECAlgorithms.sumOfMultiplies() on a whole set of points against summing the results for
+ * small slices of it, which are always done using interleaved window NAF. The ratio shows where
+ * the bucket method used for large sets overtakes the window NAF method.
+ */
+public class ECMultiScalarPerformanceTest extends TestCase
+{
+    static final int SLICE = 32;
+    static final int NUM_ROUNDS = 5;
+
+    static final int[] SIZES = new int[]{ 32, 64, 128, 192, 256, 384, 512, 1024 };
+
+    private void sumOfMultiplies(String label, X9ECParameters x9) throws Exception
+    {
+        SecureRandom random = new SecureRandom();
+
+        System.out.println(label);
+
+        for (int s = 0; s < SIZES.length; ++s)
+        {
+            int count = SIZES[s];
+
+            ECPoint[] ps = new ECPoint[count];
+            BigInteger[] ks = new BigInteger[count];
+            for (int i = 0; i < count; ++i)
+            {
+                ps[i] = x9.getG().multiply(new BigInteger(x9.getN().bitLength(), random)).normalize();
+                ks[i] = new BigInteger(x9.getN().bitLength(), random);
+            }
+
+            // warm up
+            sumInSlices(ps, ks);
+            ECAlgorithms.sumOfMultiplies(ps, ks);
+
+            long sliced = 0, whole = 0;
+            for (int r = 0; r < NUM_ROUNDS; ++r)
+            {
+                long startTime = System.nanoTime();
+                ECPoint u = sumInSlices(ps, ks);
+                long midTime = System.nanoTime();
+                ECPoint v = ECAlgorithms.sumOfMultiplies(ps, ks);
+                long endTime = System.nanoTime();
+
+                assertEquals(u.normalize(), v.normalize());
+
+                sliced += midTime - startTime;
+                whole += endTime - midTime;
+            }
+
+            StringBuffer sb = new StringBuffer();
+            sb.append("   ");
+            sb.append(count);
+            sb.append(" points: sliced ");
+            sb.append(sliced / (NUM_ROUNDS * 1000L));
+            sb.append("us, whole ");
+            sb.append(whole / (NUM_ROUNDS * 1000L));
+            sb.append("us, ratio ");
+            sb.append((double)sliced / whole);
+            System.out.println(sb);
+        }
+    }
+
+    private static ECPoint sumInSlices(ECPoint[] ps, BigInteger[] ks)
+    {
+        ECPoint result = ps[0].getCurve().getInfinity();
+
+        for (int off = 0; off < ps.length; off += SLICE)
+        {
+            int len = Math.min(SLICE, ps.length - off);
+
+            ECPoint[] slicePs = new ECPoint[len];
+            BigInteger[] sliceKs = new BigInteger[len];
+            System.arraycopy(ps, off, slicePs, 0, len);
+            System.arraycopy(ks, off, sliceKs, 0, len);
+
+            result = result.add(ECAlgorithms.sumOfMultiplies(slicePs, sliceKs));
+        }
+
+        return result;
+    }
+
+    public void testMultiply() throws Exception
+    {
+        String[] names = new String[]{ "secp256r1", "secp256k1", "secp384r1", "sect283k1" };
+
+        for (int i = 0; i < names.length; ++i)
+        {
+            X9ECParameters x9 = ECNamedCurveTable.getByName(names[i]);
+            if (x9 != null)
+            {
+                sumOfMultiplies(names[i], x9);
+            }
+
+            x9 = CustomNamedCurves.getByName(names[i]);
+            if (x9 != null)
+            {
+                sumOfMultiplies(names[i] + " (custom)", x9);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        new ECMultiScalarPerformanceTest().testMultiply();
+    }
+}
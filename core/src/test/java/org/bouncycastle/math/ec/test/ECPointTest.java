@@ -20,6 +20,9 @@
 import org.bouncycastle.math.ec.ECCurve;
 import org.bouncycastle.math.ec.ECFieldElement;
 import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.FixedPointCombMultiplier;
+import org.bouncycastle.math.ec.FixedPointPreCompInfo;
+import org.bouncycastle.math.ec.FixedPointUtil;
 import org.bouncycastle.util.BigIntegers;
 
 /**
@@ -497,6 +500,113 @@ public void testAddSubtractMultiplyTwiceEncoding()
         }
     }
 
+    /**
+     * Multiply a shared, freshly created, point from several threads at once so the
+     * precomputations for it are built and installed concurrently.
+     */
+    public void testConcurrentPrecomputation()
+        throws Exception
+    {
+        X9ECParameters x9 = CustomNamedCurves.getByName("secp256r1");
+        ECCurve c = x9.getCurve();
+        final ECPoint g = c.createPoint(x9.getG().getAffineXCoord().toBigInteger(), x9.getG().getAffineYCoord().toBigInteger());
+        final BigInteger n = x9.getN();
+
+        final BigInteger[] ks = new BigInteger[8];
+        final ECPoint[] refs = new ECPoint[ks.length];
+        for (int i = 0; i < ks.length; ++i)
+        {
+            ks[i] = new BigInteger(n.bitLength() - 1, secRand);
+            refs[i] = ECAlgorithms.referenceMultiply(g, ks[i]).normalize();
+        }
+
+        final Throwable[] failure = new Throwable[1];
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; ++t)
+        {
+            final int offset = t;
+            threads[t] = new Thread()
+            {
+                public void run()
+                {
+                    try
+                    {
+                        for (int i = 0; i < ks.length; ++i)
+                        {
+                            int j = (i + offset) % ks.length;
+                            assertPointsEqual("concurrent multiply is incorrect", refs[j], g.multiply(ks[j]).normalize());
+                            assertPointsEqual("concurrent fixed point multiply is incorrect", refs[j],
+                                new FixedPointCombMultiplier().multiply(g, ks[j]).normalize());
+                        }
+                    }
+                    catch (Throwable e)
+                    {
+                        failure[0] = e;
+                    }
+                }
+            };
+        }
+
+        for (int t = 0; t < threads.length; ++t)
+        {
+            threads[t].start();
+        }
+        for (int t = 0; t < threads.length; ++t)
+        {
+            threads[t].join();
+        }
+
+        if (failure[0] != null)
+        {
+            fail("concurrent precomputation failed: " + failure[0]);
+        }
+    }
+
+    /**
+     * Check the fixed-point tables built into the custom curves against the combinations of
+     * powers of the base point they should hold.
+     */
+    public void testBuiltInFixedPointTables()
+    {
+        String[] names = new String[]{ "curve25519", "secp256k1", "secp256r1", "secp384r1" };
+
+        for (int n = 0; n < names.length; ++n)
+        {
+            X9ECParameters x9 = CustomNamedCurves.getByName(names[n]);
+            ECPoint g = x9.getG();
+
+            int size = FixedPointUtil.getCombSize(g.getCurve());
+            FixedPointPreCompInfo info = FixedPointUtil.precompute(g, size > 257 ? 6 : 5);
+            ECPoint[] table = info.getPreComp();
+            int width = info.getWidth();
+            int d = (size + width - 1) / width;
+
+            assertEquals(1 << width, table.length);
+
+            for (int i = 0; i < table.length; ++i)
+            {
+                BigInteger k = ECConstants.ZERO;
+                for (int bit = 0; bit < width; ++bit)
+                {
+                    if ((i & (1 << bit)) != 0)
+                    {
+                        k = k.setBit(bit * d);
+                    }
+                }
+
+                assertPointsEqual("built-in table incorrect for " + names[n], ECAlgorithms.referenceMultiply(g, k).normalize(), table[i]);
+            }
+
+            // any other point still gets a computed table
+            ECPoint p = g.twice().normalize();
+            BigInteger k = new BigInteger(x9.getN().bitLength() - 1, secRand);
+            assertPointsEqual("fixed point multiply incorrect for " + names[n], ECAlgorithms.referenceMultiply(p, k).normalize(),
+                new FixedPointCombMultiplier().multiply(p, k).normalize());
+            assertPointsEqual("base point multiply incorrect for " + names[n], ECAlgorithms.referenceMultiply(g, k).normalize(),
+                new FixedPointCombMultiplier().multiply(g, k).normalize());
+        }
+    }
+
     private List enumToList(Enumeration en)
     {
         List rv = new ArrayList();
@@ -465,6 +465,45 @@ else if (c == '-')        // end of record reached
         return c;
     }
     
+    /**
+     * Read up to len bytes of decoded data into b, starting at off.
+     * <p>
+     * Note: unlike the default InputStream implementation an IOException, such as a failed
+     * CRC check, is always passed on rather than being discarded once some bytes have been read.
+     * </p>
+     * @param b the buffer to read into.
+     * @param off offset into b the data is to start at.
+     * @param len maximum number of bytes to read.
+     * @return the number of bytes read, -1 if at the end of the armored data.
+     */
+    public int read(
+        byte[] b,
+        int    off,
+        int    len)
+        throws IOException
+    {
+        int pos = 0;
+
+        while (pos < len)
+        {
+            int c = read();
+
+            if (c < 0)
+            {
+                break;
+            }
+
+            b[off + pos++] = (byte)c;
+        }
+
+        if (pos == 0 && len > 0)
+        {
+            return -1;
+        }
+
+        return pos;
+    }
+
     public void close()
         throws IOException
     {
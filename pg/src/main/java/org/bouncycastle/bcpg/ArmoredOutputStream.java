@@ -76,6 +76,7 @@ private void encode(
 
     OutputStream    out;
     int[]           buf = new int[3];
+    byte[]          encBuf;
     int             bufPtr = 0;
     CRC24           crc = new CRC24();
     int             chunkCount = 0;
@@ -359,6 +360,80 @@ public void write(
         buf[bufPtr++] = b & 0xff;
     }
 
+    public void write(
+        byte[] b,
+        int    off,
+        int    len)
+        throws IOException
+    {
+        if (clearText)
+        {
+            for (int i = 0; i != len; i++)
+            {
+                this.write(b[off + i] & 0xff);
+            }
+            return;
+        }
+
+        if (len > 0 && start)
+        {
+            this.write(b[off] & 0xff);   // writes the headers
+            off++;
+            len--;
+        }
+
+        if (len <= 0)
+        {
+            return;
+        }
+
+        crc.update(b, off, len);
+
+        if (encBuf == null)
+        {
+            encBuf = new byte[4096];
+        }
+
+        int end = off + len;
+        int encOff = 0;
+        int limit = encBuf.length - 4 - nl.length();
+
+        while (off < end)
+        {
+            if (bufPtr == 3)
+            {
+                int d1 = buf[0], d2 = buf[1], d3 = buf[2];
+
+                encBuf[encOff++] = encodingTable[(d1 >>> 2) & 0x3f];
+                encBuf[encOff++] = encodingTable[((d1 << 4) | (d2 >>> 4)) & 0x3f];
+                encBuf[encOff++] = encodingTable[((d2 << 2) | (d3 >>> 6)) & 0x3f];
+                encBuf[encOff++] = encodingTable[d3 & 0x3f];
+
+                bufPtr = 0;
+                if ((++chunkCount & 0xf) == 0)
+                {
+                    for (int i = 0; i != nl.length(); i++)
+                    {
+                        encBuf[encOff++] = (byte)nl.charAt(i);
+                    }
+                }
+
+                if (encOff > limit)
+                {
+                    out.write(encBuf, 0, encOff);
+                    encOff = 0;
+                }
+            }
+
+            buf[bufPtr++] = b[off++] & 0xff;
+        }
+
+        if (encOff > 0)
+        {
+            out.write(encBuf, 0, encOff);
+        }
+    }
+
     public void flush()
         throws IOException
     {
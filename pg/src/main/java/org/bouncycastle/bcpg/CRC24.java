@@ -4,9 +4,48 @@
 {
     private static final int CRC24_INIT = 0x0b704ce;
     private static final int CRC24_POLY = 0x1864cfb;
-                                                                                
+
+    /*
+     * TABLES[n][x] is the register obtained by running x through the polynomial followed by n zero
+     * bytes, allowing six input bytes at a time to be folded in with independent lookups.
+     */
+    private static final int[][] TABLES = new int[6][256];
+
+    static
+    {
+        for (int i = 0; i < 256; i++)
+        {
+            int crc = i << 16;
+            for (int j = 0; j < 8; j++)
+            {
+                crc <<= 1;
+                if ((crc & 0x1000000) != 0)
+                {
+                    crc ^= CRC24_POLY;
+                }
+            }
+            TABLES[0][i] = crc;
+        }
+
+        for (int n = 1; n < TABLES.length; n++)
+        {
+            for (int i = 0; i < 256; i++)
+            {
+                int crc = TABLES[n - 1][i];
+                TABLES[n][i] = ((crc << 8) ^ TABLES[0][crc >>> 16]) & 0xffffff;
+            }
+        }
+    }
+
+    private static final int[] T0 = TABLES[0];
+    private static final int[] T1 = TABLES[1];
+    private static final int[] T2 = TABLES[2];
+    private static final int[] T3 = TABLES[3];
+    private static final int[] T4 = TABLES[4];
+    private static final int[] T5 = TABLES[5];
+
     private int crc = CRC24_INIT;
-                                                                                
+
     public CRC24()
     {
     }
@@ -14,15 +53,40 @@ public CRC24()
     public void update(
         int b)
     {
-        crc ^= b << 16;
-        for (int i = 0; i < 8; i++)
+        crc = ((crc << 8) ^ T0[((crc >>> 16) ^ b) & 0xff]) & 0xffffff;
+    }
+
+    /**
+     * Update the checksum with len bytes from buf starting at off.
+     *
+     * @param buf the data to add.
+     * @param off offset into buf the data starts at.
+     * @param len number of bytes to add.
+     */
+    public void update(
+        byte[] buf,
+        int    off,
+        int    len)
+    {
+        int c = crc;
+        int end = off + len;
+
+        while (end - off >= 6)
         {
-            crc <<= 1;
-            if ((crc & 0x1000000) != 0)
-            {
-                crc ^= CRC24_POLY;
-            }
+            int a = c ^ ((buf[off] & 0xff) << 16) ^ ((buf[off + 1] & 0xff) << 8) ^ (buf[off + 2] & 0xff);
+
+            c = T5[a >>> 16] ^ T4[(a >>> 8) & 0xff] ^ T3[a & 0xff]
+              ^ T2[buf[off + 3] & 0xff] ^ T1[buf[off + 4] & 0xff] ^ T0[buf[off + 5] & 0xff];
+
+            off += 6;
         }
+
+        while (off < end)
+        {
+            c = ((c << 8) ^ T0[((c >>> 16) ^ buf[off++]) & 0xff]) & 0xffffff;
+        }
+
+        crc = c;
     }
 
     public int getValue()
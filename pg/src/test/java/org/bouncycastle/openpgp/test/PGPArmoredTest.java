@@ -5,6 +5,7 @@
 
 import org.bouncycastle.bcpg.ArmoredInputStream;
 import org.bouncycastle.bcpg.ArmoredOutputStream;
+import org.bouncycastle.bcpg.CRC24;
 import org.bouncycastle.openpgp.jcajce.JcaPGPObjectFactory;
 import org.bouncycastle.util.Arrays;
 import org.bouncycastle.util.Strings;
@@ -108,6 +109,94 @@ private void blankLineTest() throws Exception
         }
     }
 
+    private void bulkTest() throws Exception
+    {
+        byte[] data = new byte[1000];
+        for (int i = 0; i != data.length; i++)
+        {
+            data[i] = (byte)(i * 7 + (i >> 3));
+        }
+
+        for (int len = 1; len <= data.length; len += (len < 200) ? 1 : 47)
+        {
+            ByteArrayOutputStream bOut = new ByteArrayOutputStream();
+            ArmoredOutputStream aOut = new ArmoredOutputStream(bOut);
+
+            for (int i = 0; i != len; i++)
+            {
+                aOut.write(data[i] & 0xff);
+            }
+            aOut.close();
+
+            byte[] expected = bOut.toByteArray();
+
+            bOut = new ByteArrayOutputStream();
+            aOut = new ArmoredOutputStream(bOut);
+
+            // odd sized chunks, with the first byte on its own
+            aOut.write(data, 0, 1);
+            for (int off = 1; off < len; off += 5)
+            {
+                aOut.write(data, off, Math.min(5, len - off));
+            }
+            aOut.close();
+
+            if (!Arrays.areEqual(expected, bOut.toByteArray()))
+            {
+                fail("bulk write output differs for length " + len);
+            }
+
+            ArmoredInputStream aIn = new ArmoredInputStream(new ByteArrayInputStream(expected));
+            byte[] buf = new byte[len + 10];
+            int count = 0, n;
+
+            while ((n = aIn.read(buf, count, buf.length - count)) > 0)
+            {
+                count += n;
+            }
+
+            if (count != len || !Arrays.areEqual(Arrays.copyOfRange(data, 0, len), Arrays.copyOfRange(buf, 0, count)))
+            {
+                fail("bulk read failed for length " + len);
+            }
+
+            CRC24 bulk = new CRC24();
+            CRC24 single = new CRC24();
+
+            bulk.update(data, 0, len);
+            for (int i = 0; i != len; i++)
+            {
+                single.update(data[i] & 0xff);
+            }
+
+            if (bulk.getValue() != single.getValue() || bulk.getValue() != crc24(data, len))
+            {
+                fail("CRC24 mismatch for length " + len);
+            }
+        }
+    }
+
+    // reference bitwise CRC-24 from RFC 4880, section 6.1
+    private static int crc24(byte[] data, int len)
+    {
+        int crc = 0xB704CE;
+
+        for (int i = 0; i != len; i++)
+        {
+            crc ^= (data[i] & 0xff) << 16;
+            for (int j = 0; j < 8; j++)
+            {
+                crc <<= 1;
+                if ((crc & 0x1000000) != 0)
+                {
+                    crc ^= 0x1864CFB;
+                }
+            }
+        }
+
+        return crc & 0xFFFFFF;
+    }
+
     public void performTest()
         throws Exception
     {
@@ -240,6 +329,7 @@ public void performTest()
         }
 
         blankLineTest();
+        bulkTest();
     }
 
     public String getName()
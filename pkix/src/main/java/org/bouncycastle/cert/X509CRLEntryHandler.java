@@ -0,0 +1,19 @@
+package org.bouncycastle.cert;
+
+import java.io.IOException;
+
+/**
+ * Callback interface for receiving the revoked certificate entries of a CRL as
+ * they are read by an X509CRLStreamParser.
+ */
+public interface X509CRLEntryHandler
+{
+    /**
+     * Handle the next entry in the revoked certificates list.
+     *
+     * @param entry the CRL entry just read.
+     * @throws IOException if the handler is unable to process the entry - this will abort the parse.
+     */
+    void handleEntry(X509CRLEntryHolder entry)
+        throws IOException;
+}
@@ -0,0 +1,256 @@
+package org.bouncycastle.cert;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+
+/**
+ * A compact index of the serial numbers revoked by a CRL. The serial numbers are held as
+ * their encodings in a single byte array together with an open addressing hash table of
+ * offsets, rather than as CRL entry objects, so very large CRLs can be checked in constant
+ * time without the memory overhead of keeping the CRL itself.
+ * <p>
+ * An index is usually created by passing an X509CRLSerialIndex.Builder to an X509CRLStreamParser.
+ * </p>
+ */
+public class X509CRLSerialIndex
+{
+    private final byte[] serials;
+    private final int[] offsets;
+    private final int[] issuerIds;
+    private final GeneralNames[] issuers;
+    private final int[] table;
+    private final int size;
+
+    private X509CRLSerialIndex(byte[] serials, int[] offsets, int size, int[] issuerIds, GeneralNames[] issuers)
+    {
+        this.serials = serials;
+        this.offsets = offsets;
+        this.size = size;
+        this.issuerIds = issuerIds;
+        this.issuers = issuers;
+
+        int tableSize = 2;
+        while (tableSize < size * 2)
+        {
+            tableSize <<= 1;
+        }
+
+        this.table = new int[tableSize];
+
+        int mask = tableSize - 1;
+        for (int i = 0; i != size; i++)
+        {
+            int pos = hash(serials, offsets[i], offsets[i + 1] - offsets[i]) & mask;
+            while (table[pos] != 0)
+            {
+                pos = (pos + 1) & mask;
+            }
+            table[pos] = i + 1;
+        }
+    }
+
+    /**
+     * Return the number of entries in the index.
+     *
+     * @return the number of revoked certificates indexed.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Return whether a certificate with the passed in serial number was revoked by any of the
+     * issuers covered by the CRL.
+     *
+     * @param serialNumber the serial number of interest.
+     * @return true if the serial number is on the CRL, false otherwise.
+     */
+    public boolean isRevoked(BigInteger serialNumber)
+    {
+        return findEntry(serialNumber.toByteArray(), null) >= 0;
+    }
+
+    /**
+     * Return whether the certificate with the passed in issuer and serial number was revoked
+     * by the CRL, taking certificateIssuer entry extensions into account.
+     *
+     * @param issuer the issuer of the certificate of interest.
+     * @param serialNumber the serial number of interest.
+     * @return true if the certificate is on the CRL, false otherwise.
+     */
+    public boolean isRevoked(X500Name issuer, BigInteger serialNumber)
+    {
+        return findEntry(serialNumber.toByteArray(), new GeneralName(issuer)) >= 0;
+    }
+
+    private int findEntry(byte[] serial, GeneralName issuer)
+    {
+        int mask = table.length - 1;
+        int pos = hash(serial, 0, serial.length) & mask;
+        int index;
+
+        while ((index = table[pos]) != 0)
+        {
+            int entry = index - 1;
+
+            if (isEqual(serial, entry) && (issuer == null || isIssuer(issuer, entry)))
+            {
+                return entry;
+            }
+
+            pos = (pos + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    private boolean isEqual(byte[] serial, int entry)
+    {
+        int off = offsets[entry];
+
+        if (offsets[entry + 1] - off != serial.length)
+        {
+            return false;
+        }
+
+        for (int i = 0; i != serial.length; i++)
+        {
+            if (serials[off + i] != serial[i])
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isIssuer(GeneralName issuer, int entry)
+    {
+        GeneralName[] names = issuers[issuerIds == null ? 0 : issuerIds[entry]].getNames();
+
+        for (int i = 0; i != names.length; i++)
+        {
+            if (issuer.equals(names[i]))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static int hash(byte[] data, int off, int len)
+    {
+        int h = len;
+
+        for (int i = 0; i != len; i++)
+        {
+            h = h * 31 + data[off + i];
+        }
+
+        // spread the low bits, serial numbers are often sequential.
+        h ^= (h >>> 16);
+        h *= 0x85ebca6b;
+        h ^= (h >>> 13);
+
+        return h;
+    }
+
+    /**
+     * Builder for an X509CRLSerialIndex, collecting entries as they are passed to it by an X509CRLStreamParser.
+     */
+    public static class Builder
+        implements X509CRLEntryHandler
+    {
+        private byte[] serials = new byte[1024];
+        private int[] offsets = new int[65];
+        private int[] issuerIds = new int[64];
+        private List issuers = new ArrayList();
+        private int count = 0;
+
+        public void handleEntry(X509CRLEntryHolder entry)
+        {
+            addEntry(entry.getCertificateIssuer(), entry.getSerialNumber());
+        }
+
+        /**
+         * Add a revoked certificate to the index.
+         *
+         * @param issuer the issuer of the revoked certificate.
+         * @param serialNumber the serial number of the revoked certificate.
+         * @return the current builder.
+         */
+        public Builder addEntry(GeneralNames issuer, BigInteger serialNumber)
+        {
+            byte[] serial = serialNumber.toByteArray();
+            int off = offsets[count];
+
+            if (count + 1 == issuerIds.length)
+            {
+                issuerIds = grow(issuerIds);
+                offsets = grow(offsets);
+            }
+
+            if (off + serial.length > serials.length)
+            {
+                byte[] tmp = new byte[Math.max(serials.length * 2, off + serial.length)];
+                System.arraycopy(serials, 0, tmp, 0, off);
+                serials = tmp;
+            }
+
+            System.arraycopy(serial, 0, serials, off, serial.length);
+
+            // issuer changes come in runs, so only the last one needs to be checked.
+            int last = issuers.size() - 1;
+            if (last < 0 || !issuers.get(last).equals(issuer))
+            {
+                int id = issuers.indexOf(issuer);
+                if (id < 0)
+                {
+                    issuers.add(issuer);
+                    id = issuers.size() - 1;
+                }
+                issuerIds[count] = id;
+            }
+            else
+            {
+                issuerIds[count] = last;
+            }
+
+            offsets[++count] = off + serial.length;
+
+            return this;
+        }
+
+        public X509CRLSerialIndex build()
+        {
+            byte[] s = new byte[offsets[count]];
+            int[] o = new int[count + 1];
+
+            System.arraycopy(serials, 0, s, 0, s.length);
+            System.arraycopy(offsets, 0, o, 0, o.length);
+
+            int[] ids = null;
+            if (issuers.size() > 1)
+            {
+                ids = new int[count];
+                System.arraycopy(issuerIds, 0, ids, 0, count);
+            }
+
+            return new X509CRLSerialIndex(s, o, count, ids, (GeneralNames[])issuers.toArray(new GeneralNames[issuers.size()]));
+        }
+
+        private static int[] grow(int[] array)
+        {
+            int[] tmp = new int[array.length * 2];
+            System.arraycopy(array, 0, tmp, 0, array.length);
+            return tmp;
+        }
+    }
+}
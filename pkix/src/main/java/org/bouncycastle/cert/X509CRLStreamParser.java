@@ -0,0 +1,471 @@
+package org.bouncycastle.cert;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import org.bouncycastle.asn1.ASN1Encodable;
+import org.bouncycastle.asn1.ASN1GeneralizedTime;
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.bouncycastle.asn1.ASN1SequenceParser;
+import org.bouncycastle.asn1.ASN1StreamParser;
+import org.bouncycastle.asn1.ASN1TaggedObject;
+import org.bouncycastle.asn1.ASN1TaggedObjectParser;
+import org.bouncycastle.asn1.ASN1UTCTime;
+import org.bouncycastle.asn1.DERBitString;
+import org.bouncycastle.asn1.InMemoryRepresentable;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.IssuingDistributionPoint;
+import org.bouncycastle.asn1.x509.TBSCertList;
+import org.bouncycastle.asn1.x509.Time;
+import org.bouncycastle.operator.ContentVerifier;
+import org.bouncycastle.operator.ContentVerifierProvider;
+
+/**
+ * Streaming parser for an X.509 CRL structure. Unlike X509CRLHolder the revoked certificates
+ * list is never held in memory - each entry is passed to an X509CRLEntryHandler as it is read
+ * and then discarded, and the signature, if required, is verified as the TBSCertList goes past.
+ * <p>
+ * Note: the entries are passed to the handler before the signature has been checked, so nothing
+ * should be trusted until parse() has returned true. As the IssuingDistributionPoint extension
+ * follows the revoked certificates list, the certificate issuer reported for an entry follows any
+ * certificateIssuer entry extensions as they are encountered - use isIndirectCRL() once the parse
+ * is complete to check these were meaningful.
+ * </p>
+ */
+public class X509CRLStreamParser
+{
+    private final InputStream crlStream;
+
+    private boolean parsed;
+    private int version;
+    private X500Name issuer;
+    private Time thisUpdate;
+    private Time nextUpdate;
+    private Extensions extensions;
+
+    /**
+     * Create a parser reading a BER/DER encoded CRL from the passed in InputStream.
+     *
+     * @param crlStream the stream containing the CRL.
+     */
+    public X509CRLStreamParser(InputStream crlStream)
+    {
+        this.crlStream = crlStream;
+    }
+
+    /**
+     * Parse the CRL, passing each revoked certificate entry to handler, without checking the signature.
+     *
+     * @param handler the handler for the CRL entries.
+     * @throws IOException in the event of corrupted data, or an incorrect structure.
+     */
+    public void parse(X509CRLEntryHandler handler)
+        throws IOException
+    {
+        try
+        {
+            parse(null, handler);
+        }
+        catch (CertException e)
+        {
+            // only happens with a verifier provider.
+            throw new CertIOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parse the CRL, passing each revoked certificate entry to handler and verifying
+     * the signature as the CRL is read.
+     *
+     * @param verifierProvider a ContentVerifierProvider that can generate a verifier for the signature, null if
+     *                         the signature is not to be checked.
+     * @param handler the handler for the CRL entries.
+     * @return true if the signature is valid (or not checked), false otherwise.
+     * @throws IOException in the event of corrupted data, or an incorrect structure.
+     * @throws CertException if the signature cannot be processed or is inappropriate.
+     */
+    public boolean parse(ContentVerifierProvider verifierProvider, X509CRLEntryHandler handler)
+        throws IOException, CertException
+    {
+        if (parsed)
+        {
+            throw new IllegalStateException("CRL stream already parsed");
+        }
+        parsed = true;
+
+        try
+        {
+            return parseCRL(verifierProvider, handler);
+        }
+        catch (ClassCastException e)
+        {
+            throw new CertIOException("malformed data: " + e.getMessage(), e);
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new CertIOException("malformed data: " + e.getMessage(), e);
+        }
+    }
+
+    private boolean parseCRL(ContentVerifierProvider verifierProvider, X509CRLEntryHandler handler)
+        throws IOException, CertException
+    {
+        TeeInputStream tIn = new TeeInputStream(crlStream);
+        ASN1SequenceParser certList = (ASN1SequenceParser)new ASN1StreamParser(tIn).readObject();
+
+        if (certList == null)
+        {
+            throw new CertIOException("no CRL found in stream");
+        }
+
+        // the TBSCertList header and algorithm identifier need to be held until we know what verifier to use.
+        ByteArrayOutputStream tbsStart = new ByteArrayOutputStream();
+
+        if (verifierProvider != null)
+        {
+            tIn.setOutput(tbsStart);
+        }
+
+        ASN1SequenceParser tbs = (ASN1SequenceParser)certList.readObject();
+        ASN1Encodable obj = tbs.readObject();
+
+        if (obj instanceof ASN1Integer)
+        {
+            version = ((ASN1Integer)obj).getValue().intValue() + 1;
+            obj = tbs.readObject();
+        }
+        else
+        {
+            version = 1;
+        }
+
+        AlgorithmIdentifier tbsSignature = AlgorithmIdentifier.getInstance(load(obj));
+
+        ContentVerifier verifier = null;
+        OutputStream sOut = null;
+
+        if (verifierProvider != null)
+        {
+            try
+            {
+                verifier = verifierProvider.get(tbsSignature);
+                sOut = verifier.getOutputStream();
+
+                sOut.write(tbsStart.toByteArray());
+            }
+            catch (Exception e)
+            {
+                throw new CertException("unable to process signature: " + e.getMessage(), e);
+            }
+
+            tIn.setOutput(sOut);
+        }
+
+        issuer = X500Name.getInstance(load(tbs.readObject()));
+        thisUpdate = Time.getInstance(load(tbs.readObject()));
+
+        obj = tbs.readObject();
+
+        if (obj instanceof ASN1UTCTime || obj instanceof ASN1GeneralizedTime)
+        {
+            nextUpdate = Time.getInstance(obj);
+            obj = tbs.readObject();
+        }
+
+        if (obj instanceof ASN1SequenceParser)
+        {
+            ASN1SequenceParser revoked = (ASN1SequenceParser)obj;
+            GeneralNames currentCA = new GeneralNames(new GeneralName(issuer));
+            ASN1Encodable entry;
+
+            while ((entry = revoked.readObject()) != null)
+            {
+                X509CRLEntryHolder crlEntry = new X509CRLEntryHolder(TBSCertList.CRLEntry.getInstance(load(entry)), true, currentCA);
+
+                if (handler != null)
+                {
+                    handler.handleEntry(crlEntry);
+                }
+
+                currentCA = crlEntry.getCertificateIssuer();
+            }
+
+            obj = tbs.readObject();
+        }
+
+        if (obj instanceof ASN1TaggedObjectParser)
+        {
+            ASN1TaggedObject tagged = (ASN1TaggedObject)load(obj);
+
+            if (tagged.getTagNo() != 0)
+            {
+                throw new CertIOException("unknown tag in TBSCertList: " + tagged.getTagNo());
+            }
+
+            extensions = Extensions.getInstance(tagged, true);
+            obj = tbs.readObject();
+        }
+
+        if (obj != null)
+        {
+            throw new CertIOException("unexpected object in TBSCertList");
+        }
+
+        tIn.setOutput(null);
+
+        AlgorithmIdentifier signatureAlgorithm = AlgorithmIdentifier.getInstance(load(certList.readObject()));
+        DERBitString signature = DERBitString.getInstance(load(certList.readObject()));
+
+        if (verifier == null)
+        {
+            return true;
+        }
+
+        if (!CertUtils.isAlgIdEqual(tbsSignature, signatureAlgorithm))
+        {
+            throw new CertException("signature invalid - algorithm identifier mismatch");
+        }
+
+        sOut.close();
+
+        return verifier.verify(signature.getBytes());
+    }
+
+    private static ASN1Primitive load(ASN1Encodable obj)
+        throws IOException
+    {
+        if (obj == null)
+        {
+            throw new CertIOException("truncated CRL structure");
+        }
+
+        if (obj instanceof InMemoryRepresentable)
+        {
+            return ((InMemoryRepresentable)obj).getLoadedObject();
+        }
+
+        return obj.toASN1Primitive();
+    }
+
+    private void checkParsed()
+    {
+        if (issuer == null)
+        {
+            throw new IllegalStateException("CRL stream not parsed");
+        }
+    }
+
+    /**
+     * Return the version number of the CRL.
+     *
+     * @return the CRL version.
+     */
+    public int getVersion()
+    {
+        checkParsed();
+
+        return version;
+    }
+
+    /**
+     * Return the issuer of the CRL.
+     *
+     * @return the CRL issuer.
+     */
+    public X500Name getIssuer()
+    {
+        checkParsed();
+
+        return issuer;
+    }
+
+    public Date getThisUpdate()
+    {
+        checkParsed();
+
+        return thisUpdate.getDate();
+    }
+
+    public Date getNextUpdate()
+    {
+        checkParsed();
+
+        if (nextUpdate != null)
+        {
+            return nextUpdate.getDate();
+        }
+
+        return null;
+    }
+
+    /**
+     * Return whether or not the CRL contains extensions.
+     *
+     * @return true if extension are present, false otherwise.
+     */
+    public boolean hasExtensions()
+    {
+        checkParsed();
+
+        return extensions != null;
+    }
+
+    /**
+     * Look up the extension associated with the passed in OID.
+     *
+     * @param oid the OID of the extension of interest.
+     *
+     * @return the extension if present, null otherwise.
+     */
+    public Extension getExtension(ASN1ObjectIdentifier oid)
+    {
+        checkParsed();
+
+        if (extensions != null)
+        {
+            return extensions.getExtension(oid);
+        }
+
+        return null;
+    }
+
+    /**
+     * Return the extensions block associated with the CRL if there is one.
+     *
+     * @return the extensions block, null otherwise.
+     */
+    public Extensions getExtensions()
+    {
+        checkParsed();
+
+        return extensions;
+    }
+
+    public List getExtensionOIDs()
+    {
+        checkParsed();
+
+        return CertUtils.getExtensionOIDs(extensions);
+    }
+
+    public Set getCriticalExtensionOIDs()
+    {
+        checkParsed();
+
+        return CertUtils.getCriticalExtensionOIDs(extensions);
+    }
+
+    public Set getNonCriticalExtensionOIDs()
+    {
+        checkParsed();
+
+        return CertUtils.getNonCriticalExtensionOIDs(extensions);
+    }
+
+    /**
+     * Return whether the CRL was marked as indirect in its IssuingDistributionPoint extension.
+     *
+     * @return true if the CRL is indirect, false otherwise.
+     */
+    public boolean isIndirectCRL()
+    {
+        checkParsed();
+
+        if (extensions == null)
+        {
+            return false;
+        }
+
+        Extension ext = extensions.getExtension(Extension.issuingDistributionPoint);
+
+        return ext != null && IssuingDistributionPoint.getInstance(ext.getParsedValue()).isIndirectCRL();
+    }
+
+    /**
+     * Copies everything read through it to an output stream when one is set, allowing the
+     * encoding of the TBSCertList to be fed to the verifier exactly as it was received.
+     */
+    private static class TeeInputStream
+        extends FilterInputStream
+    {
+        private OutputStream output;
+
+        TeeInputStream(InputStream in)
+        {
+            super(in);
+        }
+
+        void setOutput(OutputStream output)
+        {
+            this.output = output;
+        }
+
+        public int read()
+            throws IOException
+        {
+            int b = in.read();
+
+            if (b >= 0 && output != null)
+            {
+                output.write(b);
+            }
+
+            return b;
+        }
+
+        public int read(byte[] buf, int off, int len)
+            throws IOException
+        {
+            int count = in.read(buf, off, len);
+
+            if (count > 0 && output != null)
+            {
+                output.write(buf, off, count);
+            }
+
+            return count;
+        }
+
+        public long skip(long n)
+            throws IOException
+        {
+            if (output == null)
+            {
+                return in.skip(n);
+            }
+
+            byte[] buf = new byte[(int)Math.min(n, 4096)];
+            long total = 0;
+
+            while (total < n)
+            {
+                int count = read(buf, 0, (int)Math.min(n - total, buf.length));
+                if (count < 0)
+                {
+                    break;
+                }
+                total += count;
+            }
+
+            return total;
+        }
+
+        public boolean markSupported()
+        {
+            return false;
+        }
+    }
+}
@@ -52,4 +52,12 @@ public ASN1ObjectIdentifier getContentType()
     {
         return type;
     }
+
+    /**
+     * Return the underlying array without copying it.
+     */
+    byte[] getBytes()
+    {
+        return bytes;
+    }
 }
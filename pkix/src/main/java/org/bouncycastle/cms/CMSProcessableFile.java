@@ -3,20 +3,31 @@
 import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.bouncycastle.asn1.cms.CMSObjectIdentifiers;
 
 /**
  * a holding class for a file of data to be processed.
+ * <p>
+ * When the file is written out its contents are transferred directly if the target is a plain FileOutputStream,
+ * otherwise the file is memory mapped a region at a time and passed on in slices of up to 1MB. Files
+ * which report a size of 0, such as FIFOs, or which cannot be mapped are read as a stream. The file must
+ * not be truncated while it is being processed.
+ * </p>
  */
 public class CMSProcessableFile
     implements CMSTypedData, CMSReadable
 {
     private static final int DEFAULT_BUF_SIZE = 32 * 1024;
+    private static final long MAX_REGION_SIZE = 64 * 1024 * 1024;
+    private static final int MAX_SLICE_SIZE = 1024 * 1024;
 
     private final ASN1ObjectIdentifier type;
     private final File file;
@@ -55,14 +66,90 @@ public void write(OutputStream zOut)
         throws IOException, CMSException
     {
         FileInputStream     fIn = new FileInputStream(file);
-        int                 len;
-        
-        while ((len = fIn.read(buf, 0, buf.length)) > 0)
+
+        try
+        {
+            FileChannel     channel = fIn.getChannel();
+            long            size = channel.size();
+            long            pos = 0;
+
+            // FIFOs and files under /proc and /dev/fd report a size of 0, they are only read as a stream.
+            if (size > 0)
+            {
+                if (zOut.getClass() == FileOutputStream.class)
+                {
+                    pos = transfer(channel, size, ((FileOutputStream)zOut).getChannel());
+                }
+                else
+                {
+                    pos = writeMapped(channel, size, zOut);
+                }
+            }
+
+            // anything left over, because mapping failed or the file has grown, is read as a stream.
+            channel.position(pos);
+
+            int len;
+            while ((len = fIn.read(buf, 0, buf.length)) > 0)
+            {
+                zOut.write(buf, 0, len);
+            }
+        }
+        finally
+        {
+            fIn.close();
+        }
+    }
+
+    private static long transfer(FileChannel channel, long size, FileChannel target)
+        throws IOException
+    {
+        long pos = 0;
+
+        while (pos < size)
         {
-            zOut.write(buf, 0, len);
+            long count = channel.transferTo(pos, size - pos, target);
+            if (count <= 0)
+            {
+                break;
+            }
+            pos += count;
         }
-        
-        fIn.close();
+
+        return pos;
+    }
+
+    private long writeMapped(FileChannel channel, long size, OutputStream zOut)
+        throws IOException
+    {
+        byte[] slice = (size <= buf.length) ? buf : new byte[(int)Math.min(size, MAX_SLICE_SIZE)];
+        long pos = 0;
+
+        while (pos < size)
+        {
+            MappedByteBuffer region;
+            try
+            {
+                region = channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(MAX_REGION_SIZE, size - pos));
+            }
+            catch (IOException e)
+            {
+                // not mappable, the caller reads the rest as a stream.
+                return pos;
+            }
+
+            while (region.hasRemaining())
+            {
+                int len = Math.min(slice.length, region.remaining());
+
+                region.get(slice, 0, len);
+                zOut.write(slice, 0, len);
+            }
+
+            pos += region.capacity();
+        }
+
+        return pos;
     }
 
     /**
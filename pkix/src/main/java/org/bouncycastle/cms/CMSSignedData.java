@@ -5,6 +5,7 @@
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +22,7 @@
 import org.bouncycastle.asn1.cms.SignedData;
 import org.bouncycastle.asn1.cms.SignerInfo;
 import org.bouncycastle.operator.DefaultSignatureAlgorithmIdentifierFinder;
+import org.bouncycastle.operator.DigestCalculator;
 import org.bouncycastle.operator.OperatorCreationException;
 import org.bouncycastle.operator.SignatureAlgorithmIdentifierFinder;
 import org.bouncycastle.util.Store;
@@ -357,15 +359,38 @@ public boolean verifySignatures(SignerInformationVerifierProvider verifierProvid
     public boolean verifySignatures(SignerInformationVerifierProvider verifierProvider, boolean ignoreCounterSignatures)
         throws CMSException
     {
-        Collection signers = this.getSignerInfos().getSigners();
+        List signers = new ArrayList(this.getSignerInfos().getSigners());
+        List verifiers = new ArrayList(signers.size());
 
-        for (Iterator it = signers.iterator(); it.hasNext();)
+        for (int i = 0; i != signers.size(); i++)
         {
-            SignerInformation signer = (SignerInformation)it.next();
+            SignerInformation signer = (SignerInformation)signers.get(i);
 
             try
             {
-                SignerInformationVerifier verifier = verifierProvider.get(signer.getSID());
+                verifiers.add(verifierProvider.get(signer.getSID()));
+            }
+            catch (OperatorCreationException e)
+            {
+                // reported when the signer is reached below.
+                verifiers.add(null);
+            }
+        }
+
+        calculateContentDigests(signers, verifiers);
+
+        for (int i = 0; i != signers.size(); i++)
+        {
+            SignerInformation signer = (SignerInformation)signers.get(i);
+
+            try
+            {
+                SignerInformationVerifier verifier = (SignerInformationVerifier)verifiers.get(i);
+
+                if (verifier == null)
+                {
+                    verifier = verifierProvider.get(signer.getSID());
+                }
 
                 if (!signer.verify(verifier))
                 {
@@ -397,6 +422,85 @@ public boolean verifySignatures(SignerInformationVerifierProvider verifierProvid
         return true;
     }
 
+    /**
+     * Calculate the content digests needed by the passed in signers in a single pass over the content,
+     * so large content is only read once and is only digested once for each digest algorithm in use.
+     * Signers for which this cannot be done are left to calculate their own digest during verification.
+     */
+    void calculateContentDigests(List signers, List verifiers)
+    {
+        Map calculators = new HashMap();
+        List pending = new ArrayList();
+
+        for (int i = 0; i != signers.size(); i++)
+        {
+            SignerInformation signer = (SignerInformation)signers.get(i);
+            SignerInformationVerifier verifier = (SignerInformationVerifier)verifiers.get(i);
+
+            if (verifier == null || !signer.isContentDigestRequired(signedContent))
+            {
+                continue;
+            }
+
+            ASN1ObjectIdentifier digestAlg = signer.getDigestAlgorithmID().getAlgorithm();
+
+            if (!calculators.containsKey(digestAlg))
+            {
+                try
+                {
+                    calculators.put(digestAlg, verifier.getDigestCalculator(signer.getDigestAlgorithmID()));
+                }
+                catch (OperatorCreationException e)
+                {
+                    // verify() will report the problem.
+                    continue;
+                }
+            }
+
+            pending.add(signer);
+        }
+
+        if (pending.size() < 2)
+        {
+            return;
+        }
+
+        OutputStream digOut = null;
+
+        for (Iterator it = calculators.values().iterator(); it.hasNext();)
+        {
+            digOut = CMSUtils.getSafeTeeOutputStream(digOut, ((DigestCalculator)it.next()).getOutputStream());
+        }
+
+        try
+        {
+            signedContent.write(digOut);
+
+            digOut.close();
+        }
+        catch (Exception e)
+        {
+            // verify() will try again and report the problem.
+            return;
+        }
+
+        Map digests = new HashMap();
+
+        for (Iterator it = calculators.entrySet().iterator(); it.hasNext();)
+        {
+            Map.Entry entry = (Map.Entry)it.next();
+
+            digests.put(entry.getKey(), ((DigestCalculator)entry.getValue()).getDigest());
+        }
+
+        for (int i = 0; i != pending.size(); i++)
+        {
+            SignerInformation signer = (SignerInformation)pending.get(i);
+
+            signer.setContentDigest((byte[])digests.get(signer.getDigestAlgorithmID().getAlgorithm()));
+        }
+    }
+
     /**
      * Replace the SignerInformation store associated with this
      * CMSSignedData object with the new one passed in. You would
@@ -71,7 +71,10 @@ public CMSSignedData generate(
     /**
      * Generate a CMS Signed Data object which can be carrying a detached CMS signature, or have encapsulated data, depending on the value
      * of the encapsulated parameter.
-     *
+     * <p>
+     * Content passed in as a CMSProcessableByteArray is digested in a single pass and, if encapsulated,
+     * referenced by the resulting object rather than copied, so the array should not be modified afterwards.
+     * </p>
      * @param content the content to be signed.
      * @param encapsulate true if the content should be encapsulated in the signature, false otherwise.
      */
@@ -140,31 +143,28 @@ public CMSSignedData generate(
 
         ASN1OctetString octs = null;
 
-        if (content.getContent() != null)
+        if (content instanceof CMSProcessableByteArray && ((CMSProcessableByteArray)content).getBytes() != null)
         {
-            ByteArrayOutputStream bOut = null;
+            // the content is already in memory - digest it in place and encapsulate the
+            // original array rather than a copy of it.
+            writeToSigners(content, null);
 
             if (encapsulate)
             {
-                bOut = new ByteArrayOutputStream();
+                octs = new BEROctetString(((CMSProcessableByteArray)content).getBytes());
             }
+        }
+        else if (content.getContent() != null)
+        {
+            ByteArrayOutputStream bOut = null;
 
-            OutputStream cOut = CMSUtils.attachSignersToOutputStream(signerGens, bOut);
-
-            // Just in case it's unencapsulated and there are no signers!
-            cOut = CMSUtils.getSafeOutputStream(cOut);
-
-            try
-            {
-                content.write(cOut);
-
-                cOut.close();
-            }
-            catch (IOException e)
+            if (encapsulate)
             {
-                throw new CMSException("data processing exception: " + e.getMessage(), e);
+                bOut = new ByteArrayOutputStream();
             }
 
+            writeToSigners(content, bOut);
+
             if (encapsulate)
             {
                 octs = new BEROctetString(bOut.toByteArray());
@@ -216,6 +216,26 @@ public CMSSignedData generate(
         return new CMSSignedData(content, contentInfo);
     }
 
+    private void writeToSigners(CMSTypedData content, OutputStream out)
+        throws CMSException
+    {
+        OutputStream cOut = CMSUtils.attachSignersToOutputStream(signerGens, out);
+
+        // Just in case it's unencapsulated and there are no signers!
+        cOut = CMSUtils.getSafeOutputStream(cOut);
+
+        try
+        {
+            content.write(cOut);
+
+            cOut.close();
+        }
+        catch (IOException e)
+        {
+            throw new CMSException("data processing exception: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * generate a set of one or more SignerInformation objects representing counter signatures on
      * the passed in SignerInformation object.
@@ -66,7 +66,14 @@ public InputStream getContentStream()
     public void drain() 
         throws IOException
     {
-        Streams.drain(_in);
+        // read in large chunks, so any digests attached to the stream are fed as much as possible at a time.
+        byte[] buf = new byte[BUF_SIZ];
+
+        while (_in.read(buf, 0, buf.length) >= 0)
+        {
+            // ignore
+        }
+
         _in.close();
     }
 
@@ -5,8 +5,10 @@
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.bouncycastle.asn1.ASN1Encodable;
 import org.bouncycastle.asn1.ASN1EncodableVector;
@@ -23,6 +25,7 @@
 import org.bouncycastle.asn1.cms.OtherRevocationInfoFormat;
 import org.bouncycastle.asn1.ocsp.OCSPResponse;
 import org.bouncycastle.asn1.ocsp.OCSPResponseStatus;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
 import org.bouncycastle.cert.X509AttributeCertificateHolder;
 import org.bouncycastle.cert.X509CRLHolder;
 import org.bouncycastle.cert.X509CertificateHolder;
@@ -311,10 +314,28 @@ static InputStream attachDigestsToInputStream(Collection digests, InputStream s)
     static OutputStream attachSignersToOutputStream(Collection signers, OutputStream s)
     {
         OutputStream result = s;
+        Map digestSources = new HashMap();
         Iterator it = signers.iterator();
         while (it.hasNext())
         {
             SignerInfoGenerator signerGen = (SignerInfoGenerator)it.next();
+
+            // signers with signed attributes only need the content digest, so calculate each
+            // digest algorithm's once and share it.
+            if (signerGen.isContentDigestShareable())
+            {
+                AlgorithmIdentifier digAlg = signerGen.getDigestAlgorithm();
+                SignerInfoGenerator source = (SignerInfoGenerator)digestSources.get(digAlg);
+
+                if (source != null)
+                {
+                    signerGen.setContentDigestSource(source);
+                    continue;
+                }
+
+                digestSources.put(digAlg, signerGen);
+            }
+
             result = getSafeTeeOutputStream(result, signerGen.getCalculatingOutputStream());
         }
         return result;
@@ -0,0 +1,232 @@
+package org.bouncycastle.cms;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.bouncycastle.operator.OperatorCreationException;
+
+/**
+ * Verifier for the signers on a CMS SignedData object which runs the individual signature
+ * verifications concurrently on an Executor.
+ * <pre>
+ *      ParallelSignedDataVerifier verifier = new ParallelSignedDataVerifier(executor);
+ *      List results = verifier.verifySignatures(signedData, verifierProvider);
+ *
+ *      for (int i = 0; i != results.size(); i++)
+ *      {
+ *          SignerVerificationResult result = (SignerVerificationResult)results.get(i);
+ *
+ *          if (!result.isValid())
+ *          {
+ *              ...
+ *          }
+ *      }
+ * </pre>
+ */
+public class ParallelSignedDataVerifier
+{
+    private final Executor executor;
+
+    /**
+     * Base constructor.
+     *
+     * @param executor the executor to run the individual verifications on.
+     */
+    public ParallelSignedDataVerifier(Executor executor)
+    {
+        if (executor == null)
+        {
+            throw new IllegalArgumentException("executor cannot be null");
+        }
+
+        this.executor = executor;
+    }
+
+    /**
+     * Verify all the SignerInformation objects and their associated counter signatures attached
+     * to the passed in CMS SignedData object.
+     *
+     * @param signedData the SignedData to verify the signers of.
+     * @param verifierProvider  a provider of SignerInformationVerifier objects.
+     * @return a list of SignerVerificationResult, one for each signer in the order they appear.
+     * @throws CMSException  if the verification process is interrupted.
+     */
+    public List verifySignatures(CMSSignedData signedData, SignerInformationVerifierProvider verifierProvider)
+        throws CMSException
+    {
+        return verifySignatures(signedData, verifierProvider, false, false);
+    }
+
+    /**
+     * Verify all the SignerInformation objects and optionally their associated counter signatures attached
+     * to the passed in CMS SignedData object.
+     * <p>
+     * The verifierProvider is only called on the calling thread. If it returns the same
+     * SignerInformationVerifier for more than one signer, that verifier must support concurrent use.
+     * </p>
+     * @param signedData the SignedData to verify the signers of.
+     * @param verifierProvider  a provider of SignerInformationVerifier objects.
+     * @param ignoreCounterSignatures if true don't check counter signatures. If false check counter signatures as well.
+     * @param failFast if true, signatures not yet checked when one fails to verify are skipped.
+     * @return a list of SignerVerificationResult, one for each signer in the order they appear.
+     * @throws CMSException  if the verification process is interrupted.
+     */
+    public List verifySignatures(CMSSignedData signedData, SignerInformationVerifierProvider verifierProvider, boolean ignoreCounterSignatures, boolean failFast)
+        throws CMSException
+    {
+        Collection signers = signedData.getSignerInfos().getSigners();
+        AtomicBoolean failed = new AtomicBoolean(false);
+        List tasks = new ArrayList();
+        List signerTasks = new ArrayList();
+        List verifiers = new ArrayList();
+
+        // verifiers and counter signatures are found up front so the provider is never called concurrently.
+        for (Iterator it = signers.iterator(); it.hasNext();)
+        {
+            SignerInformation signer = (SignerInformation)it.next();
+            VerificationTask task = new VerificationTask(signer, verifierProvider, failFast, failed);
+
+            tasks.add(task);
+            signerTasks.add(task);
+            verifiers.add(task.verifier);
+
+            if (!ignoreCounterSignatures)
+            {
+                Collection counterSigners = signer.getCounterSignatures().getSigners();
+
+                for (Iterator cIt = counterSigners.iterator(); cIt.hasNext();)
+                {
+                    VerificationTask counterTask = new VerificationTask((SignerInformation)cIt.next(), verifierProvider, failFast, failed);
+
+                    tasks.add(counterTask);
+                    task.counterTasks.add(counterTask);
+                }
+            }
+        }
+
+        signedData.calculateContentDigests(new ArrayList(signers), verifiers);
+
+        CountDownLatch latch = new CountDownLatch(tasks.size());
+
+        for (int i = 0; i != tasks.size(); i++)
+        {
+            VerificationTask task = (VerificationTask)tasks.get(i);
+
+            task.latch = latch;
+
+            try
+            {
+                executor.execute(task);
+            }
+            catch (RejectedExecutionException e)
+            {
+                // executor is saturated or shut down - do the work here instead.
+                task.run();
+            }
+        }
+
+        try
+        {
+            latch.await();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new CMSException("interrupted waiting for signature verification: " + e.getMessage(), e);
+        }
+
+        List results = new ArrayList(signerTasks.size());
+
+        for (int i = 0; i != signerTasks.size(); i++)
+        {
+            results.add(((VerificationTask)signerTasks.get(i)).getResult());
+        }
+
+        return results;
+    }
+
+    private static class VerificationTask
+        implements Runnable
+    {
+        final SignerInformation signer;
+        final List counterTasks = new ArrayList();
+
+        private final boolean failFast;
+        private final AtomicBoolean failed;
+
+        SignerInformationVerifier verifier;
+
+        private CountDownLatch latch;
+        private boolean checked;
+        private boolean verified;
+        private CMSException exception;
+
+        VerificationTask(SignerInformation signer, SignerInformationVerifierProvider verifierProvider, boolean failFast, AtomicBoolean failed)
+        {
+            this.signer = signer;
+            this.failFast = failFast;
+            this.failed = failed;
+
+            try
+            {
+                this.verifier = verifierProvider.get(signer.getSID());
+            }
+            catch (OperatorCreationException e)
+            {
+                this.exception = new CMSException("failure in verifier provider: " + e.getMessage(), e);
+            }
+        }
+
+        public void run()
+        {
+            try
+            {
+                if (verifier != null && !(failFast && failed.get()))
+                {
+                    checked = true;
+
+                    try
+                    {
+                        verified = signer.verify(verifier);
+                    }
+                    catch (CMSException e)
+                    {
+                        exception = e;
+                    }
+                    catch (RuntimeException e)
+                    {
+                        exception = new CMSException("exception verifying signature: " + e.getMessage(), e);
+                    }
+                }
+
+                if (!verified && (checked || exception != null))
+                {
+                    failed.set(true);
+                }
+            }
+            finally
+            {
+                latch.countDown();
+            }
+        }
+
+        SignerVerificationResult getResult()
+        {
+            List counterResults = new ArrayList(counterTasks.size());
+
+            for (int i = 0; i != counterTasks.size(); i++)
+            {
+                counterResults.add(((VerificationTask)counterTasks.get(i)).getResult());
+            }
+
+            return new SignerVerificationResult(signer, checked, verified, exception, counterResults);
+        }
+    }
+}
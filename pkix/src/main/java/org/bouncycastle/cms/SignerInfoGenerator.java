@@ -37,6 +37,8 @@
 
     private byte[] calculatedDigest = null;
     private X509CertificateHolder certHolder;
+    private SignerInfoGenerator digestSource = null;
+    private byte[] contentDigest = null;
 
     SignerInfoGenerator(
         SignerIdentifier signerIdentifier,
@@ -153,6 +155,9 @@ public AlgorithmIdentifier getDigestAlgorithm()
     
     public OutputStream getCalculatingOutputStream()
     {
+        digestSource = null;
+        contentDigest = null;
+
         if (digester != null)
         {
             if (sAttrGen == null)
@@ -188,7 +193,7 @@ public SignerInfo generate(ASN1ObjectIdentifier contentType)
             if (sAttrGen != null)
             {
                 digestAlg = digester.getAlgorithmIdentifier();
-                calculatedDigest = digester.getDigest();
+                calculatedDigest = getContentDigest();
                 Map parameters = getBaseParameters(contentType, digester.getAlgorithmIdentifier(), calculatedDigest);
                 AttributeTable signed = sAttrGen.getAttributes(Collections.unmodifiableMap(parameters));
 
@@ -244,6 +249,41 @@ void setAssociatedCertificate(X509CertificateHolder certHolder)
         this.certHolder = certHolder;
     }
 
+    /**
+     * Return true if the content only goes to this generator's digest calculator, so the digest
+     * can be calculated by another generator using the same digest algorithm.
+     */
+    boolean isContentDigestShareable()
+    {
+        return digester != null && sAttrGen != null;
+    }
+
+    /**
+     * Take the content digest from source, which will have been given the content, rather than
+     * from our own digest calculator. This lasts until getCalculatingOutputStream() is next called.
+     */
+    void setContentDigestSource(SignerInfoGenerator source)
+    {
+        this.digestSource = source;
+        this.contentDigest = null;
+    }
+
+    private byte[] getContentDigest()
+    {
+        if (digestSource != null)
+        {
+            return digestSource.getContentDigest();
+        }
+
+        // the calculator resets on getDigest(), so keep the value for any generators sharing it.
+        if (contentDigest == null)
+        {
+            contentDigest = digester.getDigest();
+        }
+
+        return contentDigest;
+    }
+
     private ASN1Set getAttributeSet(
         AttributeTable attr)
     {
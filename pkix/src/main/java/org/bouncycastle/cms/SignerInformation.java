@@ -152,6 +152,24 @@ public byte[] getDigestAlgParams()
         }
     }
 
+    /**
+     * Return true if verifying this signer requires a digest of the passed in content, calculated
+     * separately from the signature, that is not yet known.
+     */
+    boolean isContentDigestRequired(CMSProcessable signedContent)
+    {
+        return signedContent != null && content == signedContent && resultDigest == null
+            && signedAttributeSet != null && !isCounterSignature;
+    }
+
+    /**
+     * Set the digest of the content, where it has been calculated elsewhere.
+     */
+    void setContentDigest(byte[] digest)
+    {
+        this.resultDigest = digest;
+    }
+
     /**
      * return the content digest that was calculated during verification.
      */
@@ -0,0 +1,100 @@
+package org.bouncycastle.cms;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of verifying a single SignerInformation, and its counter signatures if they were
+ * checked, as returned by ParallelSignedDataVerifier.
+ */
+public class SignerVerificationResult
+{
+    private final SignerInformation signer;
+    private final boolean checked;
+    private final boolean verified;
+    private final CMSException exception;
+    private final List counterSignatureResults;
+
+    SignerVerificationResult(SignerInformation signer, boolean checked, boolean verified, CMSException exception, List counterSignatureResults)
+    {
+        this.signer = signer;
+        this.checked = checked;
+        this.verified = verified;
+        this.exception = exception;
+        this.counterSignatureResults = Collections.unmodifiableList(counterSignatureResults);
+    }
+
+    /**
+     * Return the signer the result is for.
+     *
+     * @return the SignerInformation that was verified.
+     */
+    public SignerInformation getSignerInformation()
+    {
+        return signer;
+    }
+
+    /**
+     * Return whether the signature was actually checked - this will only be false if verification
+     * was stopped early after another signature failed.
+     *
+     * @return true if the signature was checked, false otherwise.
+     */
+    public boolean isChecked()
+    {
+        return checked;
+    }
+
+    /**
+     * Return whether the signer's own signature verified. Counter signatures are not taken into account.
+     *
+     * @return true if the signature verified, false otherwise.
+     */
+    public boolean isVerified()
+    {
+        return verified;
+    }
+
+    /**
+     * Return whether the signer's signature, and any counter signatures that were checked, all verified.
+     *
+     * @return true if the signer and its counter signatures are valid, false otherwise.
+     */
+    public boolean isValid()
+    {
+        if (!verified)
+        {
+            return false;
+        }
+
+        for (int i = 0; i != counterSignatureResults.size(); i++)
+        {
+            if (!((SignerVerificationResult)counterSignatureResults.get(i)).isValid())
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Return the exception thrown finding a verifier for, or verifying, the signature, if there was one.
+     *
+     * @return the exception that caused verification to fail, null if there wasn't one.
+     */
+    public CMSException getException()
+    {
+        return exception;
+    }
+
+    /**
+     * Return the results for the counter signatures on the signer, in the order they appear.
+     *
+     * @return a list of SignerVerificationResult, empty if counter signatures were not checked.
+     */
+    public List getCounterSignatureResults()
+    {
+        return counterSignatureResults;
+    }
+}
@@ -27,6 +27,7 @@
 import java.security.spec.RSAPublicKeySpec;
 import java.util.Collection;
 import java.util.Date;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
@@ -62,7 +63,10 @@
 import org.bouncycastle.asn1.x509.X509Extensions;
 import org.bouncycastle.asn1.x9.X9ObjectIdentifiers;
 import org.bouncycastle.cert.X509CRLEntryHolder;
+import org.bouncycastle.cert.X509CRLEntryHandler;
 import org.bouncycastle.cert.X509CRLHolder;
+import org.bouncycastle.cert.X509CRLSerialIndex;
+import org.bouncycastle.cert.X509CRLStreamParser;
 import org.bouncycastle.cert.X509CertificateHolder;
 import org.bouncycastle.cert.X509v1CertificateBuilder;
 import org.bouncycastle.cert.X509v2CRLBuilder;
@@ -2865,6 +2869,132 @@ private void testIndirect2()
         }
     }
 
+    private void testStreamingCRL()
+        throws Exception
+    {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12", "BC");
+
+        ByteArrayInputStream input = new ByteArrayInputStream(testCAp12);
+
+        keyStore.load(input, "test".toCharArray());
+
+        X509Certificate certificate = (X509Certificate) keyStore.getCertificate("ca");
+        PrivateKey privateKey = (PrivateKey) keyStore.getKey("ca", null);
+
+        X500Name crlIssuer = X500Name.getInstance(certificate.getSubjectX500Principal().getEncoded());
+        X500Name caName = new X500Name("CN=Other CA");
+
+        Date now = new Date();
+        X509v2CRLBuilder builder = new X509v2CRLBuilder(crlIssuer, now);
+
+        builder.setNextUpdate(new Date(now.getTime() + 100000));
+        builder.addExtension(Extension.issuingDistributionPoint, true, new IssuingDistributionPoint(null, true, false));
+
+        for (int i = 0; i != 200; i++)
+        {
+            builder.addCRLEntry(BigInteger.valueOf(1000 + i), now, CRLReason.keyCompromise);
+        }
+
+        ExtensionsGenerator extGen = new ExtensionsGenerator();
+
+        extGen.addExtension(Extension.certificateIssuer, true, new GeneralNames(new GeneralName(caName)));
+
+        builder.addCRLEntry(BigInteger.valueOf(1000), now, extGen.generate());
+        builder.addCRLEntry(new BigInteger("123456789012345678901234567890"), now, CRLReason.keyCompromise);
+
+        JcaContentSignerBuilder contentSignerBuilder = new JcaContentSignerBuilder("SHA256WithRSAEncryption");
+
+        contentSignerBuilder.setProvider("BC");
+
+        X509CRLHolder cRLHolder = builder.build(contentSignerBuilder.build(privateKey));
+        byte[] encoding = cRLHolder.getEncoded();
+        ContentVerifierProvider verifierProvider = new JcaContentVerifierProviderBuilder().setProvider("BC").build(certificate);
+
+        final List entries = new ArrayList();
+        X509CRLStreamParser parser = new X509CRLStreamParser(new ByteArrayInputStream(encoding));
+
+        if (!parser.parse(verifierProvider, new X509CRLEntryHandler()
+        {
+            public void handleEntry(X509CRLEntryHolder entry)
+            {
+                entries.add(entry);
+            }
+        }))
+        {
+            fail("streamed CRL signature not valid");
+        }
+
+        if (!parser.getIssuer().equals(cRLHolder.getIssuer()) || !parser.isIndirectCRL() || parser.getNextUpdate() == null)
+        {
+            fail("streamed CRL fields incorrect");
+        }
+
+        Collection revoked = cRLHolder.getRevokedCertificates();
+        if (entries.size() != revoked.size())
+        {
+            fail("streamed CRL entry count wrong");
+        }
+
+        Iterator it = revoked.iterator();
+        for (int i = 0; i != entries.size(); i++)
+        {
+            X509CRLEntryHolder expected = (X509CRLEntryHolder)it.next();
+            X509CRLEntryHolder entry = (X509CRLEntryHolder)entries.get(i);
+
+            if (!expected.getSerialNumber().equals(entry.getSerialNumber())
+                || !expected.getCertificateIssuer().equals(entry.getCertificateIssuer()))
+            {
+                fail("streamed CRL entry " + i + " incorrect");
+            }
+        }
+
+        X509CRLSerialIndex.Builder indexBuilder = new X509CRLSerialIndex.Builder();
+
+        parser = new X509CRLStreamParser(new ByteArrayInputStream(encoding));
+        parser.parse(indexBuilder);
+
+        X509CRLSerialIndex index = indexBuilder.build();
+
+        if (index.size() != revoked.size())
+        {
+            fail("index size wrong");
+        }
+
+        if (!index.isRevoked(crlIssuer, BigInteger.valueOf(1199)) || index.isRevoked(crlIssuer, BigInteger.valueOf(1200))
+            || index.isRevoked(BigInteger.valueOf(999)))
+        {
+            fail("index lookup failed");
+        }
+
+        if (!index.isRevoked(caName, BigInteger.valueOf(1000)) || !index.isRevoked(crlIssuer, BigInteger.valueOf(1000))
+            || index.isRevoked(caName, BigInteger.valueOf(1001)))
+        {
+            fail("index issuer scoping failed");
+        }
+
+        if (!index.isRevoked(caName, new BigInteger("123456789012345678901234567890")))
+        {
+            fail("large serial number not found");
+        }
+
+        // a changed revocation entry must invalidate the signature.
+        byte[] serial = BigInteger.valueOf(1100).toByteArray();
+        for (int i = 0; i < encoding.length - serial.length; i++)
+        {
+            if (encoding[i] == 0x02 && encoding[i + 1] == serial.length && encoding[i + 2] == serial[0] && encoding[i + 3] == serial[1])
+            {
+                encoding[i + 3] ^= 1;
+                break;
+            }
+        }
+
+        parser = new X509CRLStreamParser(new ByteArrayInputStream(encoding));
+        if (parser.parse(verifierProvider, null))
+        {
+            fail("tampered streamed CRL verified");
+        }
+    }
+
     // issuing distribution point must be set for an indirect CRL to be recognised
     private void testMalformedIndirect()
         throws Exception
@@ -2929,6 +3059,7 @@ public void performTest()
         testIndirect();
         testIndirect2();
         testMalformedIndirect();
+        testStreamingCRL();
 
         checkCertificate(1, cert1);
         checkCertificate(2, cert2);
@@ -20,6 +20,7 @@ public static Test suite()
 
         suite.addTest(NewCompressedDataTest.suite());
         suite.addTest(NewSignedDataTest.suite());
+        suite.addTest(ParallelSignedDataVerifierTest.suite());
         suite.addTest(NewEnvelopedDataTest.suite());
         suite.addTest(NewAuthenticatedDataTest.suite());
         suite.addTest(NewAuthenticatedDataStreamTest.suite());
@@ -0,0 +1,218 @@
+package org.bouncycastle.cms.test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.KeyPair;
+import java.security.Security;
+import java.security.cert.X509Certificate;
+import java.util.Iterator;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.cms.CMSObjectIdentifiers;
+import org.bouncycastle.cms.CMSException;
+import org.bouncycastle.cms.CMSProcessableFile;
+import org.bouncycastle.cms.CMSSignedData;
+import org.bouncycastle.cms.CMSSignedDataGenerator;
+import org.bouncycastle.cms.CMSSignedDataParser;
+import org.bouncycastle.cms.CMSTypedData;
+import org.bouncycastle.cms.CMSTypedStream;
+import org.bouncycastle.cms.SignerId;
+import org.bouncycastle.cms.SignerInformation;
+import org.bouncycastle.cms.SignerInformationVerifier;
+import org.bouncycastle.cms.SignerInformationVerifierProvider;
+import org.bouncycastle.cms.jcajce.JcaSignerInfoGeneratorBuilder;
+import org.bouncycastle.cms.jcajce.JcaSimpleSignerInfoVerifierBuilder;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.operator.DigestCalculatorProvider;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
+
+/**
+ * Times verification of a detached signature with three signers (two using SHA-256, one SHA-512)
+ * over a large file: verifying each signer in turn, as SignerInformation.verify() does, against
+ * CMSSignedData.verifySignatures(), which reads the file once and digests it once per algorithm,
+ * and the stream based CMSSignedDataParser. A stream based reading of the file is included as a
+ * baseline for the memory mapped one used by CMSProcessableFile.
+ * <p>
+ * Usage: CMSFileVerificationPerformanceTest [size in MB, default 1024]
+ * </p>
+ */
+public class CMSFileVerificationPerformanceTest
+{
+    private static final String BC = BouncyCastleProvider.PROVIDER_NAME;
+
+    public static void main(String[] args)
+        throws Exception
+    {
+        Security.addProvider(new BouncyCastleProvider());
+
+        long size = (args.length > 0 ? Long.parseLong(args[0]) : 1024) * 1024 * 1024;
+        File file = File.createTempFile("bcperf", ".dat");
+
+        try
+        {
+            writeFile(file, size);
+
+            KeyPair signKP = CMSTestUtil.makeKeyPair();
+            final KeyPair origKP = CMSTestUtil.makeKeyPair();
+            final X509Certificate origCert = CMSTestUtil.makeCACertificate(origKP, "CN=Origin", origKP, "CN=Origin");
+            final X509Certificate signCert = CMSTestUtil.makeCertificate(signKP, "CN=Signer", origKP, "CN=Origin");
+
+            DigestCalculatorProvider digProvider = new JcaDigestCalculatorProviderBuilder().setProvider(BC).build();
+            CMSSignedDataGenerator gen = new CMSSignedDataGenerator();
+
+            gen.addSignerInfoGenerator(new JcaSignerInfoGeneratorBuilder(digProvider).build(new JcaContentSignerBuilder("SHA256withRSA").setProvider(BC).build(signKP.getPrivate()), signCert));
+            gen.addSignerInfoGenerator(new JcaSignerInfoGeneratorBuilder(digProvider).build(new JcaContentSignerBuilder("SHA256withRSA").setProvider(BC).build(origKP.getPrivate()), origCert));
+            gen.addSignerInfoGenerator(new JcaSignerInfoGeneratorBuilder(digProvider).build(new JcaContentSignerBuilder("SHA512withRSA").setProvider(BC).build(signKP.getPrivate()), signCert));
+
+            long start = System.currentTimeMillis();
+            byte[] sigBlock = gen.generate(new CMSProcessableFile(file), false).getEncoded();
+            report("sign, 3 signers", size, System.currentTimeMillis() - start);
+
+            SignerInformationVerifierProvider vProv = new SignerInformationVerifierProvider()
+            {
+                public SignerInformationVerifier get(SignerId sid)
+                    throws OperatorCreationException
+                {
+                    X509Certificate cert = sid.getSerialNumber().equals(signCert.getSerialNumber()) ? signCert : origCert;
+
+                    return new JcaSimpleSignerInfoVerifierBuilder().setProvider(BC).build(cert);
+                }
+            };
+
+            start = System.currentTimeMillis();
+            new StreamedFile(file).write(new NullStream());
+            report("read, stream", size, System.currentTimeMillis() - start);
+
+            start = System.currentTimeMillis();
+            new CMSProcessableFile(file).write(new NullStream());
+            report("read, mapped", size, System.currentTimeMillis() - start);
+
+            start = System.currentTimeMillis();
+            CMSSignedData s = new CMSSignedData(new StreamedFile(file), sigBlock);
+            for (Iterator it = s.getSignerInfos().getSigners().iterator(); it.hasNext();)
+            {
+                SignerInformation signer = (SignerInformation)it.next();
+
+                check(signer.verify(vProv.get(signer.getSID())));
+            }
+            report("verify each signer, stream", size, System.currentTimeMillis() - start);
+
+            start = System.currentTimeMillis();
+            check(new CMSSignedData(new CMSProcessableFile(file), sigBlock).verifySignatures(vProv));
+            report("verifySignatures, mapped", size, System.currentTimeMillis() - start);
+
+            start = System.currentTimeMillis();
+            CMSSignedDataParser sp = new CMSSignedDataParser(digProvider, new CMSTypedStream(new FileInputStream(file)), sigBlock);
+            sp.getSignedContent().drain();
+            for (Iterator it = sp.getSignerInfos().getSigners().iterator(); it.hasNext();)
+            {
+                SignerInformation signer = (SignerInformation)it.next();
+
+                check(signer.verify(vProv.get(signer.getSID())));
+            }
+            report("parser, stream", size, System.currentTimeMillis() - start);
+        }
+        finally
+        {
+            file.delete();
+        }
+    }
+
+    private static void writeFile(File file, long size)
+        throws IOException
+    {
+        byte[] block = new byte[1024 * 1024];
+
+        for (int i = 0; i != block.length; i++)
+        {
+            block[i] = (byte)(i * 31 + (i >> 8));
+        }
+
+        OutputStream fOut = new FileOutputStream(file);
+
+        for (long written = 0; written < size; written += block.length)
+        {
+            fOut.write(block, 0, (int)Math.min(block.length, size - written));
+        }
+
+        fOut.close();
+    }
+
+    private static void check(boolean verified)
+    {
+        if (!verified)
+        {
+            throw new IllegalStateException("signature failed to verify");
+        }
+    }
+
+    private static void report(String label, long size, long millis)
+    {
+        StringBuffer sb = new StringBuffer();
+
+        sb.append(label);
+        sb.append(": ");
+        sb.append(millis);
+        sb.append("ms, ");
+        sb.append(millis == 0 ? 0 : (size * 1000) / (millis * 1024 * 1024));
+        sb.append("MB/s");
+
+        System.out.println(sb);
+    }
+
+    /**
+     * Reads the file through a FileInputStream, as CMSProcessableFile used to.
+     */
+    private static class StreamedFile
+        implements CMSTypedData
+    {
+        private final File file;
+
+        StreamedFile(File file)
+        {
+            this.file = file;
+        }
+
+        public ASN1ObjectIdentifier getContentType()
+        {
+            return CMSObjectIdentifiers.data;
+        }
+
+        public void write(OutputStream out)
+            throws IOException, CMSException
+        {
+            FileInputStream fIn = new FileInputStream(file);
+            byte[] buf = new byte[32 * 1024];
+            int len;
+
+            while ((len = fIn.read(buf, 0, buf.length)) > 0)
+            {
+                out.write(buf, 0, len);
+            }
+
+            fIn.close();
+        }
+
+        public Object getContent()
+        {
+            return file;
+        }
+    }
+
+    private static class NullStream
+        extends OutputStream
+    {
+        public void write(int b)
+        {
+        }
+
+        public void write(byte[] buf, int off, int len)
+        {
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package org.bouncycastle.cms.test;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.security.KeyFactory;
 import java.security.KeyPair;
 import java.security.MessageDigest;
 import java.security.Security;
 import java.security.Signature;
+import java.security.cert.CertificateException;
 import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
 import java.security.spec.PKCS8EncodedKeySpec;
@@ -45,11 +50,15 @@
 import org.bouncycastle.cert.ocsp.OCSPResp;
 import org.bouncycastle.cms.CMSAbsentContent;
 import org.bouncycastle.cms.CMSAlgorithm;
+import org.bouncycastle.cms.CMSException;
 import org.bouncycastle.cms.CMSProcessableByteArray;
+import org.bouncycastle.cms.CMSProcessableFile;
 import org.bouncycastle.cms.CMSSignedData;
 import org.bouncycastle.cms.CMSSignedDataGenerator;
 import org.bouncycastle.cms.CMSSignedDataParser;
+import org.bouncycastle.cms.CMSSignerDigestMismatchException;
 import org.bouncycastle.cms.CMSTypedData;
+import org.bouncycastle.cms.CMSTypedStream;
 import org.bouncycastle.cms.DefaultCMSSignatureAlgorithmNameGenerator;
 import org.bouncycastle.cms.DefaultSignedAttributeTableGenerator;
 import org.bouncycastle.cms.SignerId;
@@ -78,6 +87,7 @@
 import org.bouncycastle.operator.bc.BcRSAContentSignerBuilder;
 import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
 import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
+import org.bouncycastle.util.Arrays;
 import org.bouncycastle.util.CollectionStore;
 import org.bouncycastle.util.Store;
 import org.bouncycastle.util.encoders.Base64;
@@ -783,6 +793,66 @@ public void testSHA1AndMD5WithRSAEncapsulatedRepeated()
         checkSignerStoreReplacement(s, signers);
     }
     
+    public void testSharedDigestSigners()
+        throws Exception
+    {
+        List                certList = new ArrayList();
+
+        certList.add(_origCert);
+        certList.add(_signCert);
+        certList.add(_signEcDsaCert);
+
+        Store           certs = new JcaCertStore(certList);
+
+        CMSSignedDataGenerator gen = new CMSSignedDataGenerator();
+        DigestCalculatorProvider digCalcProv = new JcaDigestCalculatorProviderBuilder().setProvider(BC).build();
+
+        // three signers needing a SHA-256 digest of the content, one of which signs the content directly.
+        gen.addSignerInfoGenerator(new JcaSignerInfoGeneratorBuilder(digCalcProv).build(new JcaContentSignerBuilder("SHA256withRSA").setProvider(BC).build(_signKP.getPrivate()), _signCert));
+        gen.addSignerInfoGenerator(new JcaSignerInfoGeneratorBuilder(digCalcProv).build(new JcaContentSignerBuilder("SHA256withECDSA").setProvider(BC).build(_signEcDsaKP.getPrivate()), _signEcDsaCert));
+        gen.addSignerInfoGenerator(new JcaSignerInfoGeneratorBuilder(digCalcProv).setDirectSignature(true).build(new JcaContentSignerBuilder("SHA256withRSA").setProvider(BC).build(_origKP.getPrivate()), _origCert));
+        gen.addSignerInfoGenerator(new JcaSignerInfoGeneratorBuilder(digCalcProv).build(new JcaContentSignerBuilder("SHA1withRSA").setProvider(BC).build(_origKP.getPrivate()), _origCert));
+
+        gen.addCertificates(certs);
+
+        // the same generator used twice, the digests must not carry over.
+        for (int i = 0; i != 2; i++)
+        {
+            byte[] data = ("Hello World " + i).getBytes();
+
+            CMSSignedData s = gen.generate(new CMSProcessableByteArray(data), true);
+
+            s = new CMSSignedData(s.getEncoded());
+
+            assertEquals(4, s.getSignerInfos().size());
+
+            Iterator it = s.getSignerInfos().getSigners().iterator();
+            while (it.hasNext())
+            {
+                SignerInformation signer = (SignerInformation)it.next();
+                X509CertificateHolder cert = (X509CertificateHolder)certs.getMatches(signer.getSID()).iterator().next();
+
+                assertEquals(true, signer.verify(new JcaSimpleSignerInfoVerifierBuilder().setProvider(BC).build(cert)));
+                assertTrue(MessageDigest.isEqual(MessageDigest.getInstance(signer.getDigestAlgOID(), BC).digest(data), signer.getContentDigest()));
+            }
+
+            // counter signatures are calculated over the signature, not the content.
+            SignerInformation origSigner = (SignerInformation)s.getSignerInfos().getSigners().iterator().next();
+            SignerInformationStore counterSigners = gen.generateCounterSigners(origSigner);
+
+            assertEquals(4, counterSigners.size());
+
+            it = counterSigners.getSigners().iterator();
+            while (it.hasNext())
+            {
+                SignerInformation cSigner = (SignerInformation)it.next();
+                X509CertificateHolder cert = (X509CertificateHolder)certs.getMatches(cSigner.getSID()).iterator().next();
+
+                assertEquals(true, cSigner.verify(new JcaSimpleSignerInfoVerifierBuilder().setProvider(BC).build(cert)));
+            }
+        }
+    }
+
     public void testSHA1WithRSANoAttributes()
         throws Exception
     {
@@ -1327,6 +1397,227 @@ public SignerInformationVerifier get(SignerId signerId)
         assertFalse(s.verifySignatures(vProv, false));
     }
 
+    public void testProcessableFileWrite()
+        throws Exception
+    {
+        // empty, smaller than the buffer, and larger than a single write slice
+        int[] sizes = { 0, 17, 3 * 1024 * 1024 / 2 + 5 };
+
+        for (int i = 0; i != sizes.length; i++)
+        {
+            byte[] data = new byte[sizes[i]];
+
+            for (int j = 0; j != data.length; j++)
+            {
+                data[j] = (byte)(j * 31);
+            }
+
+            File file = File.createTempFile("bcfile", ".dat");
+            File copy = File.createTempFile("bcfile", ".out");
+
+            try
+            {
+                FileOutputStream fOut = new FileOutputStream(file);
+
+                fOut.write(data);
+                fOut.close();
+
+                ByteArrayOutputStream bOut = new ByteArrayOutputStream();
+
+                new CMSProcessableFile(file).write(bOut);
+
+                assertTrue(Arrays.areEqual(data, bOut.toByteArray()));
+
+                // FileOutputStream targets are transferred channel to channel
+                fOut = new FileOutputStream(copy);
+
+                new CMSProcessableFile(file).write(fOut);
+
+                fOut.close();
+
+                FileInputStream fIn = new FileInputStream(copy);
+
+                assertTrue(Arrays.areEqual(data, Streams.readAll(fIn)));
+
+                fIn.close();
+
+                // subclasses of FileOutputStream must see everything that is written
+                final ByteArrayOutputStream seen = new ByteArrayOutputStream();
+
+                fOut = new FileOutputStream(copy)
+                {
+                    public void write(int b)
+                        throws IOException
+                    {
+                        seen.write(b);
+                        super.write(b);
+                    }
+
+                    public void write(byte[] b, int off, int len)
+                        throws IOException
+                    {
+                        seen.write(b, off, len);
+                        super.write(b, off, len);
+                    }
+                };
+
+                new CMSProcessableFile(file).write(fOut);
+
+                fOut.close();
+
+                assertTrue(Arrays.areEqual(data, seen.toByteArray()));
+            }
+            finally
+            {
+                file.delete();
+                copy.delete();
+            }
+        }
+
+        // files which report a size of 0 but have content must still be read to the end
+        File procFile = new File("/proc/self/cmdline");
+
+        if (procFile.exists() && procFile.length() == 0)
+        {
+            FileInputStream fIn = new FileInputStream(procFile);
+            byte[] expected = Streams.readAll(fIn);
+
+            fIn.close();
+
+            ByteArrayOutputStream bOut = new ByteArrayOutputStream();
+
+            new CMSProcessableFile(procFile).write(bOut);
+
+            assertTrue(expected.length > 0);
+            assertTrue(Arrays.areEqual(expected, bOut.toByteArray()));
+        }
+    }
+
+    public void testDetachedFileVerification()
+        throws Exception
+    {
+        File file = File.createTempFile("bcfile", ".dat");
+
+        try
+        {
+            // larger than a single mapped chunk and not a multiple of the buffer size
+            byte[] data = new byte[100 * 1024 + 17];
+
+            for (int i = 0; i != data.length; i++)
+            {
+                data[i] = (byte)(i * 31);
+            }
+
+            FileOutputStream fOut = new FileOutputStream(file);
+
+            fOut.write(data);
+            fOut.close();
+
+            List certList = new ArrayList();
+
+            certList.add(_signCert);
+            certList.add(_signEcDsaCert);
+
+            CMSSignedDataGenerator gen = new CMSSignedDataGenerator();
+            DigestCalculatorProvider digProvider = new JcaDigestCalculatorProviderBuilder().setProvider(BC).build();
+
+            gen.addSignerInfoGenerator(new JcaSignerInfoGeneratorBuilder(digProvider).build(new JcaContentSignerBuilder("SHA256withRSA").setProvider(BC).build(_signKP.getPrivate()), _signCert));
+            gen.addSignerInfoGenerator(new JcaSignerInfoGeneratorBuilder(digProvider).build(new JcaContentSignerBuilder("SHA256withECDSA").setProvider(BC).build(_signEcDsaKP.getPrivate()), _signEcDsaCert));
+            gen.addSignerInfoGenerator(new JcaSignerInfoGeneratorBuilder(digProvider).build(new JcaContentSignerBuilder("SHA1withRSA").setProvider(BC).build(_signKP.getPrivate()), _signCert));
+
+            gen.addCertificates(new JcaCertStore(certList));
+
+            CMSSignedData s = gen.generate(new CMSProcessableFile(file), false);
+
+            s = new CMSSignedData(new CMSProcessableFile(file, 4096), s.getEncoded());
+
+            final Store store = s.getCertificates();
+            SignerInformationVerifierProvider vProv = new SignerInformationVerifierProvider()
+            {
+                public SignerInformationVerifier get(SignerId signerId)
+                    throws OperatorCreationException
+                {
+                    X509CertificateHolder cert = (X509CertificateHolder)store.getMatches(signerId).iterator().next();
+
+                    try
+                    {
+                        return new JcaSimpleSignerInfoVerifierBuilder().setProvider(BC).build(cert);
+                    }
+                    catch (CertificateException e)
+                    {
+                        throw new OperatorCreationException(e.getMessage(), e);
+                    }
+                }
+            };
+
+            assertTrue(s.verifySignatures(vProv));
+
+            for (Iterator it = s.getSignerInfos().getSigners().iterator(); it.hasNext();)
+            {
+                SignerInformation signer = (SignerInformation)it.next();
+                MessageDigest md = MessageDigest.getInstance(signer.getDigestAlgOID(), BC);
+
+                assertTrue(Arrays.areEqual(md.digest(data), signer.getContentDigest()));
+            }
+
+            // parser with the content as a stream
+            CMSSignedDataParser sp = new CMSSignedDataParser(digProvider, new CMSTypedStream(new FileInputStream(file)), s.getEncoded());
+
+            sp.getSignedContent().drain();
+
+            for (Iterator it = sp.getSignerInfos().getSigners().iterator(); it.hasNext();)
+            {
+                SignerInformation signer = (SignerInformation)it.next();
+
+                assertTrue(signer.verify(vProv.get(signer.getSID())));
+            }
+
+            // content changed after signing
+            data[data.length - 1] ^= 1;
+
+            fOut = new FileOutputStream(file);
+
+            fOut.write(data);
+            fOut.close();
+
+            s = new CMSSignedData(new CMSProcessableFile(file), s.getEncoded());
+
+            for (Iterator it = s.getSignerInfos().getSigners().iterator(); it.hasNext();)
+            {
+                SignerInformation signer = (SignerInformation)it.next();
+
+                try
+                {
+                    signer.verify(vProv.get(signer.getSID()));
+                    fail("changed content verified");
+                }
+                catch (CMSSignerDigestMismatchException e)
+                {
+                    // expected
+                }
+            }
+
+            // and with the digests calculated up front
+            assertEquals(false, verifyAll(new CMSSignedData(new CMSProcessableFile(file), s.getEncoded()), vProv));
+        }
+        finally
+        {
+            file.delete();
+        }
+    }
+
+    private boolean verifyAll(CMSSignedData s, SignerInformationVerifierProvider vProv)
+    {
+        try
+        {
+            return s.verifySignatures(vProv);
+        }
+        catch (CMSException e)
+        {
+            return false;
+        }
+    }
+
     private void rsaPSSTest(String signatureAlgorithmName)
         throws Exception
     {
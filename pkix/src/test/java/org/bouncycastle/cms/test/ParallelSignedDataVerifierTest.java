@@ -0,0 +1,244 @@
+package org.bouncycastle.cms.test;
+
+import java.security.KeyPair;
+import java.security.Security;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaCertStore;
+import org.bouncycastle.cms.CMSProcessableByteArray;
+import org.bouncycastle.cms.CMSSignedData;
+import org.bouncycastle.cms.CMSSignedDataGenerator;
+import org.bouncycastle.cms.CMSTypedData;
+import org.bouncycastle.cms.ParallelSignedDataVerifier;
+import org.bouncycastle.cms.SignerId;
+import org.bouncycastle.cms.SignerInformation;
+import org.bouncycastle.cms.SignerInformationStore;
+import org.bouncycastle.cms.SignerInformationVerifier;
+import org.bouncycastle.cms.SignerInformationVerifierProvider;
+import org.bouncycastle.cms.SignerVerificationResult;
+import org.bouncycastle.cms.jcajce.JcaSignerId;
+import org.bouncycastle.cms.jcajce.JcaSignerInfoGeneratorBuilder;
+import org.bouncycastle.cms.jcajce.JcaSimpleSignerInfoVerifierBuilder;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.operator.DigestCalculatorProvider;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
+import org.bouncycastle.util.Store;
+
+public class ParallelSignedDataVerifierTest
+    extends TestCase
+{
+    private static final String BC = BouncyCastleProvider.PROVIDER_NAME;
+
+    private static String          _origDN;
+    private static KeyPair         _origKP;
+    private static X509Certificate _origCert;
+
+    private static String          _signDN;
+    private static KeyPair         _signKP;
+    private static X509Certificate _signCert;
+
+    private static KeyPair         _signEcDsaKP;
+    private static X509Certificate _signEcDsaCert;
+
+    private static KeyPair         _signDsaKP;
+    private static X509Certificate _signDsaCert;
+
+    private static boolean _initialised = false;
+
+    public ParallelSignedDataVerifierTest(String name)
+    {
+        super(name);
+    }
+
+    public static void main(String args[])
+        throws Exception
+    {
+        init();
+
+        junit.textui.TestRunner.run(ParallelSignedDataVerifierTest.class);
+    }
+
+    public static Test suite()
+        throws Exception
+    {
+        init();
+
+        return new CMSTestSetup(new TestSuite(ParallelSignedDataVerifierTest.class));
+    }
+
+    private static void init()
+        throws Exception
+    {
+        if (!_initialised)
+        {
+            _initialised = true;
+
+            if (Security.getProvider(BC) == null)
+            {
+                Security.addProvider(new org.bouncycastle.jce.provider.BouncyCastleProvider());
+            }
+
+            _origDN   = "O=Bouncy Castle, C=AU";
+            _origKP   = CMSTestUtil.makeKeyPair();
+            _origCert = CMSTestUtil.makeCertificate(_origKP, _origDN, _origKP, _origDN);
+
+            _signDN   = "CN=Bob, OU=Sales, O=Bouncy Castle, C=AU";
+            _signKP   = CMSTestUtil.makeKeyPair();
+            _signCert = CMSTestUtil.makeCertificate(_signKP, _signDN, _origKP, _origDN);
+
+            _signDsaKP   = CMSTestUtil.makeDsaKeyPair();
+            _signDsaCert = CMSTestUtil.makeCertificate(_signDsaKP, _signDN, _origKP, _origDN);
+
+            _signEcDsaKP   = CMSTestUtil.makeEcDsaKeyPair();
+            _signEcDsaCert = CMSTestUtil.makeCertificate(_signEcDsaKP, _signDN, _origKP, _origDN);
+        }
+    }
+
+    public void testConcurrentVerification()
+        throws Exception
+    {
+        List                certList = new ArrayList();
+        CMSTypedData        msg = new CMSProcessableByteArray("Hello World!".getBytes());
+
+        certList.add(_signCert);
+        certList.add(_origCert);
+        certList.add(_signEcDsaCert);
+        certList.add(_signDsaCert);
+
+        Store           certStore = new JcaCertStore(certList);
+
+        CMSSignedDataGenerator gen = new CMSSignedDataGenerator();
+        DigestCalculatorProvider digProvider = new JcaDigestCalculatorProviderBuilder().setProvider(BC).build();
+
+        gen.addSignerInfoGenerator(new JcaSignerInfoGeneratorBuilder(digProvider).build(new JcaContentSignerBuilder("SHA256withRSA").setProvider(BC).build(_signKP.getPrivate()), _signCert));
+        gen.addSignerInfoGenerator(new JcaSignerInfoGeneratorBuilder(digProvider).build(new JcaContentSignerBuilder("SHA256withECDSA").setProvider(BC).build(_signEcDsaKP.getPrivate()), _signEcDsaCert));
+        gen.addSignerInfoGenerator(new JcaSignerInfoGeneratorBuilder(digProvider).build(new JcaContentSignerBuilder("SHA1withDSA").setProvider(BC).build(_signDsaKP.getPrivate()), _signDsaCert));
+
+        gen.addCertificates(certStore);
+
+        CMSSignedData s = gen.generate(msg, true);
+
+        // counter sign the RSA signer
+        SignerId rsaId = new JcaSignerId(_signCert);
+        List signers = new ArrayList(s.getSignerInfos().getSigners());
+        int rsaIndex = signers.indexOf(s.getSignerInfos().get(rsaId));
+        SignerInformation rsaSigner = (SignerInformation)signers.get(rsaIndex);
+
+        gen = new CMSSignedDataGenerator();
+
+        gen.addSignerInfoGenerator(new JcaSignerInfoGeneratorBuilder(digProvider).build(new JcaContentSignerBuilder("SHA1withRSA").setProvider(BC).build(_origKP.getPrivate()), _origCert));
+
+        signers.set(rsaIndex, SignerInformation.addCounterSigners(rsaSigner, gen.generateCounterSigners(rsaSigner)));
+
+        s = CMSSignedData.replaceSigners(s, new SignerInformationStore(signers));
+
+        final Store store = s.getCertificates();
+        SignerInformationVerifierProvider vProv = new SignerInformationVerifierProvider()
+        {
+            public SignerInformationVerifier get(SignerId signerId)
+                throws OperatorCreationException
+            {
+                X509CertificateHolder cert = (X509CertificateHolder)store.getMatches(signerId).iterator().next();
+
+                try
+                {
+                    return new JcaSimpleSignerInfoVerifierBuilder().setProvider(BC).build(cert);
+                }
+                catch (CertificateException e)
+                {
+                    throw new OperatorCreationException(e.getMessage(), e);
+                }
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try
+        {
+            List results = new ParallelSignedDataVerifier(executor).verifySignatures(s, vProv);
+
+            assertEquals(3, results.size());
+            for (int i = 0; i != results.size(); i++)
+            {
+                SignerVerificationResult result = (SignerVerificationResult)results.get(i);
+
+                assertTrue(result.isChecked());
+                assertTrue(result.isValid());
+                assertNull(result.getException());
+                assertEquals(i == rsaIndex ? 1 : 0, result.getCounterSignatureResults().size());
+            }
+
+            results = new ParallelSignedDataVerifier(executor).verifySignatures(s, vProv, true, false);
+
+            assertTrue(((SignerVerificationResult)results.get(rsaIndex)).getCounterSignatureResults().isEmpty());
+
+            // provider that only knows the RSA signer
+            vProv = new SignerInformationVerifierProvider()
+            {
+                public SignerInformationVerifier get(SignerId signerId)
+                    throws OperatorCreationException
+                {
+                    return new JcaSimpleSignerInfoVerifierBuilder().setProvider(BC).build(_signCert);
+                }
+            };
+
+            results = new ParallelSignedDataVerifier(executor).verifySignatures(s, vProv, false, false);
+
+            for (int i = 0; i != results.size(); i++)
+            {
+                SignerVerificationResult result = (SignerVerificationResult)results.get(i);
+
+                assertTrue(result.isChecked());
+                if (i == rsaIndex)
+                {
+                    assertTrue(result.isVerified());
+                    assertFalse(result.isValid());
+                    assertFalse(((SignerVerificationResult)result.getCounterSignatureResults().get(0)).isValid());
+                }
+                else
+                {
+                    assertFalse(result.isValid());
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        // with the verifications run in order, nothing after the first failure is checked.
+        Executor inline = new Executor()
+        {
+            public void execute(Runnable task)
+            {
+                task.run();
+            }
+        };
+
+        List results = new ParallelSignedDataVerifier(inline).verifySignatures(s, vProv, false, true);
+        int checked = 0;
+
+        for (int i = 0; i != results.size(); i++)
+        {
+            if (((SignerVerificationResult)results.get(i)).isChecked())
+            {
+                checked++;
+            }
+        }
+
+        assertTrue(((SignerVerificationResult)results.get(0)).isChecked());
+        assertEquals(1, checked);
+    }
+}
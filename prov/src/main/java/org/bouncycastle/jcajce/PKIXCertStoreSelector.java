@@ -48,6 +48,11 @@ public Object clone()
         return new PKIXCertStoreSelector(baseSelector);
     }
 
+    CertSelector getBaseSelector()
+    {
+        return baseSelector;
+    }
+
     public static Collection getCertificates(final PKIXCertStoreSelector selector, CertStore certStore)
         throws CertStoreException
     {
@@ -0,0 +1,231 @@
+package org.bouncycastle.jcajce;
+
+import java.math.BigInteger;
+import java.security.cert.CertSelector;
+import java.security.cert.X509CertSelector;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.SubjectKeyIdentifier;
+import org.bouncycastle.util.Selector;
+
+/**
+ * A certificate store holding its certificates indexed by subject, subject key identifier and
+ * issuer and serial number. Selectors based on an X509CertSelector with one of these criteria
+ * are answered from the index rather than by testing every certificate in the store, and the
+ * PKIX path builder goes straight to the certificates with the right subject when looking for
+ * issuers in a store of this type.
+ * <p>
+ * The store is intended for large, fixed, collections of intermediate certificates and can be
+ * added to ExtendedPKIXParameters using addStore().
+ * </p>
+ */
+public class PKIXIndexedCertStore
+    implements PKIXCertStore
+{
+    private final List certificates = new ArrayList();
+    private final Map bySubject = new HashMap();
+    private final Map bySubjectKeyId = new HashMap();
+    private final Map byIssuerSerial = new HashMap();
+
+    /**
+     * Create an indexed store from a collection of X.509 certificates.
+     *
+     * @param certificates the certificates to go in the store.
+     * @throws IllegalArgumentException if the collection contains anything other than X509Certificate objects.
+     */
+    public PKIXIndexedCertStore(Collection certificates)
+    {
+        for (Iterator it = certificates.iterator(); it.hasNext();)
+        {
+            Object obj = it.next();
+
+            if (!(obj instanceof X509Certificate))
+            {
+                throw new IllegalArgumentException("only X509Certificate objects can be added to an indexed store");
+            }
+
+            X509Certificate cert = (X509Certificate)obj;
+
+            this.certificates.add(cert);
+
+            addToIndex(bySubject, cert.getSubjectX500Principal(), cert);
+            addToIndex(byIssuerSerial, new IssuerSerial(cert.getIssuerX500Principal(), cert.getSerialNumber()), cert);
+
+            DEROctetString keyId = getSubjectKeyId(cert);
+            if (keyId != null)
+            {
+                addToIndex(bySubjectKeyId, keyId, cert);
+            }
+        }
+    }
+
+    /**
+     * Return the number of certificates in the store.
+     *
+     * @return the store size.
+     */
+    public int size()
+    {
+        return certificates.size();
+    }
+
+    /**
+     * Return the certificates matching the passed in selector. If the selector is based on an
+     * X509CertSelector with an issuer and serial number, a subject key identifier, or a subject set
+     * only the certificates indexed under that value are tested.
+     *
+     * @param selector the selector to match against, null to return all certificates.
+     * @return a, possibly empty, collection of matching certificates.
+     */
+    public Collection getMatches(Selector selector)
+    {
+        if (selector == null)
+        {
+            return new ArrayList(certificates);
+        }
+
+        CertSelector certSelector = null;
+
+        if (selector instanceof X509CertSelector)
+        {
+            certSelector = (CertSelector)selector;
+        }
+        else if (selector instanceof PKIXCertStoreSelector)
+        {
+            certSelector = ((PKIXCertStoreSelector)selector).getBaseSelector();
+        }
+
+        List candidates = certificates;
+
+        if (certSelector instanceof X509CertSelector)
+        {
+            X509CertSelector x509Selector = (X509CertSelector)certSelector;
+
+            if (x509Selector.getIssuer() != null && x509Selector.getSerialNumber() != null)
+            {
+                candidates = getFromIndex(byIssuerSerial, new IssuerSerial(x509Selector.getIssuer(), x509Selector.getSerialNumber()));
+            }
+            else if (x509Selector.getSubjectKeyIdentifier() != null)
+            {
+                candidates = getFromIndex(bySubjectKeyId, new DEROctetString(ASN1OctetString.getInstance(x509Selector.getSubjectKeyIdentifier()).getOctets()));
+            }
+            else if (x509Selector.getSubject() != null)
+            {
+                candidates = getFromIndex(bySubject, x509Selector.getSubject());
+            }
+        }
+
+        List matches = new ArrayList();
+
+        for (int i = 0; i != candidates.size(); i++)
+        {
+            Object cert = candidates.get(i);
+
+            if (selector.match(cert))
+            {
+                matches.add(cert);
+            }
+        }
+
+        return matches;
+    }
+
+    /**
+     * Return the possible issuers of the passed in certificate, the certificates with a subject
+     * matching the certificate's issuer. The authority key identifier is not used to narrow the
+     * result, as cross certificates and rolled over keys can legitimately fail to match it - the
+     * path builder ranks the candidates instead.
+     *
+     * @param cert the certificate of interest.
+     * @return a, possibly empty, collection of candidate issuer certificates.
+     */
+    public Collection getIssuers(X509Certificate cert)
+    {
+        return new ArrayList(getFromIndex(bySubject, cert.getIssuerX500Principal()));
+    }
+
+    private static void addToIndex(Map index, Object key, X509Certificate cert)
+    {
+        List certs = (List)index.get(key);
+
+        if (certs == null)
+        {
+            certs = new ArrayList(1);
+            index.put(key, certs);
+        }
+
+        certs.add(cert);
+    }
+
+    private static List getFromIndex(Map index, Object key)
+    {
+        List certs = (List)index.get(key);
+
+        if (certs == null)
+        {
+            return new ArrayList();
+        }
+
+        return certs;
+    }
+
+    private static DEROctetString getSubjectKeyId(X509Certificate cert)
+    {
+        byte[] ext = cert.getExtensionValue(Extension.subjectKeyIdentifier.getId());
+
+        if (ext == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            return new DEROctetString(SubjectKeyIdentifier.getInstance(ASN1OctetString.getInstance(ext).getOctets()).getKeyIdentifier());
+        }
+        catch (IllegalArgumentException e)
+        {
+            // malformed extension - leave the certificate out of the index.
+            return null;
+        }
+    }
+
+    private static class IssuerSerial
+    {
+        private final X500Principal issuer;
+        private final BigInteger serialNumber;
+
+        IssuerSerial(X500Principal issuer, BigInteger serialNumber)
+        {
+            this.issuer = issuer;
+            this.serialNumber = serialNumber;
+        }
+
+        public int hashCode()
+        {
+            return issuer.hashCode() ^ serialNumber.hashCode();
+        }
+
+        public boolean equals(Object o)
+        {
+            if (!(o instanceof IssuerSerial))
+            {
+                return false;
+            }
+
+            IssuerSerial other = (IssuerSerial)o;
+
+            return serialNumber.equals(other.serialNumber) && issuer.equals(other.issuer);
+        }
+    }
+}
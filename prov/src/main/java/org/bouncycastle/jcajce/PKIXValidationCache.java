@@ -0,0 +1,504 @@
+package org.bouncycastle.jcajce;
+
+import java.security.PublicKey;
+import java.security.cert.CertPath;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.PKIXCertPathValidatorResult;
+import java.security.cert.PKIXParameters;
+import java.security.cert.TrustAnchor;
+import java.security.cert.X509Certificate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bouncycastle.crypto.Digest;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.util.Arrays;
+import org.bouncycastle.util.Strings;
+
+/**
+ * A bounded cache of certificate signature verifications and, optionally, certification path
+ * validation results for use with the BC PKIX CertPathValidator and CertPathBuilder. A cache is
+ * enabled by passing it to ExtendedPKIXParameters.setValidationCache(), and can be shared across
+ * parameter objects and threads.
+ * <p>
+ * Signature verifications are keyed on a SHA-256 hash of the certificate encoding and of the
+ * issuer's public key, and are kept until the certificate expires. Path results are only cached
+ * if a maximum path age is given, and then only for validations at the current time with
+ * revocation checking disabled and no user supplied PKIXCertPathCheckers - the outcome of a
+ * revocation check depends on CRLs and OCSP responses the cache cannot see. A cached path result
+ * is kept until the earliest notAfter date in the path or until the maximum path age has passed,
+ * whichever comes first. Once full, expired entries are dropped first and then others in no
+ * particular order.
+ * </p>
+ */
+public class PKIXValidationCache
+{
+    private final int maxEntries;
+    private final long maxPathAge;
+
+    private final ConcurrentMap signatures = new ConcurrentHashMap();
+    private final ConcurrentMap paths = new ConcurrentHashMap();
+
+    private final AtomicLong signatureHits = new AtomicLong();
+    private final AtomicLong signatureMisses = new AtomicLong();
+    private final AtomicLong pathHits = new AtomicLong();
+    private final AtomicLong pathMisses = new AtomicLong();
+
+    /**
+     * Create a cache for signature verifications only.
+     *
+     * @param maxEntries the maximum number of signature verifications to keep.
+     */
+    public PKIXValidationCache(int maxEntries)
+    {
+        this(maxEntries, 0);
+    }
+
+    /**
+     * Create a cache for signature verifications and path validation results.
+     *
+     * @param maxEntries the maximum number of entries of each type to keep.
+     * @param maxPathAge the maximum time in milliseconds a path validation result will be reused for, 0 if path
+     *                   results are not to be cached.
+     */
+    public PKIXValidationCache(int maxEntries, long maxPathAge)
+    {
+        if (maxEntries < 1)
+        {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        if (maxPathAge < 0)
+        {
+            throw new IllegalArgumentException("maxPathAge cannot be negative");
+        }
+
+        this.maxEntries = maxEntries;
+        this.maxPathAge = maxPathAge;
+    }
+
+    /**
+     * Return true if a verification of the signature on cert with publicKey has been recorded and is still current.
+     *
+     * @param cert the certificate of interest.
+     * @param publicKey the issuer's public key.
+     * @return true if the signature is known to verify, false otherwise.
+     */
+    public boolean isSignatureVerified(X509Certificate cert, PublicKey publicKey)
+    {
+        Key key = createSignatureKey(cert, publicKey);
+        Entry entry = (key == null) ? null : (Entry)signatures.get(key);
+
+        if (entry != null && entry.expiry > System.currentTimeMillis())
+        {
+            signatureHits.incrementAndGet();
+            return true;
+        }
+
+        if (entry != null)
+        {
+            signatures.remove(key, entry);
+        }
+
+        signatureMisses.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Record that the signature on cert has been verified with publicKey.
+     *
+     * @param cert the certificate of interest.
+     * @param publicKey the issuer's public key.
+     */
+    public void addVerifiedSignature(X509Certificate cert, PublicKey publicKey)
+    {
+        Key key = createSignatureKey(cert, publicKey);
+
+        if (key != null)
+        {
+            put(signatures, key, new Entry(new byte[][]{ key.certHash }, cert.getNotAfter().getTime(), null));
+        }
+    }
+
+    /**
+     * Return a previously recorded result for the validation of certPath with params, if there is one
+     * that is still current.
+     *
+     * @param certPath the path being validated.
+     * @param params the parameters the path is being validated with.
+     * @return the earlier validation result, null if there isn't one.
+     */
+    public PKIXCertPathValidatorResult getPathResult(CertPath certPath, PKIXParameters params)
+    {
+        if (!isPathCacheable(params))
+        {
+            return null;
+        }
+
+        Key key = createPathKey(certPath, params);
+        Entry entry = (key == null) ? null : (Entry)paths.get(key);
+
+        if (entry != null)
+        {
+            PKIXCertPathValidatorResult result = (PKIXCertPathValidatorResult)entry.result;
+            TrustAnchor anchor = findAnchor(params.getTrustAnchors(), result.getTrustAnchor());
+
+            if (entry.expiry > System.currentTimeMillis()
+                && anchor != null
+                && (params.getTargetCertConstraints() == null
+                    || params.getTargetCertConstraints().match((X509Certificate)certPath.getCertificates().get(0))))
+            {
+                pathHits.incrementAndGet();
+                return new PKIXCertPathValidatorResult(anchor, result.getPolicyTree(), result.getPublicKey());
+            }
+
+            paths.remove(key, entry);
+        }
+
+        pathMisses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Record the result of successfully validating certPath with params.
+     *
+     * @param certPath the path that was validated.
+     * @param params the parameters the path was validated with.
+     * @param result the validation result.
+     */
+    public void addPathResult(CertPath certPath, PKIXParameters params, PKIXCertPathValidatorResult result)
+    {
+        if (!isPathCacheable(params))
+        {
+            return;
+        }
+
+        Key key = createPathKey(certPath, params);
+        if (key == null)
+        {
+            return;
+        }
+
+        List certs = certPath.getCertificates();
+        byte[][] certHashes = new byte[certs.size()][];
+        long expiry = System.currentTimeMillis() + maxPathAge;
+
+        for (int i = 0; i != certs.size(); i++)
+        {
+            X509Certificate cert = (X509Certificate)certs.get(i);
+
+            certHashes[i] = hashEncoding(cert);
+            if (certHashes[i] == null)
+            {
+                return;
+            }
+
+            expiry = Math.min(expiry, cert.getNotAfter().getTime());
+        }
+
+        X509Certificate anchorCert = result.getTrustAnchor().getTrustedCert();
+        if (anchorCert != null)
+        {
+            expiry = Math.min(expiry, anchorCert.getNotAfter().getTime());
+        }
+
+        put(paths, key, new Entry(certHashes, expiry, result));
+    }
+
+    /**
+     * Remove any signature verifications and path results involving the passed in certificate.
+     *
+     * @param cert the certificate to remove the results for.
+     */
+    public void invalidate(X509Certificate cert)
+    {
+        byte[] certHash = hashEncoding(cert);
+        if (certHash == null)
+        {
+            clear();
+            return;
+        }
+
+        byte[] keyHash = hash(cert.getPublicKey().getEncoded());
+
+        for (Iterator it = signatures.entrySet().iterator(); it.hasNext();)
+        {
+            Map.Entry mapEntry = (Map.Entry)it.next();
+            Key key = (Key)mapEntry.getKey();
+
+            // signatures on the certificate itself, or made with its key.
+            if (Arrays.areEqual(key.certHash, certHash) || Arrays.areEqual(key.otherHash, keyHash))
+            {
+                it.remove();
+            }
+        }
+
+        for (Iterator it = paths.entrySet().iterator(); it.hasNext();)
+        {
+            Map.Entry mapEntry = (Map.Entry)it.next();
+            Entry entry = (Entry)mapEntry.getValue();
+            PKIXCertPathValidatorResult result = (PKIXCertPathValidatorResult)entry.result;
+
+            if (entry.contains(certHash) || cert.equals(result.getTrustAnchor().getTrustedCert()))
+            {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Remove everything from the cache. The hit and miss counts are not affected.
+     */
+    public void clear()
+    {
+        signatures.clear();
+        paths.clear();
+    }
+
+    public long getSignatureHits()
+    {
+        return signatureHits.get();
+    }
+
+    public long getSignatureMisses()
+    {
+        return signatureMisses.get();
+    }
+
+    public long getPathHits()
+    {
+        return pathHits.get();
+    }
+
+    public long getPathMisses()
+    {
+        return pathMisses.get();
+    }
+
+    /**
+     * Return the maximum number of entries of each type the cache will hold.
+     *
+     * @return the cache bound.
+     */
+    public int getMaxEntries()
+    {
+        return maxEntries;
+    }
+
+    private void put(Map map, Key key, Entry entry)
+    {
+        map.put(key, entry);
+
+        if (map.size() > maxEntries)
+        {
+            evict(map);
+        }
+    }
+
+    private void evict(Map map)
+    {
+        // trim to three quarters full so the whole map isn't scanned on every addition.
+        int target = Math.max(1, maxEntries - maxEntries / 4);
+        long now = System.currentTimeMillis();
+
+        for (Iterator it = map.values().iterator(); it.hasNext();)
+        {
+            if (((Entry)it.next()).expiry <= now)
+            {
+                it.remove();
+            }
+        }
+
+        for (Iterator it = map.keySet().iterator(); map.size() > target && it.hasNext();)
+        {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private boolean isPathCacheable(PKIXParameters params)
+    {
+        // a fixed date, revocation information, or user checkers, may give a different answer next time.
+        return maxPathAge > 0 && params.getDate() == null && !params.isRevocationEnabled()
+            && params.getCertPathCheckers().isEmpty();
+    }
+
+    /**
+     * Find the anchor in trustAnchors matching the one a cached path was validated with. TrustAnchor
+     * does not override equals(), so anchors are matched on their trusted certificate, or on CA name
+     * and public key where no certificate is present.
+     */
+    private static TrustAnchor findAnchor(Set trustAnchors, TrustAnchor anchor)
+    {
+        for (Iterator it = trustAnchors.iterator(); it.hasNext();)
+        {
+            TrustAnchor candidate = (TrustAnchor)it.next();
+
+            if (anchor.getTrustedCert() != null)
+            {
+                if (anchor.getTrustedCert().equals(candidate.getTrustedCert()))
+                {
+                    return candidate;
+                }
+            }
+            else if (candidate.getTrustedCert() == null
+                && anchor.getCA().equals(candidate.getCA())
+                && Arrays.areEqual(anchor.getCAPublicKey().getEncoded(), candidate.getCAPublicKey().getEncoded()))
+            {
+                return candidate;
+            }
+        }
+
+        return null;
+    }
+
+    private static Key createSignatureKey(X509Certificate cert, PublicKey publicKey)
+    {
+        byte[] certHash = hashEncoding(cert);
+        byte[] keyEnc = publicKey.getEncoded();
+
+        if (certHash == null || keyEnc == null)
+        {
+            return null;
+        }
+
+        return new Key(certHash, hash(keyEnc));
+    }
+
+    private static Key createPathKey(CertPath certPath, PKIXParameters params)
+    {
+        Digest digest = new SHA256Digest();
+        List certs = certPath.getCertificates();
+
+        try
+        {
+            for (int i = 0; i != certs.size(); i++)
+            {
+                update(digest, ((X509Certificate)certs.get(i)).getEncoded());
+            }
+        }
+        catch (CertificateEncodingException e)
+        {
+            return null;
+        }
+
+        // the settings that change the outcome of the validation.
+        int flags = (params.isExplicitPolicyRequired() ? 1 : 0)
+            | (params.isAnyPolicyInhibited() ? 2 : 0)
+            | (params.isPolicyMappingInhibited() ? 4 : 0)
+            | (params.getPolicyQualifiersRejected() ? 8 : 0);
+
+        StringBuffer settings = new StringBuffer();
+
+        settings.append(flags);
+        settings.append(';');
+        settings.append(params.getSigProvider());
+        settings.append(';');
+        settings.append(new TreeSet(params.getInitialPolicies()));
+
+        byte[] hash = new byte[digest.getDigestSize()];
+
+        update(digest, Strings.toUTF8ByteArray(settings.toString()));
+        digest.doFinal(hash, 0);
+
+        return new Key(hash, null);
+    }
+
+    private static byte[] hashEncoding(X509Certificate cert)
+    {
+        try
+        {
+            return hash(cert.getEncoded());
+        }
+        catch (CertificateEncodingException e)
+        {
+            return null;
+        }
+    }
+
+    private static byte[] hash(byte[] data)
+    {
+        Digest digest = new SHA256Digest();
+        byte[] hash = new byte[digest.getDigestSize()];
+
+        update(digest, data);
+        digest.doFinal(hash, 0);
+
+        return hash;
+    }
+
+    private static void update(Digest digest, byte[] data)
+    {
+        // length prefixed so adjacent values cannot be confused.
+        int len = data.length;
+
+        digest.update((byte)(len >>> 24));
+        digest.update((byte)(len >>> 16));
+        digest.update((byte)(len >>> 8));
+        digest.update((byte)len);
+        digest.update(data, 0, len);
+    }
+
+    private static class Key
+    {
+        final byte[] certHash;
+        final byte[] otherHash;
+        private final int hashCode;
+
+        Key(byte[] certHash, byte[] otherHash)
+        {
+            this.certHash = certHash;
+            this.otherHash = otherHash;
+            this.hashCode = Arrays.hashCode(certHash) * 31 + Arrays.hashCode(otherHash);
+        }
+
+        public int hashCode()
+        {
+            return hashCode;
+        }
+
+        public boolean equals(Object o)
+        {
+            if (!(o instanceof Key))
+            {
+                return false;
+            }
+
+            Key other = (Key)o;
+
+            return Arrays.areEqual(certHash, other.certHash) && Arrays.areEqual(otherHash, other.otherHash);
+        }
+    }
+
+    private static class Entry
+    {
+        final byte[][] certHashes;
+        final long expiry;
+        final Object result;
+
+        Entry(byte[][] certHashes, long expiry, Object result)
+        {
+            this.certHashes = certHashes;
+            this.expiry = expiry;
+            this.result = result;
+        }
+
+        boolean contains(byte[] certHash)
+        {
+            for (int i = 0; i != certHashes.length; i++)
+            {
+                if (Arrays.areEqual(certHashes[i], certHash))
+                {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+}
@@ -18,8 +18,10 @@
 import java.util.Collections;
 import java.util.Date;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 
 import javax.security.auth.x500.X500Principal;
@@ -63,6 +65,7 @@
     private boolean isIndirect;
     private boolean isHashCodeSet = false;
     private int     hashCodeValue;
+    private volatile Map revokedIndex;
 
     static boolean isIndirectCRL(X509CRL crl)
         throws CRLException
@@ -300,19 +303,42 @@ private Set loadCRLEntries()
         return entrySet;
     }
 
-    public X509CRLEntry getRevokedCertificate(BigInteger serialNumber)
+    /**
+     * Return a map of serial number to the revoked entries carrying it, built in a single
+     * pass over the revoked certificate list the first time it is needed.
+     */
+    private Map getRevokedIndex()
+    {
+        Map index = revokedIndex;
+
+        if (index == null)
+        {
+            synchronized (this)
+            {
+                index = revokedIndex;
+
+                if (index == null)
+                {
+                    index = buildRevokedIndex();
+                    revokedIndex = index;
+                }
+            }
+        }
+
+        return index;
+    }
+
+    private Map buildRevokedIndex()
     {
+        Map index = new HashMap();
         Enumeration certs = c.getRevokedCertificateEnumeration();
 
         X500Name previousCertificateIssuer = null; // the issuer
+        X500Name caName = c.getIssuer();
         while (certs.hasMoreElements())
         {
-            TBSCertList.CRLEntry entry = (TBSCertList.CRLEntry)certs.nextElement();
-
-            if (serialNumber.equals(entry.getUserCertificate().getValue()))
-            {
-                return new X509CRLEntryObject(entry, isIndirect, previousCertificateIssuer);
-            }
+            TBSCertList.CRLEntry entry = TBSCertList.CRLEntry.getInstance(certs.nextElement());
+            X500Name entryIssuer = previousCertificateIssuer;
 
             if (isIndirect && entry.hasExtensions())
             {
@@ -321,8 +347,112 @@ public X509CRLEntry getRevokedCertificate(BigInteger serialNumber)
                 if (currentCaName != null)
                 {
                     previousCertificateIssuer = X500Name.getInstance(GeneralNames.getInstance(currentCaName.getParsedValue()).getNames()[0].getName());
+                    caName = previousCertificateIssuer;
                 }
             }
+
+            BigInteger serial = entry.getUserCertificate().getValue();
+            RevokedEntry revoked = new RevokedEntry(entry, entryIssuer, caName);
+            RevokedEntry first = (RevokedEntry)index.get(serial);
+
+            if (first == null)
+            {
+                index.put(serial, revoked);
+            }
+            else
+            {
+                // duplicate serial numbers can occur in indirect CRLs, keep them in CRL order
+                RevokedEntry last = first;
+                while (last.next != null)
+                {
+                    last = last.next;
+                }
+                last.next = revoked;
+            }
+        }
+
+        return index;
+    }
+
+    public X509CRLEntry getRevokedCertificate(BigInteger serialNumber)
+    {
+        RevokedEntry revoked = (RevokedEntry)getRevokedIndex().get(serialNumber);
+
+        if (revoked != null)
+        {
+            return new X509CRLEntryObject(revoked.entry, isIndirect, revoked.previousCertificateIssuer);
+        }
+
+        return null;
+    }
+
+    /**
+     * Return the CRL entry for the passed in certificate, taking the certificate issuer into
+     * account when this is an indirect CRL.
+     *
+     * @param certificate the certificate to look for.
+     * @return the matching entry, null if the certificate is not on this CRL.
+     */
+    public X509CRLEntry getRevokedCertificate(X509Certificate certificate)
+    {
+        RevokedEntry revoked = findRevokedEntry(certificate);
+
+        if (revoked != null)
+        {
+            return new X509CRLEntryObject(revoked.entry, isIndirect, revoked.previousCertificateIssuer);
+        }
+
+        return null;
+    }
+
+    private RevokedEntry findRevokedEntry(Certificate cert)
+    {
+        org.bouncycastle.asn1.x509.Certificate certStruct = null;
+        BigInteger serialNumber;
+
+        if (cert instanceof  X509Certificate)
+        {
+            serialNumber = ((X509Certificate)cert).getSerialNumber();
+        }
+        else
+        {
+            try
+            {
+                certStruct = org.bouncycastle.asn1.x509.Certificate.getInstance(cert.getEncoded());
+            }
+            catch (CertificateEncodingException e)
+            {
+                throw new RuntimeException("Cannot process certificate");
+            }
+
+            serialNumber = certStruct.getSerialNumber().getValue();
+        }
+
+        RevokedEntry revoked = (RevokedEntry)getRevokedIndex().get(serialNumber);
+
+        if (revoked == null)
+        {
+            return null;
+        }
+
+        X500Name issuer;
+
+        if (certStruct == null)
+        {
+            issuer = X500Name.getInstance(((X509Certificate)cert).getIssuerX500Principal().getEncoded());
+        }
+        else
+        {
+            issuer = certStruct.getIssuer();
+        }
+
+        while (revoked != null)
+        {
+            if (revoked.certificateIssuer.equals(issuer))
+            {
+                return revoked;
+            }
+            revoked = revoked.next;
         }
 
         return null;
@@ -524,59 +654,7 @@ public boolean isRevoked(Certificate cert)
             throw new RuntimeException("X.509 CRL used with non X.509 Cert");
         }
 
-        Enumeration certs = c.getRevokedCertificateEnumeration();
-
-        X500Name caName = c.getIssuer();
-
-        if (certs.hasMoreElements())
-        {
-            BigInteger serial = ((X509Certificate)cert).getSerialNumber();
-
-            while (certs.hasMoreElements())
-            {
-                TBSCertList.CRLEntry entry = TBSCertList.CRLEntry.getInstance(certs.nextElement());
-
-                if (isIndirect && entry.hasExtensions())
-                {
-                    Extension currentCaName = entry.getExtensions().getExtension(Extension.certificateIssuer);
-
-                    if (currentCaName != null)
-                    {
-                        caName = X500Name.getInstance(GeneralNames.getInstance(currentCaName.getParsedValue()).getNames()[0].getName());
-                    }
-                }
-
-                if (entry.getUserCertificate().getValue().equals(serial))
-                {
-                    X500Name issuer;
-
-                    if (cert instanceof  X509Certificate)
-                    {
-                        issuer = X500Name.getInstance(((X509Certificate)cert).getIssuerX500Principal().getEncoded());
-                    }
-                    else
-                    {
-                        try
-                        {
-                            issuer = org.bouncycastle.asn1.x509.Certificate.getInstance(cert.getEncoded()).getIssuer();
-                        }
-                        catch (CertificateEncodingException e)
-                        {
-                            throw new RuntimeException("Cannot process certificate");
-                        }
-                    }
-
-                    if (!caName.equals(issuer))
-                    {
-                        return false;
-                    }
-
-                    return true;
-                }
-            }
-        }
-
-        return false;
+        return findRevokedEntry(cert) != null;
     }
 
     public boolean equals(Object other)
@@ -623,5 +701,20 @@ public int hashCode()
 
         return hashCodeValue;
     }
-}
 
+    private static class RevokedEntry
+    {
+        final TBSCertList.CRLEntry entry;
+        final X500Name previousCertificateIssuer;
+        final X500Name certificateIssuer;
+
+        RevokedEntry next;
+
+        RevokedEntry(TBSCertList.CRLEntry entry, X500Name previousCertificateIssuer, X500Name certificateIssuer)
+        {
+            this.entry = entry;
+            this.previousCertificateIssuer = previousCertificateIssuer;
+            this.certificateIssuer = certificateIssuer;
+        }
+    }
+}
@@ -61,12 +61,15 @@
 import org.bouncycastle.jcajce.spec.GOST28147ParameterSpec;
 import org.bouncycastle.jcajce.spec.RepeatedSecretKeySpec;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.util.Arrays;
 import org.bouncycastle.util.Strings;
 
 public class BaseBlockCipher
     extends BaseWrapCipher
     implements PBE
 {
+    private static final int BUFFER_CHUNK_SIZE = 4096;
+
     private static final Class gcmSpecClass = lookup("javax.crypto.spec.GCMParameterSpec");
 
     //
@@ -97,6 +100,9 @@
 
     private String                  modeName = null;
 
+    private byte[]                  inputChunk;     // scratch space for ByteBuffers without an array
+    private byte[]                  outputChunk;
+
     private static Class lookup(String className)
     {
         try
@@ -743,9 +749,23 @@ protected void engineUpdateAAD(byte[] input, int offset, int length)
 
     protected void engineUpdateAAD(ByteBuffer bytebuffer)
     {
-        int offset = bytebuffer.arrayOffset() + bytebuffer.position();
-        int length = bytebuffer.limit() - bytebuffer.position();
-        engineUpdateAAD(bytebuffer.array(), offset, length);
+        if (bytebuffer.hasArray())
+        {
+            engineUpdateAAD(bytebuffer.array(), bytebuffer.arrayOffset() + bytebuffer.position(), bytebuffer.remaining());
+            bytebuffer.position(bytebuffer.limit());
+        }
+        else
+        {
+            byte[] chunk = getInputChunk();
+
+            while (bytebuffer.hasRemaining())
+            {
+                int len = Math.min(chunk.length, bytebuffer.remaining());
+
+                bytebuffer.get(chunk, 0, len);
+                engineUpdateAAD(chunk, 0, len);
+            }
+        }
     }
 
     protected byte[] engineUpdate(
@@ -864,6 +884,160 @@ protected int engineDoFinal(
         }
     }
 
+    protected int engineUpdate(
+        ByteBuffer input,
+        ByteBuffer output)
+        throws ShortBufferException
+    {
+        if (output.remaining() < cipher.getUpdateOutputSize(input.remaining()))
+        {
+            throw new ShortBufferException("output buffer too short for input.");
+        }
+
+        try
+        {
+            return processBuffers(input, output);
+        }
+        catch (DataLengthException e)
+        {
+            throw new ShortBufferException(e.getMessage());
+        }
+    }
+
+    protected int engineDoFinal(
+        ByteBuffer input,
+        ByteBuffer output)
+        throws ShortBufferException, IllegalBlockSizeException, BadPaddingException
+    {
+        if (output.remaining() < engineGetOutputSize(input.remaining()))
+        {
+            throw new ShortBufferException("output buffer too short for input.");
+        }
+
+        try
+        {
+            int len = processBuffers(input, output);
+
+            if (output.hasArray())
+            {
+                int finalLen = cipher.doFinal(output.array(), output.arrayOffset() + output.position());
+
+                output.position(output.position() + finalLen);
+
+                return len + finalLen;
+            }
+
+            byte[] out = getOutputChunk(cipher.getOutputSize(0));
+            int finalLen = cipher.doFinal(out, 0);
+
+            output.put(out, 0, finalLen);
+
+            return len + finalLen;
+        }
+        catch (OutputLengthException e)
+        {
+            throw new ShortBufferException(e.getMessage());
+        }
+        catch (DataLengthException e)
+        {
+            throw new IllegalBlockSizeException(e.getMessage());
+        }
+    }
+
+    /**
+     * Pass the remaining input through the cipher, writing the output produced to output. Buffers
+     * with an accessible array are used in place, others are read and written a chunk at a time
+     * using scratch arrays kept with the cipher. The caller checks the output buffer is big enough.
+     */
+    private int processBuffers(
+        ByteBuffer input,
+        ByteBuffer output)
+    {
+        if (input.hasArray() && output.hasArray())
+        {
+            byte[] in = input.array();
+            int inOff = input.arrayOffset() + input.position();
+            int inLen = input.remaining();
+            byte[] out = output.array();
+            int outOff = output.arrayOffset() + output.position();
+
+            // the cipher may write ahead of where it is reading, so overlapping input is copied.
+            if (in == out && inOff < outOff + output.remaining() && outOff < inOff + inLen)
+            {
+                in = Arrays.copyOfRange(in, inOff, inOff + inLen);
+                inOff = 0;
+            }
+
+            int len = cipher.processBytes(in, inOff, inLen, out, outOff);
+
+            input.position(input.limit());
+            output.position(output.position() + len);
+
+            return len;
+        }
+
+        int total = 0;
+
+        while (input.hasRemaining())
+        {
+            int inLen = Math.min(BUFFER_CHUNK_SIZE, input.remaining());
+            byte[] in;
+            int inOff;
+
+            if (input.hasArray())
+            {
+                in = input.array();
+                inOff = input.arrayOffset() + input.position();
+                input.position(input.position() + inLen);
+            }
+            else
+            {
+                in = getInputChunk();
+                inOff = 0;
+                input.get(in, 0, inLen);
+            }
+
+            int len;
+
+            if (output.hasArray())
+            {
+                len = cipher.processBytes(in, inOff, inLen, output.array(), output.arrayOffset() + output.position());
+                output.position(output.position() + len);
+            }
+            else
+            {
+                byte[] out = getOutputChunk(cipher.getUpdateOutputSize(inLen));
+
+                len = cipher.processBytes(in, inOff, inLen, out, 0);
+                output.put(out, 0, len);
+            }
+
+            total += len;
+        }
+
+        return total;
+    }
+
+    private byte[] getInputChunk()
+    {
+        if (inputChunk == null)
+        {
+            inputChunk = new byte[BUFFER_CHUNK_SIZE];
+        }
+
+        return inputChunk;
+    }
+
+    private byte[] getOutputChunk(int size)
+    {
+        if (outputChunk == null || outputChunk.length < size)
+        {
+            outputChunk = new byte[Math.max(size, BUFFER_CHUNK_SIZE + 32)];
+        }
+
+        return outputChunk;
+    }
+
     private boolean isAEADModeName(
         String modeName)
     {
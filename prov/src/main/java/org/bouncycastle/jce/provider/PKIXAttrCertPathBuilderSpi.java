@@ -209,7 +209,7 @@ private CertPathBuilderResult build(X509AttributeCertificate attrCert, X509Certi
         {
             // check whether the issuer of <tbvCert> is a TrustAnchor
             if (CertPathValidatorUtilities.findTrustAnchor(tbvCert, pkixParams.getTrustAnchors(),
-                pkixParams.getSigProvider()) != null)
+                pkixParams.getSigProvider(), pkixParams.getValidationCache()) != null)
             {
                 CertPath certPath;
                 PKIXCertPathValidatorResult result;
@@ -1,25 +1,39 @@
 package org.bouncycastle.jce.provider;
 
+import java.security.GeneralSecurityException;
 import java.security.InvalidAlgorithmParameterException;
+import java.security.PublicKey;
 import java.security.cert.CertPath;
 import java.security.cert.CertPathBuilderException;
 import java.security.cert.CertPathBuilderResult;
 import java.security.cert.CertPathBuilderSpi;
 import java.security.cert.CertPathParameters;
+import java.security.cert.CertificateException;
 import java.security.cert.CertificateParsingException;
 import java.security.cert.PKIXBuilderParameters;
 import java.security.cert.PKIXCertPathBuilderResult;
 import java.security.cert.PKIXCertPathValidatorResult;
 import java.security.cert.X509Certificate;
+import java.security.interfaces.DSAPublicKey;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.bouncycastle.asn1.x509.AuthorityKeyIdentifier;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.SubjectKeyIdentifier;
 import org.bouncycastle.jcajce.PKIXCertStoreSelector;
+import org.bouncycastle.jcajce.PKIXValidationCache;
 import org.bouncycastle.jcajce.provider.asymmetric.x509.CertificateFactory;
 import org.bouncycastle.jce.exception.ExtCertPathBuilderException;
+import org.bouncycastle.util.Arrays;
 import org.bouncycastle.util.Selector;
 import org.bouncycastle.x509.ExtendedPKIXBuilderParameters;
 import org.bouncycastle.x509.X509CertStoreSelector;
@@ -110,6 +124,30 @@ public CertPathBuilderResult engineBuild(CertPathParameters params)
                 "No certificate found matching targetContraints.");
         }
 
+        if (pkixParams.getValidationCache() == null)
+        {
+            // signatures checked on the way down are not checked again when the path is validated.
+            pkixParams = (ExtendedPKIXBuilderParameters)pkixParams.clone();
+            pkixParams.setValidationCache(new PKIXValidationCache(BUILD_CACHE_SIZE));
+        }
+
+        try
+        {
+            cFact = new CertificateFactory();
+            validator = new PKIXCertPathValidatorSpi();
+        }
+        catch (Exception e)
+        {
+            // cannot happen
+            throw new RuntimeException("Exception creating support classes.");
+        }
+
+        certPathException = null;
+        trustAnchors = new TrustAnchorIndex(pkixParams.getTrustAnchors());
+        failedEdges = new HashSet();
+        deadEnds = new HashSet();
+        pathDependentFailures = 0;
+
         CertPathBuilderResult result = null;
 
         // check all potential target certificates
@@ -140,8 +178,18 @@ public CertPathBuilderResult engineBuild(CertPathParameters params)
         return result;
     }
 
+    private static final int BUILD_CACHE_SIZE = 256;
+
     private Exception certPathException;
 
+    // per build state - the support classes and what has been learnt about the PKI graph so far.
+    private CertificateFactory cFact;
+    private PKIXCertPathValidatorSpi validator;
+    private TrustAnchorIndex trustAnchors;
+    private Set failedEdges;
+    private Set deadEnds;
+    private int pathDependentFailures;
+
     protected CertPathBuilderResult build(X509Certificate tbvCert,
         ExtendedPKIXBuilderParameters pkixParams, List tbvPath)
     {
@@ -149,6 +197,13 @@ protected CertPathBuilderResult build(X509Certificate tbvCert,
         // into a cycle in the
         // PKI graph.
         if (tbvPath.contains(tbvCert))
+        {
+            pathDependentFailures++;
+            return null;
+        }
+        // no path could be found from here last time, and nothing about
+        // the current path can change that.
+        if (deadEnds.contains(tbvCert))
         {
             return null;
         }
@@ -163,32 +218,39 @@ protected CertPathBuilderResult build(X509Certificate tbvCert,
         {
             if (tbvPath.size() - 1 > pkixParams.getMaxPathLength())
             {
+                pathDependentFailures++;
                 return null;
             }
         }
 
+        if (cFact == null)
+        {
+            // build() called directly rather than from engineBuild().
+            try
+            {
+                cFact = new CertificateFactory();
+                validator = new PKIXCertPathValidatorSpi();
+            }
+            catch (Exception e)
+            {
+                // cannot happen
+                throw new RuntimeException("Exception creating support classes.");
+            }
+            trustAnchors = new TrustAnchorIndex(pkixParams.getTrustAnchors());
+            failedEdges = new HashSet();
+            deadEnds = new HashSet();
+        }
+
         tbvPath.add(tbvCert);
 
-        CertificateFactory cFact;
-        PKIXCertPathValidatorSpi validator;
         CertPathBuilderResult builderResult = null;
-
-        try
-        {
-            cFact = new CertificateFactory();
-            validator = new PKIXCertPathValidatorSpi();
-        }
-        catch (Exception e)
-        {
-            // cannot happen
-            throw new RuntimeException("Exception creating support classes.");
-        }
+        int failuresBefore = pathDependentFailures;
 
         try
         {
             // check whether the issuer of <tbvCert> is a TrustAnchor
-            if (CertPathValidatorUtilities.findTrustAnchor(tbvCert, pkixParams.getTrustAnchors(),
-                pkixParams.getSigProvider()) != null)
+            if (CertPathValidatorUtilities.findTrustAnchor(tbvCert, trustAnchors,
+                pkixParams.getSigProvider(), pkixParams.getValidationCache()) != null)
             {
                 // exception message from possibly later tried certification
                 // chains
@@ -212,6 +274,8 @@ protected CertPathBuilderResult build(X509Certificate tbvCert,
                 }
                 catch (Exception e)
                 {
+                    // the outcome depends on the whole path, not just this certificate.
+                    pathDependentFailures++;
                     throw new AnnotatedException(
                         "Certification path could not be validated.", e);
                 }
@@ -235,7 +299,7 @@ protected CertPathBuilderResult build(X509Certificate tbvCert,
                         "No additional X.509 stores can be added from certificate locations.",
                         e);
                 }
-                Collection issuers = new HashSet();
+                Set issuers = new HashSet();
                 // try to get the issuer certificate from one
                 // of the stores
                 try
@@ -253,12 +317,15 @@ protected CertPathBuilderResult build(X509Certificate tbvCert,
                     throw new AnnotatedException(
                         "No issuer certificate for certificate in certification path found.");
                 }
-                Iterator it = issuers.iterator();
+                Iterator it = rankIssuers(tbvCert, issuers, pkixParams).iterator();
 
                 while (it.hasNext() && builderResult == null)
                 {
                     X509Certificate issuer = (X509Certificate) it.next();
-                    builderResult = build(issuer, pkixParams, tbvPath);
+                    if (isSignedBy(tbvCert, issuer, pkixParams))
+                    {
+                        builderResult = build(issuer, pkixParams, tbvPath);
+                    }
                 }
             }
         }
@@ -269,8 +336,161 @@ protected CertPathBuilderResult build(X509Certificate tbvCert,
         if (builderResult == null)
         {
             tbvPath.remove(tbvCert);
+
+            if (pathDependentFailures == failuresBefore)
+            {
+                deadEnds.add(tbvCert);
+            }
         }
         return builderResult;
     }
 
+    /**
+     * Check the signature on cert with the key of a candidate issuer, remembering the
+     * result so an edge that fails is never tried again during the build.
+     */
+    private boolean isSignedBy(X509Certificate cert, X509Certificate issuer,
+        ExtendedPKIXBuilderParameters pkixParams)
+    {
+        Edge edge = new Edge(cert, issuer);
+
+        if (failedEdges.contains(edge))
+        {
+            return false;
+        }
+
+        PublicKey issuerKey = issuer.getPublicKey();
+
+        // DSA parameters may be inherited from further up - leave it to the validator.
+        if (issuerKey instanceof DSAPublicKey && ((DSAPublicKey)issuerKey).getParams() == null)
+        {
+            return true;
+        }
+
+        try
+        {
+            CertPathValidatorUtilities.verifyX509Certificate(cert, issuerKey,
+                pkixParams.getSigProvider(), pkixParams.getValidationCache());
+        }
+        catch (GeneralSecurityException e)
+        {
+            failedEdges.add(edge);
+            certPathException = new AnnotatedException(
+                "Could not validate certificate signature.", e);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Order the candidate issuers so those whose subject key identifier matches the
+     * certificate's authority key identifier come first, and within each group those
+     * that are currently valid come before those that are not.
+     */
+    private static List rankIssuers(X509Certificate cert, Set issuers,
+        ExtendedPKIXBuilderParameters pkixParams)
+    {
+        List ranked = new ArrayList(issuers);
+
+        if (ranked.size() < 2)
+        {
+            return ranked;
+        }
+
+        final byte[] keyId = getAuthorityKeyId(cert);
+        final Date validDate = CertPathValidatorUtilities.getValidDate(pkixParams);
+
+        Collections.sort(ranked, new Comparator()
+        {
+            public int compare(Object o1, Object o2)
+            {
+                return rank((X509Certificate)o1) - rank((X509Certificate)o2);
+            }
+
+            private int rank(X509Certificate issuer)
+            {
+                int rank = 0;
+
+                if (keyId != null && !Arrays.areEqual(keyId, getSubjectKeyId(issuer)))
+                {
+                    rank += 2;
+                }
+
+                try
+                {
+                    issuer.checkValidity(validDate);
+                }
+                catch (CertificateException e)
+                {
+                    rank += 1;
+                }
+
+                return rank;
+            }
+        });
+
+        return ranked;
+    }
+
+    private static byte[] getAuthorityKeyId(X509Certificate cert)
+    {
+        try
+        {
+            ASN1Primitive ext = CertPathValidatorUtilities.getExtensionValue(cert,
+                CertPathValidatorUtilities.AUTHORITY_KEY_IDENTIFIER);
+
+            return ext == null ? null : AuthorityKeyIdentifier.getInstance(ext).getKeyIdentifier();
+        }
+        catch (Exception e)
+        {
+            // malformed extension - don't use it for ranking.
+            return null;
+        }
+    }
+
+    private static byte[] getSubjectKeyId(X509Certificate cert)
+    {
+        try
+        {
+            ASN1Primitive ext = CertPathValidatorUtilities.getExtensionValue(cert,
+                Extension.subjectKeyIdentifier.getId());
+
+            return ext == null ? null : SubjectKeyIdentifier.getInstance(ext).getKeyIdentifier();
+        }
+        catch (Exception e)
+        {
+            return null;
+        }
+    }
+
+    private static class Edge
+    {
+        private final X509Certificate cert;
+        private final X509Certificate issuer;
+
+        Edge(X509Certificate cert, X509Certificate issuer)
+        {
+            this.cert = cert;
+            this.issuer = issuer;
+        }
+
+        public int hashCode()
+        {
+            return cert.hashCode() * 31 + issuer.hashCode();
+        }
+
+        public boolean equals(Object o)
+        {
+            if (!(o instanceof Edge))
+            {
+                return false;
+            }
+
+            Edge other = (Edge)o;
+
+            return cert.equals(other.cert) && issuer.equals(other.issuer);
+        }
+    }
+
 }
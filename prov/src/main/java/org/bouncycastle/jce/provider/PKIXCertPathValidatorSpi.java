@@ -23,6 +23,7 @@
 import org.bouncycastle.asn1.ASN1Encodable;
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.jcajce.PKIXValidationCache;
 import org.bouncycastle.jce.exception.ExtCertPathValidatorException;
 import org.bouncycastle.x509.ExtendedPKIXParameters;
 
@@ -61,6 +62,19 @@ public CertPathValidatorResult engineValidate(
                     "trustAnchors is null, this is not allowed for certification path validation.");
         }
 
+        // only paths validated under the standard validity model are cached.
+        PKIXValidationCache cache = paramsPKIX.getValidationCache();
+        boolean cachePath = cache != null && paramsPKIX.getValidityModel() == ExtendedPKIXParameters.PKIX_VALIDITY_MODEL;
+
+        if (cachePath)
+        {
+            PKIXCertPathValidatorResult result = cache.getPathResult(certPath, paramsPKIX);
+            if (result != null)
+            {
+                return result;
+            }
+        }
+
         //
         // 6.1.1 - inputs
         //
@@ -93,7 +107,7 @@ public CertPathValidatorResult engineValidate(
         try
         {
             trust = CertPathValidatorUtilities.findTrustAnchor((X509Certificate) certs.get(certs.size() - 1),
-                    paramsPKIX.getTrustAnchors(), paramsPKIX.getSigProvider());
+                    paramsPKIX.getTrustAnchors(), paramsPKIX.getSigProvider(), cache);
         }
         catch (AnnotatedException e)
         {
@@ -422,7 +436,14 @@ public CertPathValidatorResult engineValidate(
 
         if ((explicitPolicy > 0) || (intersection != null))
         {
-            return new PKIXCertPathValidatorResult(trust, intersection, cert.getPublicKey());
+            PKIXCertPathValidatorResult result = new PKIXCertPathValidatorResult(trust, intersection, cert.getPublicKey());
+
+            if (cachePath)
+            {
+                cache.addPathResult(certPath, paramsPKIX, result);
+            }
+
+            return result;
         }
 
         throw new CertPathValidatorException("Path processing failed on policy.", null, certPath, index);
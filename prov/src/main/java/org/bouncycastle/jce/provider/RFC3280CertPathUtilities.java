@@ -1474,7 +1474,7 @@ protected static void processCertA(
                 // (a) (1)
                 //
                 CertPathValidatorUtilities.verifyX509Certificate(cert, workingPublicKey,
-                    paramsPKIX.getSigProvider());
+                    paramsPKIX.getSigProvider(), paramsPKIX.getValidationCache());
             }
             catch (GeneralSecurityException e)
             {
@@ -0,0 +1,70 @@
+package org.bouncycastle.jce.provider;
+
+import java.security.cert.TrustAnchor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.security.auth.x500.X500Principal;
+
+/**
+ * A set of trust anchors indexed by the subject of the CA each represents, so the anchors that
+ * might have issued a certificate can be found without testing every anchor in the set. An index
+ * is a snapshot of the set's contents when it was created, so it should only be kept for the
+ * length of a single build or validation.
+ */
+class TrustAnchorIndex
+{
+    private final Map bySubject = new HashMap();
+
+    TrustAnchorIndex(Set trustAnchors)
+    {
+        for (Iterator it = trustAnchors.iterator(); it.hasNext();)
+        {
+            TrustAnchor trust = (TrustAnchor)it.next();
+            X500Principal subject;
+
+            if (trust.getTrustedCert() != null)
+            {
+                subject = trust.getTrustedCert().getSubjectX500Principal();
+            }
+            else if (trust.getCAName() != null && trust.getCAPublicKey() != null)
+            {
+                try
+                {
+                    subject = new X500Principal(trust.getCAName());
+                }
+                catch (IllegalArgumentException ex)
+                {
+                    continue;
+                }
+            }
+            else
+            {
+                continue;
+            }
+
+            List anchors = (List)bySubject.get(subject);
+            if (anchors == null)
+            {
+                anchors = new ArrayList(1);
+                bySubject.put(subject, anchors);
+            }
+            anchors.add(trust);
+        }
+    }
+
+    /**
+     * Return the trust anchors for the passed in CA subject, in the order they appear in the set.
+     */
+    List getTrustAnchors(X500Principal subject)
+    {
+        List anchors = (List)bySubject.get(subject);
+
+        return anchors == null ? Collections.EMPTY_LIST : anchors;
+    }
+}
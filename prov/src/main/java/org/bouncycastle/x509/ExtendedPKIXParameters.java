@@ -1,5 +1,6 @@
 package org.bouncycastle.x509;
 
+import org.bouncycastle.jcajce.PKIXValidationCache;
 import org.bouncycastle.util.Selector;
 import org.bouncycastle.util.Store;
 
@@ -122,6 +123,7 @@ protected void setParams(PKIXParameters params)
             ExtendedPKIXParameters _params = (ExtendedPKIXParameters) params;
             validityModel = _params.validityModel;
             useDeltas = _params.useDeltas;
+            validationCache = _params.validationCache;
             additionalLocationsEnabled = _params.additionalLocationsEnabled;
             selector = _params.selector == null ? null
                 : (Selector) _params.selector.clone();
@@ -163,6 +165,8 @@ protected void setParams(PKIXParameters params)
 
     private boolean useDeltas = false;
 
+    private PKIXValidationCache validationCache;
+
     /**
      * Defaults to <code>false</code>.
      * 
@@ -183,6 +187,27 @@ public void setUseDeltasEnabled(boolean useDeltas)
         this.useDeltas = useDeltas;
     }
 
+    /**
+     * Return the cache used for signature verifications and path results, if any.
+     *
+     * @return the validation cache, <code>null</code> if there isn't one.
+     */
+    public PKIXValidationCache getValidationCache()
+    {
+        return validationCache;
+    }
+
+    /**
+     * Sets a cache for the results of signature verifications and, if it is configured to keep them,
+     * path validations. The cache is shared, not copied, when these parameters are cloned.
+     *
+     * @param validationCache the cache to use, <code>null</code> to disable caching.
+     */
+    public void setValidationCache(PKIXValidationCache validationCache)
+    {
+        this.validationCache = validationCache;
+    }
+
     /**
      * @return Returns the validity model.
      * @see #CHAIN_VALIDITY_MODEL
@@ -62,6 +62,7 @@
 import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
 import org.bouncycastle.asn1.x509.X509Extension;
 import org.bouncycastle.asn1.x509.X509Extensions;
+import org.bouncycastle.jcajce.PKIXValidationCache;
 import org.bouncycastle.jce.X509LDAPCertStoreParameters;
 import org.bouncycastle.jce.exception.ExtCertPathValidatorException;
 import org.bouncycastle.util.Selector;
@@ -155,6 +156,20 @@ protected static TrustAnchor findTrustAnchor(
         Set trustAnchors,
         String sigProvider)
         throws AnnotatedException
+    {
+        return findTrustAnchor(cert, trustAnchors, sigProvider, null);
+    }
+
+    /**
+     * As findTrustAnchor(X509Certificate, Set, String), checking for and recording the signature
+     * verification in the passed in cache.
+     */
+    static TrustAnchor findTrustAnchor(
+        X509Certificate cert,
+        Set trustAnchors,
+        String sigProvider,
+        PKIXValidationCache cache)
+        throws AnnotatedException
     {
         TrustAnchor trust = null;
         PublicKey trustPublicKey = null;
@@ -216,7 +231,7 @@ else if (trust.getCAName() != null
             {
                 try
                 {
-                    verifyX509Certificate(cert, trustPublicKey, sigProvider);
+                    verifyX509Certificate(cert, trustPublicKey, sigProvider, cache);
                 }
                 catch (Exception ex)
                 {
@@ -235,6 +250,58 @@ else if (trust.getCAName() != null
         return trust;
     }
 
+    /**
+     * As findTrustAnchor(X509Certificate, Set, String, PKIXValidationCache), searching an index
+     * of the trust anchors so one index can be used for every certificate tried during a build.
+     * The index only pays for itself across many lookups - for a single lookup use the Set version.
+     */
+    static TrustAnchor findTrustAnchor(
+        X509Certificate cert,
+        TrustAnchorIndex trustAnchors,
+        String sigProvider,
+        PKIXValidationCache cache)
+        throws AnnotatedException
+    {
+        TrustAnchor trust = null;
+        PublicKey trustPublicKey = null;
+        Exception invalidKeyEx = null;
+
+        X500Principal certIssuer = getEncodedIssuerPrincipal(cert);
+
+        // only the anchors with a matching subject can be the issuer.
+        Iterator iter = trustAnchors.getTrustAnchors(certIssuer).iterator();
+        while (iter.hasNext() && trust == null)
+        {
+            trust = (TrustAnchor)iter.next();
+            if (trust.getTrustedCert() != null)
+            {
+                trustPublicKey = trust.getTrustedCert().getPublicKey();
+            }
+            else
+            {
+                trustPublicKey = trust.getCAPublicKey();
+            }
+
+            try
+            {
+                verifyX509Certificate(cert, trustPublicKey, sigProvider, cache);
+            }
+            catch (Exception ex)
+            {
+                invalidKeyEx = ex;
+                trust = null;
+                trustPublicKey = null;
+            }
+        }
+
+        if (trust == null && invalidKeyEx != null)
+        {
+            throw new AnnotatedException("TrustAnchor found but certificate validation failed.", invalidKeyEx);
+        }
+
+        return trust;
+    }
+
     protected static void addAdditionalStoresFromAltNames(
         X509Certificate cert,
         ExtendedPKIXParameters pkixParams)
@@ -1436,4 +1503,20 @@ protected static void verifyX509Certificate(X509Certificate cert, PublicKey publ
             cert.verify(publicKey, sigProvider);
         }
     }
+
+    static void verifyX509Certificate(X509Certificate cert, PublicKey publicKey,
+                                      String sigProvider, PKIXValidationCache cache)
+        throws GeneralSecurityException
+    {
+        if (cache == null)
+        {
+            verifyX509Certificate(cert, publicKey, sigProvider);
+        }
+        else if (!cache.isSignatureVerified(cert, publicKey))
+        {
+            verifyX509Certificate(cert, publicKey, sigProvider);
+
+            cache.addVerifiedSignature(cert, publicKey);
+        }
+    }
 }
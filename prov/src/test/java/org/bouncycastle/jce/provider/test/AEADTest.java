@@ -1,6 +1,7 @@
 package org.bouncycastle.jce.provider.test;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.security.AlgorithmParameters;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
@@ -64,6 +65,8 @@ public void performTest() throws Exception
             testGCMParameterSpecWithRepeatKey(K2, N2, A2, P2, C2);
             testGCMGeneric(KGCM, NGCM, new byte[0], new byte[0], CGCM);
             testGCMParameterSpecWithMultipleUpdates(K2, N2, A2, P2, C2);
+            testByteBufferAAD("AES/EAX/NoPadding", K2, N2, A2, P2, C2);
+            testByteBufferAAD("AES/GCM/NoPadding", KGCM, NGCM, new byte[0], new byte[0], CGCM);
         }
         else
         {
@@ -186,6 +189,59 @@ private void testGCMParameterSpec(byte[] K,
         }
     }
 
+    private void testByteBufferAAD(String algorithm,
+                                   byte[] K,
+                                   byte[] N,
+                                   byte[] A,
+                                   byte[] P,
+                                   byte[] C)
+        throws Exception
+    {
+        Cipher cipher = Cipher.getInstance(algorithm, "BC");
+        SecretKeySpec key = new SecretKeySpec(K, "AES");
+        GCMParameterSpec spec = new GCMParameterSpec(128, N);
+
+        for (int direct = 0; direct != 2; direct++)
+        {
+            ByteBuffer aad = (direct == 0) ? ByteBuffer.allocate(A.length) : ByteBuffer.allocateDirect(A.length);
+            ByteBuffer out = ByteBuffer.allocateDirect(C.length);
+
+            aad.put(A);
+            aad.flip();
+
+            cipher.init(Cipher.ENCRYPT_MODE, key, spec);
+            cipher.updateAAD(aad);
+
+            if (aad.hasRemaining())
+            {
+                fail("AAD buffer not consumed");
+            }
+
+            cipher.doFinal(ByteBuffer.wrap(P), out);
+
+            byte[] c = new byte[C.length];
+            out.flip();
+            out.get(c);
+
+            if (!areEqual(C, c))
+            {
+                fail("JCE encrypt with ByteBuffer additional data failed for " + algorithm);
+            }
+
+            aad.rewind();
+            out = ByteBuffer.allocate(P.length);
+
+            cipher.init(Cipher.DECRYPT_MODE, key, spec);
+            cipher.updateAAD(aad);
+            cipher.doFinal(ByteBuffer.wrap(C), out);
+
+            if (!areEqual(P, out.array()))
+            {
+                fail("JCE decrypt with ByteBuffer additional data failed for " + algorithm);
+            }
+        }
+    }
+
     private void testGCMParameterSpecWithMultipleUpdates(byte[] K,
                                       byte[] N,
                                       byte[] A,
@@ -4,6 +4,7 @@
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.security.Key;
 import java.security.Security;
 
@@ -11,12 +12,14 @@
 import javax.crypto.CipherInputStream;
 import javax.crypto.CipherOutputStream;
 import javax.crypto.NoSuchPaddingException;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 
 import org.bouncycastle.asn1.nist.NISTObjectIdentifiers;
 import org.bouncycastle.crypto.prng.FixedSecureRandom;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.util.Arrays;
 import org.bouncycastle.util.encoders.Hex;
 
 /**
@@ -336,6 +339,155 @@ private void ocbTest()
         }
     }
 
+    private void byteBufferTest()
+        throws Exception
+    {
+        String[] modes = {
+            "AES/ECB/PKCS7Padding",
+            "AES/CBC/PKCS7Padding",
+            "AES/CTR/NoPadding",
+            "AES/CFB8/NoPadding",
+            "AES/GCM/NoPadding",
+            "AES/CCM/NoPadding",
+            "AES/EAX/NoPadding"
+        };
+        Key key = new SecretKeySpec(Hex.decode("000102030405060708090a0b0c0d0e0f"), "AES");
+        byte[] data = new byte[10000 + 7];       // several internal chunks, not block aligned
+
+        for (int i = 0; i != data.length; i++)
+        {
+            data[i] = (byte)i;
+        }
+
+        for (int i = 0; i != modes.length; i++)
+        {
+            Cipher c = Cipher.getInstance(modes[i], "BC");
+            boolean aead = modes[i].indexOf("GCM") > 0 || modes[i].indexOf("CCM") > 0 || modes[i].indexOf("EAX") > 0;
+            IvParameterSpec iv = new IvParameterSpec(Hex.decode(aead ? "0102030405060708090a0b0c" : "0102030405060708090a0b0c0d0e0f10"));
+
+            if (modes[i].indexOf("ECB") > 0)
+            {
+                c.init(Cipher.ENCRYPT_MODE, key);
+            }
+            else
+            {
+                c.init(Cipher.ENCRYPT_MODE, key, iv);
+            }
+
+            byte[] expected = c.doFinal(data);
+
+            for (int direct = 0; direct != 4; direct++)
+            {
+                ByteBuffer in = allocate(data.length, (direct & 1) != 0);
+                ByteBuffer out = allocate(expected.length + 32, (direct & 2) != 0);
+
+                in.put(data);
+                in.flip();
+
+                // odd sized updates, then the rest in doFinal
+                in.limit(1);
+                c.update(in, out);
+                in.limit(4099);
+                c.update(in, out);
+                in.limit(data.length);
+
+                c.doFinal(in, out);
+
+                if (in.hasRemaining() || out.position() != expected.length)
+                {
+                    fail(modes[i] + " buffer positions wrong");
+                }
+
+                out.flip();
+
+                byte[] enc = new byte[out.remaining()];
+                out.get(enc);
+
+                if (!areEqual(expected, enc))
+                {
+                    fail(modes[i] + " ByteBuffer encryption failed " + direct);
+                }
+
+                // and back again
+                if (modes[i].indexOf("ECB") > 0)
+                {
+                    c.init(Cipher.DECRYPT_MODE, key);
+                }
+                else
+                {
+                    c.init(Cipher.DECRYPT_MODE, key, iv);
+                }
+
+                in = allocate(expected.length, (direct & 2) != 0);
+                out = allocate(data.length + 32, (direct & 1) != 0);
+
+                in.put(expected);
+                in.flip();
+
+                c.doFinal(in, out);
+                out.flip();
+
+                byte[] dec = new byte[out.remaining()];
+                out.get(dec);
+
+                if (!areEqual(data, dec))
+                {
+                    fail(modes[i] + " ByteBuffer decryption failed " + direct);
+                }
+
+                if (modes[i].indexOf("ECB") > 0)
+                {
+                    c.init(Cipher.ENCRYPT_MODE, key);
+                }
+                else
+                {
+                    c.init(Cipher.ENCRYPT_MODE, key, iv);
+                }
+            }
+
+            // short output buffers must not consume any input
+            ByteBuffer in = ByteBuffer.wrap(data);
+            try
+            {
+                c.doFinal(in, ByteBuffer.allocateDirect(16));
+                fail(modes[i] + " short buffer not detected");
+            }
+            catch (ShortBufferException e)
+            {
+                if (in.position() != 0)
+                {
+                    fail(modes[i] + " input consumed on short buffer");
+                }
+            }
+        }
+
+        // in place on a heap buffer
+        Cipher c = Cipher.getInstance("AES/CBC/PKCS7Padding", "BC");
+        IvParameterSpec iv = new IvParameterSpec(new byte[16]);
+
+        c.init(Cipher.ENCRYPT_MODE, key, iv);
+
+        byte[] expected = c.doFinal(data, 0, 1000);
+        byte[] buf = new byte[1100];
+
+        System.arraycopy(data, 0, buf, 5, 1000);
+
+        ByteBuffer in = ByteBuffer.wrap(buf, 5, 1000);
+        ByteBuffer out = ByteBuffer.wrap(buf, 3, 1100 - 3).slice();
+
+        c.doFinal(in, out);
+
+        if (!areEqual(expected, Arrays.copyOfRange(buf, 3, 3 + expected.length)))
+        {
+            fail("overlapping ByteBuffer encryption failed");
+        }
+    }
+
+    private static ByteBuffer allocate(int size, boolean direct)
+    {
+        return direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+    }
+
     public void performTest()
         throws Exception
     {
@@ -411,6 +563,7 @@ public void performTest()
         ccmTest();
         gcmTest();
         ocbTest();
+        byteBufferTest();
     }
 
     public static void main(
@@ -1,13 +1,30 @@
 package org.bouncycastle.jce.provider.test;
 
 import java.io.ByteArrayInputStream;
+import java.math.BigInteger;
+import java.security.PublicKey;
 import java.security.Security;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateEncodingException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509CRL;
 import java.security.cert.X509CRLEntry;
+import java.util.Date;
 import java.util.Iterator;
 import java.util.Set;
 
+import org.bouncycastle.asn1.ASN1EncodableVector;
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.DERBitString;
+import org.bouncycastle.asn1.DERNull;
+import org.bouncycastle.asn1.DERSequence;
+import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.asn1.x509.TBSCertificate;
+import org.bouncycastle.asn1.x509.Time;
+import org.bouncycastle.asn1.x509.V1TBSCertificateGenerator;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.bouncycastle.util.encoders.Base64;
 import org.bouncycastle.util.test.SimpleTest;
@@ -251,11 +268,103 @@ public void directCRLTest()
         }
     }
     
+    public void revokedLookupTest(byte[] crlData)
+        throws Exception
+    {
+        CertificateFactory cf = CertificateFactory.getInstance("X.509", "BC");
+        X509CRL crl = (X509CRL) cf.generateCRL(new ByteArrayInputStream(crlData));
+        Set set = crl.getRevokedCertificates();
+        Iterator it = set.iterator();
+        while (it.hasNext())
+        {
+            X509CRLEntry entry = (X509CRLEntry)it.next();
+            X509CRLEntry found = crl.getRevokedCertificate(entry.getSerialNumber());
+
+            if (found == null)
+            {
+                fail("revoked certificate " + entry.getSerialNumber() + " not found");
+            }
+
+            if (!found.equals(entry))
+            {
+                fail("wrong entry found for " + entry.getSerialNumber());
+            }
+
+            if (entry.getCertificateIssuer() == null)
+            {
+                if (found.getCertificateIssuer() != null)
+                {
+                    fail("unexpected certificate issuer for " + entry.getSerialNumber());
+                }
+            }
+            else if (!entry.getCertificateIssuer().equals(found.getCertificateIssuer()))
+            {
+                fail("certificate issuer mismatch for " + entry.getSerialNumber());
+            }
+        }
+
+        if (crl.getRevokedCertificate(BigInteger.valueOf(1)) != null)
+        {
+            fail("unrevoked serial number found");
+        }
+    }
+
+    public void nonX509CertificateTest()
+        throws Exception
+    {
+        CertificateFactory cf = CertificateFactory.getInstance("X.509", "BC");
+        X509CRL crl = (X509CRL) cf.generateCRL(new ByteArrayInputStream(directCRL));
+        X509CRLEntry entry = (X509CRLEntry)crl.getRevokedCertificates().iterator().next();
+        X500Name issuer = X500Name.getInstance(crl.getIssuerX500Principal().getEncoded());
+
+        if (!crl.isRevoked(new EncodedCertificate(createCertificate(entry.getSerialNumber(), issuer))))
+        {
+            fail("revoked non-X509Certificate not found");
+        }
+
+        if (crl.isRevoked(new EncodedCertificate(createCertificate(BigInteger.valueOf(1), issuer))))
+        {
+            fail("unrevoked non-X509Certificate found");
+        }
+
+        if (crl.isRevoked(new EncodedCertificate(createCertificate(entry.getSerialNumber(), new X500Name("CN=Other Issuer")))))
+        {
+            fail("non-X509Certificate from other issuer found");
+        }
+    }
+
+    private byte[] createCertificate(BigInteger serialNumber, X500Name issuer)
+        throws Exception
+    {
+        AlgorithmIdentifier sigAlg = new AlgorithmIdentifier(PKCSObjectIdentifiers.sha1WithRSAEncryption, DERNull.INSTANCE);
+        V1TBSCertificateGenerator tbsGen = new V1TBSCertificateGenerator();
+
+        tbsGen.setSerialNumber(new ASN1Integer(serialNumber));
+        tbsGen.setSignature(sigAlg);
+        tbsGen.setIssuer(issuer);
+        tbsGen.setStartDate(new Time(new Date(System.currentTimeMillis() - 50000)));
+        tbsGen.setEndDate(new Time(new Date(System.currentTimeMillis() + 50000)));
+        tbsGen.setSubject(new X500Name("CN=Test"));
+        tbsGen.setSubjectPublicKeyInfo(new SubjectPublicKeyInfo(new AlgorithmIdentifier(PKCSObjectIdentifiers.rsaEncryption, DERNull.INSTANCE), new byte[1]));
+
+        TBSCertificate tbsCert = tbsGen.generateTBSCertificate();
+        ASN1EncodableVector v = new ASN1EncodableVector();
+
+        v.add(tbsCert);
+        v.add(sigAlg);
+        v.add(new DERBitString(new byte[1]));
+
+        return new DERSequence(v).getEncoded();
+    }
+
     public void performTest()
         throws Exception
     {
         indirectCRLTest();
         directCRLTest();
+        revokedLookupTest(inDirectCrl);
+        revokedLookupTest(directCRL);
+        nonX509CertificateTest();
     }
 
     public static void main(
@@ -265,4 +374,43 @@ public static void main(
 
         runTest(new CRL5Test());
     }
+
+    private static class EncodedCertificate
+        extends Certificate
+    {
+        private final byte[] encoding;
+
+        EncodedCertificate(byte[] encoding)
+        {
+            super("X.509");
+
+            this.encoding = encoding;
+        }
+
+        public byte[] getEncoded()
+            throws CertificateEncodingException
+        {
+            return encoding;
+        }
+
+        public void verify(PublicKey key)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        public void verify(PublicKey key, String sigProvider)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        public String toString()
+        {
+            return "EncodedCertificate";
+        }
+
+        public PublicKey getPublicKey()
+        {
+            return null;
+        }
+    }
 }
@@ -17,14 +17,21 @@
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.jcajce.PKIXCertStoreSelector;
+import org.bouncycastle.jcajce.PKIXIndexedCertStore;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.bouncycastle.util.test.SimpleTest;
+import org.bouncycastle.x509.ExtendedPKIXBuilderParameters;
+import org.bouncycastle.x509.X509CertStoreSelector;
 
 public class CertPathBuilderTest
     extends SimpleTest
@@ -119,11 +126,166 @@ private void v0Test()
         }
     }
 
+    private void indexedStoreTest()
+        throws Exception
+    {
+        KeyPair         rootPair = TestUtils.generateRSAKeyPair();
+        KeyPair         interPair = TestUtils.generateRSAKeyPair();
+        KeyPair         oldInterPair = TestUtils.generateRSAKeyPair();
+        KeyPair         endPair = TestUtils.generateRSAKeyPair();
+
+        X509Certificate rootCert = TestUtils.generateRootCert(rootPair);
+        X509Certificate interCert = TestUtils.generateIntermediateCert(interPair.getPublic(), rootPair.getPrivate(), rootCert);
+        // same subject as interCert, but a different key
+        X509Certificate oldInterCert = TestUtils.generateIntermediateCert(oldInterPair.getPublic(), rootPair.getPrivate(), rootCert);
+        X509Certificate endCert = TestUtils.generateEndEntityCert(endPair.getPublic(), interPair.getPrivate(), interCert);
+
+        List list = new ArrayList();
+
+        list.add(oldInterCert);
+        list.add(interCert);
+        list.add(endCert);
+
+        PKIXIndexedCertStore store = new PKIXIndexedCertStore(list);
+
+        if (store.size() != 3)
+        {
+            fail("wrong size for indexed store");
+        }
+
+        // all issuers with the right subject are returned, the builder ranks them
+        Collection issuers = store.getIssuers(endCert);
+        if (issuers.size() != 2 || !issuers.contains(interCert) || !issuers.contains(oldInterCert))
+        {
+            fail("wrong issuers returned");
+        }
+
+        X509CertSelector selector = new X509CertSelector();
+        selector.setIssuer(interCert.getSubjectX500Principal());
+        selector.setSerialNumber(endCert.getSerialNumber());
+
+        Collection matches = store.getMatches(new PKIXCertStoreSelector.Builder(selector).build());
+        if (matches.size() != 1 || !matches.contains(endCert))
+        {
+            fail("issuer and serial number lookup failed");
+        }
+
+        selector = new X509CertSelector();
+        selector.setSubjectKeyIdentifier(ASN1OctetString.getInstance(interCert.getExtensionValue(Extension.subjectKeyIdentifier.getId())).getOctets());
+
+        matches = store.getMatches(new PKIXCertStoreSelector.Builder(selector).build());
+        if (matches.size() != 1 || !matches.contains(interCert))
+        {
+            fail("subject key identifier lookup failed");
+        }
+
+        // build the path
+        CertPathBuilder  builder = CertPathBuilder.getInstance("PKIX", "BC");
+        X509CertSelector pathConstraints = new X509CertSelector();
+
+        pathConstraints.setSubject(endCert.getSubjectX500Principal().getEncoded());
+
+        Set trust = new HashSet();
+        trust.add(new TrustAnchor(rootCert, null));
+        for (int i = 0; i != 8; i++)
+        {
+            trust.add(new TrustAnchor("CN=Other Root " + i, rootPair.getPublic(), null));
+        }
+
+        ExtendedPKIXBuilderParameters buildParams = new ExtendedPKIXBuilderParameters(trust, X509CertStoreSelector.getInstance(pathConstraints));
+
+        buildParams.addStore(store);
+        buildParams.setRevocationEnabled(false);
+        buildParams.setDate(new Date());
+
+        PKIXCertPathBuilderResult result = (PKIXCertPathBuilderResult)builder.build(buildParams);
+        List                      certs = result.getCertPath().getCertificates();
+
+        if (certs.size() != 2 || !certs.get(0).equals(endCert) || !certs.get(1).equals(interCert))
+        {
+            fail("wrong path built from indexed store");
+        }
+
+        if (!result.getTrustAnchor().getTrustedCert().equals(rootCert))
+        {
+            fail("wrong trust anchor for indexed store path");
+        }
+    }
+
+    private void meshTest()
+        throws Exception
+    {
+        KeyPair         rootPair = TestUtils.generateRSAKeyPair();
+        X509Certificate rootCert = TestUtils.generateRootCert(rootPair);
+
+        // a chain of self-issued intermediates, all with the same subject
+        KeyPair[]         interPairs = new KeyPair[4];
+        X509Certificate[] interCerts = new X509Certificate[4];
+
+        interPairs[0] = TestUtils.generateRSAKeyPair();
+        interCerts[0] = TestUtils.generateIntermediateCert(interPairs[0].getPublic(), rootPair.getPrivate(), rootCert);
+        for (int i = 1; i != interCerts.length; i++)
+        {
+            interPairs[i] = TestUtils.generateRSAKeyPair();
+            interCerts[i] = TestUtils.generateIntermediateCert(interPairs[i].getPublic(), interPairs[i - 1].getPrivate(), interCerts[i - 1]);
+        }
+
+        KeyPair         endPair = TestUtils.generateRSAKeyPair();
+        X509Certificate endCert = TestUtils.generateEndEntityCert(endPair.getPublic(), interPairs[3].getPrivate(), interCerts[3]);
+
+        List list = new ArrayList();
+
+        list.add(endCert);
+        for (int i = 0; i != interCerts.length; i++)
+        {
+            list.add(interCerts[i]);
+        }
+
+        // cross certificates leading nowhere, and certificates claiming to be issued by
+        // each intermediate that do not verify with its key.
+        for (int i = 0; i != interCerts.length; i++)
+        {
+            KeyPair otherPair = TestUtils.generateRSAKeyPair();
+
+            list.add(TestUtils.generateIntermediateCert(otherPair.getPublic(), interPairs[i].getPrivate(), interCerts[i]));
+            list.add(TestUtils.generateIntermediateCert(TestUtils.generateRSAKeyPair().getPublic(), otherPair.getPrivate(), interCerts[i]));
+        }
+
+        CertPathBuilder  builder = CertPathBuilder.getInstance("PKIX", "BC");
+        X509CertSelector pathConstraints = new X509CertSelector();
+
+        pathConstraints.setSubject(endCert.getSubjectX500Principal().getEncoded());
+
+        ExtendedPKIXBuilderParameters buildParams = new ExtendedPKIXBuilderParameters(
+            Collections.singleton(new TrustAnchor(rootCert, null)), X509CertStoreSelector.getInstance(pathConstraints));
+
+        buildParams.addStore(new PKIXIndexedCertStore(list));
+        buildParams.setRevocationEnabled(false);
+
+        PKIXCertPathBuilderResult result = (PKIXCertPathBuilderResult)builder.build(buildParams);
+        List                      certs = result.getCertPath().getCertificates();
+
+        if (certs.size() != 5 || !certs.get(0).equals(endCert))
+        {
+            fail("wrong path built in mesh");
+        }
+
+        for (int i = 0; i != interCerts.length; i++)
+        {
+            if (!certs.get(4 - i).equals(interCerts[i]))
+            {
+                fail("wrong intermediate in mesh path");
+            }
+        }
+    }
+
     public void performTest()
         throws Exception
     {
         baseTest();
         v0Test();
+        indexedStoreTest();
+        meshTest();
     }
     
     public String getName()
@@ -1,6 +1,7 @@
 package org.bouncycastle.jce.provider.test;
 
 import java.io.ByteArrayInputStream;
+import java.security.KeyPair;
 import java.security.PublicKey;
 import java.security.Security;
 import java.security.cert.CertPath;
@@ -23,13 +24,16 @@
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.bouncycastle.jcajce.PKIXValidationCache;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.bouncycastle.util.encoders.Base64;
 import org.bouncycastle.util.test.SimpleTest;
+import org.bouncycastle.x509.ExtendedPKIXParameters;
 
 public class CertPathValidatorTest
     extends SimpleTest
@@ -375,6 +379,125 @@ public void performTest()
 
         checkCircProcessing();
         checkPolicyProcessingAtDomainMatch();
+        validationCacheTest();
+    }
+
+    private void validationCacheTest()
+        throws Exception
+    {
+        KeyPair rootPair = TestUtils.generateRSAKeyPair();
+        KeyPair interPair = TestUtils.generateRSAKeyPair();
+        KeyPair endPair = TestUtils.generateRSAKeyPair();
+
+        X509Certificate rootCert = TestUtils.generateRootCert(rootPair);
+        X509Certificate interCert = TestUtils.generateIntermediateCert(interPair.getPublic(), rootPair.getPrivate(), rootCert);
+        X509Certificate endCert = TestUtils.generateEndEntityCert(endPair.getPublic(), interPair.getPrivate(), interCert);
+
+        List certchain = new ArrayList();
+        certchain.add(endCert);
+        certchain.add(interCert);
+
+        CertPath cp = CertificateFactory.getInstance("X.509", "BC").generateCertPath(certchain);
+        CertPathValidator cpv = CertPathValidator.getInstance("PKIX", "BC");
+
+        ExtendedPKIXParameters param = new ExtendedPKIXParameters(Collections.singleton(new TrustAnchor(rootCert, null)));
+        PKIXValidationCache cache = new PKIXValidationCache(16, 60000);
+
+        param.setRevocationEnabled(false);
+        param.setValidationCache(cache);
+
+        for (int i = 0; i != 3; i++)
+        {
+            PKIXCertPathValidatorResult result = (PKIXCertPathValidatorResult)cpv.validate(cp, param);
+
+            if (!result.getPublicKey().equals(endCert.getPublicKey()))
+            {
+                fail("wrong public key returned from cached validation");
+            }
+        }
+
+        if (cache.getPathMisses() != 1 || cache.getPathHits() != 2 || cache.getSignatureMisses() != 2)
+        {
+            fail("path results not cached");
+        }
+
+        cache.invalidate(interCert);
+
+        cpv.validate(cp, param);
+
+        if (cache.getPathMisses() != 2 || cache.getSignatureMisses() != 4)
+        {
+            fail("cache not invalidated");
+        }
+
+        // a cached path result cannot stand in for a revocation check.
+        param.setRevocationEnabled(true);
+        try
+        {
+            cpv.validate(cp, param);
+            fail("cached path result used with revocation checking enabled");
+        }
+        catch (CertPathValidatorException e)
+        {
+            // expected - there are no CRLs for the path.
+        }
+        param.setRevocationEnabled(false);
+
+        if (cache.getPathHits() != 2)
+        {
+            fail("path cache consulted with revocation checking enabled");
+        }
+
+        // a cache shared with parameters holding their own TrustAnchor instances.
+        TrustAnchor otherAnchor = new TrustAnchor(rootCert, null);
+        ExtendedPKIXParameters otherParam = new ExtendedPKIXParameters(Collections.singleton(otherAnchor));
+
+        otherParam.setRevocationEnabled(false);
+        otherParam.setValidationCache(cache);
+
+        PKIXCertPathValidatorResult otherResult = (PKIXCertPathValidatorResult)cpv.validate(cp, otherParam);
+
+        if (cache.getPathHits() != 3 || otherResult.getTrustAnchor() != otherAnchor)
+        {
+            fail("path result not shared across parameters");
+        }
+
+        // signatures only - the path is validated each time but the signatures are not rechecked.
+        cache = new PKIXValidationCache(16);
+        param.setValidationCache(cache);
+
+        cpv.validate(cp, param);
+        cpv.validate(cp, param);
+
+        if (cache.getPathHits() != 0 || cache.getSignatureMisses() != 2 || cache.getSignatureHits() != 2)
+        {
+            fail("signature results not cached");
+        }
+
+        // a failed validation must not be cached.
+        X509Certificate otherEndCert = TestUtils.generateEndEntityCert(endPair.getPublic(), rootPair.getPrivate(), interCert);
+
+        certchain = new ArrayList();
+        certchain.add(otherEndCert);
+        certchain.add(interCert);
+
+        cp = CertificateFactory.getInstance("X.509", "BC").generateCertPath(certchain);
+
+        for (int i = 0; i != 2; i++)
+        {
+            try
+            {
+                cpv.validate(cp, param);
+                fail("invalid path validated with cache");
+            }
+            catch (CertPathValidatorException e)
+            {
+                if (!e.getMessage().startsWith("Could not validate certificate signature."))
+                {
+                    fail("unexpected exception", e);
+                }
+            }
+        }
     }
 
     public String getName()